@@ -0,0 +1,75 @@
+package com.github.badpop.jcoinbase;
+
+import com.github.badpop.jcoinbase.exception.InvalidApiKeyAndSecretException;
+import com.github.badpop.jcoinbase.service.account.AsyncAccountService;
+import com.github.badpop.jcoinbase.service.data.AsyncDataService;
+import com.github.badpop.jcoinbase.service.user.AsyncUserService;
+import lombok.AllArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+import java.util.concurrent.CompletableFuture;
+
+import static lombok.AccessLevel.PRIVATE;
+import static lombok.AccessLevel.PROTECTED;
+
+/**
+ * The JCoinbaseAsyncClient gives access to the non-blocking version of the JCoinbase services.
+ * Each request is sent using {@link java.net.http.HttpClient#sendAsync} and returns a {@link
+ * CompletableFuture}, so no thread is blocked while waiting for the Coinbase API.
+ *
+ * <p>You can get an instance by calling {@link JCoinbaseClient#async()}. It shares the http client,
+ * the properties and the authentication of the JCoinbaseClient it comes from.
+ *
+ * <ul>
+ *   <li>{@link #data()} to access public data
+ *   <li>{@link #user()} to access users data
+ *   <li>{@link #account()} to access accounts data
+ * </ul>
+ */
+@FieldDefaults(level = PRIVATE, makeFinal = true)
+@AllArgsConstructor(access = PROTECTED)
+public class JCoinbaseAsyncClient {
+
+  JCoinbaseClient client;
+  AsyncDataService dataService;
+  AsyncUserService userService;
+  AsyncAccountService accountService;
+
+  /**
+   * This method provides an {@link AsyncDataService} allowing you to request coinbase public data
+   * without blocking
+   *
+   * @return an {@link AsyncDataService}
+   */
+  public AsyncDataService data() {
+    return dataService;
+  }
+
+  /**
+   * This method provides an {@link AsyncUserService} allowing you to request coinbase protected
+   * data without blocking
+   *
+   * <p>Warning : this method throws an {@link InvalidApiKeyAndSecretException} if you don't
+   * properly build your JCoinbaseClient by providing your api key and secret
+   *
+   * @return an {@link AsyncUserService}
+   */
+  public AsyncUserService user() {
+    client.checkAllowed();
+    return userService;
+  }
+
+  /**
+   * This method provides an {@link AsyncAccountService} allowing you to request coinbase protected
+   * data without blocking
+   *
+   * <p>Warning : this method throws an {@link InvalidApiKeyAndSecretException} if you don't
+   * properly build your JCoinbaseClient by providing your api key and secret
+   *
+   * @return an {@link AsyncAccountService}
+   */
+  public AsyncAccountService account() {
+    client.checkAllowed();
+    return accountService;
+  }
+}
@@ -1,19 +1,36 @@
 package com.github.badpop.jcoinbase;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.PropertyNamingStrategies;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.github.badpop.jcoinbase.exception.InvalidApiKeyAndSecretException;
 import com.github.badpop.jcoinbase.exception.UnauthorizedRequestException;
 import com.github.badpop.jcoinbase.service.ErrorManagerService;
 import com.github.badpop.jcoinbase.service.account.AccountService;
+import com.github.badpop.jcoinbase.service.account.AsyncAccountService;
+import com.github.badpop.jcoinbase.service.account.CachingCoinbaseAccountService;
 import com.github.badpop.jcoinbase.service.account.CoinbaseAccountService;
 import com.github.badpop.jcoinbase.service.auth.AuthenticationService;
+import com.github.badpop.jcoinbase.service.auth.ScopeGuard;
+import com.github.badpop.jcoinbase.service.data.AsyncDataService;
+import com.github.badpop.jcoinbase.service.data.CachingCoinbaseDataService;
+import com.github.badpop.jcoinbase.service.data.ClockSynchronizer;
 import com.github.badpop.jcoinbase.service.data.CoinbaseDataService;
 import com.github.badpop.jcoinbase.service.data.DataService;
+import com.github.badpop.jcoinbase.service.data.ExchangeRatesRefresher;
+import com.github.badpop.jcoinbase.service.data.RateMatrixBuilder;
+import com.github.badpop.jcoinbase.service.http.CircuitBreaker;
+import com.github.badpop.jcoinbase.service.http.EndpointFamily;
+import com.github.badpop.jcoinbase.service.http.HttpRetrier;
+import com.github.badpop.jcoinbase.service.http.JsonReaders;
+import com.github.badpop.jcoinbase.service.http.RateLimitTracker;
+import com.github.badpop.jcoinbase.service.http.RequestThrottler;
+import com.github.badpop.jcoinbase.service.http.TokenBucket;
+import com.github.badpop.jcoinbase.service.user.AsyncUserService;
+import com.github.badpop.jcoinbase.service.user.CachingCoinbaseUserService;
 import com.github.badpop.jcoinbase.service.user.CoinbaseUserService;
 import com.github.badpop.jcoinbase.service.user.UserService;
-import io.vavr.jackson.datatype.VavrModule;
+import io.vavr.collection.List;
+import io.vavr.collection.Map;
+import io.vavr.control.Option;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.experimental.FieldDefaults;
@@ -21,13 +38,11 @@ import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 
 import java.net.http.HttpClient;
-import java.time.Duration;
-import java.time.ZoneId;
-import java.util.TimeZone;
+import java.time.Clock;
+import java.util.Collections;
+import java.util.Set;
+import java.util.WeakHashMap;
 
-import static com.fasterxml.jackson.databind.SerializationFeature.WRITE_DATES_AS_TIMESTAMPS;
-import static java.net.http.HttpClient.Redirect.NEVER;
-import static java.time.temporal.ChronoUnit.SECONDS;
 import static lombok.AccessLevel.PRIVATE;
 import static lombok.AccessLevel.PROTECTED;
 
@@ -42,20 +57,43 @@ import static lombok.AccessLevel.PROTECTED;
  * <ul>
  *   <li>{@link #data()} to access public data
  *   <li>{@link #user()} to access users data
+ *   <li>{@link #account()} to access accounts data
+ *   <li>{@link #async()} to make all these requests without blocking
  * </ul>
+ *
+ * <p>Call {@link #close()} once the client is not used anymore to stop its background tasks.
  */
 @Slf4j
 @FieldDefaults(level = PRIVATE)
 @NoArgsConstructor(access = PROTECTED)
-public class JCoinbaseClient {
+public class JCoinbaseClient implements AutoCloseable {
 
+  @Getter JCoinbaseRuntime runtime;
   @Getter HttpClient httpClient;
+  @Getter RateLimitTracker rateLimitTracker;
+  @Getter HttpRetrier httpRetrier;
+  @Getter RequestThrottler requestThrottler;
+  @Getter Map<EndpointFamily, CircuitBreaker> circuitBreakers;
   @Getter ObjectMapper jsonSerDes;
+  @Getter JsonReaders jsonReaders;
   @Getter JCoinbaseProperties properties;
+  @Getter JCoinbaseOptions options;
   @Getter AuthenticationService authService;
+  @Getter ScopeGuard scopeGuard;
+  @Getter ClockSynchronizer clockSynchronizer;
+  CoinbaseDataService coinbaseDataService;
+  CoinbaseUserService coinbaseUserService;
+  CoinbaseAccountService coinbaseAccountService;
   DataService dataService;
   UserService userService;
   AccountService accountService;
+  JCoinbaseAsyncClient asyncClient;
+  boolean ownsRuntime;
+  volatile boolean closed;
+
+  /** The rate matrix builders to stop on close, forgotten once they are not referenced anymore */
+  final Set<RateMatrixBuilder> rateMatrixBuilders =
+      Collections.newSetFromMap(Collections.synchronizedMap(new WeakHashMap<>()));
 
   /**
    * This method provides a {@link DataService} allowing you to request coinbase public data using
@@ -77,10 +115,7 @@ public class JCoinbaseClient {
    * @return a {@link UserService}
    */
   public UserService user() {
-    val allowed = authService.allow(this);
-    if (allowed.isLeft()) {
-      manageNotAllowed(allowed.getLeft());
-    }
+    checkAllowed();
     return userService;
   }
 
@@ -94,15 +129,106 @@ public class JCoinbaseClient {
    * @return an {@link AccountService}
    */
   public AccountService account() {
-    val allowed = authService.allow(this);
-    if (allowed.isLeft()) {
-      manageNotAllowed(allowed.getLeft());
-    }
+    checkAllowed();
     return accountService;
   }
 
   /**
-   * This protected method build a new JCoinbaseClient with the given parameters
+   * This method provides a {@link JCoinbaseAsyncClient} allowing you to request the coinbase api
+   * without blocking the calling thread. Each service method returns a {@link
+   * java.util.concurrent.CompletableFuture}
+   *
+   * @return a {@link JCoinbaseAsyncClient}
+   */
+  public JCoinbaseAsyncClient async() {
+    return asyncClient;
+  }
+
+  /**
+   * This method provides the cache of the data services, allowing you to read its counters or to
+   * invalidate it. The cache is only available if enabled in the {@link JCoinbaseOptions}.
+   *
+   * @return an {@link Option} of the {@link CachingCoinbaseDataService}
+   */
+  public Option<CachingCoinbaseDataService> getDataCache() {
+    return coinbaseDataService instanceof CachingCoinbaseDataService
+        ? Option.some((CachingCoinbaseDataService) coinbaseDataService)
+        : Option.none();
+  }
+
+  /**
+   * This method provides the cache of the current user, allowing you to read its counters or to
+   * invalidate it. The cache is only available if enabled in the {@link JCoinbaseOptions}.
+   *
+   * @return an {@link Option} of the {@link CachingCoinbaseUserService}
+   */
+  public Option<CachingCoinbaseUserService> getUserCache() {
+    return coinbaseUserService instanceof CachingCoinbaseUserService
+        ? Option.some((CachingCoinbaseUserService) coinbaseUserService)
+        : Option.none();
+  }
+
+  /**
+   * This method provides the cache of the accounts, allowing you to read its counters or to
+   * invalidate it. The cache is only available if enabled in the {@link JCoinbaseOptions}.
+   *
+   * @return an {@link Option} of the {@link CachingCoinbaseAccountService}
+   */
+  public Option<CachingCoinbaseAccountService> getAccountCache() {
+    return coinbaseAccountService instanceof CachingCoinbaseAccountService
+        ? Option.some((CachingCoinbaseAccountService) coinbaseAccountService)
+        : Option.none();
+  }
+
+  /**
+   * Register a {@link RateMatrixBuilder} whose periodic rebuild must be stopped when this client is
+   * closed. The builders created by {@link DataService#rateMatrixBuilder()} are registered
+   * automatically.
+   *
+   * @param builder the builder to stop on close
+   * @return the given builder
+   */
+  public RateMatrixBuilder register(final RateMatrixBuilder builder) {
+    rateMatrixBuilders.add(builder);
+    return builder;
+  }
+
+  /** @return true if this client has been closed */
+  public boolean isClosed() {
+    return closed;
+  }
+
+  /**
+   * Stop the background tasks of this client : the exchange rates refresh and the periodic rebuild
+   * of its rate matrices.
+   * The runtime is closed as well if it was built for this client only, which also stops the clock
+   * synchronization. A runtime given to the {@link JCoinbaseClientFactory} is left open for the
+   * other clients using it, along with its clock synchronization. Closing a closed client has no
+   * effect.
+   */
+  @Override
+  public synchronized void close() {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    getDataCache()
+        .flatMap(CachingCoinbaseDataService::getExchangeRatesRefresher)
+        .forEach(ExchangeRatesRefresher::stop);
+    final List<RateMatrixBuilder> builders;
+    synchronized (rateMatrixBuilders) {
+      builders = List.ofAll(rateMatrixBuilders);
+    }
+    builders.forEach(RateMatrixBuilder::stop);
+    if (ownsRuntime) {
+      runtime.close();
+    }
+    log.info("JCoinbase client closed !");
+  }
+
+  /**
+   * This protected method build a new JCoinbaseClient with the given parameters and the default
+   * {@link JCoinbaseOptions}
    *
    * @param apiKey the coinbase api key
    * @param secret the coinbase api secret
@@ -117,35 +243,88 @@ public class JCoinbaseClient {
       final String apiVersion,
       final long timeout,
       final boolean threadSafe) {
+    return build(apiKey, secret, apiVersion, timeout, threadSafe, JCoinbaseOptions.defaults());
+  }
+
+  /**
+   * This protected method build a new JCoinbaseClient with the given parameters
+   *
+   * @param apiKey the coinbase api key
+   * @param secret the coinbase api secret
+   * @param apiVersion the coinbase api version
+   * @param timeout the wanted timeout for http requests
+   * @param threadSafe a boolean defining if the instance should be a thread safe singleton
+   * @param options the optional features to enable
+   * @return a {@link JCoinbaseClient}
+   */
+  protected JCoinbaseClient build(
+      final String apiKey,
+      final String secret,
+      final String apiVersion,
+      final long timeout,
+      final boolean threadSafe,
+      final JCoinbaseOptions options) {
+    build(apiKey, secret, apiVersion, JCoinbaseRuntime.create(timeout), threadSafe, options);
+    this.ownsRuntime = true;
+    return this;
+  }
+
+  /**
+   * This protected method build a new JCoinbaseClient with the given parameters, using the http
+   * client, the json readers and the properties file content of the given runtime
+   *
+   * @param apiKey the coinbase api key
+   * @param secret the coinbase api secret
+   * @param apiVersion the coinbase api version
+   * @param runtime the transport resources to use
+   * @param threadSafe a boolean defining if the instance should be a thread safe singleton
+   * @param options the optional features to enable
+   * @return a {@link JCoinbaseClient}
+   */
+  protected JCoinbaseClient build(
+      final String apiKey,
+      final String secret,
+      final String apiVersion,
+      final JCoinbaseRuntime runtime,
+      final boolean threadSafe,
+      final JCoinbaseOptions options) {
     log.info("Start building new JCoinbase client !");
 
-    buildJsonSerDes();
+    this.options = options;
+    useRuntime(runtime);
     buildProperties(apiKey, secret, apiVersion, threadSafe);
+    buildClockSynchronizer(options);
     buildAuthService();
+    buildScopeGuard(options);
+    buildCoinbaseDataService(options);
     buildDataService();
-    buildUserService();
-    buildAccountService();
-    buildHttpClient(timeout);
+    buildUserService(options);
+    buildAccountService(options);
+    buildAsyncClient();
+    buildHttpRetrier(options);
+    startClockSynchronizer(options);
+    startExchangeRatesRefresher();
 
     log.info("JCoinbase client successfully built !");
 
     return this;
   }
 
-  /** Method building a new Jackson ObjectMapper with a custom configuration */
-  private void buildJsonSerDes() {
-    this.jsonSerDes =
-        new ObjectMapper()
-            .findAndRegisterModules()
-            .registerModule(new VavrModule())
-            .registerModule(new JavaTimeModule())
-            .setPropertyNamingStrategy(PropertyNamingStrategies.SNAKE_CASE)
-            .setTimeZone(TimeZone.getTimeZone(ZoneId.systemDefault()))
-            .configure(WRITE_DATES_AS_TIMESTAMPS, false);
+  /**
+   * Use the transport resources of the given runtime
+   *
+   * @param runtime the {@link JCoinbaseRuntime} to use
+   */
+  private void useRuntime(final JCoinbaseRuntime runtime) {
+    this.runtime = runtime;
+    this.httpClient = runtime.getHttpClient();
+    this.jsonSerDes = runtime.getJsonSerDes();
+    this.jsonReaders = runtime.getJsonReaders();
   }
 
   /**
-   * Build the client properties calling the {@link JCoinbasePropertiesFactory}
+   * Build the client properties calling the {@link JCoinbasePropertiesFactory} with the properties
+   * file content of the runtime
    *
    * @param apiKey the coinbase api key
    * @param secret the coinbase api secret
@@ -154,36 +333,173 @@ public class JCoinbaseClient {
    */
   private void buildProperties(
       final String apiKey, final String secret, final String apiVersion, final boolean threadSafe) {
-    this.properties = JCoinbasePropertiesFactory.build(apiKey, secret, apiVersion, threadSafe);
+    this.properties =
+        JCoinbasePropertiesFactory.build(
+            apiKey, secret, apiVersion, threadSafe, runtime.getProperties());
   }
 
-  /** Build a new {@link AuthenticationService} */
+  /**
+   * Use the {@link ClockSynchronizer} of the runtime, shared by all its clients. It is only started
+   * once the client is fully built.
+   *
+   * @param options the client options
+   */
+  private void buildClockSynchronizer(final JCoinbaseOptions options) {
+    this.clockSynchronizer = runtime.clockSynchronizer(this, options);
+  }
+
+  /** Build a new {@link AuthenticationService} timestamping the requests with the synced clock */
   private void buildAuthService() {
-    this.authService = new AuthenticationService();
+    this.authService = new AuthenticationService(clockSynchronizer.getClock());
+  }
+
+  /**
+   * Build a new {@link ScopeGuard}, rejecting the requests the api key is not allowed to send if
+   * enabled
+   *
+   * @param options the client options
+   */
+  private void buildScopeGuard(final JCoinbaseOptions options) {
+    this.scopeGuard = new ScopeGuard(options.isScopeCheck());
+  }
+
+  /**
+   * Build the {@link CoinbaseDataService} shared by the blocking and the non-blocking data services,
+   * caching the responses if enabled
+   *
+   * @param options the client options
+   */
+  private void buildCoinbaseDataService(final JCoinbaseOptions options) {
+    this.coinbaseDataService =
+        options.isDataCache()
+            ? new CachingCoinbaseDataService(
+                options.getCurrenciesCacheTtl(),
+                options.getExchangeRatesCacheTtl(),
+                options.getPricesCacheTtl(),
+                options.getDataCacheMaximumSize(),
+                buildExchangeRatesRefresher(options))
+            : new CoinbaseDataService();
+  }
+
+  /**
+   * Build a new {@link ExchangeRatesRefresher} if some exchange rates should be refreshed ahead. It
+   * is only started once the client is fully built.
+   *
+   * @param options the client options
+   * @return an {@link Option} of the {@link ExchangeRatesRefresher}
+   */
+  private Option<ExchangeRatesRefresher> buildExchangeRatesRefresher(
+      final JCoinbaseOptions options) {
+    return options.getExchangeRatesRefreshAhead().isEmpty()
+        ? Option.none()
+        : Option.some(
+            new ExchangeRatesRefresher(
+                this,
+                new CoinbaseDataService(),
+                Clock.systemUTC(),
+                options.getExchangeRatesRefreshPeriod(),
+                options.getExchangeRatesRefreshAhead()));
   }
 
   /** Build a new {@link DataService} */
   private void buildDataService() {
-    this.dataService = new DataService(this, new CoinbaseDataService());
+    this.dataService = new DataService(this, coinbaseDataService);
+  }
+
+  /**
+   * Build a new {@link UserService}, sharing its requests in flight and its cached user with the
+   * asynchronous one
+   *
+   * @param options the client options
+   */
+  private void buildUserService(final JCoinbaseOptions options) {
+    this.coinbaseUserService =
+        options.isUserCache()
+            ? new CachingCoinbaseUserService(options.getUserCacheTtl())
+            : new CoinbaseUserService();
+    this.userService = new UserService(this, coinbaseUserService, authService);
+  }
+
+  /**
+   * Build a new {@link AccountService}, sharing its requests in flight and its cached accounts with
+   * the asynchronous one
+   *
+   * @param options the client options
+   */
+  private void buildAccountService(final JCoinbaseOptions options) {
+    this.coinbaseAccountService =
+        options.isAccountCache()
+            ? new CachingCoinbaseAccountService(
+                options.getAccountCacheTtl(), options.getAccountCacheMaximumSize())
+            : new CoinbaseAccountService();
+    this.accountService = new AccountService(this, coinbaseAccountService, authService);
+  }
+
+  /** Build a new {@link JCoinbaseAsyncClient} sharing this client's configuration */
+  private void buildAsyncClient() {
+    this.asyncClient =
+        new JCoinbaseAsyncClient(
+            this,
+            new AsyncDataService(this, coinbaseDataService),
+            new AsyncUserService(this, coinbaseUserService, authService),
+            new AsyncAccountService(this, coinbaseAccountService, authService));
   }
 
-  /** Build a new {@link UserService} */
-  private void buildUserService() {
-    this.userService = new UserService(this, new CoinbaseUserService(), authService);
+  /**
+   * Build a new {@link HttpRetrier} counting the retries of this client, the {@link
+   * RateLimitTracker} it updates, the {@link RequestThrottler} it takes permits from and the {@link
+   * CircuitBreaker} of each endpoint family
+   *
+   * @param options the client options
+   */
+  private void buildHttpRetrier(final JCoinbaseOptions options) {
+    this.rateLimitTracker = new RateLimitTracker(options.getRateLimitMaxWait());
+    this.httpRetrier = new HttpRetrier(rateLimitTracker, runtime.getExecutor());
+    this.requestThrottler =
+        options.isRequestThrottling()
+            ? new RequestThrottler(
+                new TokenBucket(options.getPublicRequestsPerSecond(), options.getRequestBurst()),
+                new TokenBucket(
+                    options.getAuthenticatedRequestsPerSecond(), options.getRequestBurst()))
+            : RequestThrottler.unlimited();
+    this.circuitBreakers =
+        List.of(EndpointFamily.values())
+            .toLinkedMap(
+                family -> family,
+                family ->
+                    options.isCircuitBreaker()
+                        ? new CircuitBreaker(family, options.getCircuitBreakerPolicy())
+                        : CircuitBreaker.disabled(family));
+  }
+
+  /**
+   * Start the clock synchronization if enabled
+   *
+   * @param options the client options
+   */
+  private void startClockSynchronizer(final JCoinbaseOptions options) {
+    if (options.isClockSynchronization()) {
+      clockSynchronizer.start();
+    }
   }
 
-  /** Build a new {@link AccountService} */
-  private void buildAccountService() {
-    this.accountService = new AccountService(this, new CoinbaseAccountService(), authService);
+  /** Start the exchange rates refresh if some exchange rates should be refreshed ahead */
+  private void startExchangeRatesRefresher() {
+    getDataCache()
+        .flatMap(CachingCoinbaseDataService::getExchangeRatesRefresher)
+        .forEach(ExchangeRatesRefresher::start);
   }
 
-  /** Build a new {@link HttpClient} */
-  private void buildHttpClient(final long timeout) {
-    this.httpClient =
-        HttpClient.newBuilder()
-            .connectTimeout(Duration.of(timeout, SECONDS))
-            .followRedirects(NEVER)
-            .build();
+  /**
+   * Check that this client is allowed to request the coinbase protected resources
+   *
+   * @throws UnauthorizedRequestException if the client was built without api key and secret
+   */
+  void checkAllowed() {
+    val allowed = authService.allow(this);
+    if (allowed.isLeft()) {
+      manageNotAllowed(allowed.getLeft());
+    }
   }
 
   /**
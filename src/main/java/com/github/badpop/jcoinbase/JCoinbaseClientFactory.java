@@ -3,6 +3,8 @@ package com.github.badpop.jcoinbase;
 import lombok.NoArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.Objects;
+
 import static lombok.AccessLevel.PRIVATE;
 
 /**
@@ -38,6 +40,10 @@ public abstract class JCoinbaseClientFactory {
    * JCoinbaseClient to be a thread safe singleton, simply set the 'threadSafe' parameter to false
    * for each call. This will return a new instance each time you call this method
    *
+   * <p>The returned client builds its own {@link JCoinbaseRuntime}, which is closed with the client
+   * by {@link JCoinbaseClient#close()}. A closed singleton is replaced by a new instance on the next
+   * call.
+   *
    * @param apiKey your coinbase api key defined in your coinbase account
    * @param secret your coinbase api secret given by coinbase when creating your api key in your
    *     account settings
@@ -54,27 +60,119 @@ public abstract class JCoinbaseClientFactory {
       final String apiKey,
       final String secret,
       final String apiVersion,
-      long timeout,
+      final long timeout,
       final boolean threadSafe) {
+    return build(apiKey, secret, apiVersion, timeout, threadSafe, JCoinbaseOptions.defaults());
+  }
+
+  /**
+   * Return a new {@link JCoinbaseClient} instance configured with the given parameters and
+   * options. This method works exactly like {@link #build(String, String, String, long, boolean)}
+   * but also allows you to enable the optional features described in {@link JCoinbaseOptions}.
+   *
+   * <p>Note that when requesting a thread safe singleton, the options are only used to build the
+   * first instance.
+   *
+   * @param apiKey your coinbase api key defined in your coinbase account
+   * @param secret your coinbase api secret given by coinbase when creating your api key in your
+   *     account settings
+   * @param apiVersion the api version defined in your coinbase setting
+   * @param timeout the desired timeout for each http request made to the coinbase api in seconds.
+   *     The minimum value is 1 second.
+   * @param threadSafe define if the returned instance should be a thread safe singleton or not
+   * @param options the optional features to enable
+   * @return a new {@link JCoinbaseClient} configured with the given parameters
+   * @throws NullPointerException if the options are null
+   */
+  public static JCoinbaseClient build(
+      final String apiKey,
+      final String secret,
+      final String apiVersion,
+      long timeout,
+      final boolean threadSafe,
+      final JCoinbaseOptions options) {
+    Objects.requireNonNull(options, "options is null");
     if (timeout < 1) {
       timeout = 3;
       log.warn(
           "The minimum value for timeout is 1 second. The client will use the default timeout defined at 3 seconds instead.");
     }
     return threadSafe
-        ? buildThreadSafeSingleton(apiKey, secret, apiVersion, timeout)
-        : buildWithoutThreadSafeSingleton(apiKey, secret, apiVersion, timeout);
+        ? buildThreadSafeSingleton(apiKey, secret, apiVersion, timeout, options)
+        : buildWithoutThreadSafeSingleton(apiKey, secret, apiVersion, timeout, options);
+  }
+
+  /**
+   * Return a new {@link JCoinbaseClient} instance using the given {@link JCoinbaseRuntime}. Use
+   * this method to build many clients, for example one per api key, sharing the same connections,
+   * threads and json configuration. The timeout is the one of the runtime.
+   *
+   * <p>The returned client is never a thread safe singleton and does not close the runtime.
+   *
+   * @param apiKey your coinbase api key defined in your coinbase account
+   * @param secret your coinbase api secret given by coinbase when creating your api key in your
+   *     account settings
+   * @param apiVersion the api version defined in your coinbase setting
+   * @param runtime the transport resources shared by the clients
+   * @return a new {@link JCoinbaseClient} configured with the given parameters
+   * @throws NullPointerException if the runtime is null
+   * @throws IllegalStateException if the runtime is closed
+   */
+  public static JCoinbaseClient build(
+      final String apiKey,
+      final String secret,
+      final String apiVersion,
+      final JCoinbaseRuntime runtime) {
+    return build(apiKey, secret, apiVersion, runtime, JCoinbaseOptions.defaults());
+  }
+
+  /**
+   * Return a new {@link JCoinbaseClient} instance using the given {@link JCoinbaseRuntime} and
+   * options. This method works exactly like {@link #build(String, String, String,
+   * JCoinbaseRuntime)} but also allows you to enable the optional features described in {@link
+   * JCoinbaseOptions}.
+   *
+   * @param apiKey your coinbase api key defined in your coinbase account
+   * @param secret your coinbase api secret given by coinbase when creating your api key in your
+   *     account settings
+   * @param apiVersion the api version defined in your coinbase setting
+   * @param runtime the transport resources shared by the clients
+   * @param options the optional features to enable
+   * @return a new {@link JCoinbaseClient} configured with the given parameters
+   * @throws NullPointerException if the runtime or the options are null
+   * @throws IllegalStateException if the runtime is closed
+   */
+  public static JCoinbaseClient build(
+      final String apiKey,
+      final String secret,
+      final String apiVersion,
+      final JCoinbaseRuntime runtime,
+      final JCoinbaseOptions options) {
+    Objects.requireNonNull(runtime, "runtime is null");
+    Objects.requireNonNull(options, "options is null");
+    if (runtime.isClosed()) {
+      throw new IllegalStateException("The runtime is closed");
+    }
+    return new JCoinbaseClient().build(apiKey, secret, apiVersion, runtime, false, options);
   }
 
   private static JCoinbaseClient buildWithoutThreadSafeSingleton(
-      final String apiKey, final String secret, final String apiVersion, long timeout) {
-    return new JCoinbaseClient().build(apiKey, secret, apiVersion, timeout, false);
+      final String apiKey,
+      final String secret,
+      final String apiVersion,
+      long timeout,
+      final JCoinbaseOptions options) {
+    return new JCoinbaseClient().build(apiKey, secret, apiVersion, timeout, false, options);
   }
 
   private static synchronized JCoinbaseClient buildThreadSafeSingleton(
-      final String apiKey, final String secret, final String apiVersion, long timeout) {
-    if (instance == null) {
-      instance = new JCoinbaseClient().build(apiKey, secret, apiVersion, timeout, true);
+      final String apiKey,
+      final String secret,
+      final String apiVersion,
+      long timeout,
+      final JCoinbaseOptions options) {
+    if (instance == null || instance.isClosed()) {
+      instance = new JCoinbaseClient().build(apiKey, secret, apiVersion, timeout, true, options);
     }
     return instance;
   }
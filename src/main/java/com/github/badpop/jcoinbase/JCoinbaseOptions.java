@@ -0,0 +1,236 @@
+package com.github.badpop.jcoinbase;
+
+import com.github.badpop.jcoinbase.service.http.CircuitBreakerPolicy;
+import com.github.badpop.jcoinbase.service.http.EndpointFamily;
+import com.github.badpop.jcoinbase.service.http.RetryPolicy;
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * The optional features of a {@link JCoinbaseClient}. Every option has a default value, so you only
+ * need to set the ones you want to change :
+ *
+ * <pre>{@code
+ * JCoinbaseOptions.builder().clockSynchronization(true).build();
+ * }</pre>
+ *
+ * <p>Give it to {@link JCoinbaseClientFactory#build(String, String, String, long, boolean,
+ * JCoinbaseOptions)} to build a client using these options.
+ */
+@Value
+@Builder(toBuilder = true, buildMethodName = "buildUnchecked")
+public class JCoinbaseOptions {
+
+  /**
+   * If true, the client periodically estimates the offset between the local clock and the Coinbase
+   * api clock, and uses it to timestamp the signed requests. Disabled by default.
+   *
+   * <p>The clients sharing a {@link JCoinbaseRuntime} share its clock synchronization as well,
+   * with the period and samples of the first of them.
+   */
+  @Builder.Default boolean clockSynchronization = false;
+
+  /** The delay between two clock synchronizations. 10 minutes by default. */
+  @Builder.Default Duration clockSynchronizationPeriod = Duration.ofMinutes(10);
+
+  /**
+   * The number of time samples taken at each clock synchronization. The sample with the shortest
+   * round trip is kept. 3 by default.
+   */
+  @Builder.Default int clockSynchronizationSamples = 3;
+
+  /**
+   * If true, the successful currencies, exchange rates and prices responses of the data services
+   * are cached, and concurrent requests for the same resource only send one http request. Disabled
+   * by default.
+   */
+  @Builder.Default boolean dataCache = false;
+
+  /** The time to live of the cached currencies. 1 hour by default. */
+  @Builder.Default Duration currenciesCacheTtl = Duration.ofHours(1);
+
+  /** The time to live of the cached exchange rates. 10 seconds by default. */
+  @Builder.Default Duration exchangeRatesCacheTtl = Duration.ofSeconds(10);
+
+  /** The time to live of the cached prices. 5 seconds by default. */
+  @Builder.Default Duration pricesCacheTtl = Duration.ofSeconds(5);
+
+  /**
+   * The maximum number of entries of each data cache. The least recently used entries are evicted
+   * first. 1000 by default.
+   */
+  @Builder.Default int dataCacheMaximumSize = 1000;
+
+  /**
+   * The currencies whose exchange rates are refreshed in the background and always read from
+   * memory. Requires the {@link #isDataCache() data cache} to be enabled. Empty by default.
+   */
+  @Builder.Default Set<String> exchangeRatesRefreshAhead = Set.of();
+
+  /**
+   * The delay between two refreshes of the watched exchange rates. It should be shorter than the
+   * exchange rates cache ttl. 5 seconds by default.
+   */
+  @Builder.Default Duration exchangeRatesRefreshPeriod = Duration.ofSeconds(5);
+
+  /**
+   * If true, the accounts of the fetched pages and of the successful updates are cached, so reading
+   * an account by id after listing or updating it sends no http request. Disabled by default.
+   */
+  @Builder.Default boolean accountCache = false;
+
+  /** The time to live of the cached accounts. 1 minute by default. */
+  @Builder.Default Duration accountCacheTtl = Duration.ofMinutes(1);
+
+  /**
+   * The maximum number of cached accounts. The least recently used accounts are evicted first. 1000
+   * by default.
+   */
+  @Builder.Default int accountCacheMaximumSize = 1000;
+
+  /**
+   * If true, the current user and its authorizations are cached, and replaced by the response of
+   * each update of the current user. Disabled by default.
+   */
+  @Builder.Default boolean userCache = false;
+
+  /** The time to live of the cached current user and authorizations. 5 minutes by default. */
+  @Builder.Default Duration userCacheTtl = Duration.ofMinutes(5);
+
+  /**
+   * If true, once the authorizations of the api key are fetched with {@code getAuthorizations}, the
+   * user and account requests needing a scope the key is not granted fail locally with an {@code
+   * invalid_scope} error, without any http request. Disabled by default.
+   */
+  @Builder.Default boolean scopeCheck = false;
+
+  /**
+   * The maximum number of requests sent at the same time by the bulk methods, like the data
+   * services {@code getPrices}. 8 by default.
+   */
+  @Builder.Default int bulkRequestsConcurrency = 8;
+
+  /**
+   * The timeout of each request to the public data endpoints : currencies, exchange rates, prices
+   * and time. 10 seconds by default.
+   */
+  @Builder.Default Duration dataRequestTimeout = Duration.ofSeconds(10);
+
+  /** The timeout of each request to the user endpoints. 30 seconds by default. */
+  @Builder.Default Duration userRequestTimeout = Duration.ofSeconds(30);
+
+  /** The timeout of each request to the account endpoints. 30 seconds by default. */
+  @Builder.Default Duration accountRequestTimeout = Duration.ofSeconds(30);
+
+  /** The retry policy of the data endpoints GET requests. No retry by default. */
+  @Builder.Default RetryPolicy dataRetryPolicy = RetryPolicy.none();
+
+  /** The retry policy of the user endpoints GET requests. No retry by default. */
+  @Builder.Default RetryPolicy userRetryPolicy = RetryPolicy.none();
+
+  /** The retry policy of the account endpoints GET requests. No retry by default. */
+  @Builder.Default RetryPolicy accountRetryPolicy = RetryPolicy.none();
+
+  /**
+   * The maximum time a request can be delayed once the Coinbase api rate limit is reached. A
+   * request that should wait longer fails with a {@link
+   * com.github.badpop.jcoinbase.exception.RateLimitExceededException}. 30 seconds by default.
+   */
+  @Builder.Default Duration rateLimitMaxWait = Duration.ofSeconds(30);
+
+  /**
+   * Set to true to delay the requests on the client side, so they stay under the Coinbase api
+   * rate limit instead of getting 429 responses. The public data requests and the authenticated
+   * requests are throttled separately. Disabled by default.
+   */
+  @Builder.Default boolean requestThrottling = false;
+
+  /**
+   * The number of public data requests sent per second when throttling. 2.5 by default, which is
+   * 9000 requests per hour, under the 10 000 allowed by Coinbase.
+   */
+  @Builder.Default double publicRequestsPerSecond = 2.5;
+
+  /**
+   * The number of user and account requests sent per second when throttling. 2.5 by default, which
+   * is 9000 requests per hour, under the 10 000 allowed by Coinbase.
+   */
+  @Builder.Default double authenticatedRequestsPerSecond = 2.5;
+
+  /**
+   * The number of requests of each kind that can be sent at once without waiting when throttling.
+   * 20 by default.
+   */
+  @Builder.Default int requestBurst = 20;
+
+  /**
+   * Set to true to fail the requests immediately with a {@link
+   * com.github.badpop.jcoinbase.exception.CircuitBreakerOpenException} while the Coinbase api fails
+   * or answers too slowly. Each endpoint family has its own breaker. Disabled by default.
+   */
+  @Builder.Default boolean circuitBreaker = false;
+
+  /** The policy of the circuit breaker of each endpoint family */
+  @Builder.Default
+  CircuitBreakerPolicy circuitBreakerPolicy = CircuitBreakerPolicy.builder().build();
+
+  /**
+   * @param family an endpoint family
+   * @return the timeout of each request to the given endpoint family
+   */
+  public Duration getRequestTimeout(final EndpointFamily family) {
+    switch (family) {
+      case DATA:
+        return dataRequestTimeout;
+      case USER:
+        return userRequestTimeout;
+      case ACCOUNT:
+        return accountRequestTimeout;
+      default:
+        throw new IllegalArgumentException("Unknown endpoint family " + family);
+    }
+  }
+
+  /**
+   * @param family an endpoint family
+   * @return the retry policy of the GET requests to the given endpoint family
+   */
+  public RetryPolicy getRetryPolicy(final EndpointFamily family) {
+    switch (family) {
+      case DATA:
+        return dataRetryPolicy;
+      case USER:
+        return userRetryPolicy;
+      case ACCOUNT:
+        return accountRetryPolicy;
+      default:
+        throw new IllegalArgumentException("Unknown endpoint family " + family);
+    }
+  }
+
+  /** @return the options used when none are given */
+  public static JCoinbaseOptions defaults() {
+    return JCoinbaseOptions.builder().build();
+  }
+
+  /** Build the {@link JCoinbaseOptions}, rejecting the inconsistent ones */
+  public static class JCoinbaseOptionsBuilder {
+
+    /**
+     * @return the built options
+     * @throws IllegalArgumentException if some exchange rates should be refreshed ahead while the
+     *     data cache is disabled
+     */
+    public JCoinbaseOptions build() {
+      final JCoinbaseOptions options = buildUnchecked();
+      if (!options.isDataCache() && !options.getExchangeRatesRefreshAhead().isEmpty()) {
+        throw new IllegalArgumentException(
+            "The exchange rates can only be refreshed ahead if the data cache is enabled");
+      }
+      return options;
+    }
+  }
+}
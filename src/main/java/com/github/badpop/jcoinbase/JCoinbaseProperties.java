@@ -101,6 +101,23 @@ public class JCoinbaseProperties {
     return this;
   }
 
+  /**
+   * Call this method to build a properly configured JCoinbaseProperties from the content of an
+   * already read jcoinbase.properties file, for example the one of a {@link JCoinbaseRuntime}.
+   *
+   * @param apiKey the coinbase api key
+   * @param secret the coinbase api secret
+   * @param apiVersion the coinbase api version
+   * @param source the content of the jcoinbase.properties file
+   * @return a new configured {@link JCoinbaseProperties}
+   */
+  protected JCoinbaseProperties build(
+      final String apiKey, final String secret, final String apiVersion, final Properties source) {
+    properties.putAll(source);
+    extractProperties(apiKey, secret, apiVersion);
+    return this;
+  }
+
   /**
    * A simple method used to extract properties from properties file and put them in the class'
    * fields
@@ -2,6 +2,8 @@ package com.github.badpop.jcoinbase;
 
 import lombok.NoArgsConstructor;
 
+import java.util.Properties;
+
 import static lombok.AccessLevel.PROTECTED;
 
 /**
@@ -35,6 +37,29 @@ public abstract class JCoinbasePropertiesFactory {
         : buildWithoutThreadSafeSingleton(apiKey, secret, apiVersion);
   }
 
+  /**
+   * This method build the JCoinbaseClient needed Properties from the content of an already read
+   * jcoinbase.properties file. It works exactly like {@link #build(String, String, String,
+   * boolean)} without reading the file again.
+   *
+   * @param apiKey the coinbase api key
+   * @param secret the coinbase api secret
+   * @param apiVersion the coinbase api version
+   * @param threadSafe boolean defining if the properties should be a thread safe singleton
+   * @param source the content of the jcoinbase.properties file
+   * @return a properly configured {@link JCoinbaseProperties}
+   */
+  protected static JCoinbaseProperties build(
+      final String apiKey,
+      final String secret,
+      final String apiVersion,
+      final boolean threadSafe,
+      final Properties source) {
+    return threadSafe
+        ? buildThreadSafeSingleton(apiKey, secret, apiVersion, source)
+        : new JCoinbaseProperties().build(apiKey, secret, apiVersion, source);
+  }
+
   /**
    * Call this method will return a new JcoinbaseProperties instance
    *
@@ -67,4 +92,23 @@ public abstract class JCoinbasePropertiesFactory {
     }
     return instance;
   }
+
+  /**
+   * Same as {@link #buildThreadSafeSingleton(String, String, String)} but building the instance
+   * from the content of an already read jcoinbase.properties file
+   *
+   * @param apiKey the coinbase api key
+   * @param secret the coinbase api secret
+   * @param apiVersion the coinbase api version
+   * @param source the content of the jcoinbase.properties file
+   * @return the already computed instance or a new configured {@link JCoinbaseProperties} if not
+   *     already computed
+   */
+  private static synchronized JCoinbaseProperties buildThreadSafeSingleton(
+      final String apiKey, final String secret, final String apiVersion, final Properties source) {
+    if (instance == null) {
+      instance = new JCoinbaseProperties().build(apiKey, secret, apiVersion, source);
+    }
+    return instance;
+  }
 }
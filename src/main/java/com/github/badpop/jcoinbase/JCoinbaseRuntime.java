@@ -0,0 +1,177 @@
+package com.github.badpop.jcoinbase;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.github.badpop.jcoinbase.service.data.ClockSynchronizer;
+import com.github.badpop.jcoinbase.service.data.CoinbaseDataService;
+import com.github.badpop.jcoinbase.service.http.JsonReaders;
+import io.vavr.jackson.datatype.VavrModule;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.http.HttpClient;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.ZoneId;
+import java.util.Properties;
+import java.util.TimeZone;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.fasterxml.jackson.databind.SerializationFeature.WRITE_DATES_AS_TIMESTAMPS;
+import static java.net.http.HttpClient.Redirect.NEVER;
+import static java.time.temporal.ChronoUnit.SECONDS;
+import static lombok.AccessLevel.NONE;
+import static lombok.AccessLevel.PRIVATE;
+
+/**
+ * The transport resources a {@link JCoinbaseClient} needs but which do not depend on the api key :
+ * the {@link HttpClient} with its connection pool, the executor running its asynchronous calls,
+ * the scheduler running its periodic tasks, the {@link ClockSynchronizer}, the Jackson
+ * ObjectMapper with its {@link JsonReaders} and the content of the jcoinbase.properties file.
+ *
+ * <p>Building these resources is expensive, so when using many api keys, build a single runtime
+ * and give it to {@link JCoinbaseClientFactory#build(String, String, String, JCoinbaseRuntime)}
+ * for each of them. All the clients built this way share the same connections, threads and
+ * synchronized clock, while keeping their own credentials, caches, rate limits and circuit
+ * breakers.
+ *
+ * <p>The runtime is not closed by the clients it was given to. Call {@link #close()} once none of
+ * them is used anymore. Only the runtime a client built for itself is closed by {@link
+ * JCoinbaseClient#close()}.
+ */
+@Slf4j
+@Getter
+@FieldDefaults(level = PRIVATE, makeFinal = true)
+public final class JCoinbaseRuntime implements AutoCloseable {
+
+  private static final AtomicInteger THREADS = new AtomicInteger();
+
+  /**
+   * The periodic tasks block while they wait for their responses, so the scheduler has a thread
+   * per processor to keep a slow task from delaying all the others
+   */
+  private static final int SCHEDULER_THREADS = Runtime.getRuntime().availableProcessors();
+
+  ExecutorService executor;
+
+  /**
+   * The scheduler running the clock synchronization, the exchange rates refreshes and the rate
+   * matrices rebuilds of the clients
+   */
+  ScheduledExecutorService scheduler;
+
+  @Getter(NONE)
+  @NonFinal
+  ClockSynchronizer clockSynchronizer;
+
+  HttpClient httpClient;
+  ObjectMapper jsonSerDes;
+  JsonReaders jsonReaders;
+  Properties properties;
+
+  private JCoinbaseRuntime(final long timeout) {
+    this.executor =
+        Executors.newCachedThreadPool(
+            runnable -> {
+              final Thread thread =
+                  new Thread(runnable, "jcoinbase-runtime-" + THREADS.incrementAndGet());
+              thread.setDaemon(true);
+              return thread;
+            });
+    final ScheduledThreadPoolExecutor scheduledExecutor =
+        new ScheduledThreadPoolExecutor(
+            SCHEDULER_THREADS,
+            runnable -> {
+              final Thread thread =
+                  new Thread(runnable, "jcoinbase-scheduler-" + THREADS.incrementAndGet());
+              thread.setDaemon(true);
+              return thread;
+            });
+    scheduledExecutor.setRemoveOnCancelPolicy(true);
+    this.scheduler = scheduledExecutor;
+    this.httpClient =
+        HttpClient.newBuilder()
+            .connectTimeout(Duration.of(timeout, SECONDS))
+            .followRedirects(NEVER)
+            .executor(executor)
+            .build();
+    this.jsonSerDes =
+        new ObjectMapper()
+            .findAndRegisterModules()
+            .registerModule(new VavrModule())
+            .registerModule(new JavaTimeModule())
+            .setPropertyNamingStrategy(PropertyNamingStrategies.SNAKE_CASE)
+            .setTimeZone(TimeZone.getTimeZone(ZoneId.systemDefault()))
+            .configure(WRITE_DATES_AS_TIMESTAMPS, false);
+    this.jsonReaders = new JsonReaders(jsonSerDes);
+    this.properties = new JCoinbaseProperties().build(null, null, null).getProperties();
+  }
+
+  /**
+   * Build a new runtime
+   *
+   * @param timeout the desired timeout for each http request made to the coinbase api in seconds.
+   *     The minimum value is 1 second, 3 seconds are used instead of lower values.
+   * @return a new {@link JCoinbaseRuntime}
+   */
+  public static JCoinbaseRuntime create(long timeout) {
+    if (timeout < 1) {
+      timeout = 3;
+      log.warn(
+          "The minimum value for timeout is 1 second. The runtime will use the default timeout defined at 3 seconds instead.");
+    }
+    log.info("Start building new JCoinbase runtime !");
+    final JCoinbaseRuntime runtime = new JCoinbaseRuntime(timeout);
+    log.info("JCoinbase runtime successfully built !");
+    return runtime;
+  }
+
+  /**
+   * Get the {@link ClockSynchronizer} shared by the clients of this runtime. It is built on the
+   * first call, sampling the Coinbase api time through the given client with the clock
+   * synchronization period and samples of the given options. It is only started by the clients
+   * enabling the clock synchronization.
+   *
+   * @param client the client asking for the synchronizer
+   * @param options the options of this client
+   * @return the shared {@link ClockSynchronizer}
+   */
+  synchronized ClockSynchronizer clockSynchronizer(
+      final JCoinbaseClient client, final JCoinbaseOptions options) {
+    if (clockSynchronizer == null) {
+      clockSynchronizer =
+          new ClockSynchronizer(
+              client,
+              new CoinbaseDataService(),
+              Clock.systemUTC(),
+              options.getClockSynchronizationPeriod(),
+              options.getClockSynchronizationSamples());
+    }
+    return clockSynchronizer;
+  }
+
+  /** @return true if this runtime has been closed */
+  public boolean isClosed() {
+    return executor.isShutdown();
+  }
+
+  /**
+   * Stop the threads of this runtime and the periodic tasks of its clients. The requests in
+   * progress are completed but the clients using this runtime can not send any new request.
+   */
+  @Override
+  public synchronized void close() {
+    if (clockSynchronizer != null) {
+      clockSynchronizer.stop();
+    }
+    scheduler.shutdownNow();
+    executor.shutdown();
+  }
+}
@@ -0,0 +1,133 @@
+package com.github.badpop.jcoinbase.control;
+
+import com.github.badpop.jcoinbase.exception.DeadlineExceededException;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeoutException;
+import java.util.function.LongSupplier;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * An end-to-end time budget shared by all the requests of an operation, like a quote or a full
+ * accounts stream. Each request sent under a deadline is given the smallest of its own timeout and
+ * the time left, and no request is sent once the deadline is expired.
+ *
+ * <pre>{@code
+ * client.data().getQuote("BTC", "EUR", Deadline.after(Duration.ofMillis(500)));
+ * }</pre>
+ */
+public final class Deadline {
+
+  private static final Deadline NONE = new Deadline(Long.MAX_VALUE, System::nanoTime, false);
+
+  private final long deadlineNanos;
+  private final LongSupplier ticker;
+  private final boolean bounded;
+
+  Deadline(final long deadlineNanos, final LongSupplier ticker, final boolean bounded) {
+    this.deadlineNanos = deadlineNanos;
+    this.ticker = ticker;
+    this.bounded = bounded;
+  }
+
+  /**
+   * @param budget the time budget, starting now
+   * @return a deadline expiring once the given budget is spent
+   * @throws IllegalArgumentException if the budget is negative
+   */
+  public static Deadline after(final Duration budget) {
+    return after(budget, System::nanoTime);
+  }
+
+  static Deadline after(final Duration budget, final LongSupplier ticker) {
+    if (budget.isNegative()) {
+      throw new IllegalArgumentException("The deadline budget can not be negative");
+    }
+    return new Deadline(ticker.getAsLong() + budget.toNanos(), ticker, true);
+  }
+
+  /** @return a deadline never expiring : only the requests own timeouts apply */
+  public static Deadline none() {
+    return NONE;
+  }
+
+  /** @return true if this deadline can expire */
+  public boolean isBounded() {
+    return bounded;
+  }
+
+  /** @return true if the budget is spent */
+  public boolean isExpired() {
+    return bounded && deadlineNanos - ticker.getAsLong() <= 0;
+  }
+
+  /**
+   * @return the time left before this deadline expires, {@link Duration#ZERO} if it is expired, or
+   *     the maximum duration if it is not bounded
+   */
+  public Duration remaining() {
+    if (!bounded) {
+      return Duration.ofNanos(Long.MAX_VALUE);
+    }
+    return Duration.ofNanos(Math.max(0, deadlineNanos - ticker.getAsLong()));
+  }
+
+  /**
+   * Check this deadline is not expired
+   *
+   * @throws DeadlineExceededException if it is expired
+   */
+  public void check() {
+    if (isExpired()) {
+      throw new DeadlineExceededException("The deadline expired before the request was sent");
+    }
+  }
+
+  /**
+   * @param timeout the own timeout of a request
+   * @return the smallest of the given timeout and the time left
+   * @throws DeadlineExceededException if this deadline is expired
+   */
+  public Duration cap(final Duration timeout) {
+    if (!bounded) {
+      return timeout;
+    }
+    final long left = deadlineNanos - ticker.getAsLong();
+    if (left <= 0) {
+      throw new DeadlineExceededException("The deadline expired before the request was sent");
+    }
+    final Duration remaining = Duration.ofNanos(left);
+    return remaining.compareTo(timeout) < 0 ? remaining : timeout;
+  }
+
+  /**
+   * Bound the wait for the given future by this deadline. The given future is not affected.
+   *
+   * @param future the future to wait for
+   * @param <T> the type of the future value
+   * @return a new future completing with the value of the given one, or exceptionally with a
+   *     {@link DeadlineExceededException} if this deadline expires first
+   */
+  public <T> CompletableFuture<T> bound(final CompletableFuture<T> future) {
+    final CompletableFuture<T> bounded = future.copy();
+    if (!this.bounded) {
+      return bounded;
+    }
+    return bounded
+        .orTimeout(remaining().toNanos(), NANOSECONDS)
+        .exceptionallyCompose(
+            throwable ->
+                CompletableFuture.failedFuture(
+                    throwable instanceof TimeoutException
+                        ? new DeadlineExceededException(
+                            "The deadline expired before the response was received")
+                        : throwable));
+  }
+
+  @Override
+  public String toString() {
+    return bounded ? "Deadline(remaining=" + remaining() + ")" : "Deadline(none)";
+  }
+}
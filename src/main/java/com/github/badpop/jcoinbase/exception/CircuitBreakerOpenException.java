@@ -0,0 +1,22 @@
+package com.github.badpop.jcoinbase.exception;
+
+import java.time.Duration;
+
+/**
+ * Thrown without sending the request when the circuit breaker of its endpoint family is open,
+ * because the Coinbase api recently failed or answered too slowly.
+ */
+public class CircuitBreakerOpenException extends JCoinbaseException {
+
+  private final Duration retryAfter;
+
+  public CircuitBreakerOpenException(String message, Duration retryAfter) {
+    super(message);
+    this.retryAfter = retryAfter;
+  }
+
+  /** @return the time left before the circuit breaker lets trial requests through */
+  public Duration getRetryAfter() {
+    return retryAfter;
+  }
+}
@@ -0,0 +1,30 @@
+package com.github.badpop.jcoinbase.exception;
+
+import com.github.badpop.jcoinbase.model.CoinbaseError;
+import io.vavr.collection.Seq;
+
+import java.util.List;
+
+/**
+ * Thrown when the Coinbase api returns errors and the called method can not return them as a
+ * {@link com.github.badpop.jcoinbase.control.CallResult} failure.
+ */
+public class CoinbaseApiException extends JCoinbaseException {
+
+  private final transient Seq<CoinbaseError> errors;
+
+  public CoinbaseApiException(String message, Seq<CoinbaseError> errors) {
+    super(message + " : " + errors.mkString(", "));
+    this.errors = errors;
+  }
+
+  /** @return the errors returned by the Coinbase api */
+  public Seq<CoinbaseError> getErrors() {
+    return errors;
+  }
+
+  /** @return the errors returned by the Coinbase api as a java List */
+  public List<CoinbaseError> getErrorsAsJava() {
+    return errors.asJava();
+  }
+}
@@ -0,0 +1,12 @@
+package com.github.badpop.jcoinbase.exception;
+
+/**
+ * Thrown when a {@link com.github.badpop.jcoinbase.control.Deadline} expires before the requested
+ * operation is done.
+ */
+public class DeadlineExceededException extends JCoinbaseException {
+
+  public DeadlineExceededException(String message) {
+    super(message);
+  }
+}
@@ -0,0 +1,22 @@
+package com.github.badpop.jcoinbase.exception;
+
+import java.time.Duration;
+
+/**
+ * Thrown when a request would have to wait for the Coinbase api rate limit longer than allowed by
+ * the {@link com.github.badpop.jcoinbase.JCoinbaseOptions#getRateLimitMaxWait() options}.
+ */
+public class RateLimitExceededException extends JCoinbaseException {
+
+  private final Duration retryAfter;
+
+  public RateLimitExceededException(String message, Duration retryAfter) {
+    super(message);
+    this.retryAfter = retryAfter;
+  }
+
+  /** @return the time to wait before the rate limit allows new requests */
+  public Duration getRetryAfter() {
+    return retryAfter;
+  }
+}
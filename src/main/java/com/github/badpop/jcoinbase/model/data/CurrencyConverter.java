@@ -0,0 +1,137 @@
+package com.github.badpop.jcoinbase.model.data;
+
+import io.vavr.control.Option;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Convert amounts between any two currencies of an {@link ExchangeRates} snapshot, entirely in
+ * memory. The conversions go through the snapshot currency : to convert from X to Y, the amount is
+ * converted from X to the snapshot currency, then from the snapshot currency to Y.
+ *
+ * <p>The rates are the ones of the snapshot, so the converter should be rebuilt with newer
+ * exchange rates to follow the market. Instances are immutable and thread safe.
+ */
+public class CurrencyConverter {
+
+  /** The precision used when none is given, as a 128 bits decimal */
+  public static final MathContext DEFAULT_MATH_CONTEXT = MathContext.DECIMAL128;
+
+  /** The snapshot currency, all the rates are relative to it */
+  @Getter private final String baseCurrency;
+
+  @Getter private final MathContext mathContext;
+
+  /** The amount of each currency for one unit of the base currency, without the zero rates */
+  private final Map<String, BigDecimal> rates;
+
+  private CurrencyConverter(final ExchangeRates exchangeRates, final MathContext mathContext) {
+    this.baseCurrency = exchangeRates.getCurrency();
+    this.mathContext = mathContext;
+    final RateTable table = exchangeRates.getRateTable();
+    this.rates = new HashMap<>(table.size() + 1, 1f);
+    for (int i = 0; i < table.size(); i++) {
+      final BigDecimal rate = table.exactRateAt(i);
+      if (rate.signum() > 0) {
+        rates.put(table.codeAt(i), rate);
+      }
+    }
+    this.rates.put(baseCurrency, BigDecimal.ONE);
+  }
+
+  /**
+   * Build a converter using the {@link #DEFAULT_MATH_CONTEXT}
+   *
+   * @param exchangeRates the exchange rates snapshot
+   * @return a new {@link CurrencyConverter}
+   */
+  public static CurrencyConverter of(final ExchangeRates exchangeRates) {
+    return of(exchangeRates, DEFAULT_MATH_CONTEXT);
+  }
+
+  /**
+   * Build a converter
+   *
+   * @param exchangeRates the exchange rates snapshot
+   * @param mathContext the precision and rounding mode of the conversions
+   * @return a new {@link CurrencyConverter}
+   */
+  public static CurrencyConverter of(
+      final ExchangeRates exchangeRates, final MathContext mathContext) {
+    Objects.requireNonNull(exchangeRates, "exchangeRates is null");
+    Objects.requireNonNull(mathContext, "mathContext is null");
+    return new CurrencyConverter(exchangeRates, mathContext);
+  }
+
+  /**
+   * @param currency a currency code. For example : BTC, USD, EUR, ETH, ...
+   * @return true if this converter knows a rate for the given currency
+   */
+  public boolean supports(final String currency) {
+    return rates.containsKey(currency);
+  }
+
+  /**
+   * Get the amount of the target currency for one unit of the source currency
+   *
+   * @param from the source currency code
+   * @param to the target currency code
+   * @return an {@link Option} containing the rate, empty if one of the currencies is unknown
+   */
+  public Option<BigDecimal> getRate(final String from, final String to) {
+    return convert(BigDecimal.ONE, from, to);
+  }
+
+  /**
+   * Get the amount of the target currency for one unit of the source currency
+   *
+   * @param from the source currency code
+   * @param to the target currency code
+   * @return an {@link Optional} containing the rate, empty if one of the currencies is unknown
+   */
+  public Optional<BigDecimal> getRateAsJava(final String from, final String to) {
+    return getRate(from, to).toJavaOptional();
+  }
+
+  /**
+   * Convert an amount of the source currency into the target currency
+   *
+   * @param amount the amount to convert
+   * @param from the source currency code
+   * @param to the target currency code
+   * @return an {@link Option} containing the converted amount, empty if one of the currencies is
+   *     unknown
+   */
+  public Option<BigDecimal> convert(final BigDecimal amount, final String from, final String to) {
+    Objects.requireNonNull(amount, "amount is null");
+    final BigDecimal fromRate = rates.get(from);
+    final BigDecimal toRate = rates.get(to);
+    if (fromRate == null || toRate == null) {
+      return Option.none();
+    }
+    if (from.equals(to)) {
+      return Option.some(amount);
+    }
+    return Option.some(amount.multiply(toRate).divide(fromRate, mathContext));
+  }
+
+  /**
+   * Convert an amount of the source currency into the target currency
+   *
+   * @param amount the amount to convert
+   * @param from the source currency code
+   * @param to the target currency code
+   * @return an {@link Optional} containing the converted amount, empty if one of the currencies is
+   *     unknown
+   */
+  public Optional<BigDecimal> convertAsJava(
+      final BigDecimal amount, final String from, final String to) {
+    return convert(amount, from, to).toJavaOptional();
+  }
+}
@@ -0,0 +1,17 @@
+package com.github.badpop.jcoinbase.model.data;
+
+import lombok.Value;
+
+/** Class representing a pair of currencies, like BTC-USD to price Bitcoin in USD */
+@Value(staticConstructor = "of")
+public class CurrencyPair {
+
+  String baseCurrency;
+  String targetCurrency;
+
+  /** @return the Coinbase representation of this pair. For example : BTC-USD */
+  @Override
+  public String toString() {
+    return baseCurrency + "-" + targetCurrency;
+  }
+}
@@ -2,6 +2,9 @@ package com.github.badpop.jcoinbase.model.data;
 
 import io.vavr.collection.Map;
 import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
 import lombok.Value;
 
 import java.math.BigDecimal;
@@ -11,7 +14,18 @@ import java.math.BigDecimal;
 @Builder
 public class ExchangeRates {
   String currency;
-  Map<String, BigDecimal> rates;
+
+  /**
+   * The rates, holding both the exact values returned by Coinbase and their doubles. Use it to read
+   * many rates without allocating.
+   */
+  @Builder.Default RateTable rateTable = RateTable.empty();
+
+  /** The exact rates as a Map, built from the rate table on the first call then reused */
+  @Getter(lazy = true)
+  @EqualsAndHashCode.Exclude
+  @ToString.Exclude
+  Map<String, BigDecimal> rates = rateTable.toMap();
 
   /**
    * Return currency rates as a java Map instead of a Vavr Map
@@ -19,6 +33,18 @@ public class ExchangeRates {
    * @return a java Map containing all the rates
    */
   public java.util.Map<String, BigDecimal> getRatesAsJavaMap() {
-    return rates.toJavaMap();
+    return getRates().toJavaMap();
+  }
+
+  /** Build an {@link ExchangeRates} */
+  public static class ExchangeRatesBuilder {
+
+    /**
+     * @param rates the exact rates by currency code
+     * @return this builder
+     */
+    public ExchangeRatesBuilder rates(final Map<String, BigDecimal> rates) {
+      return rateTable(rates == null ? RateTable.empty() : RateTable.of(rates));
+    }
   }
 }
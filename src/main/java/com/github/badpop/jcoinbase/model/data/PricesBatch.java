@@ -0,0 +1,63 @@
+package com.github.badpop.jcoinbase.model.data;
+
+import com.github.badpop.jcoinbase.control.CallResult;
+import com.github.badpop.jcoinbase.model.CoinbaseError;
+import com.github.badpop.jcoinbase.model.data.Price.PriceType;
+import io.vavr.collection.Map;
+import io.vavr.collection.Seq;
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Duration;
+
+/**
+ * Class representing the result of a bulk price request : one {@link CallResult} per requested
+ * {@link CurrencyPair}, in the requested order, and the time taken by the whole batch.
+ *
+ * <p>A pair whose request could not complete, for example because of a timeout or an open circuit
+ * breaker, gets a {@value #REQUEST_FAILED} failure and does not affect the other pairs.
+ */
+@Value
+@Builder
+public class PricesBatch {
+
+  /** The code of the error describing a pair whose request could not complete */
+  public static final String REQUEST_FAILED = "request_failed";
+
+  PriceType priceType;
+  Map<CurrencyPair, CallResult<Seq<CoinbaseError>, Price>> results;
+  Duration duration;
+
+  /**
+   * @return the results as a java Map, in the requested order, with the errors as java Lists
+   */
+  public java.util.Map<CurrencyPair, CallResult<java.util.List<CoinbaseError>, Price>>
+      getResultsAsJava() {
+    return results.mapValues(result -> result.mapFailure(Seq::asJava)).toJavaMap();
+  }
+
+  /** @return the prices of the successful pairs */
+  public Map<CurrencyPair, Price> getPrices() {
+    return results.filterValues(CallResult::isSuccess).mapValues(CallResult::get);
+  }
+
+  /** @return the errors of the failed pairs */
+  public Map<CurrencyPair, Seq<CoinbaseError>> getErrors() {
+    return results.filterValues(CallResult::isFailure).mapValues(CallResult::getFailure);
+  }
+
+  /** @return true if the price of every requested pair was successfully fetched */
+  public boolean isComplete() {
+    return results.values().forAll(CallResult::isSuccess);
+  }
+
+  /**
+   * Aggregate the results the same way as {@link CallResult#sequence(Iterable)}.
+   *
+   * @return a {@link CallResult} containing all the prices if every pair succeeded, the errors of
+   *     all the failed pairs otherwise.
+   */
+  public CallResult<Seq<Seq<CoinbaseError>>, Seq<Price>> sequence() {
+    return CallResult.sequence(results.values());
+  }
+}
@@ -0,0 +1,33 @@
+package com.github.badpop.jcoinbase.model.data;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.math.BigDecimal;
+
+/**
+ * Class representing the buy, sell and spot prices of a currency pair fetched together, with the
+ * derived spread and mid prices
+ */
+@Value
+@Builder
+public class Quote {
+
+  private static final BigDecimal TWO = BigDecimal.valueOf(2);
+
+  String baseCurrency;
+  String targetCurrency;
+  Price buy;
+  Price sell;
+  Price spot;
+
+  /** @return the difference between the buy and the sell prices amounts */
+  public BigDecimal getSpread() {
+    return buy.getAmount().subtract(sell.getAmount());
+  }
+
+  /** @return the average of the buy and the sell prices amounts */
+  public BigDecimal getMid() {
+    return buy.getAmount().add(sell.getAmount()).divide(TWO);
+  }
+}
@@ -0,0 +1,123 @@
+package com.github.badpop.jcoinbase.model.data;
+
+import io.vavr.collection.IndexedSeq;
+import io.vavr.collection.Set;
+import lombok.Getter;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * An immutable N×N matrix of exchange rates : the cell (i, j) holds the amount of the currency j
+ * for one unit of the currency i. The currencies are indexed by their position in {@link
+ * #getCurrencies()}.
+ *
+ * <p>The rates are stored as doubles in a single off-heap buffer, so that large matrices do not
+ * weigh on the garbage collector, and reading a rate never allocates. The cells of the currencies
+ * whose exchange rates could not be fetched are {@link Double#NaN}.
+ */
+public final class RateMatrix {
+
+  /** The currencies, the index of a currency is its row and column index */
+  @Getter private final IndexedSeq<String> currencies;
+
+  /** The currencies whose exchange rates could not be fetched, their rows are NaN */
+  @Getter private final Set<String> missingCurrencies;
+
+  /** The instant the build of this matrix completed */
+  @Getter private final Instant builtAt;
+
+  /** The time taken to fetch the exchange rates and fill this matrix */
+  @Getter private final Duration buildDuration;
+
+  private final Map<String, Integer> indexes;
+  private final DoubleBuffer rates;
+  private final int size;
+
+  /**
+   * @param currencies the currencies of the matrix
+   * @param rows the exchange rates of each currency, by currency. The missing ones give NaN rows.
+   * @param builtAt the instant the build completed
+   * @param buildDuration the time taken by the build
+   */
+  public RateMatrix(
+      final IndexedSeq<String> currencies,
+      final io.vavr.collection.Map<String, RateTable> rows,
+      final Instant builtAt,
+      final Duration buildDuration) {
+    this.currencies = currencies;
+    this.missingCurrencies = currencies.toSet().filter(currency -> !rows.containsKey(currency));
+    this.builtAt = builtAt;
+    this.buildDuration = buildDuration;
+    this.size = currencies.size();
+    this.indexes = new HashMap<>(size * 2);
+
+    final String[] codes = currencies.toJavaArray(String[]::new);
+    for (int i = 0; i < size; i++) {
+      indexes.put(codes[i], i);
+    }
+
+    this.rates =
+        ByteBuffer.allocateDirect(size * size * Double.BYTES)
+            .order(ByteOrder.nativeOrder())
+            .asDoubleBuffer();
+    for (int i = 0; i < size; i++) {
+      final RateTable row = rows.get(codes[i]).getOrNull();
+      for (int j = 0; j < size; j++) {
+        rates.put(i * size + j, rate(row, codes, i, j));
+      }
+    }
+  }
+
+  private static double rate(final RateTable row, final String[] codes, final int i, final int j) {
+    if (row == null) {
+      return Double.NaN;
+    }
+    return i == j ? 1d : row.rate(codes[j]);
+  }
+
+  /** @return the number of currencies, which is the number of rows and columns */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * @param currency a currency code. For example : BTC, USD, EUR, ETH, ...
+   * @return the row and column index of this currency, or -1 if it is not in the matrix
+   */
+  public int indexOf(final String currency) {
+    final Integer index = indexes.get(currency);
+    return index != null ? index : -1;
+  }
+
+  /**
+   * @param i the index of the source currency
+   * @param j the index of the target currency
+   * @return the amount of the currency j for one unit of the currency i, or NaN if unknown
+   * @throws IndexOutOfBoundsException if an index is out of the matrix
+   */
+  public double rate(final int i, final int j) {
+    if (i < 0 || i >= size || j < 0 || j >= size) {
+      throw new IndexOutOfBoundsException(
+          String.format("Cell (%d, %d) is out of a %d×%d matrix", i, j, size, size));
+    }
+    return rates.get(i * size + j);
+  }
+
+  /**
+   * @param from the source currency code
+   * @param to the target currency code
+   * @return the amount of the target currency for one unit of the source currency, or NaN if
+   *     unknown
+   */
+  public double rate(final String from, final String to) {
+    final int i = indexOf(from);
+    final int j = indexOf(to);
+    return i < 0 || j < 0 ? Double.NaN : rates.get(i * size + j);
+  }
+}
@@ -0,0 +1,283 @@
+package com.github.badpop.jcoinbase.model.data;
+
+import io.vavr.collection.LinkedHashMap;
+import io.vavr.collection.Map;
+import io.vavr.control.Option;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * A compact and immutable table of exchange rates, stored in arrays indexed by the position of their
+ * currency in the table. The rates are kept as doubles, behind an open-addressed index of the
+ * currency codes. {@link #indexOf(String)} and {@link #rateAt(int)} never allocate, which suits the
+ * numeric code reading many rates, such as a {@link RateMatrix}.
+ *
+ * <p>A double keeps about 15 significant digits, so the double rates are meant for fast approximate
+ * computations. Use the exact rates when the precision matters. They are derived from the doubles
+ * when read, and only the few exact rates a double cannot represent are stored.
+ */
+public final class RateTable {
+
+  private static final RateTable EMPTY =
+      new RateTable(new String[0], new double[0], new int[0], new BigDecimal[0]);
+
+  /** The currency codes, in the order they were added */
+  private final String[] codes;
+
+  /** The rates as doubles, at the index of their currency code */
+  private final double[] rates;
+
+  /** The open-addressed index of the currency codes, holding their index plus one, 0 if empty */
+  private final int[] slots;
+
+  /** The sorted indexes of the exact rates that cannot be derived from their double */
+  private final int[] exactIndexes;
+
+  /** The exact rates that cannot be derived from their double, in the order of exactIndexes */
+  private final BigDecimal[] exactRates;
+
+  private RateTable(
+      final String[] codes,
+      final double[] rates,
+      final int[] exactIndexes,
+      final BigDecimal[] exactRates) {
+    this.codes = codes;
+    this.rates = rates;
+    this.exactIndexes = exactIndexes;
+    this.exactRates = exactRates;
+    this.slots = new int[Integer.highestOneBit(Math.max(2, codes.length * 2) - 1) << 1];
+    for (int i = 0; i < codes.length; i++) {
+      int slot = slot(codes[i]);
+      while (slots[slot] != 0) {
+        slot = (slot + 1) & (slots.length - 1);
+      }
+      slots[slot] = i + 1;
+    }
+  }
+
+  private int slot(final String code) {
+    final int hash = code.hashCode();
+    return (hash ^ (hash >>> 16)) & (slots.length - 1);
+  }
+
+  /** @return an empty table */
+  public static RateTable empty() {
+    return EMPTY;
+  }
+
+  /**
+   * Build a table holding the given rates
+   *
+   * @param rates the rates by currency code
+   * @return a new {@link RateTable}
+   */
+  public static RateTable of(final Map<String, BigDecimal> rates) {
+    Objects.requireNonNull(rates, "rates is null");
+    final Builder builder = new Builder(rates.size());
+    rates.forEach(builder::put);
+    return builder.build();
+  }
+
+  /** @return a new {@link Builder} */
+  public static Builder builder() {
+    return new Builder(16);
+  }
+
+  /**
+   * @param code a currency code. For example : BTC, USD, EUR, ETH, ...
+   * @return the index of this currency, to read its rate with {@link #rateAt(int)}, or -1 if there
+   *     is none
+   */
+  public int indexOf(final String code) {
+    if (code == null) {
+      return -1;
+    }
+    for (int slot = slot(code); slots[slot] != 0; slot = (slot + 1) & (slots.length - 1)) {
+      if (codes[slots[slot] - 1].equals(code)) {
+        return slots[slot] - 1;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * @param code a currency code. For example : BTC, USD, EUR, ETH, ...
+   * @return the rate of this currency, or {@link Double#NaN} if there is none
+   */
+  public double rate(final String code) {
+    final int index = indexOf(code);
+    return index >= 0 ? rates[index] : Double.NaN;
+  }
+
+  /**
+   * @param code a currency code. For example : BTC, USD, EUR, ETH, ...
+   * @return an {@link Option} of the exact rate of this currency, empty if there is none
+   */
+  public Option<BigDecimal> exactRate(final String code) {
+    final int index = indexOf(code);
+    return index >= 0 ? Option.some(exactRateAt(index)) : Option.none();
+  }
+
+  /**
+   * @param code a currency code. For example : BTC, USD, EUR, ETH, ...
+   * @return true if this table holds a rate for the given currency
+   */
+  public boolean contains(final String code) {
+    return indexOf(code) >= 0;
+  }
+
+  /** @return the number of rates in this table */
+  public int size() {
+    return codes.length;
+  }
+
+  /**
+   * @param index an index between 0 and {@link #size()} excluded
+   * @return the currency code at this index, in the order the rates were added
+   */
+  public String codeAt(final int index) {
+    return codes[index];
+  }
+
+  /**
+   * @param index an index between 0 and {@link #size()} excluded
+   * @return the rate at this index, in the order the rates were added
+   */
+  public double rateAt(final int index) {
+    return rates[index];
+  }
+
+  /**
+   * @param index an index between 0 and {@link #size()} excluded
+   * @return the exact rate at this index, in the order the rates were added
+   */
+  public BigDecimal exactRateAt(final int index) {
+    final int exactIndex = Arrays.binarySearch(exactIndexes, index);
+    return exactIndex >= 0 ? exactRates[exactIndex] : BigDecimal.valueOf(rates[index]);
+  }
+
+  /** @return a new Map of the exact rates by currency code, in the order they were added */
+  public Map<String, BigDecimal> toMap() {
+    Map<String, BigDecimal> map = LinkedHashMap.empty();
+    for (int i = 0; i < codes.length; i++) {
+      map = map.put(codes[i], exactRateAt(i));
+    }
+    return map;
+  }
+
+  @Override
+  public boolean equals(final Object other) {
+    if (this == other) {
+      return true;
+    }
+    if (!(other instanceof RateTable)) {
+      return false;
+    }
+    final RateTable that = (RateTable) other;
+    if (size() != that.size()) {
+      return false;
+    }
+    for (int i = 0; i < codes.length; i++) {
+      if (!exactRateAt(i).equals(that.exactRate(codes[i]).getOrNull())) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = 0;
+    for (int i = 0; i < codes.length; i++) {
+      hash += codes[i].hashCode() ^ exactRateAt(i).hashCode();
+    }
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    final StringBuilder builder = new StringBuilder("{");
+    for (int i = 0; i < codes.length; i++) {
+      builder.append(i == 0 ? "" : ", ").append(codes[i]).append('=').append(exactRateAt(i));
+    }
+    return builder.append('}').toString();
+  }
+
+  /** Build a {@link RateTable} */
+  public static final class Builder {
+
+    private final HashMap<String, Integer> indexes;
+    private String[] codes;
+    private double[] rates;
+
+    /** The exact rates that cannot be derived from their double, by index */
+    private final TreeMap<Integer, BigDecimal> exactRates = new TreeMap<>();
+
+    private int size = 0;
+
+    private Builder(final int capacity) {
+      this.indexes = new HashMap<>(capacity * 2);
+      this.codes = new String[Math.max(capacity, 1)];
+      this.rates = new double[codes.length];
+    }
+
+    /**
+     * Add a rate to the table, replacing the previous rate of the same currency if any. The null
+     * rates are ignored.
+     *
+     * @param code the currency code
+     * @param rate the exact rate
+     * @return this builder
+     */
+    public Builder put(final String code, final BigDecimal rate) {
+      Objects.requireNonNull(code, "code is null");
+      if (rate == null) {
+        return this;
+      }
+      Integer index = indexes.get(code);
+      if (index == null) {
+        if (size == codes.length) {
+          codes = Arrays.copyOf(codes, size * 2);
+          rates = Arrays.copyOf(rates, size * 2);
+        }
+        index = size++;
+        indexes.put(code, index);
+        codes[index] = code;
+      }
+      rates[index] = rate.doubleValue();
+      if (BigDecimal.valueOf(rates[index]).equals(rate)) {
+        exactRates.remove(index);
+      } else {
+        exactRates.put(index, rate);
+      }
+      return this;
+    }
+
+    /**
+     * Add a rate to the table, replacing the previous rate of the same currency if any. The
+     * {@link Double#NaN} rates are ignored.
+     *
+     * @param code the currency code
+     * @param rate the rate, whose exact value is its decimal representation
+     * @return this builder
+     */
+    public Builder put(final String code, final double rate) {
+      return Double.isNaN(rate) ? this : put(code, BigDecimal.valueOf(rate));
+    }
+
+    /** @return a new {@link RateTable} holding the added rates */
+    public RateTable build() {
+      return size == 0
+          ? EMPTY
+          : new RateTable(
+              Arrays.copyOf(codes, size),
+              Arrays.copyOf(rates, size),
+              exactRates.keySet().stream().mapToInt(Integer::intValue).toArray(),
+              exactRates.values().toArray(BigDecimal[]::new));
+    }
+  }
+}
@@ -0,0 +1,64 @@
+package com.github.badpop.jcoinbase.model.request;
+
+import com.github.badpop.jcoinbase.model.Pagination.Order;
+import io.vavr.collection.List;
+import io.vavr.control.Option;
+import lombok.Builder;
+import lombok.Value;
+
+import java.net.URLEncoder;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Create an instance of this class to choose the size, the order and the starting point of the
+ * requested page. Leave the fields empty to use the Coinbase default values.
+ *
+ * <p>For more information please take a look at <a
+ * href="https://developers.coinbase.com/api/v2#pagination">Coinbase API pagination reference</a>
+ */
+@Value
+@Builder
+public class PageRequest {
+
+  /** The maximum page size accepted by the Coinbase api */
+  public static final int MAX_LIMIT = 100;
+
+  /** The number of results per page, between 1 and {@value #MAX_LIMIT}. 25 by default. */
+  Integer limit;
+
+  /** The results order. {@link Order#DESC} by default. */
+  Order order;
+
+  /** A cursor : the page will start after the resource with this id */
+  String startingAfter;
+
+  /** A cursor : the page will end before the resource with this id */
+  String endingBefore;
+
+  /** @return true if the limit is either empty or between 1 and {@value #MAX_LIMIT} */
+  public boolean hasValidLimit() {
+    return limit == null || (limit >= 1 && limit <= MAX_LIMIT);
+  }
+
+  /**
+   * Build the query string of this page request, with url encoded values
+   *
+   * @return the query string starting with '?', or an empty string if all the fields are empty
+   */
+  public String toQueryString() {
+    final String query =
+        List.of(
+                Option.of(limit).map(value -> "limit=" + value),
+                Option.of(order).map(value -> "order=" + value.getValue()),
+                Option.of(startingAfter).map(value -> "starting_after=" + encode(value)),
+                Option.of(endingBefore).map(value -> "ending_before=" + encode(value)))
+            .flatMap(parameter -> parameter)
+            .mkString("&");
+    return query.isEmpty() ? "" : "?" + query;
+  }
+
+  private static String encode(final String value) {
+    return URLEncoder.encode(value, UTF_8);
+  }
+}
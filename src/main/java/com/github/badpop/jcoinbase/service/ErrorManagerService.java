@@ -1,8 +1,16 @@
 package com.github.badpop.jcoinbase.service;
 
+import com.github.badpop.jcoinbase.exception.CircuitBreakerOpenException;
+import com.github.badpop.jcoinbase.exception.DeadlineExceededException;
 import com.github.badpop.jcoinbase.exception.JCoinbaseException;
+import com.github.badpop.jcoinbase.exception.RateLimitExceededException;
 import lombok.experimental.UtilityClass;
 import lombok.extern.slf4j.Slf4j;
+import org.slf4j.helpers.MessageFormatter;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
 
 /**
  * An utility class to centralize error management when we need to log error and throw exceptions
@@ -40,4 +48,78 @@ public class ErrorManagerService {
     log.error(message, logParams, throwable);
     throw jcex;
   }
+
+  /**
+   * Log a parameterized message and throw a new {@link JCoinbaseException} wrapping the given
+   * throwable. The requests rejected without being sent, because the circuit breaker is open, the
+   * deadline expired or the rate limit is reached, are logged as a warning without stack trace and
+   * their exception is thrown unchanged, so that the callers can catch it.
+   *
+   * @param throwable the failure, possibly wrapped by the {@link CompletableFuture} api
+   * @param message the message we want to log
+   * @param logParams the message parameters to log
+   */
+  public void manageOnFailure(
+      final Throwable throwable, final String message, final Object... logParams) {
+    final Throwable cause = unwrap(throwable);
+    if (isRejection(cause)) {
+      log.warn(
+          "{} : {}",
+          MessageFormatter.arrayFormat(message, logParams).getMessage(),
+          cause.getMessage());
+      throw (JCoinbaseException) cause;
+    }
+    manageOnError(new JCoinbaseException(cause), message, cause, logParams);
+  }
+
+  /**
+   * Asynchronous counterpart of {@link #manageOnFailure(Throwable, String, Object...)}. If the
+   * given future completes exceptionally, the error is logged and the returned future completes
+   * exceptionally with the original rejection, or with a new {@link JCoinbaseException} wrapping
+   * the original cause.
+   *
+   * @param future the future to watch
+   * @param message the message we want to log
+   * @param logParams the message parameters to log
+   * @param <T> the type of the future value
+   * @return a new future completing with the same value or with a {@link JCoinbaseException}
+   */
+  public <T> CompletableFuture<T> manageOnAsyncError(
+      final CompletableFuture<T> future, final String message, final Object... logParams) {
+    return future.handle(
+        (value, throwable) -> {
+          if (throwable != null) {
+            manageOnFailure(throwable, message, logParams);
+          }
+          return value;
+        });
+  }
+
+  /**
+   * Remove the {@link CompletionException} and {@link ExecutionException} layers added by the
+   * {@link CompletableFuture} api
+   *
+   * @param throwable the throwable to unwrap
+   * @return the original cause
+   */
+  public Throwable unwrap(final Throwable throwable) {
+    Throwable cause = throwable;
+    while ((cause instanceof CompletionException || cause instanceof ExecutionException)
+        && cause.getCause() != null) {
+      cause = cause.getCause();
+    }
+    return cause;
+  }
+
+  /**
+   * @param cause a throwable
+   * @return true if it is a {@link CircuitBreakerOpenException}, a {@link
+   *     DeadlineExceededException} or a {@link RateLimitExceededException}, rejecting a request
+   *     without sending it
+   */
+  public boolean isRejection(final Throwable cause) {
+    return cause instanceof CircuitBreakerOpenException
+        || cause instanceof DeadlineExceededException
+        || cause instanceof RateLimitExceededException;
+  }
 }
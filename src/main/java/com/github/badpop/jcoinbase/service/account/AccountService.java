@@ -2,6 +2,9 @@ package com.github.badpop.jcoinbase.service.account;
 
 import com.github.badpop.jcoinbase.JCoinbaseClient;
 import com.github.badpop.jcoinbase.control.CallResult;
+import com.github.badpop.jcoinbase.control.Deadline;
+import com.github.badpop.jcoinbase.exception.CoinbaseApiException;
+import com.github.badpop.jcoinbase.exception.DeadlineExceededException;
 import com.github.badpop.jcoinbase.exception.InvalidRequestException;
 import com.github.badpop.jcoinbase.exception.JCoinbaseException;
 import com.github.badpop.jcoinbase.exception.NoNextPageException;
@@ -11,10 +14,12 @@ import com.github.badpop.jcoinbase.model.PaginatedResponse;
 import com.github.badpop.jcoinbase.model.Pagination;
 import com.github.badpop.jcoinbase.model.account.Account;
 import com.github.badpop.jcoinbase.model.account.AccountsPage;
+import com.github.badpop.jcoinbase.model.request.PageRequest;
 import com.github.badpop.jcoinbase.model.request.UpdateAccountRequest;
 import com.github.badpop.jcoinbase.service.ErrorManagerService;
 import com.github.badpop.jcoinbase.service.auth.AuthenticationService;
 import com.github.badpop.jcoinbase.service.utils.StringUtils;
+import io.vavr.collection.Iterator;
 import io.vavr.collection.Seq;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -22,6 +27,10 @@ import lombok.val;
 
 import java.util.List;
 import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import static io.vavr.API.Option;
 import static io.vavr.API.Try;
@@ -36,6 +45,13 @@ public class AccountService {
 
   private static final String INVALID_ID_MESSAGE =
       "Please provide a non blank id to get an account by id";
+  private static final String INVALID_PREFETCH_MESSAGE =
+      "Please provide a prefetch depth of at least 1 page to stream all accounts";
+  private static final String INVALID_LIMIT_MESSAGE =
+      "Please provide a page limit between 1 and " + PageRequest.MAX_LIMIT;
+
+  /** The default number of pages requested ahead while streaming all accounts */
+  public static final int DEFAULT_PREFETCH = 2;
 
   private final JCoinbaseClient client;
   private final CoinbaseAccountService service;
@@ -60,17 +76,37 @@ public class AccountService {
    * @throws JCoinbaseException on unknown errors
    */
   public CallResult<Seq<CoinbaseError>, AccountsPage> getAccountsPage() {
-    return service
-        .fetchAccountPageByUri(client, authentication, client.getProperties().getAccountsPath())
-        .onSuccess(paginatedResponses -> log.info("Successfully get accounts page"))
-        .onFailure(
-            throwable ->
-                ErrorManagerService.manageOnError(
-                    new JCoinbaseException(throwable),
-                    "An error occurred while fetching accounts list",
-                    throwable))
-        .get()
-        .map(this::toAccountsPage);
+    return fetchAccountsPage(client.getProperties().getAccountsPath());
+  }
+
+  /**
+   * Get the accounts page matching the given page request
+   *
+   * @param pageRequest the size, order and cursor of the wanted page
+   * @return a {@link CallResult} containing an {@link AccountsPage} object if it's ok, a List of
+   *     {@link CoinbaseError} otherwise.
+   * @throws NullPointerException if the page request is null
+   * @throws InvalidRequestException if the page request limit is not valid
+   * @throws JCoinbaseException on unknown errors
+   */
+  public CallResult<List<CoinbaseError>, AccountsPage> getAccountsPageAsJava(
+      final PageRequest pageRequest) {
+    return getAccountsPage(pageRequest).mapFailure(Seq::asJava);
+  }
+
+  /**
+   * Get the accounts page matching the given page request
+   *
+   * @param pageRequest the size, order and cursor of the wanted page
+   * @return a {@link CallResult} containing an {@link AccountsPage} object if it's ok, a Seq of
+   *     {@link CoinbaseError} otherwise.
+   * @throws NullPointerException if the page request is null
+   * @throws InvalidRequestException if the page request limit is not valid
+   * @throws JCoinbaseException on unknown errors
+   */
+  public CallResult<Seq<CoinbaseError>, AccountsPage> getAccountsPage(
+      final PageRequest pageRequest) {
+    return fetchAccountsPage(toAccountsPageUri(pageRequest));
   }
 
   /**
@@ -117,10 +153,8 @@ public class AccountService {
         .onSuccess(paginatedResponses -> log.info("Successfully fetch next accounts page"))
         .onFailure(
             throwable ->
-                ErrorManagerService.manageOnError(
-                    new JCoinbaseException(throwable),
-                    "An error occurred while fetching next accounts page",
-                    throwable))
+                ErrorManagerService.manageOnFailure(
+                    throwable, "An error occurred while fetching next accounts page"))
         .get()
         .map(this::toAccountsPage);
   }
@@ -170,14 +204,158 @@ public class AccountService {
         .onSuccess(paginatedResponses -> log.info("Successfully fetch previous accounts page"))
         .onFailure(
             throwable ->
-                ErrorManagerService.manageOnError(
-                    new JCoinbaseException(throwable),
-                    "An error occurred while fetching previous accounts page",
-                    throwable))
+                ErrorManagerService.manageOnFailure(
+                    throwable, "An error occurred while fetching previous accounts page"))
         .get()
         .map(this::toAccountsPage);
   }
 
+  /**
+   * Browse all the accounts, page after page, using the default prefetch depth of {@value
+   * #DEFAULT_PREFETCH} pages.
+   *
+   * @return a lazy {@link java.util.stream.Stream} of all the accounts
+   * @throws CoinbaseApiException while consuming the stream, if Coinbase returns errors
+   * @throws JCoinbaseException while consuming the stream, on unknown errors
+   * @see #streamAllAccounts(int)
+   */
+  public Stream<Account> streamAllAccountsAsJava() {
+    return streamAllAccountsAsJava(DEFAULT_PREFETCH);
+  }
+
+  /**
+   * Browse all the accounts, page after page.
+   *
+   * @param prefetch the maximum number of pages requested in the background while the current page
+   *     is consumed
+   * @return a lazy {@link java.util.stream.Stream} of all the accounts
+   * @throws InvalidRequestException if the prefetch depth is lower than 1
+   * @throws CoinbaseApiException while consuming the stream, if Coinbase returns errors
+   * @throws JCoinbaseException while consuming the stream, on unknown errors
+   * @see #streamAllAccounts(int)
+   */
+  public Stream<Account> streamAllAccountsAsJava(final int prefetch) {
+    return toJavaStream(streamAllAccounts(prefetch));
+  }
+
+  /**
+   * Browse all the accounts, page after page, using the default prefetch depth of {@value
+   * #DEFAULT_PREFETCH} pages.
+   *
+   * @return a lazy {@link Iterator} of all the accounts
+   * @throws CoinbaseApiException while iterating, if Coinbase returns errors
+   * @throws JCoinbaseException while iterating, on unknown errors
+   * @see #streamAllAccounts(int)
+   */
+  public Iterator<Account> streamAllAccounts() {
+    return streamAllAccounts(DEFAULT_PREFETCH);
+  }
+
+  /**
+   * Browse all the accounts, page after page.
+   *
+   * <p>The first page is requested on the first call to {@link Iterator#hasNext()}. Then, the next
+   * pages are requested in the background while the current one is consumed, following the {@link
+   * Pagination#getNextUri()} of each page. At most the current page and the prefetched ones are kept
+   * in memory, so you can browse any number of accounts as long as you do not keep them.
+   *
+   * @param prefetch the maximum number of pages requested in the background while the current page
+   *     is consumed
+   * @return a lazy {@link Iterator} of all the accounts
+   * @throws InvalidRequestException if the prefetch depth is lower than 1
+   * @throws CoinbaseApiException while iterating, if Coinbase returns errors
+   * @throws JCoinbaseException while iterating, on unknown errors
+   */
+  public Iterator<Account> streamAllAccounts(final int prefetch) {
+    checkPrefetch(prefetch);
+    return streamAccounts(client.getProperties().getAccountsPath(), prefetch, Deadline.none());
+  }
+
+  /**
+   * Browse all the accounts, page after page, starting with the page matching the given page
+   * request. The next pages keep the same size and order.
+   *
+   * @param pageRequest the size, order and cursor of the first page
+   * @param prefetch the maximum number of pages requested in the background while the current page
+   *     is consumed
+   * @return a lazy {@link java.util.stream.Stream} of all the accounts
+   * @throws NullPointerException if the page request is null
+   * @throws InvalidRequestException if the prefetch depth or the page request limit is not valid
+   * @throws CoinbaseApiException while consuming the stream, if Coinbase returns errors
+   * @throws JCoinbaseException while consuming the stream, on unknown errors
+   * @see #streamAllAccounts(int)
+   */
+  public Stream<Account> streamAllAccountsAsJava(
+      final PageRequest pageRequest, final int prefetch) {
+    return toJavaStream(streamAllAccounts(pageRequest, prefetch));
+  }
+
+  /**
+   * Browse all the accounts, page after page, starting with the page matching the given page
+   * request. The next pages keep the same size and order, so requesting the maximum page size
+   * reduces the number of requests.
+   *
+   * @param pageRequest the size, order and cursor of the first page
+   * @param prefetch the maximum number of pages requested in the background while the current page
+   *     is consumed
+   * @return a lazy {@link Iterator} of all the accounts
+   * @throws NullPointerException if the page request is null
+   * @throws InvalidRequestException if the prefetch depth or the page request limit is not valid
+   * @throws CoinbaseApiException while iterating, if Coinbase returns errors
+   * @throws JCoinbaseException while iterating, on unknown errors
+   * @see #streamAllAccounts(int)
+   */
+  public Iterator<Account> streamAllAccounts(final PageRequest pageRequest, final int prefetch) {
+    checkPrefetch(prefetch);
+    return streamAllAccounts(pageRequest, prefetch, Deadline.none());
+  }
+
+  /**
+   * Browse all the accounts, page after page, within the given deadline. Each page request is given
+   * the smallest of its own timeout and the time left, and waiting for a page never lasts longer
+   * than the time left.
+   *
+   * @param pageRequest the size, order and cursor of the first page
+   * @param prefetch the maximum number of pages requested in the background while the current page
+   *     is consumed
+   * @param deadline the time budget of the whole browsing
+   * @return a lazy {@link java.util.stream.Stream} of all the accounts
+   * @throws NullPointerException if the page request is null
+   * @throws InvalidRequestException if the prefetch depth or the page request limit is not valid
+   * @throws DeadlineExceededException while consuming the stream, if the deadline expires
+   * @throws CoinbaseApiException while consuming the stream, if Coinbase returns errors
+   * @throws JCoinbaseException while consuming the stream, on unknown errors
+   * @see #streamAllAccounts(PageRequest, int, Deadline)
+   */
+  public Stream<Account> streamAllAccountsAsJava(
+      final PageRequest pageRequest, final int prefetch, final Deadline deadline) {
+    return toJavaStream(streamAllAccounts(pageRequest, prefetch, deadline));
+  }
+
+  /**
+   * Browse all the accounts, page after page, within the given deadline. Each page request is given
+   * the smallest of its own timeout and the time left, and waiting for a page never lasts longer
+   * than the time left. Once the deadline is expired, no more page is requested.
+   *
+   * @param pageRequest the size, order and cursor of the first page
+   * @param prefetch the maximum number of pages requested in the background while the current page
+   *     is consumed
+   * @param deadline the time budget of the whole browsing
+   * @return a lazy {@link Iterator} of all the accounts
+   * @throws NullPointerException if the page request is null
+   * @throws InvalidRequestException if the prefetch depth or the page request limit is not valid
+   * @throws DeadlineExceededException while iterating, if the deadline expires
+   * @throws CoinbaseApiException while iterating, if Coinbase returns errors
+   * @throws JCoinbaseException while iterating, on unknown errors
+   * @see #streamAllAccounts(int)
+   */
+  public Iterator<Account> streamAllAccounts(
+      final PageRequest pageRequest, final int prefetch, final Deadline deadline) {
+    checkPrefetch(prefetch);
+    Objects.requireNonNull(deadline, "deadline is null");
+    return streamAccounts(toAccountsPageUri(pageRequest), prefetch, deadline);
+  }
+
   /**
    * Get an account by its id
    *
@@ -213,10 +391,8 @@ public class AccountService {
         .onSuccess(paginatedResponses -> log.info("Successfully fetch account by id"))
         .onFailure(
             throwable ->
-                ErrorManagerService.manageOnError(
-                    new JCoinbaseException(throwable),
-                    "An error occurred while fetching account by id",
-                    throwable))
+                ErrorManagerService.manageOnFailure(
+                    throwable, "An error occurred while fetching account by id"))
         .get();
   }
 
@@ -264,14 +440,54 @@ public class AccountService {
         .onSuccess(account -> log.info("Successfully update account"))
         .onFailure(
             throwable ->
-                ErrorManagerService.manageOnError(
-                    new JCoinbaseException(throwable),
-                    "An error occurred while updating account with id",
-                    throwable,
-                    id))
+                ErrorManagerService.manageOnFailure(
+                    throwable, "An error occurred while updating account with id", id))
         .get();
   }
 
+  private CallResult<Seq<CoinbaseError>, AccountsPage> fetchAccountsPage(final String uri) {
+    return service
+        .fetchAccountPageByUri(client, authentication, uri)
+        .onSuccess(paginatedResponses -> log.info("Successfully get accounts page"))
+        .onFailure(
+            throwable ->
+                ErrorManagerService.manageOnFailure(
+                    throwable, "An error occurred while fetching accounts list"))
+        .get()
+        .map(this::toAccountsPage);
+  }
+
+  private void checkPrefetch(final int prefetch) {
+    if (prefetch < 1) {
+      ErrorManagerService.manageOnError(
+          new InvalidRequestException(INVALID_PREFETCH_MESSAGE), INVALID_PREFETCH_MESSAGE);
+    }
+  }
+
+  private Iterator<Account> streamAccounts(
+      final String firstUri, final int prefetch, final Deadline deadline) {
+    return new AccountsIterator(
+        uri -> service.fetchAccountPageByUriAsync(client, authentication, uri, deadline),
+        firstUri,
+        prefetch,
+        deadline);
+  }
+
+  private static Stream<Account> toJavaStream(final Iterator<Account> accounts) {
+    return StreamSupport.stream(
+        Spliterators.spliteratorUnknownSize(accounts, Spliterator.ORDERED | Spliterator.NONNULL),
+        false);
+  }
+
+  private String toAccountsPageUri(final PageRequest pageRequest) {
+    Objects.requireNonNull(pageRequest, "pageRequest is null");
+    if (!pageRequest.hasValidLimit()) {
+      ErrorManagerService.manageOnError(
+          new InvalidRequestException(INVALID_LIMIT_MESSAGE), INVALID_LIMIT_MESSAGE);
+    }
+    return client.getProperties().getAccountsPath() + pageRequest.toQueryString();
+  }
+
   private AccountsPage toAccountsPage(final PaginatedResponse<Account> response) {
     return new AccountsPage(response.getPagination(), response.getData());
   }
@@ -0,0 +1,177 @@
+package com.github.badpop.jcoinbase.service.account;
+
+import com.github.badpop.jcoinbase.control.CallResult;
+import com.github.badpop.jcoinbase.control.Deadline;
+import com.github.badpop.jcoinbase.exception.CoinbaseApiException;
+import com.github.badpop.jcoinbase.exception.DeadlineExceededException;
+import com.github.badpop.jcoinbase.exception.JCoinbaseException;
+import com.github.badpop.jcoinbase.model.CoinbaseError;
+import com.github.badpop.jcoinbase.model.PaginatedResponse;
+import com.github.badpop.jcoinbase.model.account.Account;
+import com.github.badpop.jcoinbase.service.ErrorManagerService;
+import io.vavr.collection.Iterator;
+import io.vavr.collection.Seq;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * A lazy iterator over all the accounts, browsing the account pages one after the other.
+ *
+ * <p>The next pages are requested in the background while the current one is consumed, up to the
+ * given prefetch depth. Since a page can only be requested once the previous one is received,
+ * the pages are requested one at a time. At most the current page and the prefetched ones are kept
+ * in memory.
+ *
+ * <p>If a {@link Deadline} is given, waiting for a page never lasts longer than the time left.
+ */
+@Slf4j
+final class AccountsIterator implements Iterator<Account> {
+
+  private final Function<
+          String, CompletableFuture<CallResult<Seq<CoinbaseError>, PaginatedResponse<Account>>>>
+      fetcher;
+  private final int prefetch;
+  private final Deadline deadline;
+
+  /** The received or pending pages not consumed yet. Guarded by this. */
+  private final Deque<CompletableFuture<CallResult<Seq<CoinbaseError>, PaginatedResponse<Account>>>>
+      pages = new ArrayDeque<>();
+
+  /** The uri of the next page to request, null if unknown or if there is none. Guarded by this. */
+  private String nextUri;
+
+  /** True while a page is requested. Guarded by this. */
+  private boolean fetching = false;
+
+  private java.util.Iterator<Account> current = java.util.Collections.emptyIterator();
+
+  /**
+   * @param fetcher the function requesting a page by its uri
+   * @param firstUri the uri of the first page
+   * @param prefetch the maximum number of pages requested ahead
+   */
+  AccountsIterator(
+      final Function<
+              String, CompletableFuture<CallResult<Seq<CoinbaseError>, PaginatedResponse<Account>>>>
+          fetcher,
+      final String firstUri,
+      final int prefetch) {
+    this(fetcher, firstUri, prefetch, Deadline.none());
+  }
+
+  /**
+   * @param fetcher the function requesting a page by its uri
+   * @param firstUri the uri of the first page
+   * @param prefetch the maximum number of pages requested ahead
+   * @param deadline the time budget of the whole browsing
+   */
+  AccountsIterator(
+      final Function<
+              String, CompletableFuture<CallResult<Seq<CoinbaseError>, PaginatedResponse<Account>>>>
+          fetcher,
+      final String firstUri,
+      final int prefetch,
+      final Deadline deadline) {
+    this.fetcher = fetcher;
+    this.prefetch = prefetch;
+    this.deadline = deadline;
+    this.nextUri = firstUri;
+  }
+
+  @Override
+  public boolean hasNext() {
+    while (!current.hasNext()) {
+      final CompletableFuture<CallResult<Seq<CoinbaseError>, PaginatedResponse<Account>>> page =
+          takePage();
+      if (page == null) {
+        return false;
+      }
+      current = await(page).iterator();
+    }
+    return true;
+  }
+
+  @Override
+  public Account next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException("There is no more account");
+    }
+    return current.next();
+  }
+
+  /** @return the next page to consume, or null if all the pages have been consumed */
+  private synchronized CompletableFuture<CallResult<Seq<CoinbaseError>, PaginatedResponse<Account>>>
+      takePage() {
+    requestNextPageIfPossible();
+    final CompletableFuture<CallResult<Seq<CoinbaseError>, PaginatedResponse<Account>>> page =
+        pages.pollFirst();
+    requestNextPageIfPossible();
+    return page;
+  }
+
+  private synchronized void requestNextPageIfPossible() {
+    if (fetching || nextUri == null || pages.size() >= prefetch) {
+      return;
+    }
+    final String uri = nextUri;
+    nextUri = null;
+    fetching = true;
+
+    final CompletableFuture<CallResult<Seq<CoinbaseError>, PaginatedResponse<Account>>> page =
+        fetcher.apply(uri);
+    pages.addLast(page);
+    page.whenComplete(this::onPageReceived);
+  }
+
+  private synchronized void onPageReceived(
+      final CallResult<Seq<CoinbaseError>, PaginatedResponse<Account>> page,
+      final Throwable throwable) {
+    fetching = false;
+    if (throwable == null && page.isSuccess()) {
+      nextUri = page.get().getPagination().getNextUri();
+      requestNextPageIfPossible();
+    }
+  }
+
+  private Seq<Account> await(
+      final CompletableFuture<CallResult<Seq<CoinbaseError>, PaginatedResponse<Account>>> page) {
+    final CallResult<Seq<CoinbaseError>, PaginatedResponse<Account>> result;
+    try {
+      result =
+          deadline.isBounded()
+              ? page.get(deadline.remaining().toNanos(), NANOSECONDS)
+              : page.join();
+    } catch (TimeoutException e) {
+      ErrorManagerService.manageOnFailure(
+          new DeadlineExceededException("The deadline expired"),
+          "An error occurred while fetching accounts pages");
+      return null;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      ErrorManagerService.manageOnError(
+          new JCoinbaseException(e), "Interrupted while fetching accounts pages", e);
+      return null;
+    } catch (ExecutionException | RuntimeException e) {
+      ErrorManagerService.manageOnFailure(e, "An error occurred while fetching accounts pages");
+      return null;
+    }
+
+    if (result.isFailure()) {
+      ErrorManagerService.manageOnError(
+          new CoinbaseApiException("Unable to fetch accounts page", result.getFailure()),
+          "Coinbase returned errors while fetching accounts pages : {}",
+          result.getFailure());
+    }
+    log.debug("Successfully fetch accounts page while streaming all accounts");
+    return result.get().getData();
+  }
+}
@@ -0,0 +1,311 @@
+package com.github.badpop.jcoinbase.service.account;
+
+import com.github.badpop.jcoinbase.JCoinbaseClient;
+import com.github.badpop.jcoinbase.control.CallResult;
+import com.github.badpop.jcoinbase.exception.InvalidRequestException;
+import com.github.badpop.jcoinbase.exception.JCoinbaseException;
+import com.github.badpop.jcoinbase.exception.NoNextPageException;
+import com.github.badpop.jcoinbase.exception.NoPreviousPageException;
+import com.github.badpop.jcoinbase.model.CoinbaseError;
+import com.github.badpop.jcoinbase.model.PaginatedResponse;
+import com.github.badpop.jcoinbase.model.Pagination;
+import com.github.badpop.jcoinbase.model.account.Account;
+import com.github.badpop.jcoinbase.model.account.AccountsPage;
+import com.github.badpop.jcoinbase.model.request.PageRequest;
+import com.github.badpop.jcoinbase.model.request.UpdateAccountRequest;
+import com.github.badpop.jcoinbase.service.ErrorManagerService;
+import com.github.badpop.jcoinbase.service.auth.AuthenticationService;
+import com.github.badpop.jcoinbase.service.utils.StringUtils;
+import io.vavr.collection.Seq;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+
+import static io.vavr.API.Option;
+import static io.vavr.API.Try;
+
+/**
+ * This service allows you to request coinbase accounts data without blocking the calling thread.
+ * It offers the same methods as the {@link AccountService} but each of them returns a {@link
+ * CompletableFuture}. <strong>To properly use this service, you must provide an API Key and an API
+ * secret when building a JCoinbaseClient instance.</strong>
+ *
+ * <p>The returned futures complete with the same {@link CallResult} as their blocking
+ * counterparts. On unknown errors, they complete exceptionally with a {@link JCoinbaseException}.
+ * Invalid parameters are still rejected immediately, by throwing the same exceptions as the
+ * {@link AccountService}.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class AsyncAccountService {
+
+  private static final String INVALID_ID_MESSAGE =
+      "Please provide a non blank id to get an account by id";
+  private static final String INVALID_LIMIT_MESSAGE =
+      "Please provide a page limit between 1 and " + PageRequest.MAX_LIMIT;
+
+  private final JCoinbaseClient client;
+  private final CoinbaseAccountService service;
+  private final AuthenticationService authentication;
+
+  /**
+   * Get the first accounts page
+   *
+   * @return a {@link CompletableFuture} of a {@link CallResult} containing an {@link AccountsPage}
+   *     object if it's ok, a List of {@link CoinbaseError} otherwise.
+   */
+  public CompletableFuture<CallResult<List<CoinbaseError>, AccountsPage>> getAccountsPageAsJava() {
+    return getAccountsPage().thenApply(callResult -> callResult.mapFailure(Seq::asJava));
+  }
+
+  /**
+   * Get the first accounts page
+   *
+   * @return a {@link CompletableFuture} of a {@link CallResult} containing an {@link AccountsPage}
+   *     object if it's ok, a Seq of {@link CoinbaseError} otherwise.
+   */
+  public CompletableFuture<CallResult<Seq<CoinbaseError>, AccountsPage>> getAccountsPage() {
+    return fetchPage(
+        client.getProperties().getAccountsPath(),
+        "Successfully get accounts page",
+        "An error occurred while fetching accounts list");
+  }
+
+  /**
+   * Get the accounts page matching the given page request
+   *
+   * @param pageRequest the size, order and cursor of the wanted page
+   * @return a {@link CompletableFuture} of a {@link CallResult} containing an {@link AccountsPage}
+   *     object if it's ok, a List of {@link CoinbaseError} otherwise.
+   * @throws NullPointerException if the page request is null
+   * @throws InvalidRequestException if the page request limit is not valid
+   */
+  public CompletableFuture<CallResult<List<CoinbaseError>, AccountsPage>> getAccountsPageAsJava(
+      final PageRequest pageRequest) {
+    return getAccountsPage(pageRequest).thenApply(callResult -> callResult.mapFailure(Seq::asJava));
+  }
+
+  /**
+   * Get the accounts page matching the given page request
+   *
+   * @param pageRequest the size, order and cursor of the wanted page
+   * @return a {@link CompletableFuture} of a {@link CallResult} containing an {@link AccountsPage}
+   *     object if it's ok, a Seq of {@link CoinbaseError} otherwise.
+   * @throws NullPointerException if the page request is null
+   * @throws InvalidRequestException if the page request limit is not valid
+   */
+  public CompletableFuture<CallResult<Seq<CoinbaseError>, AccountsPage>> getAccountsPage(
+      final PageRequest pageRequest) {
+    Objects.requireNonNull(pageRequest, "pageRequest is null");
+    if (!pageRequest.hasValidLimit()) {
+      ErrorManagerService.manageOnError(
+          new InvalidRequestException(INVALID_LIMIT_MESSAGE), INVALID_LIMIT_MESSAGE);
+    }
+
+    return fetchPage(
+        client.getProperties().getAccountsPath() + pageRequest.toQueryString(),
+        "Successfully get accounts page",
+        "An error occurred while fetching accounts list");
+  }
+
+  /**
+   * Get the next accounts page
+   *
+   * @param pagination a pagination object that will allow JCoinbase to request the next accounts
+   *     page
+   * @return a {@link CompletableFuture} of a {@link CallResult} containing an {@link AccountsPage}
+   *     object if it's ok, a List of {@link CoinbaseError} otherwise.
+   * @throws NullPointerException if the pagination is null
+   * @throws NoNextPageException if there is no next page
+   */
+  public CompletableFuture<CallResult<List<CoinbaseError>, AccountsPage>> getNextAccountsPageAsJava(
+      final Pagination pagination) {
+    return getNextAccountsPage(pagination)
+        .thenApply(callResult -> callResult.mapFailure(Seq::asJava));
+  }
+
+  /**
+   * Get the next accounts page
+   *
+   * @param pagination a pagination object that will allow JCoinbase to request the next accounts
+   *     page
+   * @return a {@link CompletableFuture} of a {@link CallResult} containing an {@link AccountsPage}
+   *     object if it's ok, a Seq of {@link CoinbaseError} otherwise.
+   * @throws NullPointerException if the pagination is null
+   * @throws NoNextPageException if there is no next page
+   */
+  public CompletableFuture<CallResult<Seq<CoinbaseError>, AccountsPage>> getNextAccountsPage(
+      final Pagination pagination) {
+    Objects.requireNonNull(pagination, "Pagination is null");
+    val nextUri =
+        Option(pagination.getNextUri())
+            .onEmpty(
+                () ->
+                    ErrorManagerService.manageOnError(
+                        new NoNextPageException("There is no next page available for your request"),
+                        "There is no next page available for your request"))
+            .get();
+
+    return fetchPage(
+        nextUri,
+        "Successfully fetch next accounts page",
+        "An error occurred while fetching next accounts page");
+  }
+
+  /**
+   * Get the previous accounts page
+   *
+   * @param pagination a pagination object that will allow JCoinbase to request the previous
+   *     accounts page
+   * @return a {@link CompletableFuture} of a {@link CallResult} containing an {@link AccountsPage}
+   *     object if it's ok, a List of {@link CoinbaseError} otherwise.
+   * @throws NullPointerException if the pagination is null
+   * @throws NoPreviousPageException if there is no previous page
+   */
+  public CompletableFuture<CallResult<List<CoinbaseError>, AccountsPage>>
+      getPreviousAccountsPageAsJava(final Pagination pagination) {
+    return getPreviousAccountsPage(pagination)
+        .thenApply(callResult -> callResult.mapFailure(Seq::asJava));
+  }
+
+  /**
+   * Get the previous accounts page
+   *
+   * @param pagination a pagination object that will allow JCoinbase to request the previous
+   *     accounts page
+   * @return a {@link CompletableFuture} of a {@link CallResult} containing an {@link AccountsPage}
+   *     object if it's ok, a Seq of {@link CoinbaseError} otherwise.
+   * @throws NullPointerException if the pagination is null
+   * @throws NoPreviousPageException if there is no previous page
+   */
+  public CompletableFuture<CallResult<Seq<CoinbaseError>, AccountsPage>> getPreviousAccountsPage(
+      final Pagination pagination) {
+    Objects.requireNonNull(pagination, "Pagination is null");
+    val previousUri =
+        Option(pagination.getPreviousUri())
+            .onEmpty(
+                () ->
+                    ErrorManagerService.manageOnError(
+                        new NoPreviousPageException(
+                            "There is no previous page available for your request"),
+                        "There is no previous page available for your request"))
+            .get();
+
+    return fetchPage(
+        previousUri,
+        "Successfully fetch previous accounts page",
+        "An error occurred while fetching previous accounts page");
+  }
+
+  /**
+   * Get an account by its id
+   *
+   * @param id the account's id
+   * @return a {@link CompletableFuture} of a {@link CallResult} containing an {@link Account}
+   *     object if it's ok, a List of {@link CoinbaseError} otherwise.
+   * @throws InvalidRequestException if the given id is not valid
+   */
+  public CompletableFuture<CallResult<List<CoinbaseError>, Account>> getAccountAsJava(
+      final String id) {
+    return getAccount(id).thenApply(callResult -> callResult.mapFailure(Seq::asJava));
+  }
+
+  /**
+   * Get an account by its id
+   *
+   * @param id the account's id
+   * @return a {@link CompletableFuture} of a {@link CallResult} containing an {@link Account}
+   *     object if it's ok, a Seq of {@link CoinbaseError} otherwise.
+   * @throws InvalidRequestException if the given id is not valid
+   */
+  public CompletableFuture<CallResult<Seq<CoinbaseError>, Account>> getAccount(final String id) {
+    if (StringUtils.isBlank(id)) {
+      ErrorManagerService.manageOnError(
+          new InvalidRequestException(INVALID_ID_MESSAGE), INVALID_ID_MESSAGE);
+    }
+
+    val uri = client.getProperties().getAccountsPath() + "/" + id;
+
+    return ErrorManagerService.manageOnAsyncError(
+        service
+            .sendAsync(client, authentication, uri, "GET", "")
+            .thenApply(
+                account -> {
+                  log.info("Successfully fetch account by id");
+                  return account;
+                }),
+        "An error occurred while fetching account by id");
+  }
+
+  /**
+   * Update an account by its id
+   *
+   * @param id the account's id
+   * @param request a valid {@link UpdateAccountRequest} containing the changes you want to apply on
+   *     this account
+   * @return a {@link CompletableFuture} of a {@link CallResult} containing the updated {@link
+   *     Account} if it's ok, a List of {@link CoinbaseError} otherwise.
+   * @throws NullPointerException if the given request is null
+   * @throws InvalidRequestException if the given id is not valid
+   */
+  public CompletableFuture<CallResult<List<CoinbaseError>, Account>> updateAccountAsJava(
+      final String id, final UpdateAccountRequest request) {
+    return updateAccount(id, request).thenApply(callResult -> callResult.mapFailure(Seq::asJava));
+  }
+
+  /**
+   * Update an account by its id
+   *
+   * @param id the account's id
+   * @param request a valid {@link UpdateAccountRequest} containing the changes you want to apply on
+   *     this account
+   * @return a {@link CompletableFuture} of a {@link CallResult} containing the updated {@link
+   *     Account} if it's ok, a Seq of {@link CoinbaseError} otherwise.
+   * @throws NullPointerException if the given request is null
+   * @throws InvalidRequestException if the given id is not valid
+   */
+  public CompletableFuture<CallResult<Seq<CoinbaseError>, Account>> updateAccount(
+      final String id, final UpdateAccountRequest request) {
+    Objects.requireNonNull(request, "request is null");
+    if (StringUtils.isBlank(id)) {
+      ErrorManagerService.manageOnError(
+          new InvalidRequestException(INVALID_ID_MESSAGE), INVALID_ID_MESSAGE);
+    }
+
+    val uri = client.getProperties().getAccountsPath() + "/" + id;
+
+    return ErrorManagerService.manageOnAsyncError(
+        Try(() -> client.getJsonSerDes().writeValueAsString(request))
+            .fold(
+                CompletableFuture::<CallResult<Seq<CoinbaseError>, Account>>failedFuture,
+                body -> service.sendAsync(client, authentication, uri, "PUT", body))
+            .thenApply(
+                account -> {
+                  log.info("Successfully update account");
+                  return account;
+                }),
+        "An error occurred while updating account with id {}",
+        id);
+  }
+
+  private CompletableFuture<CallResult<Seq<CoinbaseError>, AccountsPage>> fetchPage(
+      final String uri, final String successMessage, final String errorMessage) {
+    return ErrorManagerService.manageOnAsyncError(
+        service
+            .fetchAccountPageByUriAsync(client, authentication, uri)
+            .thenApply(
+                page -> {
+                  log.info(successMessage);
+                  return page.map(this::toAccountsPage);
+                }),
+        errorMessage);
+  }
+
+  private AccountsPage toAccountsPage(final PaginatedResponse<Account> response) {
+    return new AccountsPage(response.getPagination(), response.getData());
+  }
+}
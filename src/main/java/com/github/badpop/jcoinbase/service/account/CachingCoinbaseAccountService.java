@@ -0,0 +1,123 @@
+package com.github.badpop.jcoinbase.service.account;
+
+import com.github.badpop.jcoinbase.JCoinbaseClient;
+import com.github.badpop.jcoinbase.control.CallResult;
+import com.github.badpop.jcoinbase.control.Deadline;
+import com.github.badpop.jcoinbase.model.CoinbaseError;
+import com.github.badpop.jcoinbase.model.PaginatedResponse;
+import com.github.badpop.jcoinbase.model.account.Account;
+import com.github.badpop.jcoinbase.service.auth.AuthenticationService;
+import com.github.badpop.jcoinbase.service.cache.TtlCache;
+import io.vavr.collection.Seq;
+import io.vavr.control.Try;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A {@link CoinbaseAccountService} keeping the accounts in a write-through {@link TtlCache}, by
+ * account uri.
+ *
+ * <p>The cache is filled with the accounts of every fetched page and of every successful update,
+ * so reading an account after listing or updating it does not send any request and never returns
+ * the account as it was before the update. An account whose update failed is removed from the
+ * cache, since it may have been updated anyway. Failures are never cached.
+ */
+public class CachingCoinbaseAccountService extends CoinbaseAccountService {
+
+  @Getter private final TtlCache<String, CallResult<Seq<CoinbaseError>, Account>> accountsCache;
+
+  /**
+   * @param ttl the time to live of the accounts
+   * @param maximumSize the maximum number of accounts
+   */
+  public CachingCoinbaseAccountService(final Duration ttl, final int maximumSize) {
+    this.accountsCache = new TtlCache<>(ttl, maximumSize, CallResult::isSuccess);
+  }
+
+  @Override
+  protected Try<CallResult<Seq<CoinbaseError>, PaginatedResponse<Account>>> fetchAccountPageByUri(
+      final JCoinbaseClient client, final AuthenticationService authentication, final String uri) {
+    return super.fetchAccountPageByUri(client, authentication, uri)
+        .peek(page -> storePage(client, page));
+  }
+
+  @Override
+  protected CompletableFuture<CallResult<Seq<CoinbaseError>, PaginatedResponse<Account>>>
+      fetchAccountPageByUriAsync(
+          final JCoinbaseClient client,
+          final AuthenticationService authentication,
+          final String uri,
+          final Deadline deadline) {
+    return super.fetchAccountPageByUriAsync(client, authentication, uri, deadline)
+        .thenApply(
+            page -> {
+              storePage(client, page);
+              return page;
+            });
+  }
+
+  @Override
+  protected Try<CallResult<Seq<CoinbaseError>, Account>> send(
+      final JCoinbaseClient client,
+      final AuthenticationService authentication,
+      final String uri,
+      final String httpMethod,
+      final String httpBody) {
+    if ("GET".equalsIgnoreCase(httpMethod)) {
+      return Try.of(
+          () ->
+              accountsCache.get(
+                  uri, () -> super.send(client, authentication, uri, httpMethod, httpBody).get()));
+    }
+    return super.send(client, authentication, uri, httpMethod, httpBody)
+        .onSuccess(account -> store(uri, account))
+        .onFailure(throwable -> accountsCache.invalidate(uri));
+  }
+
+  @Override
+  protected CompletableFuture<CallResult<Seq<CoinbaseError>, Account>> sendAsync(
+      final JCoinbaseClient client,
+      final AuthenticationService authentication,
+      final String uri,
+      final String httpMethod,
+      final String httpBody) {
+    if ("GET".equalsIgnoreCase(httpMethod)) {
+      return accountsCache.getAsync(
+          uri, () -> super.sendAsync(client, authentication, uri, httpMethod, httpBody));
+    }
+    return super.sendAsync(client, authentication, uri, httpMethod, httpBody)
+        .whenComplete(
+            (account, throwable) -> {
+              if (throwable == null) {
+                store(uri, account);
+              } else {
+                accountsCache.invalidate(uri);
+              }
+            });
+  }
+
+  private void storePage(
+      final JCoinbaseClient client,
+      final CallResult<Seq<CoinbaseError>, PaginatedResponse<Account>> page) {
+    page.peek(
+        accounts ->
+            accounts
+                .getData()
+                .forEach(
+                    account ->
+                        accountsCache.put(
+                            client.getProperties().getAccountsPath() + "/" + account.getId(),
+                            CallResult.success(account))));
+  }
+
+  /** Keep the updated account, or forget the account if the update was refused */
+  private void store(final String uri, final CallResult<Seq<CoinbaseError>, Account> account) {
+    if (account.isSuccess()) {
+      accountsCache.put(uri, account);
+    } else {
+      accountsCache.invalidate(uri);
+    }
+  }
+}
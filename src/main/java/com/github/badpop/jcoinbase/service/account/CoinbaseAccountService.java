@@ -1,8 +1,8 @@
 package com.github.badpop.jcoinbase.service.account;
 
-import com.fasterxml.jackson.core.type.TypeReference;
 import com.github.badpop.jcoinbase.JCoinbaseClient;
 import com.github.badpop.jcoinbase.control.CallResult;
+import com.github.badpop.jcoinbase.control.Deadline;
 import com.github.badpop.jcoinbase.exception.JCoinbaseException;
 import com.github.badpop.jcoinbase.model.CoinbaseError;
 import com.github.badpop.jcoinbase.model.PaginatedResponse;
@@ -10,7 +10,8 @@ import com.github.badpop.jcoinbase.model.account.Account;
 import com.github.badpop.jcoinbase.service.ErrorManagerService;
 import com.github.badpop.jcoinbase.service.account.dto.AccountDto;
 import com.github.badpop.jcoinbase.service.auth.AuthenticationService;
-import com.github.badpop.jcoinbase.service.dto.DataDto;
+import com.github.badpop.jcoinbase.service.auth.Scope;
+import com.github.badpop.jcoinbase.service.cache.SingleFlight;
 import com.github.badpop.jcoinbase.service.dto.PaginatedResponseDto;
 import com.github.badpop.jcoinbase.service.http.HttpRequestSender;
 import com.github.badpop.jcoinbase.service.utils.AuthenticationUtils;
@@ -22,30 +23,64 @@ import lombok.val;
 import java.net.URI;
 import java.net.http.HttpRequest;
 import java.net.http.HttpRequest.BodyPublishers;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
+import static com.github.badpop.jcoinbase.service.auth.Scope.ACCOUNTS_READ;
+import static com.github.badpop.jcoinbase.service.auth.Scope.ACCOUNTS_UPDATE;
+import static com.github.badpop.jcoinbase.service.http.EndpointFamily.ACCOUNT;
 import static io.vavr.API.*;
 
 public class CoinbaseAccountService {
 
+  /** The GET requests in flight by method and path, shared by their concurrent callers */
+  private final SingleFlight<String, CallResult<Seq<CoinbaseError>, Account>> accountFlights =
+      new SingleFlight<>();
+
   protected Try<CallResult<Seq<CoinbaseError>, PaginatedResponse<Account>>> fetchAccountPageByUri(
       final JCoinbaseClient client, final AuthenticationService authentication, final String uri) {
+    return client
+        .getScopeGuard()
+        .guard(
+            ACCOUNTS_READ,
+            () ->
+                HttpRequestSender.paginatedSend(
+                        client,
+                        ACCOUNT,
+                        () -> buildAccountPageRequest(client, authentication, uri, Deadline.none()),
+                        client.getJsonReaders().getAccountsPage(),
+                        client.getJsonReaders().getErrors())
+                    .mapTry(this::toAccountPage));
+  }
 
-    val request =
-        HttpRequest.newBuilder()
-            .GET()
-            .uri(URI.create(client.getProperties().getApiUrl() + uri))
-            .headers(AuthenticationUtils.getHeaders(authentication, client, "GET", uri, ""))
-            .build();
-
-    return HttpRequestSender.paginatedSend(
-            client.getHttpClient(),
-            request,
-            client.getJsonSerDes(),
-            new TypeReference<PaginatedResponseDto<AccountDto>>() {})
-        .mapTry(
-            call ->
-                call.map(
-                    page -> page.toPaginatedResponse(page.getData().map(AccountDto::toAccount))));
+  protected CompletableFuture<CallResult<Seq<CoinbaseError>, PaginatedResponse<Account>>>
+      fetchAccountPageByUriAsync(
+          final JCoinbaseClient client,
+          final AuthenticationService authentication,
+          final String uri) {
+    return fetchAccountPageByUriAsync(client, authentication, uri, Deadline.none());
+  }
+
+  protected CompletableFuture<CallResult<Seq<CoinbaseError>, PaginatedResponse<Account>>>
+      fetchAccountPageByUriAsync(
+          final JCoinbaseClient client,
+          final AuthenticationService authentication,
+          final String uri,
+          final Deadline deadline) {
+    return client
+        .getScopeGuard()
+        .guardAsync(
+            ACCOUNTS_READ,
+            () ->
+                HttpRequestSender.paginatedSendAsync(
+                        client,
+                        ACCOUNT,
+                        () -> buildAccountPageRequest(client, authentication, uri, deadline),
+                        client.getJsonReaders().getAccountsPage(),
+                        client.getJsonReaders().getErrors(),
+                        deadline)
+                    .thenApply(this::toAccountPage));
   }
 
   protected Try<CallResult<Seq<CoinbaseError>, Account>> send(
@@ -54,23 +89,93 @@ public class CoinbaseAccountService {
       final String uri,
       final String httpMethod,
       final String httpBody) {
+    final Supplier<Try<CallResult<Seq<CoinbaseError>, Account>>> send =
+        () ->
+            HttpRequestSender.send(
+                    client,
+                    ACCOUNT,
+                    () -> buildAccountRequest(client, authentication, uri, httpMethod, httpBody),
+                    client.getJsonReaders().getAccount(),
+                    client.getJsonReaders().getErrors())
+                .mapTry(result -> result.map(data -> data.getData().toAccount()));
+    return client
+        .getScopeGuard()
+        .guard(
+            scope(httpMethod),
+            () ->
+                isGet(httpMethod)
+                    ? Try.of(() -> accountFlights.execute("GET " + uri, () -> send.get().get()))
+                    : send.get());
+  }
+
+  protected CompletableFuture<CallResult<Seq<CoinbaseError>, Account>> sendAsync(
+      final JCoinbaseClient client,
+      final AuthenticationService authentication,
+      final String uri,
+      final String httpMethod,
+      final String httpBody) {
+    final Supplier<CompletableFuture<CallResult<Seq<CoinbaseError>, Account>>> send =
+        () ->
+            HttpRequestSender.sendAsync(
+                    client,
+                    ACCOUNT,
+                    () -> buildAccountRequest(client, authentication, uri, httpMethod, httpBody),
+                    client.getJsonReaders().getAccount(),
+                    client.getJsonReaders().getErrors())
+                .thenApply(result -> result.map(data -> data.getData().toAccount()));
+    return client
+        .getScopeGuard()
+        .guardAsync(
+            scope(httpMethod),
+            () -> isGet(httpMethod) ? accountFlights.executeAsync("GET " + uri, send) : send.get());
+  }
+
+  private static Scope scope(final String httpMethod) {
+    return isGet(httpMethod) ? ACCOUNTS_READ : ACCOUNTS_UPDATE;
+  }
+
+  /** Only the GET requests are coalesced, the other ones are not idempotent */
+  private static boolean isGet(final String httpMethod) {
+    return "GET".equalsIgnoreCase(httpMethod);
+  }
+
+  private CallResult<Seq<CoinbaseError>, PaginatedResponse<Account>> toAccountPage(
+      final CallResult<Seq<CoinbaseError>, PaginatedResponseDto<AccountDto>> call) {
+    return call.map(page -> page.toPaginatedResponse(page.getData().map(AccountDto::toAccount)));
+  }
+
+  private HttpRequest buildAccountPageRequest(
+      final JCoinbaseClient client,
+      final AuthenticationService authentication,
+      final String uri,
+      final Deadline deadline) {
+    return HttpRequest.newBuilder()
+        .GET()
+        .timeout(timeout(client, deadline))
+        .uri(URI.create(client.getProperties().getApiUrl() + uri))
+        .headers(AuthenticationUtils.getHeaders(authentication, client, "GET", uri, ""))
+        .build();
+  }
+
+  private HttpRequest buildAccountRequest(
+      final JCoinbaseClient client,
+      final AuthenticationService authentication,
+      final String uri,
+      final String httpMethod,
+      final String httpBody) {
+    return defineHttpMethod(
+        HttpRequest.newBuilder()
+            .timeout(timeout(client, Deadline.none()))
+            .uri(URI.create(client.getProperties().getApiUrl() + uri))
+            .headers(
+                AuthenticationUtils.getHeaders(
+                    authentication, client, httpMethod.toUpperCase(), uri, httpBody)),
+        httpMethod,
+        httpBody);
+  }
 
-    val request =
-        defineHttpMethod(
-            HttpRequest.newBuilder()
-                .uri(URI.create(client.getProperties().getApiUrl() + uri))
-                .headers(
-                    AuthenticationUtils.getHeaders(
-                        authentication, client, httpMethod.toUpperCase(), uri, httpBody)),
-            httpMethod,
-            httpBody);
-
-    return HttpRequestSender.send(
-            client.getHttpClient(),
-            request,
-            client.getJsonSerDes(),
-            new TypeReference<DataDto<AccountDto>>() {})
-        .mapTry(result -> result.map(data -> data.getData().toAccount()));
+  private Duration timeout(final JCoinbaseClient client, final Deadline deadline) {
+    return deadline.cap(client.getOptions().getRequestTimeout(ACCOUNT));
   }
 
   private HttpRequest defineHttpMethod(
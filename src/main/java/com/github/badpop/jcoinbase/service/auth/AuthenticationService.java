@@ -8,21 +8,38 @@ import com.github.badpop.jcoinbase.service.data.DataService;
 import com.github.badpop.jcoinbase.service.utils.StringUtils;
 import io.vavr.control.Either;
 import io.vavr.control.Option;
-import lombok.NoArgsConstructor;
 import lombok.val;
-import org.apache.commons.codec.digest.HmacUtils;
+
+import java.time.Clock;
 
 import static com.github.badpop.jcoinbase.service.http.Headers.*;
 import static io.vavr.API.Left;
 import static io.vavr.API.Right;
-import static org.apache.commons.codec.digest.HmacAlgorithms.HMAC_SHA_256;
 
 /** Manage all the security mechanism required by Coinbase to call protected resources */
-@NoArgsConstructor
 public class AuthenticationService {
 
   private static Void aVoid;
 
+  private final Clock clock;
+
+  private volatile HmacSigner signer;
+
+  /** Build a new AuthenticationService timestamping the requests with the system clock */
+  public AuthenticationService() {
+    this(Clock.systemUTC());
+  }
+
+  /**
+   * Build a new AuthenticationService timestamping the requests with the given clock
+   *
+   * @param clock the clock to use, for example the clock of a {@link
+   *     com.github.badpop.jcoinbase.service.data.ClockSynchronizer}
+   */
+  public AuthenticationService(final Clock clock) {
+    this.clock = clock;
+  }
+
   /**
    * Get the headers required by the coinbase api to access protected resources like users or
    * transactions
@@ -78,14 +95,14 @@ public class AuthenticationService {
       ErrorManagerService.manageOnError(jcex, jcex.getMessage(), jcex);
     }
 
-    val message = timestamp + httpMethod + httpPath + ((httpBody == null) ? "" : httpBody);
-    val signature = new HmacUtils(HMAC_SHA_256, secret.get().getBytes()).hmacHex(message);
+    val timestampAsString = String.valueOf(timestamp);
+    val signature = getSigner(secret.get()).sign(timestampAsString, httpMethod, httpPath, httpBody);
 
     return new String[] {
       CB_ACCESS_SIGN.getValue(),
       signature,
       CB_ACCESS_TIMESTAMP.getValue(),
-      String.valueOf(timestamp),
+      timestampAsString,
       CB_ACCESS_KEY.getValue(),
       apiKey.get(),
       CB_VERSION.getValue(),
@@ -95,9 +112,25 @@ public class AuthenticationService {
     };
   }
 
-  /** @return the system current time in seconds */
+  /**
+   * Get the {@link HmacSigner} of the given secret. The signer is built on the first call and then
+   * reused as long as the secret does not change.
+   *
+   * @param secret the coinbase api secret
+   * @return an {@link HmacSigner} for the given secret
+   */
+  private HmacSigner getSigner(final String secret) {
+    HmacSigner current = signer;
+    if (current == null || !current.isFor(secret)) {
+      current = new HmacSigner(secret);
+      signer = current;
+    }
+    return current;
+  }
+
+  /** @return the current time of the clock in seconds */
   private long getCurrentTime() {
-    return System.currentTimeMillis() / 1000L;
+    return clock.millis() / 1000L;
   }
 
   /**
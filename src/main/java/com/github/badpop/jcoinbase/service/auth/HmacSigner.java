@@ -0,0 +1,141 @@
+package com.github.badpop.jcoinbase.service.auth;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.security.GeneralSecurityException;
+import java.util.Arrays;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Compute the HMAC SHA256 hex signatures required by the Coinbase api for a given secret.
+ *
+ * <p>The secret key is derived once, when the signer is built. Each thread then lazily gets its own
+ * initialized {@link Mac} along with reusable buffers for the message, the digest and its hex
+ * representation, so signing a request only allocates the returned String.
+ *
+ * <p>Instances are thread safe.
+ */
+public class HmacSigner {
+
+  private static final String ALGORITHM = "HmacSHA256";
+  private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+  private static final int INITIAL_MESSAGE_CAPACITY = 256;
+
+  private final String secret;
+  private final ThreadLocal<Engine> engines;
+
+  /**
+   * Build a new signer for the given secret
+   *
+   * @param secret the coinbase api secret
+   * @throws IllegalArgumentException if the HMAC SHA256 algorithm is not available or if the secret
+   *     is not a valid key
+   */
+  public HmacSigner(final String secret) {
+    this.secret = secret;
+    final SecretKeySpec key = new SecretKeySpec(secret.getBytes(UTF_8), ALGORITHM);
+    // Fail fast on an invalid key instead of failing on the first signature
+    final Engine engine = new Engine(key);
+    this.engines = ThreadLocal.withInitial(() -> new Engine(key));
+    this.engines.set(engine);
+  }
+
+  /**
+   * @param secret a coinbase api secret
+   * @return true if this signer has been built for the given secret, false otherwise
+   */
+  public boolean isFor(final String secret) {
+    return this.secret.equals(secret);
+  }
+
+  /**
+   * Sign the concatenation of the given parts, as expected by the coinbase api
+   *
+   * @param timestamp the request timestamp
+   * @param httpMethod the http verb used to call the resource
+   * @param httpPath the http path of the coinbase api resource
+   * @param httpBody the http body used to call the resource, may be null
+   * @return the lower case hex representation of the HMAC SHA256 signature
+   */
+  public String sign(
+      final String timestamp,
+      final String httpMethod,
+      final String httpPath,
+      final String httpBody) {
+    final Engine engine = engines.get();
+    engine.length = 0;
+    engine.append(timestamp);
+    engine.append(httpMethod);
+    engine.append(httpPath);
+    if (httpBody != null) {
+      engine.append(httpBody);
+    }
+    return engine.sign();
+  }
+
+  /** The per-thread signing state */
+  private static final class Engine {
+
+    private final Mac mac;
+    private final byte[] digest;
+    private final char[] hex;
+    private byte[] message = new byte[INITIAL_MESSAGE_CAPACITY];
+    private int length;
+
+    private Engine(final SecretKeySpec key) {
+      try {
+        this.mac = Mac.getInstance(ALGORITHM);
+        this.mac.init(key);
+      } catch (GeneralSecurityException e) {
+        throw new IllegalArgumentException(e);
+      }
+      this.digest = new byte[mac.getMacLength()];
+      this.hex = new char[digest.length * 2];
+    }
+
+    /**
+     * Append the UTF-8 bytes of the given value to the message. Ascii values, like the method, the
+     * path or most of the json bodies, are copied without any allocation.
+     */
+    private void append(final String value) {
+      final int size = value.length();
+      ensureCapacity(length + size);
+      for (int i = 0; i < size; i++) {
+        final char c = value.charAt(i);
+        if (c >= 0x80) {
+          appendEncoded(value, i);
+          return;
+        }
+        message[length++] = (byte) c;
+      }
+    }
+
+    private void appendEncoded(final String value, final int from) {
+      final byte[] encoded = value.substring(from).getBytes(UTF_8);
+      ensureCapacity(length + encoded.length);
+      System.arraycopy(encoded, 0, message, length, encoded.length);
+      length += encoded.length;
+    }
+
+    private void ensureCapacity(final int capacity) {
+      if (capacity > message.length) {
+        message = Arrays.copyOf(message, Math.max(capacity, message.length * 2));
+      }
+    }
+
+    private String sign() {
+      mac.update(message, 0, length);
+      try {
+        mac.doFinal(digest, 0);
+      } catch (GeneralSecurityException e) {
+        throw new IllegalStateException(e);
+      }
+      for (int i = 0; i < digest.length; i++) {
+        hex[i * 2] = HEX_DIGITS[(digest[i] >> 4) & 0x0F];
+        hex[i * 2 + 1] = HEX_DIGITS[digest[i] & 0x0F];
+      }
+      return new String(hex);
+    }
+  }
+}
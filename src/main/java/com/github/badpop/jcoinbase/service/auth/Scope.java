@@ -0,0 +1,28 @@
+package com.github.badpop.jcoinbase.service.auth;
+
+import lombok.Getter;
+
+/**
+ * The Coinbase api permissions needed by the user and account services.
+ *
+ * <p>For more information please take a look at <a
+ * href="https://developers.coinbase.com/docs/wallet/permissions">Coinbase API permissions
+ * reference</a>
+ */
+public enum Scope {
+  /** Read the current user */
+  USER_READ("wallet:user:read"),
+  /** Update the current user */
+  USER_UPDATE("wallet:user:update"),
+  /** List and read the accounts */
+  ACCOUNTS_READ("wallet:accounts:read"),
+  /** Update the accounts */
+  ACCOUNTS_UPDATE("wallet:accounts:update");
+
+  /** The scope as granted to the api key */
+  @Getter private final String value;
+
+  Scope(final String value) {
+    this.value = value;
+  }
+}
@@ -0,0 +1,110 @@
+package com.github.badpop.jcoinbase.service.auth;
+
+import com.github.badpop.jcoinbase.control.CallResult;
+import com.github.badpop.jcoinbase.model.CoinbaseError;
+import com.github.badpop.jcoinbase.model.user.Authorizations;
+import io.vavr.collection.Seq;
+import io.vavr.control.Option;
+import io.vavr.control.Try;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import static io.vavr.API.Seq;
+
+/**
+ * Reject locally the requests the api key is not allowed to send, instead of letting Coinbase
+ * refuse them.
+ *
+ * <p>The guard remembers the last {@link Authorizations} fetched by the user services. Until they
+ * are known, every request is sent. Then a request needing a {@link Scope} that is not granted
+ * returns the {@value #INVALID_SCOPE} failure Coinbase would have returned, without any http
+ * request.
+ */
+public class ScopeGuard {
+
+  /** The code of the error returned when a scope is missing, as Coinbase names it */
+  public static final String INVALID_SCOPE = "invalid_scope";
+
+  private final boolean enabled;
+  private final AtomicReference<Authorizations> authorizations = new AtomicReference<>();
+  private final AtomicLong rejected = new AtomicLong();
+
+  /** @param enabled false to send every request, whatever the known authorizations */
+  public ScopeGuard(final boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  /** @param authorizations the last fetched authorizations of the api key */
+  public void update(final Authorizations authorizations) {
+    this.authorizations.set(authorizations);
+  }
+
+  /** Forget the known authorizations, so every request is sent until they are fetched again */
+  public void reset() {
+    authorizations.set(null);
+  }
+
+  /** @return an {@link Option} of the last fetched authorizations */
+  public Option<Authorizations> getAuthorizations() {
+    return Option.of(authorizations.get());
+  }
+
+  /** @return the number of requests rejected locally */
+  public long getRejectedCount() {
+    return rejected.get();
+  }
+
+  /**
+   * @param scope a scope
+   * @return false if the authorizations are known and do not grant the given scope
+   */
+  public boolean isAllowed(final Scope scope) {
+    final Authorizations known = authorizations.get();
+    return !enabled
+        || known == null
+        || known.getScopes() == null
+        || known.getScopes().contains(scope.getValue());
+  }
+
+  /**
+   * Send a request if allowed
+   *
+   * @param scope the scope needed by the request
+   * @param send the function sending the request
+   * @param <T> the response type
+   * @return the result of the request, or an {@value #INVALID_SCOPE} failure if not allowed
+   */
+  public <T> Try<CallResult<Seq<CoinbaseError>, T>> guard(
+      final Scope scope, final Supplier<Try<CallResult<Seq<CoinbaseError>, T>>> send) {
+    return isAllowed(scope) ? send.get() : Try.success(reject(scope));
+  }
+
+  /**
+   * Non-blocking counterpart of {@link #guard(Scope, Supplier)}
+   *
+   * @param scope the scope needed by the request
+   * @param send the function sending the request
+   * @param <T> the response type
+   * @return a {@link CompletableFuture} of the result of the request, or of an {@value
+   *     #INVALID_SCOPE} failure if not allowed
+   */
+  public <T> CompletableFuture<CallResult<Seq<CoinbaseError>, T>> guardAsync(
+      final Scope scope,
+      final Supplier<CompletableFuture<CallResult<Seq<CoinbaseError>, T>>> send) {
+    return isAllowed(scope) ? send.get() : CompletableFuture.completedFuture(reject(scope));
+  }
+
+  private <T> CallResult<Seq<CoinbaseError>, T> reject(final Scope scope) {
+    rejected.incrementAndGet();
+    return CallResult.failure(
+        Seq(
+            CoinbaseError.builder()
+                .code(INVALID_SCOPE)
+                .message("The api key is not granted the " + scope.getValue() + " scope")
+                .url("https://developers.coinbase.com/docs/wallet/permissions")
+                .build()));
+  }
+}
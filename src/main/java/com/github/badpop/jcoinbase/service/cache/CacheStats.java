@@ -0,0 +1,26 @@
+package com.github.badpop.jcoinbase.service.cache;
+
+import lombok.Value;
+
+/** A snapshot of the counters of a {@link TtlCache} */
+@Value
+public class CacheStats {
+
+  /** The number of lookups served by a cached or pending value */
+  long hitCount;
+
+  /** The number of lookups that had to load the value */
+  long missCount;
+
+  /** The number of entries evicted because the cache was full */
+  long evictionCount;
+
+  /** The number of entries at the time of the snapshot */
+  int size;
+
+  /** @return the ratio of lookups served by a cached or pending value, 0 if there was none */
+  public double getHitRate() {
+    final long requests = hitCount + missCount;
+    return requests == 0 ? 0d : (double) hitCount / requests;
+  }
+}
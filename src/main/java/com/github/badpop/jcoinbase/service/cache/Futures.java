@@ -0,0 +1,34 @@
+package com.github.badpop.jcoinbase.service.cache;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+
+/** Utility interface to wait for the result of a coalesced call */
+interface Futures {
+
+  /**
+   * Wait for the given future and give its value. Its failure is rethrown as the coalesced call
+   * threw it, without being wrapped.
+   *
+   * @param future the future to wait for
+   * @param <V> the value type
+   * @return the value of the future
+   * @throws CompletionException if interrupted while waiting
+   */
+  static <V> V join(final CompletableFuture<V> future) {
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new CompletionException(e);
+    } catch (ExecutionException e) {
+      throw Futures.<RuntimeException>sneakyThrow(e.getCause());
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T extends Throwable> T sneakyThrow(final Throwable throwable) throws T {
+    throw (T) throwable;
+  }
+}
@@ -0,0 +1,107 @@
+package com.github.badpop.jcoinbase.service.cache;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Coalesce the identical calls running at the same time : only the first one is executed, the
+ * others wait for its result. Unlike a {@link TtlCache}, nothing is kept once the call completes,
+ * so a later call is executed again.
+ *
+ * <p>The blocking {@link #execute(Object, Supplier)} and the non-blocking {@link
+ * #executeAsync(Object, Supplier)} share the same calls, so a blocking call can wait for the result
+ * of a non-blocking one and vice versa.
+ *
+ * @param <K> the key type, identifying the identical calls
+ * @param <V> the result type
+ */
+public class SingleFlight<K, V> {
+
+  private final ConcurrentMap<K, CompletableFuture<V>> calls = new ConcurrentHashMap<>();
+  private final AtomicLong coalesced = new AtomicLong();
+
+  /**
+   * Execute the given call in the calling thread, or wait for the identical call in flight.
+   *
+   * <p>A failure of the call is rethrown as is, to the caller that executed it as well as to the
+   * coalesced ones.
+   *
+   * @param key the key of the call
+   * @param call the call to execute if no identical one is in flight
+   * @return the result of the call
+   */
+  public V execute(final K key, final Supplier<? extends V> call) {
+    final CompletableFuture<V> flight = new CompletableFuture<>();
+    final CompletableFuture<V> existing = calls.putIfAbsent(key, flight);
+    if (existing != null) {
+      coalesced.incrementAndGet();
+      return Futures.join(existing);
+    }
+
+    final V value;
+    try {
+      value = call.get();
+    } catch (Throwable t) {
+      land(key, flight, null, t);
+      throw t;
+    }
+    land(key, flight, value, null);
+    return value;
+  }
+
+  /**
+   * Start the given call, or join the identical call in flight, without blocking.
+   *
+   * @param key the key of the call
+   * @param call the function starting the call if no identical one is in flight
+   * @return a {@link CompletableFuture} of the result of the call. Completing or cancelling it does
+   *     not affect the other callers.
+   */
+  public CompletableFuture<V> executeAsync(
+      final K key, final Supplier<? extends CompletableFuture<? extends V>> call) {
+    final CompletableFuture<V> flight = new CompletableFuture<>();
+    final CompletableFuture<V> existing = calls.putIfAbsent(key, flight);
+    if (existing != null) {
+      coalesced.incrementAndGet();
+      return existing.copy();
+    }
+
+    final CompletableFuture<? extends V> running;
+    try {
+      running = call.get();
+    } catch (Throwable t) {
+      land(key, flight, null, t);
+      return CompletableFuture.failedFuture(t);
+    }
+    running.whenComplete((value, throwable) -> land(key, flight, value, throwable));
+    return flight.copy();
+  }
+
+  /** @return the number of calls currently in flight */
+  public int size() {
+    return calls.size();
+  }
+
+  /** @return the number of calls that waited for an identical one instead of being executed */
+  public long getCoalescedCount() {
+    return coalesced.get();
+  }
+
+  /** Forget the completed call, so a later one is executed again, and give its result */
+  private void land(
+      final K key, final CompletableFuture<V> flight, final V value, final Throwable throwable) {
+    calls.remove(key, flight);
+    if (throwable == null) {
+      flight.complete(value);
+    } else {
+      flight.completeExceptionally(
+          throwable instanceof CompletionException && throwable.getCause() != null
+              ? throwable.getCause()
+              : throwable);
+    }
+  }
+}
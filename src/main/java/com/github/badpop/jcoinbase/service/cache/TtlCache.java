@@ -0,0 +1,271 @@
+package com.github.badpop.jcoinbase.service.cache;
+
+import io.vavr.control.Option;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * A bounded in-memory cache whose entries expire after a fixed time to live.
+ *
+ * <p>When the cache is full, the least recently used entry is evicted. Concurrent lookups of the
+ * same missing key are coalesced : only the first one calls the loader, the others wait for its
+ * result. Only the values accepted by the cacheable predicate are kept once loaded, the other ones
+ * are returned to the waiting callers and then forgotten.
+ *
+ * <p>The blocking {@link #get(Object, Supplier)} and the non-blocking {@link #getAsync(Object,
+ * Supplier)} share the same entries, so a blocking lookup can wait for a value loaded by a
+ * non-blocking one and vice versa.
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public class TtlCache<K, V> {
+
+  private final long ttlNanos;
+  private final int maximumSize;
+  private final Predicate<? super V> cacheable;
+  private final LongSupplier ticker;
+  private final Map<K, CacheEntry<V>> entries;
+
+  private final AtomicLong hits = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+  private final AtomicLong evictions = new AtomicLong();
+
+  /**
+   * @param ttl the time to live of the loaded values
+   * @param maximumSize the maximum number of entries
+   * @param cacheable the predicate telling if a loaded value should be kept
+   * @throws IllegalArgumentException if the ttl is not positive or if the maximum size is lower
+   *     than 1
+   */
+  public TtlCache(final Duration ttl, final int maximumSize, final Predicate<? super V> cacheable) {
+    this(ttl, maximumSize, cacheable, System::nanoTime);
+  }
+
+  TtlCache(
+      final Duration ttl,
+      final int maximumSize,
+      final Predicate<? super V> cacheable,
+      final LongSupplier ticker) {
+    Objects.requireNonNull(ttl, "ttl is null");
+    Objects.requireNonNull(cacheable, "cacheable is null");
+    if (ttl.isZero() || ttl.isNegative()) {
+      throw new IllegalArgumentException("The cache ttl must be positive");
+    }
+    if (maximumSize < 1) {
+      throw new IllegalArgumentException("The cache maximum size must be at least 1");
+    }
+    this.ttlNanos = ttl.toNanos();
+    this.maximumSize = maximumSize;
+    this.cacheable = cacheable;
+    this.ticker = ticker;
+    this.entries =
+        new LinkedHashMap<>(16, 0.75f, true) {
+          @Override
+          protected boolean removeEldestEntry(final Map.Entry<K, CacheEntry<V>> eldest) {
+            if (size() > TtlCache.this.maximumSize) {
+              evictions.incrementAndGet();
+              return true;
+            }
+            return false;
+          }
+        };
+  }
+
+  /**
+   * Return the cached value of the given key, or load it in the calling thread.
+   *
+   * <p>A failure of the loader is rethrown as is, to the caller that loaded the value as well as
+   * to the coalesced ones.
+   *
+   * @param key the key
+   * @param loader the function loading the value if it is missing or expired
+   * @return the cached or loaded value
+   */
+  public V get(final K key, final Supplier<? extends V> loader) {
+    final CacheEntry<V> entry = new CacheEntry<>();
+    final CacheEntry<V> existing = lookup(key, entry);
+    if (existing != null) {
+      return Futures.join(existing.future);
+    }
+
+    final V value;
+    try {
+      value = loader.get();
+    } catch (Throwable t) {
+      fail(key, entry, t);
+      throw t;
+    }
+    complete(key, entry, value);
+    return value;
+  }
+
+  /**
+   * Return a future of the cached value of the given key, or load it without blocking.
+   *
+   * @param key the key
+   * @param loader the function starting to load the value if it is missing or expired
+   * @return a {@link CompletableFuture} of the cached or loaded value. Completing or cancelling it
+   *     does not affect the other callers.
+   */
+  public CompletableFuture<V> getAsync(
+      final K key, final Supplier<? extends CompletableFuture<? extends V>> loader) {
+    final CacheEntry<V> entry = new CacheEntry<>();
+    final CacheEntry<V> existing = lookup(key, entry);
+    if (existing != null) {
+      return existing.future.copy();
+    }
+
+    final CompletableFuture<? extends V> loading;
+    try {
+      loading = loader.get();
+    } catch (Throwable t) {
+      fail(key, entry, t);
+      return CompletableFuture.failedFuture(t);
+    }
+    loading.whenComplete(
+        (value, throwable) -> {
+          if (throwable != null) {
+            fail(key, entry, throwable);
+          } else {
+            complete(key, entry, value);
+          }
+        });
+    return entry.future.copy();
+  }
+
+  /**
+   * Return a future of the cached or pending value of the given key, without loading it.
+   *
+   * @param key the key
+   * @return an {@link Option} of a {@link CompletableFuture} of the cached or pending value, none
+   *     if it is missing or expired. Completing or cancelling it does not affect the other callers.
+   */
+  public Option<CompletableFuture<V>> getIfPresentAsync(final K key) {
+    synchronized (entries) {
+      final CacheEntry<V> existing = entries.get(key);
+      if (existing != null && !existing.isExpired(ticker.getAsLong())) {
+        hits.incrementAndGet();
+        return Option.some(existing.future.copy());
+      }
+      misses.incrementAndGet();
+      return Option.none();
+    }
+  }
+
+  /**
+   * Store the given value, replacing the cached one. A pending load of this key is not interrupted,
+   * but its result will not be kept. The value is not stored if it is not cacheable.
+   *
+   * @param key the key
+   * @param value the value to store
+   */
+  public void put(final K key, final V value) {
+    final CacheEntry<V> entry = new CacheEntry<>();
+    entry.future.complete(value);
+    entry.expiresAt = ticker.getAsLong() + ttlNanos;
+    synchronized (entries) {
+      if (cacheable.test(value)) {
+        entries.put(key, entry);
+      } else {
+        entries.remove(key);
+      }
+    }
+  }
+
+  /**
+   * Remove the given key from the cache. A pending load of this key is not interrupted, but its
+   * result will not be kept.
+   *
+   * @param key the key to remove
+   */
+  public void invalidate(final K key) {
+    synchronized (entries) {
+      entries.remove(key);
+    }
+  }
+
+  /** Remove all the entries of the cache */
+  public void invalidateAll() {
+    synchronized (entries) {
+      entries.clear();
+    }
+  }
+
+  /** @return the number of entries, including the expired and the pending ones */
+  public int size() {
+    synchronized (entries) {
+      return entries.size();
+    }
+  }
+
+  /** @return a snapshot of the cache counters */
+  public CacheStats getStats() {
+    return new CacheStats(hits.get(), misses.get(), evictions.get(), size());
+  }
+
+  /**
+   * Find the live entry of the given key, or register the given entry as the pending one.
+   *
+   * @return the live entry, or null if the caller must load the value
+   */
+  private CacheEntry<V> lookup(final K key, final CacheEntry<V> pending) {
+    synchronized (entries) {
+      final CacheEntry<V> existing = entries.get(key);
+      if (existing != null && !existing.isExpired(ticker.getAsLong())) {
+        hits.incrementAndGet();
+        return existing;
+      }
+      misses.incrementAndGet();
+      entries.put(key, pending);
+      return null;
+    }
+  }
+
+  private void complete(final K key, final CacheEntry<V> entry, final V value) {
+    synchronized (entries) {
+      if (entries.get(key) == entry) {
+        if (cacheable.test(value)) {
+          entry.expiresAt = ticker.getAsLong() + ttlNanos;
+        } else {
+          entries.remove(key);
+        }
+      }
+    }
+    entry.future.complete(value);
+  }
+
+  private void fail(final K key, final CacheEntry<V> entry, final Throwable throwable) {
+    synchronized (entries) {
+      if (entries.get(key) == entry) {
+        entries.remove(key);
+      }
+    }
+    entry.future.completeExceptionally(
+        throwable instanceof CompletionException && throwable.getCause() != null
+            ? throwable.getCause()
+            : throwable);
+  }
+
+  /** A cached value, pending until its future is completed */
+  private static final class CacheEntry<V> {
+
+    private final CompletableFuture<V> future = new CompletableFuture<>();
+
+    /** Guarded by the entries lock. Pending entries never expire. */
+    private long expiresAt = Long.MAX_VALUE;
+
+    private boolean isExpired(final long now) {
+      return expiresAt != Long.MAX_VALUE && now - expiresAt >= 0;
+    }
+  }
+}
@@ -0,0 +1,305 @@
+package com.github.badpop.jcoinbase.service.data;
+
+import com.github.badpop.jcoinbase.JCoinbaseClient;
+import com.github.badpop.jcoinbase.control.CallResult;
+import com.github.badpop.jcoinbase.control.Deadline;
+import com.github.badpop.jcoinbase.exception.InvalidRequestException;
+import com.github.badpop.jcoinbase.exception.JCoinbaseException;
+import com.github.badpop.jcoinbase.model.CoinbaseError;
+import com.github.badpop.jcoinbase.model.data.Currency;
+import com.github.badpop.jcoinbase.model.data.CurrencyPair;
+import com.github.badpop.jcoinbase.model.data.ExchangeRates;
+import com.github.badpop.jcoinbase.model.data.Price;
+import com.github.badpop.jcoinbase.model.data.Price.PriceType;
+import com.github.badpop.jcoinbase.model.data.PricesBatch;
+import com.github.badpop.jcoinbase.model.data.Quote;
+import com.github.badpop.jcoinbase.model.data.Time;
+import com.github.badpop.jcoinbase.service.ErrorManagerService;
+import com.github.badpop.jcoinbase.service.utils.ConcurrencyUtils;
+import io.vavr.collection.Seq;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * This service allows you to request coinbase public data without blocking the calling thread.
+ * It offers the same methods as the {@link DataService} but each of them returns a {@link
+ * CompletableFuture}.
+ *
+ * <p>The returned futures complete with the same {@link CallResult} as their blocking
+ * counterparts. On unknown errors, they complete exceptionally with a {@link JCoinbaseException}.
+ */
+@Slf4j
+@AllArgsConstructor
+public class AsyncDataService {
+
+  private final JCoinbaseClient client;
+  private final CoinbaseDataService service;
+
+  /**
+   * Get the Coinbase API server time.
+   *
+   * @return a {@link CompletableFuture} of a {@link CallResult} containing a {@link Time} if it's
+   *     ok, a list of {@link CoinbaseError} otherwise.
+   */
+  public CompletableFuture<CallResult<java.util.List<CoinbaseError>, Time>> getTimeAsJava() {
+    return getTime().thenApply(callResult -> callResult.mapFailure(Seq::asJava));
+  }
+
+  /**
+   * Get the Coinbase API server time.
+   *
+   * @return a {@link CompletableFuture} of a {@link CallResult} containing a {@link Time} if it's
+   *     ok, a Seq of {@link CoinbaseError} otherwise.
+   */
+  public CompletableFuture<CallResult<Seq<CoinbaseError>, Time>> getTime() {
+    return ErrorManagerService.manageOnAsyncError(
+        service
+            .fetchTimeAsync(client)
+            .thenApply(
+                time -> {
+                  log.info("Successfully fetch Time resource : {}", time);
+                  return time;
+                }),
+        "An error occurred while fetching coinbase Time resource");
+  }
+
+  /**
+   * List Coinbase known currencies.
+   *
+   * @return a {@link CompletableFuture} of a {@link CallResult} containing a List of {@link
+   *     Currency} if it's ok, a list of {@link CoinbaseError} otherwise.
+   */
+  public CompletableFuture<CallResult<java.util.List<CoinbaseError>, java.util.List<Currency>>>
+      getCurrenciesAsJava() {
+    return getCurrencies()
+        .thenApply(callResult -> callResult.map(Seq::asJava).mapFailure(Seq::asJava));
+  }
+
+  /**
+   * List Coinbase known currencies.
+   *
+   * @return a {@link CompletableFuture} of a {@link CallResult} containing a Seq of {@link
+   *     Currency} if it's ok, a Seq of {@link CoinbaseError} otherwise.
+   */
+  public CompletableFuture<CallResult<Seq<CoinbaseError>, Seq<Currency>>> getCurrencies() {
+    return ErrorManagerService.manageOnAsyncError(
+        service
+            .fetchCurrenciesAsync(client)
+            .thenApply(
+                currencies -> {
+                  log.info("Successfully fetch Currencies resources");
+                  return currencies;
+                }),
+        "An error occurred while fetching coinbase Currencies resources");
+  }
+
+  /**
+   * Get current exchange rates for the given currency.
+   *
+   * @param currency the currency code. For example : BTC, USD, EUR, ETH, ...
+   * @return a {@link CompletableFuture} of a {@link CallResult} containing an {@link
+   *     ExchangeRates} object if it's ok, a List of {@link CoinbaseError} otherwise.
+   */
+  public CompletableFuture<CallResult<java.util.List<CoinbaseError>, ExchangeRates>>
+      getExchangeRatesAsJava(final String currency) {
+    return getExchangeRates(currency).thenApply(callResult -> callResult.mapFailure(Seq::asJava));
+  }
+
+  /**
+   * Get current exchange rates for the given currency.
+   *
+   * @param currency the currency code. For example : BTC, USD, EUR, ETH, ...
+   * @return a {@link CompletableFuture} of a {@link CallResult} containing an {@link
+   *     ExchangeRates} object if it's ok, a Seq of {@link CoinbaseError} otherwise.
+   */
+  public CompletableFuture<CallResult<Seq<CoinbaseError>, ExchangeRates>> getExchangeRates(
+      final String currency) {
+    return ErrorManagerService.manageOnAsyncError(
+        service
+            .fetchExchangeRatesAsync(client, currency)
+            .thenApply(
+                exchangeRates -> {
+                  log.info("Successfully fetch Exchange rates for currency {}", currency);
+                  return exchangeRates;
+                }),
+        "An error occurred while fetching coinbase Exchange rates for currency : {}",
+        currency);
+  }
+
+  /**
+   * Get the total price to buy one currency with an other currency (e.g. BTC-USD to buy Bitcoin
+   * with USD).
+   *
+   * @param priceType the price type to get (BUY, SELL or SPOT)
+   * @param baseCurrency the base currency
+   * @param targetCurrency the currency to determine price value
+   * @return a {@link CompletableFuture} of a {@link CallResult} containing a {@link Price} object
+   *     if it's ok, a List of {@link CoinbaseError} otherwise.
+   */
+  public CompletableFuture<CallResult<java.util.List<CoinbaseError>, Price>> getPriceAsJava(
+      final PriceType priceType, final String baseCurrency, final String targetCurrency) {
+    return getPrice(priceType, baseCurrency, targetCurrency)
+        .thenApply(callResult -> callResult.mapFailure(Seq::asJava));
+  }
+
+  /**
+   * Get the total price to buy one currency with an other currency (e.g. BTC-USD to buy Bitcoin
+   * with USD).
+   *
+   * @param priceType the price type to get (BUY, SELL or SPOT)
+   * @param baseCurrency the base currency
+   * @param targetCurrency the currency to determine price value
+   * @return a {@link CompletableFuture} of a {@link CallResult} containing a {@link Price} object
+   *     if it's ok, a Seq of {@link CoinbaseError} otherwise.
+   */
+  public CompletableFuture<CallResult<Seq<CoinbaseError>, Price>> getPrice(
+      final PriceType priceType, final String baseCurrency, final String targetCurrency) {
+    return ErrorManagerService.manageOnAsyncError(
+        service
+            .fetchPriceByTypeAsync(client, priceType, baseCurrency, targetCurrency)
+            .thenApply(
+                price -> {
+                  log.info(
+                      "Successfully fetch price for currency={}, targetCurrency={} and priceType={}",
+                      baseCurrency,
+                      targetCurrency,
+                      priceType);
+                  return price;
+                }),
+        "An error occurred while fetching coinbase price for PriceType={}, currency{} and targetCurrency={}",
+        priceType.getType(),
+        baseCurrency,
+        targetCurrency);
+  }
+
+  /**
+   * Get the buy, sell and spot prices of a currency pair at once. The three prices are requested
+   * at the same time, so the returned future completes as soon as the slowest of them.
+   *
+   * @param baseCurrency the base currency
+   * @param targetCurrency the currency to determine prices values
+   * @return a {@link CompletableFuture} of a {@link CallResult} containing a {@link Quote} object
+   *     if it's ok, a List of {@link CoinbaseError} otherwise.
+   */
+  public CompletableFuture<CallResult<java.util.List<CoinbaseError>, Quote>> getQuoteAsJava(
+      final String baseCurrency, final String targetCurrency) {
+    return getQuote(baseCurrency, targetCurrency)
+        .thenApply(callResult -> callResult.mapFailure(Seq::asJava));
+  }
+
+  /**
+   * Get the buy, sell and spot prices of a currency pair at once. The three prices are requested
+   * at the same time, so the returned future completes as soon as the slowest of them.
+   *
+   * @param baseCurrency the base currency
+   * @param targetCurrency the currency to determine prices values
+   * @return a {@link CompletableFuture} of a {@link CallResult} containing a {@link Quote} object
+   *     if it's ok, a Seq of the {@link CoinbaseError} of all the failed prices otherwise.
+   */
+  public CompletableFuture<CallResult<Seq<CoinbaseError>, Quote>> getQuote(
+      final String baseCurrency, final String targetCurrency) {
+    return getQuote(baseCurrency, targetCurrency, Deadline.none());
+  }
+
+  /**
+   * Get the buy, sell and spot prices of a currency pair at once, within the given deadline. Each
+   * price request is given the smallest of its own timeout and the time left.
+   *
+   * @param baseCurrency the base currency
+   * @param targetCurrency the currency to determine prices values
+   * @param deadline the time budget of the whole quote
+   * @return a {@link CompletableFuture} of a {@link CallResult} containing a {@link Quote} object
+   *     if it's ok, a List of {@link CoinbaseError} otherwise. The future fails with a {@link
+   *     JCoinbaseException} if the deadline expires.
+   */
+  public CompletableFuture<CallResult<java.util.List<CoinbaseError>, Quote>> getQuoteAsJava(
+      final String baseCurrency, final String targetCurrency, final Deadline deadline) {
+    return getQuote(baseCurrency, targetCurrency, deadline)
+        .thenApply(callResult -> callResult.mapFailure(Seq::asJava));
+  }
+
+  /**
+   * Get the buy, sell and spot prices of a currency pair at once, within the given deadline. Each
+   * price request is given the smallest of its own timeout and the time left.
+   *
+   * @param baseCurrency the base currency
+   * @param targetCurrency the currency to determine prices values
+   * @param deadline the time budget of the whole quote
+   * @return a {@link CompletableFuture} of a {@link CallResult} containing a {@link Quote} object
+   *     if it's ok, a Seq of the {@link CoinbaseError} of all the failed prices otherwise. The
+   *     future fails with a {@link JCoinbaseException} if the deadline expires.
+   */
+  public CompletableFuture<CallResult<Seq<CoinbaseError>, Quote>> getQuote(
+      final String baseCurrency, final String targetCurrency, final Deadline deadline) {
+    return ErrorManagerService.manageOnAsyncError(
+        service
+            .fetchQuoteAsync(client, baseCurrency, targetCurrency, deadline)
+            .thenApply(
+                quote -> {
+                  log.info(
+                      "Successfully fetch quote for currency={} and targetCurrency={}",
+                      baseCurrency,
+                      targetCurrency);
+                  return quote;
+                }),
+        "An error occurred while fetching coinbase quote for currency={} and targetCurrency={}",
+        baseCurrency,
+        targetCurrency);
+  }
+
+  /**
+   * Get the prices of the given currency pairs, sending at most {@link
+   * com.github.badpop.jcoinbase.JCoinbaseOptions#getBulkRequestsConcurrency()} requests at the same
+   * time.
+   *
+   * @param priceType the price type to get (BUY, SELL or SPOT)
+   * @param pairs the currency pairs to price. Duplicated pairs are requested once.
+   * @return a {@link CompletableFuture} of a {@link PricesBatch} containing a {@link CallResult}
+   *     per pair and the batch duration
+   * @throws NullPointerException if the pairs are null
+   * @see #getPrices(PriceType, Iterable, int)
+   */
+  public CompletableFuture<PricesBatch> getPrices(
+      final PriceType priceType, final Iterable<CurrencyPair> pairs) {
+    return getPrices(priceType, pairs, client.getOptions().getBulkRequestsConcurrency());
+  }
+
+  /**
+   * Get the prices of the given currency pairs, sending at most {@code concurrency} requests at the
+   * same time. A new request is sent as soon as a running one completes.
+   *
+   * <p>The Coinbase errors of a pair are returned in its {@link CallResult} and do not stop the
+   * other requests. Use {@link PricesBatch#sequence()} to aggregate all the results.
+   *
+   * @param priceType the price type to get (BUY, SELL or SPOT)
+   * @param pairs the currency pairs to price. Duplicated pairs are requested once.
+   * @param concurrency the maximum number of requests sent at the same time
+   * @return a {@link CompletableFuture} of a {@link PricesBatch} containing a {@link CallResult}
+   *     per pair and the batch duration
+   * @throws NullPointerException if the pairs are null
+   * @throws InvalidRequestException if the concurrency is lower than 1
+   */
+  public CompletableFuture<PricesBatch> getPrices(
+      final PriceType priceType, final Iterable<CurrencyPair> pairs, final int concurrency) {
+    Objects.requireNonNull(pairs, "pairs is null");
+    ConcurrencyUtils.checkConcurrency(concurrency);
+
+    return ErrorManagerService.manageOnAsyncError(
+        service
+            .fetchPricesByTypeAsync(client, priceType, pairs, concurrency)
+            .thenApply(
+                batch -> {
+                  log.info(
+                      "Successfully fetch {} prices for priceType={} in {}",
+                      batch.getResults().size(),
+                      priceType,
+                      batch.getDuration());
+                  return batch;
+                }),
+        "An error occurred while fetching coinbase prices for PriceType={}",
+        priceType.getType());
+  }
+}
@@ -0,0 +1,177 @@
+package com.github.badpop.jcoinbase.service.data;
+
+import com.github.badpop.jcoinbase.JCoinbaseClient;
+import com.github.badpop.jcoinbase.control.CallResult;
+import com.github.badpop.jcoinbase.control.Deadline;
+import com.github.badpop.jcoinbase.model.CoinbaseError;
+import com.github.badpop.jcoinbase.model.data.Currency;
+import com.github.badpop.jcoinbase.model.data.ExchangeRates;
+import com.github.badpop.jcoinbase.model.data.Price;
+import com.github.badpop.jcoinbase.model.data.Price.PriceType;
+import com.github.badpop.jcoinbase.service.cache.TtlCache;
+import io.vavr.Tuple;
+import io.vavr.Tuple3;
+import io.vavr.collection.Seq;
+import io.vavr.control.Option;
+import io.vavr.control.Try;
+import lombok.Getter;
+import lombok.val;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A {@link CoinbaseDataService} keeping the successful currencies, exchange rates and prices
+ * responses in a {@link TtlCache}, with a time to live per endpoint. Failures are never cached.
+ *
+ * <p>Concurrent requests for the same resource are coalesced, so only one http request is sent
+ * while the others wait for its response.
+ *
+ * <p>A price request under a bounded {@link Deadline} waits for a coalesced request at most until
+ * its deadline expires. It is never coalesced with the others itself, so that its deadline does
+ * not apply to them, but its successful response is cached.
+ *
+ * <p>The exchange rates of the currencies watched by an {@link ExchangeRatesRefresher} are read
+ * from memory, even if the last refresh failed, and are never requested on the caller thread.
+ */
+public class CachingCoinbaseDataService extends CoinbaseDataService {
+
+  private static final String CURRENCIES_KEY = "currencies";
+
+  @Getter
+  private final TtlCache<String, CallResult<Seq<CoinbaseError>, Seq<Currency>>> currenciesCache;
+
+  @Getter
+  private final TtlCache<String, CallResult<Seq<CoinbaseError>, ExchangeRates>> exchangeRatesCache;
+
+  @Getter
+  private final TtlCache<Tuple3<PriceType, String, String>, CallResult<Seq<CoinbaseError>, Price>>
+      pricesCache;
+
+  @Getter private final Option<ExchangeRatesRefresher> exchangeRatesRefresher;
+
+  /**
+   * @param currenciesTtl the time to live of the currencies
+   * @param exchangeRatesTtl the time to live of the exchange rates
+   * @param pricesTtl the time to live of the prices
+   * @param maximumSize the maximum number of entries of each cache
+   */
+  public CachingCoinbaseDataService(
+      final Duration currenciesTtl,
+      final Duration exchangeRatesTtl,
+      final Duration pricesTtl,
+      final int maximumSize) {
+    this(currenciesTtl, exchangeRatesTtl, pricesTtl, maximumSize, Option.none());
+  }
+
+  /**
+   * @param currenciesTtl the time to live of the currencies
+   * @param exchangeRatesTtl the time to live of the exchange rates
+   * @param pricesTtl the time to live of the prices
+   * @param maximumSize the maximum number of entries of each cache
+   * @param exchangeRatesRefresher the refresher keeping the watched exchange rates in memory, if
+   *     any
+   */
+  public CachingCoinbaseDataService(
+      final Duration currenciesTtl,
+      final Duration exchangeRatesTtl,
+      final Duration pricesTtl,
+      final int maximumSize,
+      final Option<ExchangeRatesRefresher> exchangeRatesRefresher) {
+    this.exchangeRatesRefresher =
+        Objects.requireNonNull(exchangeRatesRefresher, "exchangeRatesRefresher is null");
+    this.currenciesCache = new TtlCache<>(currenciesTtl, maximumSize, CallResult::isSuccess);
+    this.exchangeRatesCache = new TtlCache<>(exchangeRatesTtl, maximumSize, CallResult::isSuccess);
+    this.pricesCache = new TtlCache<>(pricesTtl, maximumSize, CallResult::isSuccess);
+  }
+
+  @Override
+  protected Try<CallResult<Seq<CoinbaseError>, Seq<Currency>>> fetchCurrencies(
+      final JCoinbaseClient client) {
+    return Try.of(
+        () -> currenciesCache.get(CURRENCIES_KEY, () -> super.fetchCurrencies(client).get()));
+  }
+
+  @Override
+  protected CompletableFuture<CallResult<Seq<CoinbaseError>, Seq<Currency>>> fetchCurrenciesAsync(
+      final JCoinbaseClient client) {
+    return currenciesCache.getAsync(CURRENCIES_KEY, () -> super.fetchCurrenciesAsync(client));
+  }
+
+  @Override
+  protected Try<CallResult<Seq<CoinbaseError>, ExchangeRates>> fetchExchangeRates(
+      final JCoinbaseClient client, final String currency) {
+    val refreshed = getRefreshedExchangeRates(currency);
+    if (refreshed.isDefined()) {
+      return Try.success(refreshed.get());
+    }
+    return Try.of(
+        () ->
+            exchangeRatesCache.get(
+                currency, () -> super.fetchExchangeRates(client, currency).get()));
+  }
+
+  @Override
+  protected CompletableFuture<CallResult<Seq<CoinbaseError>, ExchangeRates>>
+      fetchExchangeRatesAsync(final JCoinbaseClient client, final String currency) {
+    val refreshed = getRefreshedExchangeRates(currency);
+    if (refreshed.isDefined()) {
+      return CompletableFuture.completedFuture(refreshed.get());
+    }
+    return exchangeRatesCache.getAsync(
+        currency, () -> super.fetchExchangeRatesAsync(client, currency));
+  }
+
+  @Override
+  protected Try<CallResult<Seq<CoinbaseError>, Price>> fetchPriceByType(
+      final JCoinbaseClient client,
+      final PriceType priceType,
+      final String baseCurrency,
+      final String targetCurrency) {
+    return Try.of(
+        () ->
+            pricesCache.get(
+                Tuple.of(priceType, baseCurrency, targetCurrency),
+                () ->
+                    super.fetchPriceByType(client, priceType, baseCurrency, targetCurrency).get()));
+  }
+
+  @Override
+  protected CompletableFuture<CallResult<Seq<CoinbaseError>, Price>> fetchPriceByTypeAsync(
+      final JCoinbaseClient client,
+      final PriceType priceType,
+      final String baseCurrency,
+      final String targetCurrency,
+      final Deadline deadline) {
+    val key = Tuple.of(priceType, baseCurrency, targetCurrency);
+    if (!deadline.isBounded()) {
+      return pricesCache.getAsync(
+          key,
+          () ->
+              super.fetchPriceByTypeAsync(
+                  client, priceType, baseCurrency, targetCurrency, deadline));
+    }
+    return pricesCache
+        .getIfPresentAsync(key)
+        .map(deadline::bound)
+        .getOrElse(
+            () ->
+                super.fetchPriceByTypeAsync(
+                        client, priceType, baseCurrency, targetCurrency, deadline)
+                    .thenApply(
+                        price -> {
+                          if (price.isSuccess()) {
+                            pricesCache.put(key, price);
+                          }
+                          return price;
+                        }));
+  }
+
+  private Option<CallResult<Seq<CoinbaseError>, ExchangeRates>> getRefreshedExchangeRates(
+      final String currency) {
+    return exchangeRatesRefresher
+        .flatMap(refresher -> refresher.get(currency))
+        .map(refreshed -> CallResult.success(refreshed.getExchangeRates()));
+  }
+}
@@ -0,0 +1,277 @@
+package com.github.badpop.jcoinbase.service.data;
+
+import com.github.badpop.jcoinbase.JCoinbaseClient;
+import com.github.badpop.jcoinbase.control.CallResult;
+import com.github.badpop.jcoinbase.model.data.Time;
+import io.vavr.control.Option;
+import io.vavr.control.Try;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Objects;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keep an estimation of the offset between the local clock and the Coinbase api clock, so the
+ * signed requests are timestamped with the Coinbase time even if the local clock drifts.
+ *
+ * <p>Each synchronization takes a few samples of the Coinbase api time and keeps the one with the
+ * shortest round trip. Each sample is a single request sent straight through the http client,
+ * without throttling, retry nor circuit breaker, so its round trip is never inflated by a wait or a
+ * second attempt. The offset is estimated by comparing the server time with the local time at the
+ * middle of the round trip. Since the Coinbase api time has a one second resolution, the server
+ * time is considered to be at the middle of the returned second.
+ *
+ * <p>The estimated offset is therefore only precise to ±500 ms. The round trip compensation only
+ * matters once half the round trip is no longer negligible against that precision, and the samples
+ * whose round trip exceeds one second are skipped, since their error could exceed the resolution
+ * of the server time.
+ *
+ * <p>Once {@link #start()} has been called, the synchronization is repeated periodically on the
+ * scheduler of the client runtime until {@link #stop()} is called. The {@link #getClock()} clock can be used
+ * whether the synchronizer is started or not, it simply follows the local clock until the first
+ * successful synchronization.
+ */
+@Slf4j
+public class ClockSynchronizer {
+
+  private static final long UNKNOWN = -1L;
+
+  /** The longest round trip of a sample, beyond which it is skipped */
+  private static final long MAX_ROUND_TRIP_MILLIS = 1000L;
+
+  private final JCoinbaseClient client;
+  private final CoinbaseDataService service;
+  private final Clock localClock;
+  private final Duration period;
+  private final int samples;
+  private final Clock clock;
+
+  private final Object stateLock = new Object();
+  private final AtomicLong synchronizations = new AtomicLong();
+  private final AtomicLong failures = new AtomicLong();
+  private volatile long offsetMillis = 0L;
+  private volatile long jitterMillis = 0L;
+  private volatile long roundTripMillis = UNKNOWN;
+  private volatile Instant lastSynchronization = null;
+
+  private ScheduledFuture<?> task;
+
+  /**
+   * @param client the client used to request the Coinbase api time
+   * @param service the service used to request the Coinbase api time
+   * @param localClock the local clock to correct
+   * @param period the delay between two synchronizations
+   * @param samples the number of samples taken at each synchronization
+   * @throws IllegalArgumentException if the period is not positive or if there is less than one
+   *     sample
+   */
+  public ClockSynchronizer(
+      final JCoinbaseClient client,
+      final CoinbaseDataService service,
+      final Clock localClock,
+      final Duration period,
+      final int samples) {
+    Objects.requireNonNull(period, "period is null");
+    if (period.isZero() || period.isNegative()) {
+      throw new IllegalArgumentException("The clock synchronization period must be positive");
+    }
+    if (samples < 1) {
+      throw new IllegalArgumentException("At least one clock synchronization sample is required");
+    }
+    this.client = client;
+    this.service = service;
+    this.localClock = localClock;
+    this.period = period;
+    this.samples = samples;
+    this.clock = new OffsetClock(ZoneOffset.UTC);
+  }
+
+  /**
+   * @return a clock following the local clock corrected with the last estimated offset
+   */
+  public Clock getClock() {
+    return clock;
+  }
+
+  /** @return the last estimated offset between the Coinbase api clock and the local clock */
+  public Duration getOffset() {
+    return Duration.ofMillis(offsetMillis);
+  }
+
+  /**
+   * @return the smoothed variation of the estimated offset between two synchronizations. A high
+   *     jitter means that the estimations are not reliable.
+   */
+  public Duration getJitter() {
+    return Duration.ofMillis(jitterMillis);
+  }
+
+  /** @return the round trip of the sample used for the last estimation, if any */
+  public Option<Duration> getRoundTrip() {
+    final long roundTrip = roundTripMillis;
+    return roundTrip == UNKNOWN ? Option.none() : Option.some(Duration.ofMillis(roundTrip));
+  }
+
+  /** @return the local time of the last successful synchronization, if any */
+  public Option<Instant> getLastSynchronization() {
+    return Option.of(lastSynchronization);
+  }
+
+  /** @return the number of successful synchronizations */
+  public long getSynchronizationCount() {
+    return synchronizations.get();
+  }
+
+  /** @return the number of synchronizations for which no sample could be taken */
+  public long getFailureCount() {
+    return failures.get();
+  }
+
+  /** @return true if the periodic synchronization is running, false otherwise */
+  public synchronized boolean isStarted() {
+    return task != null;
+  }
+
+  /**
+   * Start synchronizing the clock periodically. The first synchronization is made immediately.
+   * Calling this method on a started synchronizer has no effect.
+   *
+   * @throws java.util.concurrent.RejectedExecutionException if the runtime of the client is closed
+   */
+  public synchronized void start() {
+    if (task != null) {
+      return;
+    }
+    task =
+        client
+            .getRuntime()
+            .getScheduler()
+            .scheduleWithFixedDelay(
+                this::synchronizeQuietly, 0L, period.toNanos(), TimeUnit.NANOSECONDS);
+    log.info("Clock synchronization started with a period of {}", period);
+  }
+
+  /** Stop the periodic synchronization. The last estimated offset is kept. */
+  public synchronized void stop() {
+    if (task != null) {
+      task.cancel(true);
+      task = null;
+      log.info("Clock synchronization stopped");
+    }
+  }
+
+  /**
+   * Synchronize the clock now, in the calling thread
+   *
+   * @return true if the offset has been updated, false if no sample could be taken
+   */
+  public boolean synchronize() {
+    Sample best = null;
+    for (int i = 0; i < samples; i++) {
+      final Sample sample = sample();
+      if (sample != null
+          && (best == null || sample.getRoundTripMillis() < best.getRoundTripMillis())) {
+        best = sample;
+      }
+    }
+
+    if (best == null) {
+      failures.incrementAndGet();
+      log.warn("Unable to synchronize the clock with the coinbase api time");
+      return false;
+    }
+
+    synchronized (stateLock) {
+      if (synchronizations.getAndIncrement() > 0) {
+        final long variation = Math.abs(best.getOffsetMillis() - offsetMillis);
+        jitterMillis += (variation - jitterMillis) / 4;
+      }
+      offsetMillis = best.getOffsetMillis();
+      roundTripMillis = best.getRoundTripMillis();
+      lastSynchronization = localClock.instant();
+    }
+    log.debug(
+        "Clock synchronized with an offset of {} ms (round trip {} ms, jitter {} ms)",
+        offsetMillis,
+        roundTripMillis,
+        jitterMillis);
+    return true;
+  }
+
+  private void synchronizeQuietly() {
+    try {
+      synchronize();
+    } catch (RuntimeException e) {
+      failures.incrementAndGet();
+      log.warn("Unexpected error while synchronizing the clock", e);
+    }
+  }
+
+  /**
+   * @return a new sample or null if the coinbase api time could not be fetched or if its round trip
+   *     is too long to be reliable
+   */
+  private Sample sample() {
+    final long localMillis = localClock.millis();
+    final long start = System.nanoTime();
+    final Try<Time> time =
+        service.fetchTimeOnce(client).filter(CallResult::isSuccess).map(CallResult::get);
+    final long roundTrip = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+    if (time.isFailure()) {
+      log.debug("Unable to sample the coinbase api time", time.getCause());
+      return null;
+    }
+    if (roundTrip > MAX_ROUND_TRIP_MILLIS) {
+      log.debug("Skipping a coinbase api time sample with a round trip of {} ms", roundTrip);
+      return null;
+    }
+
+    final long serverMillis = time.get().getEpoch() * 1000L + 500L;
+    return new Sample(serverMillis - (localMillis + roundTrip / 2), roundTrip);
+  }
+
+  @Value
+  private static class Sample {
+    long offsetMillis;
+    long roundTripMillis;
+  }
+
+  /** The local clock corrected with the last estimated offset */
+  private final class OffsetClock extends Clock {
+
+    private final ZoneId zone;
+
+    private OffsetClock(final ZoneId zone) {
+      this.zone = zone;
+    }
+
+    @Override
+    public ZoneId getZone() {
+      return zone;
+    }
+
+    @Override
+    public Clock withZone(final ZoneId zone) {
+      return new OffsetClock(zone);
+    }
+
+    @Override
+    public long millis() {
+      return localClock.millis() + offsetMillis;
+    }
+
+    @Override
+    public Instant instant() {
+      return Instant.ofEpochMilli(millis());
+    }
+  }
+}
@@ -1,119 +1,293 @@
 package com.github.badpop.jcoinbase.service.data;
 
-import com.fasterxml.jackson.core.type.TypeReference;
 import com.github.badpop.jcoinbase.JCoinbaseClient;
 import com.github.badpop.jcoinbase.JCoinbaseProperties;
 import com.github.badpop.jcoinbase.control.CallResult;
+import com.github.badpop.jcoinbase.control.Deadline;
 import com.github.badpop.jcoinbase.model.CoinbaseError;
 import com.github.badpop.jcoinbase.model.data.Currency;
+import com.github.badpop.jcoinbase.model.data.CurrencyPair;
 import com.github.badpop.jcoinbase.model.data.ExchangeRates;
 import com.github.badpop.jcoinbase.model.data.Price;
 import com.github.badpop.jcoinbase.model.data.Price.PriceType;
+import com.github.badpop.jcoinbase.model.data.PricesBatch;
+import com.github.badpop.jcoinbase.model.data.Quote;
 import com.github.badpop.jcoinbase.model.data.Time;
+import com.github.badpop.jcoinbase.service.ErrorManagerService;
 import com.github.badpop.jcoinbase.service.data.dto.CurrencyDto;
 import com.github.badpop.jcoinbase.service.data.dto.ExchangeRatesDto;
-import com.github.badpop.jcoinbase.service.data.dto.PriceDto;
-import com.github.badpop.jcoinbase.service.data.dto.TimeDto;
 import com.github.badpop.jcoinbase.service.dto.DataDto;
 import com.github.badpop.jcoinbase.service.http.HttpRequestSender;
+import com.github.badpop.jcoinbase.service.utils.ConcurrencyUtils;
 import io.vavr.collection.List;
 import io.vavr.collection.Seq;
 import io.vavr.control.Try;
-import lombok.val;
 
 import java.net.URI;
 import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
 
+import static com.github.badpop.jcoinbase.service.http.EndpointFamily.DATA;
 import static com.github.badpop.jcoinbase.service.http.Headers.ACCEPT;
 import static com.github.badpop.jcoinbase.service.http.Headers.ACCEPT_VALUE;
 
 public class CoinbaseDataService {
 
   protected Try<CallResult<Seq<CoinbaseError>, Time>> fetchTime(final JCoinbaseClient client) {
-    val request =
-        HttpRequest.newBuilder()
-            .GET()
-            .uri(
-                URI.create(
-                    client.getProperties().getApiUrl() + client.getProperties().getTimePath()))
-            .header(ACCEPT.getValue(), ACCEPT_VALUE.getValue())
-            .build();
-
     return HttpRequestSender.singleFailureSend(
-            client.getHttpClient(),
-            request,
-            client.getJsonSerDes(),
-            new TypeReference<DataDto<TimeDto>>() {})
+            client,
+            DATA,
+            () -> buildTimeRequest(client, Deadline.none()),
+            client.getJsonReaders().getTime(),
+            client.getJsonReaders().getSingleError())
         .mapTry(callResult -> callResult.map(data -> data.getData().toTime()));
   }
 
-  protected Try<CallResult<Seq<CoinbaseError>, Seq<Currency>>> fetchCurrencies(
-      final JCoinbaseClient client) {
+  protected Try<CallResult<Seq<CoinbaseError>, Time>> fetchTimeOnce(final JCoinbaseClient client) {
+    return HttpRequestSender.singleFailureSendOnce(
+            client,
+            buildTimeRequest(client, Deadline.none()),
+            client.getJsonReaders().getTime(),
+            client.getJsonReaders().getSingleError())
+        .mapTry(callResult -> callResult.map(data -> data.getData().toTime()));
+  }
 
-    val request =
-        HttpRequest.newBuilder()
-            .GET()
-            .uri(
-                URI.create(
-                    client.getProperties().getApiUrl()
-                        + client.getProperties().getCurrenciesPath()))
-            .header(ACCEPT.getValue(), ACCEPT_VALUE.getValue())
-            .build();
+  protected CompletableFuture<CallResult<Seq<CoinbaseError>, Time>> fetchTimeAsync(
+      final JCoinbaseClient client) {
+    return HttpRequestSender.singleFailureSendAsync(
+            client,
+            DATA,
+            () -> buildTimeRequest(client, Deadline.none()),
+            client.getJsonReaders().getTime(),
+            client.getJsonReaders().getSingleError())
+        .thenApply(callResult -> callResult.map(data -> data.getData().toTime()));
+  }
 
+  protected Try<CallResult<Seq<CoinbaseError>, Seq<Currency>>> fetchCurrencies(
+      final JCoinbaseClient client) {
     return HttpRequestSender.singleFailureSend(
-            client.getHttpClient(),
-            request,
-            client.getJsonSerDes(),
-            new TypeReference<DataDto<List<CurrencyDto>>>() {})
-        .mapTry(
-            callResult ->
-                callResult
-                    .map(DataDto::getData)
-                    .map(currencies -> currencies.map(CurrencyDto::toCurrency)));
+            client,
+            DATA,
+            () -> buildCurrenciesRequest(client, Deadline.none()),
+            client.getJsonReaders().getCurrencies(),
+            client.getJsonReaders().getSingleError())
+        .mapTry(this::toCurrencies);
+  }
+
+  protected CompletableFuture<CallResult<Seq<CoinbaseError>, Seq<Currency>>> fetchCurrenciesAsync(
+      final JCoinbaseClient client) {
+    return HttpRequestSender.singleFailureSendAsync(
+            client,
+            DATA,
+            () -> buildCurrenciesRequest(client, Deadline.none()),
+            client.getJsonReaders().getCurrencies(),
+            client.getJsonReaders().getSingleError())
+        .thenApply(this::toCurrencies);
   }
 
   protected Try<CallResult<Seq<CoinbaseError>, ExchangeRates>> fetchExchangeRates(
       final JCoinbaseClient client, final String currency) {
-
-    val request =
-        HttpRequest.newBuilder()
-            .GET()
-            .uri(
-                URI.create(
-                    client.getProperties().getApiUrl()
-                        + client.getProperties().getExchangeRatesPath()
-                        + currency))
-            .header(ACCEPT.getValue(), ACCEPT_VALUE.getValue())
-            .build();
-
     return HttpRequestSender.singleFailureSend(
-            client.getHttpClient(),
-            request,
-            client.getJsonSerDes(),
-            new TypeReference<DataDto<ExchangeRatesDto>>() {})
+            client,
+            DATA,
+            () -> buildExchangeRatesRequest(client, currency, Deadline.none()),
+            client.getJsonReaders().getExchangeRates(),
+            client.getJsonReaders().getSingleError())
         .mapTry(
             callResult -> callResult.map(DataDto::getData).map(ExchangeRatesDto::toExchangeRates));
   }
 
+  protected CompletableFuture<CallResult<Seq<CoinbaseError>, ExchangeRates>>
+      fetchExchangeRatesAsync(final JCoinbaseClient client, final String currency) {
+    return HttpRequestSender.singleFailureSendAsync(
+            client,
+            DATA,
+            () -> buildExchangeRatesRequest(client, currency, Deadline.none()),
+            client.getJsonReaders().getExchangeRates(),
+            client.getJsonReaders().getSingleError())
+        .thenApply(
+            callResult -> callResult.map(DataDto::getData).map(ExchangeRatesDto::toExchangeRates));
+  }
+
   protected Try<CallResult<Seq<CoinbaseError>, Price>> fetchPriceByType(
       JCoinbaseClient client, PriceType priceType, String baseCurrency, String targetCurrency) {
-
-    val request =
-        HttpRequest.newBuilder()
-            .GET()
-            .uri(buildPriceURI(client.getProperties(), priceType, baseCurrency, targetCurrency))
-            .header(ACCEPT.getValue(), ACCEPT_VALUE.getValue())
-            .build();
-
     return HttpRequestSender.singleFailureSend(
-            client.getHttpClient(),
-            request,
-            client.getJsonSerDes(),
-            new TypeReference<DataDto<PriceDto>>() {})
+            client,
+            DATA,
+            () ->
+                buildPriceRequest(client, priceType, baseCurrency, targetCurrency, Deadline.none()),
+            client.getJsonReaders().getPrice(),
+            client.getJsonReaders().getSingleError())
         .mapTry(
             callResult -> callResult.map(DataDto::getData).map(price -> price.toPrice(priceType)));
   }
 
+  protected CompletableFuture<CallResult<Seq<CoinbaseError>, Price>> fetchPriceByTypeAsync(
+      final JCoinbaseClient client,
+      final PriceType priceType,
+      final String baseCurrency,
+      final String targetCurrency) {
+    return fetchPriceByTypeAsync(client, priceType, baseCurrency, targetCurrency, Deadline.none());
+  }
+
+  protected CompletableFuture<CallResult<Seq<CoinbaseError>, Price>> fetchPriceByTypeAsync(
+      final JCoinbaseClient client,
+      final PriceType priceType,
+      final String baseCurrency,
+      final String targetCurrency,
+      final Deadline deadline) {
+    return HttpRequestSender.singleFailureSendAsync(
+            client,
+            DATA,
+            () -> buildPriceRequest(client, priceType, baseCurrency, targetCurrency, deadline),
+            client.getJsonReaders().getPrice(),
+            client.getJsonReaders().getSingleError(),
+            deadline)
+        .thenApply(
+            callResult -> callResult.map(DataDto::getData).map(price -> price.toPrice(priceType)));
+  }
+
+  protected CompletableFuture<PricesBatch> fetchPricesByTypeAsync(
+      final JCoinbaseClient client,
+      final PriceType priceType,
+      final Iterable<CurrencyPair> pairs,
+      final int concurrency) {
+    final long start = System.nanoTime();
+    return ConcurrencyUtils.<CurrencyPair, CallResult<Seq<CoinbaseError>, Price>>traverse(
+            pairs,
+            concurrency,
+            pair ->
+                fetchPriceByTypeAsync(
+                        client, priceType, pair.getBaseCurrency(), pair.getTargetCurrency())
+                    .handle(
+                        (callResult, throwable) ->
+                            throwable == null ? callResult : requestFailed(throwable)))
+        .thenApply(
+            results ->
+                PricesBatch.builder()
+                    .priceType(priceType)
+                    .results(results)
+                    .duration(Duration.ofNanos(System.nanoTime() - start))
+                    .build());
+  }
+
+  /**
+   * Build the {@value PricesBatch#REQUEST_FAILED} failure of a pair whose request could not
+   * complete, so that it does not fail the whole batch
+   */
+  private static CallResult<Seq<CoinbaseError>, Price> requestFailed(final Throwable throwable) {
+    final Throwable cause = ErrorManagerService.unwrap(throwable);
+    return CallResult.failure(
+        List.of(
+            CoinbaseError.builder()
+                .code(PricesBatch.REQUEST_FAILED)
+                .message(cause.getClass().getSimpleName() + " : " + cause.getMessage())
+                .build()));
+  }
+
+  protected CompletableFuture<CallResult<Seq<CoinbaseError>, Quote>> fetchQuoteAsync(
+      final JCoinbaseClient client, final String baseCurrency, final String targetCurrency) {
+    return fetchQuoteAsync(client, baseCurrency, targetCurrency, Deadline.none());
+  }
+
+  protected CompletableFuture<CallResult<Seq<CoinbaseError>, Quote>> fetchQuoteAsync(
+      final JCoinbaseClient client,
+      final String baseCurrency,
+      final String targetCurrency,
+      final Deadline deadline) {
+    final CompletableFuture<CallResult<Seq<CoinbaseError>, Price>> buy =
+        fetchPriceByTypeAsync(client, PriceType.BUY, baseCurrency, targetCurrency, deadline);
+    final CompletableFuture<CallResult<Seq<CoinbaseError>, Price>> sell =
+        fetchPriceByTypeAsync(client, PriceType.SELL, baseCurrency, targetCurrency, deadline);
+    final CompletableFuture<CallResult<Seq<CoinbaseError>, Price>> spot =
+        fetchPriceByTypeAsync(client, PriceType.SPOT, baseCurrency, targetCurrency, deadline);
+
+    return CompletableFuture.allOf(buy, sell, spot)
+        .thenApply(
+            ignored -> toQuote(baseCurrency, targetCurrency, buy.join(), sell.join(), spot.join()));
+  }
+
+  private CallResult<Seq<CoinbaseError>, Seq<Currency>> toCurrencies(
+      final CallResult<Seq<CoinbaseError>, DataDto<List<CurrencyDto>>> callResult) {
+    return callResult
+        .map(DataDto::getData)
+        .map(currencies -> currencies.map(CurrencyDto::toCurrency));
+  }
+
+  private CallResult<Seq<CoinbaseError>, Quote> toQuote(
+      final String baseCurrency,
+      final String targetCurrency,
+      final CallResult<Seq<CoinbaseError>, Price> buy,
+      final CallResult<Seq<CoinbaseError>, Price> sell,
+      final CallResult<Seq<CoinbaseError>, Price> spot) {
+    return CallResult.sequence(List.of(buy, sell, spot))
+        .mapFailure(errors -> errors.flatMap(Function.identity()))
+        .map(
+            prices ->
+                Quote.builder()
+                    .baseCurrency(baseCurrency)
+                    .targetCurrency(targetCurrency)
+                    .buy(prices.get(0))
+                    .sell(prices.get(1))
+                    .spot(prices.get(2))
+                    .build());
+  }
+
+  private HttpRequest buildTimeRequest(final JCoinbaseClient client, final Deadline deadline) {
+    return HttpRequest.newBuilder()
+        .GET()
+        .timeout(timeout(client, deadline))
+        .uri(URI.create(client.getProperties().getApiUrl() + client.getProperties().getTimePath()))
+        .header(ACCEPT.getValue(), ACCEPT_VALUE.getValue())
+        .build();
+  }
+
+  private HttpRequest buildCurrenciesRequest(
+      final JCoinbaseClient client, final Deadline deadline) {
+    return HttpRequest.newBuilder()
+        .GET()
+        .timeout(timeout(client, deadline))
+        .uri(
+            URI.create(
+                client.getProperties().getApiUrl() + client.getProperties().getCurrenciesPath()))
+        .header(ACCEPT.getValue(), ACCEPT_VALUE.getValue())
+        .build();
+  }
+
+  private HttpRequest buildExchangeRatesRequest(
+      final JCoinbaseClient client, final String currency, final Deadline deadline) {
+    return HttpRequest.newBuilder()
+        .GET()
+        .timeout(timeout(client, deadline))
+        .uri(
+            URI.create(
+                client.getProperties().getApiUrl()
+                    + client.getProperties().getExchangeRatesPath()
+                    + currency))
+        .header(ACCEPT.getValue(), ACCEPT_VALUE.getValue())
+        .build();
+  }
+
+  private HttpRequest buildPriceRequest(
+      final JCoinbaseClient client,
+      final PriceType priceType,
+      final String baseCurrency,
+      final String targetCurrency,
+      final Deadline deadline) {
+    return HttpRequest.newBuilder()
+        .GET()
+        .timeout(timeout(client, deadline))
+        .uri(buildPriceURI(client.getProperties(), priceType, baseCurrency, targetCurrency))
+        .header(ACCEPT.getValue(), ACCEPT_VALUE.getValue())
+        .build();
+  }
+
+  private Duration timeout(final JCoinbaseClient client, final Deadline deadline) {
+    return deadline.cap(client.getOptions().getRequestTimeout(DATA));
+  }
+
   private URI buildPriceURI(
       final JCoinbaseProperties properties,
       final PriceType priceType,
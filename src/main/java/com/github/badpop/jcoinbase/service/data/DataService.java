@@ -2,18 +2,28 @@ package com.github.badpop.jcoinbase.service.data;
 
 import com.github.badpop.jcoinbase.JCoinbaseClient;
 import com.github.badpop.jcoinbase.control.CallResult;
+import com.github.badpop.jcoinbase.control.Deadline;
+import com.github.badpop.jcoinbase.exception.InvalidRequestException;
 import com.github.badpop.jcoinbase.exception.JCoinbaseException;
 import com.github.badpop.jcoinbase.model.CoinbaseError;
 import com.github.badpop.jcoinbase.model.data.Currency;
+import com.github.badpop.jcoinbase.model.data.CurrencyPair;
 import com.github.badpop.jcoinbase.model.data.ExchangeRates;
 import com.github.badpop.jcoinbase.model.data.Price;
 import com.github.badpop.jcoinbase.model.data.Price.PriceType;
+import com.github.badpop.jcoinbase.model.data.PricesBatch;
+import com.github.badpop.jcoinbase.model.data.Quote;
 import com.github.badpop.jcoinbase.model.data.Time;
 import com.github.badpop.jcoinbase.service.ErrorManagerService;
+import com.github.badpop.jcoinbase.service.utils.ConcurrencyUtils;
 import io.vavr.collection.Seq;
+import io.vavr.control.Try;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import java.time.Clock;
+import java.util.Objects;
+
 /** This service allows you to request coinbase public data. */
 @Slf4j
 @AllArgsConstructor
@@ -46,10 +56,8 @@ public class DataService {
         .onSuccess(time -> log.info("Successfully fetch Time resource : {}", time))
         .onFailure(
             throwable ->
-                ErrorManagerService.manageOnError(
-                    new JCoinbaseException(throwable),
-                    "An error occurred while fetching coinbase Time resource",
-                    throwable))
+                ErrorManagerService.manageOnFailure(
+                    throwable, "An error occurred while fetching coinbase Time resource"))
         .get();
   }
 
@@ -81,10 +89,8 @@ public class DataService {
         .onSuccess(currencies -> log.info("Successfully fetch Currencies resources"))
         .onFailure(
             throwable ->
-                ErrorManagerService.manageOnError(
-                    new JCoinbaseException(throwable),
-                    "An error occurred while fetching coinbase Currencies resources",
-                    throwable))
+                ErrorManagerService.manageOnFailure(
+                    throwable, "An error occurred while fetching coinbase Currencies resources"))
         .get();
   }
 
@@ -117,10 +123,9 @@ public class DataService {
                 log.info("Successfully fetch Exchange rates for currency {}", currency))
         .onFailure(
             throwable ->
-                ErrorManagerService.manageOnError(
-                    new JCoinbaseException(throwable),
-                    "An error occurred while fetching coinbase Exchange rates for currency : {}",
+                ErrorManagerService.manageOnFailure(
                     throwable,
+                    "An error occurred while fetching coinbase Exchange rates for currency : {}",
                     currency))
         .get();
   }
@@ -165,13 +170,169 @@ public class DataService {
                     priceType))
         .onFailure(
             throwable ->
-                ErrorManagerService.manageOnError(
-                    new JCoinbaseException(throwable),
-                    "An error occurred while fetching coinbase price for PriceType={}, currency{} and targetCurrency={}",
+                ErrorManagerService.manageOnFailure(
                     throwable,
+                    "An error occurred while fetching coinbase price for PriceType={}, currency{} and targetCurrency={}",
                     priceType.getType(),
                     baseCurrency,
                     targetCurrency))
         .get();
   }
+
+  /**
+   * Get the buy, sell and spot prices of a currency pair at once. The three prices are requested
+   * at the same time, so this call takes as long as the slowest of them.
+   *
+   * @param baseCurrency the base currency
+   * @param targetCurrency the currency to determine prices values
+   * @return a {@link CallResult} containing a {@link Quote} object if it's ok, a List of {@link
+   *     CoinbaseError} otherwise.
+   * @throws JCoinbaseException on unknown errors
+   */
+  public CallResult<java.util.List<CoinbaseError>, Quote> getQuoteAsJava(
+      final String baseCurrency, final String targetCurrency) {
+    return getQuote(baseCurrency, targetCurrency).mapFailure(Seq::asJava);
+  }
+
+  /**
+   * Get the buy, sell and spot prices of a currency pair at once. The three prices are requested
+   * at the same time, so this call takes as long as the slowest of them.
+   *
+   * @param baseCurrency the base currency
+   * @param targetCurrency the currency to determine prices values
+   * @return a {@link CallResult} containing a {@link Quote} object if it's ok, a Seq of the {@link
+   *     CoinbaseError} of all the failed prices otherwise.
+   * @throws JCoinbaseException on unknown errors
+   */
+  public CallResult<Seq<CoinbaseError>, Quote> getQuote(
+      final String baseCurrency, final String targetCurrency) {
+    return getQuote(baseCurrency, targetCurrency, Deadline.none());
+  }
+
+  /**
+   * Get the buy, sell and spot prices of a currency pair at once, within the given deadline. Each
+   * price request is given the smallest of its own timeout and the time left.
+   *
+   * @param baseCurrency the base currency
+   * @param targetCurrency the currency to determine prices values
+   * @param deadline the time budget of the whole quote
+   * @return a {@link CallResult} containing a {@link Quote} object if it's ok, a List of {@link
+   *     CoinbaseError} otherwise.
+   * @throws com.github.badpop.jcoinbase.exception.DeadlineExceededException if the deadline
+   *     expires before a request is sent, would expire during a wait between two attempts, or
+   *     expires while waiting for the same price requested by another call
+   * @throws JCoinbaseException on unknown errors, or if the deadline expires while a request is
+   *     sent. Its cause is then a {@link java.net.http.HttpTimeoutException}
+   */
+  public CallResult<java.util.List<CoinbaseError>, Quote> getQuoteAsJava(
+      final String baseCurrency, final String targetCurrency, final Deadline deadline) {
+    return getQuote(baseCurrency, targetCurrency, deadline).mapFailure(Seq::asJava);
+  }
+
+  /**
+   * Get the buy, sell and spot prices of a currency pair at once, within the given deadline. Each
+   * price request is given the smallest of its own timeout and the time left.
+   *
+   * @param baseCurrency the base currency
+   * @param targetCurrency the currency to determine prices values
+   * @param deadline the time budget of the whole quote
+   * @return a {@link CallResult} containing a {@link Quote} object if it's ok, a Seq of the {@link
+   *     CoinbaseError} of all the failed prices otherwise.
+   * @throws com.github.badpop.jcoinbase.exception.DeadlineExceededException if the deadline
+   *     expires before a request is sent, would expire during a wait between two attempts, or
+   *     expires while waiting for the same price requested by another call
+   * @throws JCoinbaseException on unknown errors, or if the deadline expires while a request is
+   *     sent. Its cause is then a {@link java.net.http.HttpTimeoutException}
+   */
+  public CallResult<Seq<CoinbaseError>, Quote> getQuote(
+      final String baseCurrency, final String targetCurrency, final Deadline deadline) {
+    return Try.of(
+            () -> service.fetchQuoteAsync(client, baseCurrency, targetCurrency, deadline).join())
+        .onSuccess(
+            res ->
+                log.info(
+                    "Successfully fetch quote for currency={} and targetCurrency={}",
+                    baseCurrency,
+                    targetCurrency))
+        .onFailure(
+            throwable ->
+                ErrorManagerService.manageOnFailure(
+                    throwable,
+                    "An error occurred while fetching coinbase quote for currency={} and targetCurrency={}",
+                    baseCurrency,
+                    targetCurrency))
+        .get();
+  }
+
+  /**
+   * Get the prices of the given currency pairs, sending at most {@link
+   * com.github.badpop.jcoinbase.JCoinbaseOptions#getBulkRequestsConcurrency()} requests at the same
+   * time.
+   *
+   * @param priceType the price type to get (BUY, SELL or SPOT)
+   * @param pairs the currency pairs to price. Duplicated pairs are requested once.
+   * @return a {@link PricesBatch} containing a {@link CallResult} per pair and the batch duration
+   * @throws NullPointerException if the pairs are null
+   * @throws JCoinbaseException on unknown errors
+   * @see #getPrices(PriceType, Iterable, int)
+   */
+  public PricesBatch getPrices(final PriceType priceType, final Iterable<CurrencyPair> pairs) {
+    return getPrices(priceType, pairs, client.getOptions().getBulkRequestsConcurrency());
+  }
+
+  /**
+   * Get the prices of the given currency pairs, sending at most {@code concurrency} requests at the
+   * same time. A new request is sent as soon as a running one completes.
+   *
+   * <p>The Coinbase errors of a pair are returned in its {@link CallResult} and do not stop the
+   * other requests. Use {@link PricesBatch#sequence()} to aggregate all the results.
+   *
+   * @param priceType the price type to get (BUY, SELL or SPOT)
+   * @param pairs the currency pairs to price. Duplicated pairs are requested once.
+   * @param concurrency the maximum number of requests sent at the same time
+   * @return a {@link PricesBatch} containing a {@link CallResult} per pair and the batch duration
+   * @throws NullPointerException if the pairs are null
+   * @throws InvalidRequestException if the concurrency is lower than 1
+   * @throws JCoinbaseException on unknown errors
+   */
+  public PricesBatch getPrices(
+      final PriceType priceType, final Iterable<CurrencyPair> pairs, final int concurrency) {
+    Objects.requireNonNull(pairs, "pairs is null");
+    ConcurrencyUtils.checkConcurrency(concurrency);
+
+    return Try.of(
+            () -> service.fetchPricesByTypeAsync(client, priceType, pairs, concurrency).join())
+        .onSuccess(
+            batch ->
+                log.info(
+                    "Successfully fetch {} prices for priceType={} in {}",
+                    batch.getResults().size(),
+                    priceType,
+                    batch.getDuration()))
+        .onFailure(
+            throwable ->
+                ErrorManagerService.manageOnFailure(
+                    throwable,
+                    "An error occurred while fetching coinbase prices for PriceType={}",
+                    priceType.getType()))
+        .get();
+  }
+
+  /**
+   * Create a new {@link RateMatrixBuilder} requesting the exchange rates of all the currencies
+   * concurrently, with at most {@link
+   * com.github.badpop.jcoinbase.JCoinbaseOptions#getBulkRequestsConcurrency()} requests at the same
+   * time. Its requests bypass the data cache, so each build gets the current exchange rates. Its
+   * periodic rebuild is stopped when the client is closed.
+   *
+   * @return a new {@link RateMatrixBuilder}
+   */
+  public RateMatrixBuilder rateMatrixBuilder() {
+    return client.register(
+        new RateMatrixBuilder(
+            client,
+            new CoinbaseDataService(),
+            Clock.systemUTC(),
+            client.getOptions().getBulkRequestsConcurrency()));
+  }
 }
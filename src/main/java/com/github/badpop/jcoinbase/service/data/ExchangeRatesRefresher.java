@@ -0,0 +1,211 @@
+package com.github.badpop.jcoinbase.service.data;
+
+import com.github.badpop.jcoinbase.JCoinbaseClient;
+import com.github.badpop.jcoinbase.control.CallResult;
+import com.github.badpop.jcoinbase.model.CoinbaseError;
+import com.github.badpop.jcoinbase.model.data.ExchangeRates;
+import io.vavr.collection.HashSet;
+import io.vavr.collection.Seq;
+import io.vavr.collection.Set;
+import io.vavr.control.Option;
+import io.vavr.control.Try;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keep the exchange rates of the watched currencies in memory, and refresh them periodically in the
+ * background so that reading them never waits for the Coinbase api.
+ *
+ * <p>Each refresh replaces the exchange rates of a currency at once, so {@link #get(String)} always
+ * returns a consistent value without locking. When a refresh fails, the previous exchange rates are
+ * kept and marked as stale until a refresh succeeds.
+ *
+ * <p>A watched currency is only available once its first refresh succeeded. Once {@link #start()}
+ * has been called, the refreshes are repeated periodically on the scheduler of the client runtime
+ * until {@link #stop()} is called. The period should be shorter than the time the exchange rates are considered
+ * fresh.
+ */
+@Slf4j
+public class ExchangeRatesRefresher {
+
+  private final JCoinbaseClient client;
+  private final CoinbaseDataService service;
+  private final Clock clock;
+  private final Duration period;
+
+  private final java.util.Set<String> watched = ConcurrentHashMap.newKeySet();
+  private final Map<String, RefreshedExchangeRates> exchangeRates = new ConcurrentHashMap<>();
+  private final AtomicLong refreshes = new AtomicLong();
+  private final AtomicLong failures = new AtomicLong();
+
+  private ScheduledFuture<?> task;
+
+  /**
+   * @param client the client used to request the exchange rates
+   * @param service the service used to request the exchange rates
+   * @param clock the clock used to date the refreshes
+   * @param period the delay between two refreshes
+   * @param currencies the currencies to watch
+   * @throws IllegalArgumentException if the period is not positive
+   */
+  public ExchangeRatesRefresher(
+      final JCoinbaseClient client,
+      final CoinbaseDataService service,
+      final Clock clock,
+      final Duration period,
+      final Iterable<String> currencies) {
+    Objects.requireNonNull(period, "period is null");
+    Objects.requireNonNull(currencies, "currencies is null");
+    if (period.isZero() || period.isNegative()) {
+      throw new IllegalArgumentException("The exchange rates refresh period must be positive");
+    }
+    this.client = client;
+    this.service = service;
+    this.clock = clock;
+    this.period = period;
+    currencies.forEach(this::watch);
+  }
+
+  /**
+   * Start refreshing the exchange rates of the given currency. They will be available after the
+   * next successful refresh.
+   *
+   * @param currency the currency code. For example : BTC, USD, EUR, ETH, ...
+   */
+  public void watch(final String currency) {
+    watched.add(Objects.requireNonNull(currency, "currency is null"));
+  }
+
+  /**
+   * Stop refreshing the exchange rates of the given currency and forget them
+   *
+   * @param currency the currency code
+   */
+  public void unwatch(final String currency) {
+    watched.remove(currency);
+    exchangeRates.remove(currency);
+  }
+
+  /** @return the watched currencies */
+  public Set<String> getWatchedCurrencies() {
+    return HashSet.ofAll(watched);
+  }
+
+  /**
+   * Get the in-memory exchange rates of the given currency, without any request
+   *
+   * @param currency the currency code
+   * @return the last refreshed exchange rates if the currency is watched and was refreshed at least
+   *     once, none otherwise
+   */
+  public Option<RefreshedExchangeRates> get(final String currency) {
+    return Option.of(exchangeRates.get(currency));
+  }
+
+  /** @return the number of successful refreshes of a currency */
+  public long getRefreshCount() {
+    return refreshes.get();
+  }
+
+  /** @return the number of failed refreshes of a currency */
+  public long getFailureCount() {
+    return failures.get();
+  }
+
+  /** @return true if the periodic refresh is running, false otherwise */
+  public synchronized boolean isStarted() {
+    return task != null;
+  }
+
+  /**
+   * Start refreshing the watched currencies periodically. The first refresh is made immediately.
+   * Calling this method on a started refresher has no effect.
+   *
+   * @throws java.util.concurrent.RejectedExecutionException if the runtime of the client is closed
+   */
+  public synchronized void start() {
+    if (task != null) {
+      return;
+    }
+    task =
+        client
+            .getRuntime()
+            .getScheduler()
+            .scheduleWithFixedDelay(
+                this::refreshQuietly, 0L, period.toNanos(), TimeUnit.NANOSECONDS);
+    log.info("Exchange rates refresh started with a period of {}", period);
+  }
+
+  /** Stop the periodic refresh. The last exchange rates are kept. */
+  public synchronized void stop() {
+    if (task != null) {
+      task.cancel(true);
+      task = null;
+      log.info("Exchange rates refresh stopped");
+    }
+  }
+
+  /**
+   * Refresh the exchange rates of all the watched currencies now, in the calling thread
+   *
+   * @return the number of currencies that could not be refreshed
+   */
+  public int refresh() {
+    int failed = 0;
+    for (final String currency : watched) {
+      if (!refresh(currency)) {
+        failed++;
+      }
+    }
+    return failed;
+  }
+
+  private boolean refresh(final String currency) {
+    final Try<CallResult<Seq<CoinbaseError>, ExchangeRates>> fetched =
+        service.fetchExchangeRates(client, currency);
+
+    if (fetched.isSuccess() && fetched.get().isSuccess()) {
+      refreshes.incrementAndGet();
+      final RefreshedExchangeRates refreshed =
+          new RefreshedExchangeRates(fetched.get().get(), clock.instant(), 0, null);
+      exchangeRates.put(currency, refreshed);
+      // the currency may have been unwatched while it was refreshed
+      if (!watched.contains(currency)) {
+        exchangeRates.remove(currency, refreshed);
+      }
+      return true;
+    }
+
+    failures.incrementAndGet();
+    exchangeRates.computeIfPresent(
+        currency, (key, previous) -> previous.withFailure(clock.instant()));
+    if (fetched.isFailure()) {
+      log.warn(
+          "Unable to refresh the exchange rates of {}, the previous ones are kept",
+          currency,
+          fetched.getCause());
+    } else {
+      log.warn(
+          "Unable to refresh the exchange rates of {}, the previous ones are kept : {}",
+          currency,
+          fetched.get().getFailure());
+    }
+    return false;
+  }
+
+  private void refreshQuietly() {
+    try {
+      refresh();
+    } catch (RuntimeException e) {
+      log.warn("Unexpected error while refreshing the exchange rates", e);
+    }
+  }
+}
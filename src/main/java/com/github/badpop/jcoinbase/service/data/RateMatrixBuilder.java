@@ -0,0 +1,234 @@
+package com.github.badpop.jcoinbase.service.data;
+
+import com.github.badpop.jcoinbase.JCoinbaseClient;
+import com.github.badpop.jcoinbase.control.CallResult;
+import com.github.badpop.jcoinbase.exception.CoinbaseApiException;
+import com.github.badpop.jcoinbase.exception.JCoinbaseException;
+import com.github.badpop.jcoinbase.model.CoinbaseError;
+import com.github.badpop.jcoinbase.model.data.Currency;
+import com.github.badpop.jcoinbase.model.data.RateMatrix;
+import com.github.badpop.jcoinbase.model.data.RateTable;
+import com.github.badpop.jcoinbase.service.ErrorManagerService;
+import com.github.badpop.jcoinbase.service.utils.ConcurrencyUtils;
+import io.vavr.collection.IndexedSeq;
+import io.vavr.collection.Seq;
+import io.vavr.collection.Vector;
+import io.vavr.control.Option;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Build the {@link RateMatrix} of the rates of every currency against every other one, requesting
+ * the exchange rates of all the currencies concurrently, with at most {@code concurrency} requests
+ * at the same time.
+ *
+ * <p>The currencies are the ones returned by the Coinbase currencies endpoint, unless given
+ * explicitly. Once a matrix is built, {@link #rebuild()} reuses its currencies so that only the
+ * exchange rates are requested again. The rebuild can be repeated periodically on the scheduler of
+ * the client runtime with {@link #start(Duration)}, the last matrix being available with {@link
+ * #getLatest()}.
+ */
+@Slf4j
+public class RateMatrixBuilder {
+
+  private final JCoinbaseClient client;
+  private final CoinbaseDataService service;
+  private final Clock clock;
+  private final int concurrency;
+
+  private volatile RateMatrix latest;
+  private ScheduledFuture<?> task;
+
+  /**
+   * @param client the client used to request the currencies and the exchange rates
+   * @param service the service used to request the currencies and the exchange rates
+   * @param clock the clock used to date the matrices
+   * @param concurrency the maximum number of exchange rates requests sent at the same time
+   * @throws com.github.badpop.jcoinbase.exception.InvalidRequestException if the concurrency is
+   *     lower than 1
+   */
+  public RateMatrixBuilder(
+      final JCoinbaseClient client,
+      final CoinbaseDataService service,
+      final Clock clock,
+      final int concurrency) {
+    ConcurrencyUtils.checkConcurrency(concurrency);
+    this.client = client;
+    this.service = service;
+    this.clock = clock;
+    this.concurrency = concurrency;
+  }
+
+  /** @return the last built matrix, if any */
+  public Option<RateMatrix> getLatest() {
+    return Option.of(latest);
+  }
+
+  /**
+   * Build a matrix of all the currencies returned by Coinbase, blocking until it is built
+   *
+   * @return the new {@link RateMatrix}
+   * @throws JCoinbaseException if the currencies can not be listed, with a {@link
+   *     CoinbaseApiException} cause if Coinbase returned errors
+   */
+  public RateMatrix build() {
+    return await(buildAsync());
+  }
+
+  /**
+   * Build a matrix of all the currencies returned by Coinbase
+   *
+   * @return a {@link CompletableFuture} of the new {@link RateMatrix}, completing exceptionally
+   *     with a {@link JCoinbaseException} if the currencies can not be listed
+   */
+  public CompletableFuture<RateMatrix> buildAsync() {
+    final long start = System.nanoTime();
+    return ErrorManagerService.manageOnAsyncError(
+        service
+            .fetchCurrenciesAsync(client)
+            .thenApply(RateMatrixBuilder::toCurrencyCodes)
+            .thenCompose(currencies -> buildAsync(currencies, start)),
+        "An error occurred while building the rate matrix");
+  }
+
+  /**
+   * Build a matrix of the given currencies
+   *
+   * @param currencies the currency codes. Duplicated codes are kept once.
+   * @return a {@link CompletableFuture} of the new {@link RateMatrix}
+   */
+  public CompletableFuture<RateMatrix> buildAsync(final Iterable<String> currencies) {
+    Objects.requireNonNull(currencies, "currencies is null");
+    return ErrorManagerService.manageOnAsyncError(
+        buildAsync(Vector.ofAll(currencies).distinct(), System.nanoTime()),
+        "An error occurred while building the rate matrix");
+  }
+
+  /**
+   * Build a new matrix of the currencies of the last one, or of all the currencies returned by
+   * Coinbase if none was built yet, blocking until it is built
+   *
+   * @return the new {@link RateMatrix}
+   * @throws JCoinbaseException if the currencies can not be listed
+   */
+  public RateMatrix rebuild() {
+    final RateMatrix previous = latest;
+    return await(previous == null ? buildAsync() : buildAsync(previous.getCurrencies()));
+  }
+
+  /** @return true if the periodic rebuild is running, false otherwise */
+  public synchronized boolean isStarted() {
+    return task != null;
+  }
+
+  /**
+   * Rebuild the matrix periodically, the first build being made immediately. Calling this method on
+   * a started builder has no effect.
+   *
+   * @param period the delay between the end of a build and the start of the next one
+   * @throws IllegalArgumentException if the period is not positive
+   * @throws IllegalStateException if the client is closed
+   * @throws java.util.concurrent.RejectedExecutionException if the runtime of the client is closed
+   */
+  public synchronized void start(final Duration period) {
+    Objects.requireNonNull(period, "period is null");
+    if (period.isZero() || period.isNegative()) {
+      throw new IllegalArgumentException("The rate matrix rebuild period must be positive");
+    }
+    if (client.isClosed()) {
+      throw new IllegalStateException("The client is closed");
+    }
+    if (task != null) {
+      return;
+    }
+    task =
+        client
+            .getRuntime()
+            .getScheduler()
+            .scheduleWithFixedDelay(
+                this::rebuildQuietly, 0L, period.toNanos(), TimeUnit.NANOSECONDS);
+    log.info("Rate matrix rebuild started with a period of {}", period);
+  }
+
+  /** Stop the periodic rebuild. The last matrix is kept. */
+  public synchronized void stop() {
+    if (task != null) {
+      task.cancel(true);
+      task = null;
+      log.info("Rate matrix rebuild stopped");
+    }
+  }
+
+  private CompletableFuture<RateMatrix> buildAsync(
+      final IndexedSeq<String> currencies, final long start) {
+    return ConcurrencyUtils.<String, Option<RateTable>>traverse(
+            currencies, concurrency, this::fetchRateTable)
+        .thenApply(
+            rows -> {
+              final RateMatrix matrix =
+                  new RateMatrix(
+                      currencies,
+                      rows.filterValues(Option::isDefined).mapValues(Option::get),
+                      clock.instant(),
+                      Duration.ofNanos(System.nanoTime() - start));
+              latest = matrix;
+              log.info(
+                  "Successfully built a {}×{} rate matrix in {}, {} currencies are missing",
+                  matrix.size(),
+                  matrix.size(),
+                  matrix.getBuildDuration(),
+                  matrix.getMissingCurrencies().size());
+              return matrix;
+            });
+  }
+
+  /** Fetch the rates of a currency, a failure only leaves its row empty */
+  private CompletableFuture<Option<RateTable>> fetchRateTable(final String currency) {
+    return service
+        .fetchExchangeRatesAsync(client, currency)
+        .handle(
+            (callResult, throwable) -> {
+              if (throwable == null && callResult.isSuccess()) {
+                return Option.some(callResult.get().getRateTable());
+              }
+              log.warn(
+                  "Unable to fetch the exchange rates of {} for the rate matrix : {}",
+                  currency,
+                  throwable != null ? throwable : callResult.getFailure());
+              return Option.none();
+            });
+  }
+
+  private static IndexedSeq<String> toCurrencyCodes(
+      final CallResult<Seq<CoinbaseError>, Seq<Currency>> callResult) {
+    if (callResult.isFailure()) {
+      throw new CoinbaseApiException("Unable to list the currencies", callResult.getFailure());
+    }
+    return callResult.get().map(Currency::getId).toVector().distinct();
+  }
+
+  private static RateMatrix await(final CompletableFuture<RateMatrix> future) {
+    try {
+      return future.join();
+    } catch (RuntimeException e) {
+      final Throwable cause = ErrorManagerService.unwrap(e);
+      throw cause instanceof JCoinbaseException
+          ? (JCoinbaseException) cause
+          : new JCoinbaseException(cause);
+    }
+  }
+
+  private void rebuildQuietly() {
+    try {
+      rebuild();
+    } catch (RuntimeException e) {
+      log.warn("Unexpected error while rebuilding the rate matrix", e);
+    }
+  }
+}
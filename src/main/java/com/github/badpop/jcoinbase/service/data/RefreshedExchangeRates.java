@@ -0,0 +1,54 @@
+package com.github.badpop.jcoinbase.service.data;
+
+import com.github.badpop.jcoinbase.model.data.ExchangeRates;
+import io.vavr.control.Option;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * The last exchange rates fetched by an {@link ExchangeRatesRefresher} for a currency, with the
+ * state of the refreshes made since.
+ */
+@Value
+@AllArgsConstructor(access = AccessLevel.PACKAGE)
+public class RefreshedExchangeRates {
+
+  /** The last successfully fetched exchange rates */
+  ExchangeRates exchangeRates;
+
+  /** When the exchange rates were fetched */
+  Instant refreshedAt;
+
+  /** The number of refreshes that failed since the exchange rates were fetched */
+  int failedRefreshes;
+
+  /** When the last refresh failed, null if none failed since the exchange rates were fetched */
+  Instant lastFailureAt;
+
+  /** @return true if the last refresh failed, meaning that the exchange rates may be outdated */
+  public boolean isStale() {
+    return failedRefreshes > 0;
+  }
+
+  /** @return when the last refresh failed, if it did */
+  public Option<Instant> getLastFailure() {
+    return Option.of(lastFailureAt);
+  }
+
+  /**
+   * @param clock the clock to use
+   * @return the time elapsed since the exchange rates were fetched
+   */
+  public Duration getAge(final Clock clock) {
+    return Duration.between(refreshedAt, clock.instant());
+  }
+
+  RefreshedExchangeRates withFailure(final Instant failedAt) {
+    return new RefreshedExchangeRates(exchangeRates, refreshedAt, failedRefreshes + 1, failedAt);
+  }
+}
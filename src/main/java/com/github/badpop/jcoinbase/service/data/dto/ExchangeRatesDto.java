@@ -1,6 +1,8 @@
 package com.github.badpop.jcoinbase.service.data.dto;
 
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.github.badpop.jcoinbase.model.data.ExchangeRates;
+import com.github.badpop.jcoinbase.model.data.RateTable;
 import io.vavr.collection.Map;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -12,9 +14,26 @@ import java.math.BigDecimal;
 public class ExchangeRatesDto {
 
   private final String currency;
-  private final Map<String, BigDecimal> rates;
+
+  @JsonDeserialize(using = RateTableDeserializer.class)
+  private final RateTable rates;
 
   public ExchangeRates toExchangeRates() {
-    return ExchangeRates.builder().currency(currency).rates(rates).build();
+    return ExchangeRates.builder()
+        .currency(currency)
+        .rateTable(rates == null ? RateTable.empty() : rates)
+        .build();
+  }
+
+  public static class ExchangeRatesDtoBuilder {
+
+    public ExchangeRatesDtoBuilder rates(final Map<String, BigDecimal> rates) {
+      return rates(RateTable.of(rates));
+    }
+
+    public ExchangeRatesDtoBuilder rates(final RateTable rates) {
+      this.rates = rates;
+      return this;
+    }
   }
 }
@@ -0,0 +1,63 @@
+package com.github.badpop.jcoinbase.service.data.dto;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.github.badpop.jcoinbase.model.data.RateTable;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+
+/**
+ * Read the Coinbase exchange rates object directly into a {@link RateTable}, without building an
+ * intermediate Map. Coinbase returns the rates as strings, but numbers are also accepted. Both are
+ * read as exact {@link BigDecimal}.
+ */
+public class RateTableDeserializer extends StdDeserializer<RateTable> {
+
+  public RateTableDeserializer() {
+    super(RateTable.class);
+  }
+
+  @Override
+  public RateTable deserialize(final JsonParser parser, final DeserializationContext context)
+      throws IOException {
+    JsonToken token = parser.currentToken();
+    if (token == JsonToken.START_OBJECT) {
+      token = parser.nextToken();
+    } else if (token != JsonToken.FIELD_NAME && token != JsonToken.END_OBJECT) {
+      return (RateTable) context.handleUnexpectedToken(RateTable.class, parser);
+    }
+
+    final RateTable.Builder builder = RateTable.builder();
+    for (; token == JsonToken.FIELD_NAME; token = parser.nextToken()) {
+      final String code = parser.getCurrentName();
+      final JsonToken value = parser.nextToken();
+      if (value == JsonToken.VALUE_STRING) {
+        builder.put(code, parseRate(parser, context, code));
+      } else if (value.isNumeric()) {
+        builder.put(code, parser.getDecimalValue());
+      } else if (value != JsonToken.VALUE_NULL) {
+        return (RateTable) context.handleUnexpectedToken(RateTable.class, parser);
+      }
+    }
+    return builder.build();
+  }
+
+  @Override
+  public RateTable getNullValue(final DeserializationContext context) {
+    return RateTable.empty();
+  }
+
+  private BigDecimal parseRate(
+      final JsonParser parser, final DeserializationContext context, final String code)
+      throws IOException {
+    try {
+      return new BigDecimal(parser.getText());
+    } catch (NumberFormatException e) {
+      throw context.weirdStringException(
+          parser.getText(), RateTable.class, "Invalid rate for currency " + code);
+    }
+  }
+}
@@ -0,0 +1,243 @@
+package com.github.badpop.jcoinbase.service.http;
+
+import com.github.badpop.jcoinbase.exception.CircuitBreakerOpenException;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * A circuit breaker failing the requests of an endpoint family immediately while the Coinbase api
+ * fails or answers too slowly, instead of letting each of them wait for its timeout. It follows a
+ * {@link CircuitBreakerPolicy} :
+ *
+ * <ul>
+ *   <li>{@link State#CLOSED} : the requests are sent and their outcome recorded
+ *   <li>{@link State#OPEN} : the requests fail with a {@link CircuitBreakerOpenException}
+ *   <li>{@link State#HALF_OPEN} : a few trial requests are sent, the others fail
+ * </ul>
+ *
+ * <p>Each transition is logged and given to the listeners registered with {@link
+ * #addListener(Consumer)}.
+ */
+@Slf4j
+public class CircuitBreaker {
+
+  /** The states of a circuit breaker */
+  public enum State {
+    CLOSED,
+    OPEN,
+    HALF_OPEN
+  }
+
+  /** A change of state of a circuit breaker */
+  @Value
+  public static class Transition {
+    /** The endpoint family of the breaker */
+    EndpointFamily family;
+    /** The state left */
+    State from;
+    /** The state entered */
+    State to;
+    /** The time of the change */
+    Instant at;
+  }
+
+  private final EndpointFamily family;
+  private final CircuitBreakerPolicy policy;
+  private final boolean enabled;
+  private final Clock clock;
+  private final List<Consumer<Transition>> listeners = new CopyOnWriteArrayList<>();
+
+  /** The outcomes of the recorded requests, as a ring. Guarded by this. */
+  private final boolean[] failures;
+
+  private final boolean[] slows;
+  private int buffered = 0;
+  private int next = 0;
+  private int failureCount = 0;
+  private int slowCount = 0;
+
+  private State state = State.CLOSED;
+  private Instant stateSince;
+  private int halfOpenPermits = 0;
+  private long opened = 0;
+  private long rejected = 0;
+
+  /**
+   * @param family the endpoint family of the requests going through this breaker
+   * @param policy the policy to follow
+   */
+  public CircuitBreaker(final EndpointFamily family, final CircuitBreakerPolicy policy) {
+    this(family, policy, true, Clock.systemUTC());
+  }
+
+  CircuitBreaker(
+      final EndpointFamily family,
+      final CircuitBreakerPolicy policy,
+      final boolean enabled,
+      final Clock clock) {
+    this.family = family;
+    this.policy = policy;
+    this.enabled = enabled;
+    this.clock = clock;
+    this.failures = new boolean[Math.max(policy.getSlidingWindowSize(), policy.getHalfOpenCalls())];
+    this.slows = new boolean[failures.length];
+    this.stateSince = clock.instant();
+  }
+
+  /**
+   * @param family the endpoint family of the requests going through this breaker
+   * @return a breaker always letting the requests through
+   */
+  public static CircuitBreaker disabled(final EndpointFamily family) {
+    return new CircuitBreaker(
+        family, CircuitBreakerPolicy.builder().build(), false, Clock.systemUTC());
+  }
+
+  /**
+   * Check that a request can be sent. Each allowed request must then be recorded with {@link
+   * #onResult(boolean, Duration)}.
+   *
+   * @throws CircuitBreakerOpenException if the breaker is open, or if it is half-open and all the
+   *     trial requests are already sent
+   */
+  public void acquirePermission() {
+    if (!enabled) {
+      return;
+    }
+    final Transition transition;
+    synchronized (this) {
+      transition = state == State.OPEN && !isWaiting() ? transitionTo(State.HALF_OPEN) : null;
+      if (state == State.OPEN || (state == State.HALF_OPEN && halfOpenPermits == 0)) {
+        rejected++;
+        final Duration retryAfter =
+            state == State.OPEN
+                ? Duration.between(clock.instant(), stateSince.plus(policy.getOpenDuration()))
+                : Duration.ZERO;
+        throw new CircuitBreakerOpenException(
+            "The circuit breaker of the " + family + " endpoints is " + state, retryAfter);
+      }
+      if (state == State.HALF_OPEN) {
+        halfOpenPermits--;
+      }
+    }
+    notify(transition);
+  }
+
+  /**
+   * Record the outcome of a request
+   *
+   * @param failed true if the request failed
+   * @param elapsed the time the request lasted
+   */
+  public void onResult(final boolean failed, final Duration elapsed) {
+    if (!enabled) {
+      return;
+    }
+    final Transition transition;
+    synchronized (this) {
+      if (state == State.OPEN) {
+        return;
+      }
+      record(failed, elapsed.compareTo(policy.getSlowCallDuration()) > 0);
+      transition = evaluate();
+    }
+    notify(transition);
+  }
+
+  /** @param listener a function called after each transition, on the thread causing it */
+  public void addListener(final Consumer<Transition> listener) {
+    listeners.add(listener);
+  }
+
+  /** Give back the permission of a request finally not sent */
+  public synchronized void releasePermission() {
+    if (state == State.HALF_OPEN && buffered + halfOpenPermits < policy.getHalfOpenCalls()) {
+      halfOpenPermits++;
+    }
+  }
+
+  /** @return the current state */
+  public synchronized State getState() {
+    return state;
+  }
+
+  /** @return a snapshot of the state and the counters */
+  public synchronized CircuitBreakerStats getStats() {
+    return new CircuitBreakerStats(
+        state, stateSince, buffered, failureRate(), slowCallRate(), opened, rejected);
+  }
+
+  private boolean isWaiting() {
+    return clock.instant().isBefore(stateSince.plus(policy.getOpenDuration()));
+  }
+
+  private void record(final boolean failed, final boolean slow) {
+    final int capacity =
+        state == State.HALF_OPEN ? policy.getHalfOpenCalls() : policy.getSlidingWindowSize();
+    if (buffered == capacity) {
+      failureCount -= failures[next] ? 1 : 0;
+      slowCount -= slows[next] ? 1 : 0;
+    } else {
+      buffered++;
+    }
+    failures[next] = failed;
+    slows[next] = slow;
+    failureCount += failed ? 1 : 0;
+    slowCount += slow ? 1 : 0;
+    next = (next + 1) % capacity;
+  }
+
+  private Transition evaluate() {
+    final boolean tripped =
+        failureRate() >= policy.getFailureRateThreshold()
+            || slowCallRate() >= policy.getSlowCallRateThreshold();
+    if (state == State.HALF_OPEN) {
+      return buffered < policy.getHalfOpenCalls()
+          ? null
+          : transitionTo(tripped ? State.OPEN : State.CLOSED);
+    }
+    return buffered >= policy.getMinimumCalls() && tripped ? transitionTo(State.OPEN) : null;
+  }
+
+  private Transition transitionTo(final State newState) {
+    final Transition transition = new Transition(family, state, newState, clock.instant());
+    state = newState;
+    stateSince = transition.getAt();
+    buffered = 0;
+    next = 0;
+    failureCount = 0;
+    slowCount = 0;
+    halfOpenPermits = newState == State.HALF_OPEN ? policy.getHalfOpenCalls() : 0;
+    if (newState == State.OPEN) {
+      opened++;
+    }
+    return transition;
+  }
+
+  private void notify(final Transition transition) {
+    if (transition == null) {
+      return;
+    }
+    log.warn(
+        "The circuit breaker of the {} endpoints went from {} to {}",
+        family,
+        transition.getFrom(),
+        transition.getTo());
+    listeners.forEach(listener -> listener.accept(transition));
+  }
+
+  private double failureRate() {
+    return buffered == 0 ? 0 : (double) failureCount / buffered;
+  }
+
+  private double slowCallRate() {
+    return buffered == 0 ? 0 : (double) slowCount / buffered;
+  }
+}
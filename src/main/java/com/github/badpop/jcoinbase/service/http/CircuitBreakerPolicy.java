@@ -0,0 +1,43 @@
+package com.github.badpop.jcoinbase.service.http;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Duration;
+
+/**
+ * When the {@link CircuitBreaker} of an endpoint family opens and closes again.
+ *
+ * <p>The breaker records the outcome of the last {@code slidingWindowSize} requests. A request
+ * fails on a connect error, a timeout or a 5xx response, and is slow if it lasts longer than
+ * {@code slowCallDuration}. Once at least {@code minimumCalls} requests are recorded, the breaker
+ * opens if the failure rate or the slow call rate reaches its threshold.
+ *
+ * <p>After {@code openDuration}, the breaker lets {@code halfOpenCalls} trial requests through. It
+ * closes if their rates are under the thresholds, and opens again otherwise.
+ */
+@Value
+@Builder(toBuilder = true)
+public class CircuitBreakerPolicy {
+
+  /** The failure rate opening the breaker, between 0 and 1. 0.5 by default. */
+  @Builder.Default double failureRateThreshold = 0.5;
+
+  /** The slow call rate opening the breaker, between 0 and 1. 0.8 by default. */
+  @Builder.Default double slowCallRateThreshold = 0.8;
+
+  /** The duration above which a request is slow. 5 seconds by default. */
+  @Builder.Default Duration slowCallDuration = Duration.ofSeconds(5);
+
+  /** The number of last requests the rates are computed on. 20 by default. */
+  @Builder.Default int slidingWindowSize = 20;
+
+  /** The number of recorded requests needed before the breaker can open. 10 by default. */
+  @Builder.Default int minimumCalls = 10;
+
+  /** The time the breaker stays open before letting trial requests through. 30 seconds by default. */
+  @Builder.Default Duration openDuration = Duration.ofSeconds(30);
+
+  /** The number of trial requests deciding whether the breaker closes. 3 by default. */
+  @Builder.Default int halfOpenCalls = 3;
+}
@@ -0,0 +1,32 @@
+package com.github.badpop.jcoinbase.service.http;
+
+import com.github.badpop.jcoinbase.service.http.CircuitBreaker.State;
+import lombok.Value;
+
+import java.time.Instant;
+
+/** A snapshot of the state and the counters of a {@link CircuitBreaker} */
+@Value
+public class CircuitBreakerStats {
+
+  /** The current state */
+  State state;
+
+  /** The time of the last transition, or of the breaker creation if it never changed state */
+  Instant stateSince;
+
+  /** The number of recorded requests in the current state */
+  int bufferedCalls;
+
+  /** The failure rate of the recorded requests, between 0 and 1 */
+  double failureRate;
+
+  /** The slow call rate of the recorded requests, between 0 and 1 */
+  double slowCallRate;
+
+  /** The number of times the breaker opened */
+  long openedCount;
+
+  /** The number of requests refused while the breaker was open or half-open */
+  long rejectedCount;
+}
@@ -0,0 +1,14 @@
+package com.github.badpop.jcoinbase.service.http;
+
+/**
+ * The families of Coinbase api endpoints. Each family has its own request timeout, set in the
+ * {@link com.github.badpop.jcoinbase.JCoinbaseOptions}.
+ */
+public enum EndpointFamily {
+  /** The public data endpoints : currencies, exchange rates, prices and time */
+  DATA,
+  /** The user endpoints */
+  USER,
+  /** The account endpoints */
+  ACCOUNT
+}
@@ -1,60 +1,261 @@
 package com.github.badpop.jcoinbase.service.http;
 
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.badpop.jcoinbase.JCoinbaseClient;
 import com.github.badpop.jcoinbase.control.CallResult;
+import com.github.badpop.jcoinbase.control.Deadline;
 import com.github.badpop.jcoinbase.model.CoinbaseError;
 import com.github.badpop.jcoinbase.service.WarningManagerService;
 import com.github.badpop.jcoinbase.service.dto.DataDto;
+import com.github.badpop.jcoinbase.service.dto.DataErrorDto;
+import com.github.badpop.jcoinbase.service.dto.DataErrorsDto;
 import com.github.badpop.jcoinbase.service.dto.PaginatedResponseDto;
+import com.github.badpop.jcoinbase.service.dto.SingleErrorDto;
 import io.vavr.collection.Seq;
 import io.vavr.control.Try;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
+import java.net.http.HttpResponse.BodyHandler;
 import java.net.http.HttpResponse.BodyHandlers;
+import java.net.http.HttpResponse;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 import static com.github.badpop.jcoinbase.service.http.JsonDeserializationService.*;
 
 /** Utility interface to centralize all http requests made to the Coinbase API */
 public interface HttpRequestSender {
 
+  /**
+   * Send a request of the given endpoint family following its {@link RetryPolicy}. The request is
+   * built again before each retry.
+   *
+   * @param client the client to use
+   * @param family the endpoint family of the request
+   * @param request the function building the request
+   * @param reader the json reader to use on success
+   * @param errorsReader the json reader to use on failure
+   * @param <T> the object type to deserialize
+   * @return a {@link Try} of a {@link CallResult} representing a success or a failure
+   */
   static <T> Try<CallResult<Seq<CoinbaseError>, DataDto<T>>> send(
-      final HttpClient httpClient,
-      final HttpRequest request,
-      final ObjectMapper jsonSerDes,
-      final TypeReference<DataDto<T>> typeReference) {
+      final JCoinbaseClient client,
+      final EndpointFamily family,
+      final Supplier<HttpRequest> request,
+      final JsonReader<DataDto<T>> reader,
+      final JsonReader<DataErrorsDto> errorsReader) {
 
-    return Try.of(() -> httpClient.send(request, BodyHandlers.ofString()))
+    final HttpRequest first = request.get();
+    return Try.of(() -> retry(client, family, first, request))
         .mapTry(
             response ->
-                deserialize(response, jsonSerDes, typeReference)
+                deserialize(response, reader, errorsReader)
                     .peek(WarningManagerService::alertIfCoinbaseHasReturnedWarnings));
   }
 
+  /**
+   * Same as {@link #send(JCoinbaseClient, EndpointFamily, Supplier, JsonReader, JsonReader)} for a
+   * paginated response
+   */
   static <T> Try<CallResult<Seq<CoinbaseError>, PaginatedResponseDto<T>>> paginatedSend(
-      final HttpClient httpClient,
-      final HttpRequest request,
-      final ObjectMapper jsonSerDes,
-      final TypeReference<PaginatedResponseDto<T>> typeReference) {
+      final JCoinbaseClient client,
+      final EndpointFamily family,
+      final Supplier<HttpRequest> request,
+      final JsonReader<PaginatedResponseDto<T>> reader,
+      final JsonReader<DataErrorsDto> errorsReader) {
 
-    return Try.of(() -> httpClient.send(request, BodyHandlers.ofString()))
+    final HttpRequest first = request.get();
+    return Try.of(() -> retry(client, family, first, request))
         .mapTry(
             response ->
-                paginatedDeserialize(response, jsonSerDes, typeReference)
+                paginatedDeserialize(response, reader, errorsReader)
                     .peek(WarningManagerService::alertIfCoinbaseHasReturnedWarnings));
   }
 
+  /**
+   * Same as {@link #send(JCoinbaseClient, EndpointFamily, Supplier, JsonReader, JsonReader)} for an
+   * endpoint answering a single error on failure
+   */
   static <T> Try<CallResult<Seq<CoinbaseError>, DataDto<T>>> singleFailureSend(
-      final HttpClient httpClient,
+      final JCoinbaseClient client,
+      final EndpointFamily family,
+      final Supplier<HttpRequest> request,
+      final JsonReader<DataDto<T>> reader,
+      final JsonReader<DataErrorDto<SingleErrorDto>> errorReader) {
+
+    final HttpRequest first = request.get();
+    return Try.of(() -> retry(client, family, first, request))
+        .mapTry(
+            response ->
+                singleFailureDeserialize(response, reader, errorReader)
+                    .peek(WarningManagerService::alertIfCoinbaseHasReturnedWarnings));
+  }
+
+  /**
+   * Same as {@link #singleFailureSend(JCoinbaseClient, EndpointFamily, Supplier, JsonReader,
+   * JsonReader)} but sending the request once, straight through the http client. The request is
+   * neither throttled, retried nor guarded by a circuit breaker, so the time it takes is the round
+   * trip of a single attempt.
+   *
+   * @param client the client to use
+   * @param request the request to send
+   * @param reader the json reader to use on success
+   * @param errorReader the json reader to use on failure
+   * @param <T> the object type to deserialize
+   * @return a {@link Try} of a {@link CallResult} representing a success or a failure
+   */
+  static <T> Try<CallResult<Seq<CoinbaseError>, DataDto<T>>> singleFailureSendOnce(
+      final JCoinbaseClient client,
       final HttpRequest request,
-      final ObjectMapper jsonSerDes,
-      final TypeReference<DataDto<T>> typeReference) {
+      final JsonReader<DataDto<T>> reader,
+      final JsonReader<DataErrorDto<SingleErrorDto>> errorReader) {
 
-    return Try.of(() -> httpClient.send(request, BodyHandlers.ofString()))
+    return Try.of(() -> client.getHttpClient().send(request, BodyHandlers.ofInputStream()))
         .mapTry(
             response ->
-                singleFailureDeserialize(response, jsonSerDes, typeReference)
+                singleFailureDeserialize(response, reader, errorReader)
                     .peek(WarningManagerService::alertIfCoinbaseHasReturnedWarnings));
   }
+
+  /**
+   * Non-blocking counterpart of {@link #send(JCoinbaseClient, EndpointFamily, Supplier, JsonReader,
+   * JsonReader)}. The response body is deserialized while it is received and the retries are
+   * scheduled without blocking any thread. The returned future completes exceptionally if the
+   * request or the deserialization fails.
+   */
+  static <T> CompletableFuture<CallResult<Seq<CoinbaseError>, DataDto<T>>> sendAsync(
+      final JCoinbaseClient client,
+      final EndpointFamily family,
+      final Supplier<HttpRequest> request,
+      final JsonReader<DataDto<T>> reader,
+      final JsonReader<DataErrorsDto> errorsReader) {
+
+    return retryAsync(client, family, request, deserializing(reader, errorsReader), Deadline.none())
+        .thenApply(
+            response ->
+                response.body().peek(WarningManagerService::alertIfCoinbaseHasReturnedWarnings));
+  }
+
+  /**
+   * Non-blocking counterpart of {@link #paginatedSend(JCoinbaseClient, EndpointFamily, Supplier,
+   * JsonReader, JsonReader)}
+   *
+   * @see #sendAsync(JCoinbaseClient, EndpointFamily, Supplier, JsonReader, JsonReader)
+   */
+  static <T>
+      CompletableFuture<CallResult<Seq<CoinbaseError>, PaginatedResponseDto<T>>> paginatedSendAsync(
+          final JCoinbaseClient client,
+          final EndpointFamily family,
+          final Supplier<HttpRequest> request,
+          final JsonReader<PaginatedResponseDto<T>> reader,
+          final JsonReader<DataErrorsDto> errorsReader) {
+
+    return paginatedSendAsync(client, family, request, reader, errorsReader, Deadline.none());
+  }
+
+  /**
+   * Same as {@link #paginatedSendAsync(JCoinbaseClient, EndpointFamily, Supplier, JsonReader,
+   * JsonReader)} but never waiting longer than the time left before the given deadline
+   *
+   * @see HttpRetrier#sendAsync(HttpClient, RetryPolicy, TokenBucket, CircuitBreaker, HttpRequest,
+   *     Supplier, BodyHandler, Deadline)
+   */
+  static <T>
+      CompletableFuture<CallResult<Seq<CoinbaseError>, PaginatedResponseDto<T>>> paginatedSendAsync(
+          final JCoinbaseClient client,
+          final EndpointFamily family,
+          final Supplier<HttpRequest> request,
+          final JsonReader<PaginatedResponseDto<T>> reader,
+          final JsonReader<DataErrorsDto> errorsReader,
+          final Deadline deadline) {
+
+    return retryAsync(
+            client, family, request, paginatedDeserializing(reader, errorsReader), deadline)
+        .thenApply(
+            response ->
+                response.body().peek(WarningManagerService::alertIfCoinbaseHasReturnedWarnings));
+  }
+
+  /**
+   * Non-blocking counterpart of {@link #singleFailureSend(JCoinbaseClient, EndpointFamily,
+   * Supplier, JsonReader, JsonReader)}
+   *
+   * @see #sendAsync(JCoinbaseClient, EndpointFamily, Supplier, JsonReader, JsonReader)
+   */
+  static <T> CompletableFuture<CallResult<Seq<CoinbaseError>, DataDto<T>>> singleFailureSendAsync(
+      final JCoinbaseClient client,
+      final EndpointFamily family,
+      final Supplier<HttpRequest> request,
+      final JsonReader<DataDto<T>> reader,
+      final JsonReader<DataErrorDto<SingleErrorDto>> errorReader) {
+
+    return singleFailureSendAsync(client, family, request, reader, errorReader, Deadline.none());
+  }
+
+  /**
+   * Same as {@link #singleFailureSendAsync(JCoinbaseClient, EndpointFamily, Supplier, JsonReader,
+   * JsonReader)} but never waiting longer than the time left before the given deadline
+   *
+   * @see HttpRetrier#sendAsync(HttpClient, RetryPolicy, TokenBucket, CircuitBreaker, HttpRequest,
+   *     Supplier, BodyHandler, Deadline)
+   */
+  static <T> CompletableFuture<CallResult<Seq<CoinbaseError>, DataDto<T>>> singleFailureSendAsync(
+      final JCoinbaseClient client,
+      final EndpointFamily family,
+      final Supplier<HttpRequest> request,
+      final JsonReader<DataDto<T>> reader,
+      final JsonReader<DataErrorDto<SingleErrorDto>> errorReader,
+      final Deadline deadline) {
+
+    return retryAsync(
+            client, family, request, singleFailureDeserializing(reader, errorReader), deadline)
+        .thenApply(
+            response ->
+                response.body().peek(WarningManagerService::alertIfCoinbaseHasReturnedWarnings));
+  }
+
+  private static HttpResponse<InputStream> retry(
+      final JCoinbaseClient client,
+      final EndpointFamily family,
+      final HttpRequest first,
+      final Supplier<HttpRequest> request)
+      throws IOException, InterruptedException {
+    return client
+        .getHttpRetrier()
+        .send(
+            client.getHttpClient(),
+            client.getOptions().getRetryPolicy(family),
+            client.getRequestThrottler().bucket(family),
+            client.getCircuitBreakers().get(family).get(),
+            first,
+            request,
+            BodyHandlers.ofInputStream());
+  }
+
+  private static <T> CompletableFuture<HttpResponse<T>> retryAsync(
+      final JCoinbaseClient client,
+      final EndpointFamily family,
+      final Supplier<HttpRequest> request,
+      final BodyHandler<T> handler,
+      final Deadline deadline) {
+    final HttpRequest first;
+    try {
+      first = request.get();
+    } catch (RuntimeException e) {
+      return CompletableFuture.failedFuture(e);
+    }
+    return client
+        .getHttpRetrier()
+        .sendAsync(
+            client.getHttpClient(),
+            client.getOptions().getRetryPolicy(family),
+            client.getRequestThrottler().bucket(family),
+            client.getCircuitBreakers().get(family).get(),
+            first,
+            request,
+            handler,
+            deadline);
+  }
 }
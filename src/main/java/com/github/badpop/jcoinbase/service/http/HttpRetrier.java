@@ -0,0 +1,472 @@
+package com.github.badpop.jcoinbase.service.http;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.github.badpop.jcoinbase.control.Deadline;
+import com.github.badpop.jcoinbase.exception.DeadlineExceededException;
+import com.github.badpop.jcoinbase.service.ErrorManagerService;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandler;
+import java.net.http.HttpResponse.BodySubscribers;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.DoubleSupplier;
+import java.util.function.Supplier;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Send http requests following a {@link RetryPolicy} and the rate limit tracked by a {@link
+ * RateLimitTracker}, and count the retries of a client.
+ *
+ * <p>Each attempt first checks the given {@link CircuitBreaker}, then takes a permit from the given
+ * {@link TokenBucket}, and is delayed while the rate limit is reached. Its outcome is recorded by
+ * the breaker. A 429 response is retried like a 5xx one once the quota is back.
+ *
+ * <p>The request is built again before each retry and after each wait, so a signed request is
+ * signed again with a fresh timestamp and a request under a {@link
+ * com.github.badpop.jcoinbase.control.Deadline} gets the time left. A request under a deadline
+ * fails with a {@link DeadlineExceededException} instead of waiting, for a permit, the rate limit or
+ * a backoff, longer than the time left. The body of a response that will be retried is discarded
+ * without being read.
+ */
+@Slf4j
+public class HttpRetrier {
+
+  private final RateLimitTracker rateLimits;
+  private final Executor executor;
+  private final DoubleSupplier random;
+
+  private final AtomicLong retries = new AtomicLong();
+  private final AtomicLong recoveries = new AtomicLong();
+  private final AtomicLong exhaustions = new AtomicLong();
+
+  /**
+   * @param rateLimits the rate limit view of the client, updated with each response
+   * @param executor the executor running the asynchronous attempts once their wait is over
+   */
+  public HttpRetrier(final RateLimitTracker rateLimits, final Executor executor) {
+    this(rateLimits, executor, () -> ThreadLocalRandom.current().nextDouble());
+  }
+
+  HttpRetrier(
+      final RateLimitTracker rateLimits, final Executor executor, final DoubleSupplier random) {
+    this.rateLimits = rateLimits;
+    this.executor = executor;
+    this.random = random;
+  }
+
+  /**
+   * Send a request, blocking between the attempts
+   *
+   * @param httpClient the http client to use
+   * @param policy the retry policy to follow
+   * @param bucket the bucket to take a permit from before each attempt
+   * @param breaker the circuit breaker checked before each attempt
+   * @param request the request of the first attempt
+   * @param retryRequest the function building the request of each retry
+   * @param handler the body handler of the last response
+   * @param <T> the response body type
+   * @return the last response
+   * @throws IOException if the last attempt fails
+   * @throws InterruptedException if interrupted while sending or waiting
+   * @throws com.github.badpop.jcoinbase.exception.RateLimitExceededException if the request
+   *     should wait too long for the rate limit
+   * @throws com.github.badpop.jcoinbase.exception.CircuitBreakerOpenException if the breaker is
+   *     open
+   */
+  public <T> HttpResponse<T> send(
+      final HttpClient httpClient,
+      final RetryPolicy policy,
+      final TokenBucket bucket,
+      final CircuitBreaker breaker,
+      final HttpRequest request,
+      final Supplier<HttpRequest> retryRequest,
+      final BodyHandler<T> handler)
+      throws IOException, InterruptedException {
+    return send(
+        httpClient, policy, bucket, breaker, request, retryRequest, handler, Deadline.none());
+  }
+
+  /**
+   * Send a request under a deadline, blocking between the attempts
+   *
+   * @see #send(HttpClient, RetryPolicy, TokenBucket, CircuitBreaker, HttpRequest, Supplier,
+   *     BodyHandler)
+   * @param deadline the deadline of the request
+   * @throws DeadlineExceededException if a wait would last longer than the time left
+   */
+  public <T> HttpResponse<T> send(
+      final HttpClient httpClient,
+      final RetryPolicy policy,
+      final TokenBucket bucket,
+      final CircuitBreaker breaker,
+      final HttpRequest request,
+      final Supplier<HttpRequest> retryRequest,
+      final BodyHandler<T> handler,
+      final Deadline deadline)
+      throws IOException, InterruptedException {
+    HttpRequest current = request;
+    for (int attempt = 1; ; attempt++) {
+      breaker.acquirePermission();
+      final Duration wait;
+      try {
+        wait = permitWait(bucket, deadline, current);
+      } catch (RuntimeException e) {
+        breaker.releasePermission();
+        throw e;
+      }
+      if (!wait.isZero()) {
+        try {
+          NANOSECONDS.sleep(wait.toNanos());
+          current = retryRequest.get();
+        } catch (RuntimeException | InterruptedException e) {
+          bucket.refund();
+          breaker.releasePermission();
+          throw e;
+        }
+      }
+      final boolean last = isLastAttempt(policy, current, attempt);
+      final long start = System.nanoTime();
+      final HttpResponse<T> response;
+      try {
+        response = httpClient.send(current, discarding(handler, last));
+      } catch (IOException e) {
+        breaker.onResult(isCallFailure(e), since(start));
+        if (last || !isRetryable(e)) {
+          onDone(attempt, isRetryable(e));
+          throw e;
+        }
+        log.warn("Retrying {} after {}", current.uri(), e.toString());
+        backOff(policy, attempt, deadline, current);
+        current = retryRequest.get();
+        continue;
+      } catch (InterruptedException | RuntimeException e) {
+        breaker.releasePermission();
+        throw e;
+      }
+      breaker.onResult(response.statusCode() >= 500, since(start));
+      rateLimits.update(response.statusCode(), response.headers());
+      if (last || !isRetryable(response.statusCode())) {
+        onDone(attempt, isRetryable(response.statusCode()));
+        return response;
+      }
+      log.warn("Retrying {} after a {} response", current.uri(), response.statusCode());
+      backOff(policy, attempt, deadline, current);
+      current = retryRequest.get();
+    }
+  }
+
+  /**
+   * Wait before the next attempt of a blocking request
+   *
+   * @throws DeadlineExceededException if the backoff would outlast the deadline
+   */
+  private void backOff(
+      final RetryPolicy policy,
+      final int attempt,
+      final Deadline deadline,
+      final HttpRequest request)
+      throws InterruptedException {
+    final Duration backoff = policy.backoff(attempt, random.getAsDouble());
+    if (exceeds(deadline, backoff)) {
+      onDone(attempt, true);
+      throw deadlineExceeded(backoff, request);
+    }
+    retries.incrementAndGet();
+    NANOSECONDS.sleep(backoff.toNanos());
+  }
+
+  /**
+   * Non-blocking counterpart of {@link #send(HttpClient, RetryPolicy, TokenBucket, CircuitBreaker,
+   * HttpRequest, Supplier, BodyHandler)}. The waits and the retries are scheduled without blocking
+   * any thread.
+   *
+   * @param httpClient the http client to use
+   * @param policy the retry policy to follow
+   * @param bucket the bucket to take a permit from before each attempt
+   * @param breaker the circuit breaker checked before each attempt
+   * @param request the request of the first attempt
+   * @param retryRequest the function building the request of each retry
+   * @param handler the body handler of the last response
+   * @param <T> the response body type
+   * @return a {@link CompletableFuture} of the last response, completing exceptionally if the last
+   *     attempt fails, if the request should wait too long for the rate limit or if the breaker
+   *     is open
+   */
+  public <T> CompletableFuture<HttpResponse<T>> sendAsync(
+      final HttpClient httpClient,
+      final RetryPolicy policy,
+      final TokenBucket bucket,
+      final CircuitBreaker breaker,
+      final HttpRequest request,
+      final Supplier<HttpRequest> retryRequest,
+      final BodyHandler<T> handler) {
+    return sendAsync(
+        httpClient, policy, bucket, breaker, request, retryRequest, handler, Deadline.none());
+  }
+
+  /**
+   * Non-blocking counterpart of {@link #send(HttpClient, RetryPolicy, TokenBucket, CircuitBreaker,
+   * HttpRequest, Supplier, BodyHandler, Deadline)}
+   *
+   * @see #sendAsync(HttpClient, RetryPolicy, TokenBucket, CircuitBreaker, HttpRequest, Supplier,
+   *     BodyHandler)
+   * @param deadline the deadline of the request
+   * @return a {@link CompletableFuture} of the last response, also completing exceptionally with a
+   *     {@link DeadlineExceededException} if a wait would last longer than the time left
+   */
+  public <T> CompletableFuture<HttpResponse<T>> sendAsync(
+      final HttpClient httpClient,
+      final RetryPolicy policy,
+      final TokenBucket bucket,
+      final CircuitBreaker breaker,
+      final HttpRequest request,
+      final Supplier<HttpRequest> retryRequest,
+      final BodyHandler<T> handler,
+      final Deadline deadline) {
+    final AsyncCall<T> call =
+        new AsyncCall<>(httpClient, policy, bucket, breaker, retryRequest, handler, deadline);
+    call.attempt(request, 1);
+    return call.result;
+  }
+
+  /** @return a snapshot of the retry counters */
+  public RetryStats getStats() {
+    return new RetryStats(retries.get(), recoveries.get(), exhaustions.get());
+  }
+
+  /**
+   * Check the rate limit and take a permit, unless the deadline expires before the request can be
+   * sent. In this case no permit is taken, so the next requests do not wait for it.
+   *
+   * @return the time to wait before sending the request
+   * @throws DeadlineExceededException if waiting would outlast the deadline
+   */
+  private Duration permitWait(
+      final TokenBucket bucket, final Deadline deadline, final HttpRequest request) {
+    final Duration quotaWait = rateLimits.acquire();
+    checkWait(deadline, quotaWait, request);
+    final Duration permitWait =
+        deadline.isBounded()
+            ? bucket
+                .tryReserve(deadline.remaining())
+                .getOrElseThrow(
+                    () ->
+                        new DeadlineExceededException(
+                            String.format(
+                                "The deadline would expire while waiting for a permit before sending %s",
+                                request.uri())))
+            : bucket.reserve();
+    return quotaWait.compareTo(permitWait) > 0 ? quotaWait : permitWait;
+  }
+
+  /** @return true if waiting the given time would outlast the deadline */
+  private static boolean exceeds(final Deadline deadline, final Duration wait) {
+    return deadline.isBounded() && wait.compareTo(deadline.remaining()) > 0;
+  }
+
+  /**
+   * Check the deadline leaves enough time to wait before sending the request
+   *
+   * @throws DeadlineExceededException if waiting would outlast the deadline
+   */
+  private static void checkWait(
+      final Deadline deadline, final Duration wait, final HttpRequest request) {
+    if (exceeds(deadline, wait)) {
+      throw deadlineExceeded(wait, request);
+    }
+  }
+
+  private static DeadlineExceededException deadlineExceeded(
+      final Duration wait, final HttpRequest request) {
+    return new DeadlineExceededException(
+        String.format(
+            "The deadline would expire while waiting %s before sending %s", wait, request.uri()));
+  }
+
+  private static Duration since(final long start) {
+    return Duration.ofNanos(System.nanoTime() - start);
+  }
+
+  private void onDone(final int attempt, final boolean failed) {
+    if (attempt > 1) {
+      (failed ? exhaustions : recoveries).incrementAndGet();
+    }
+  }
+
+  private static boolean isLastAttempt(
+      final RetryPolicy policy, final HttpRequest request, final int attempt) {
+    return attempt >= policy.getMaxAttempts() || !"GET".equals(request.method());
+  }
+
+  private static boolean isRetryable(final int statusCode) {
+    return statusCode == 429 || statusCode >= 500;
+  }
+
+  private static boolean isRetryable(final Throwable throwable) {
+    return throwable instanceof ConnectException || throwable instanceof HttpTimeoutException;
+  }
+
+  /**
+   * Tell whether an exception means that Coinbase could not be reached or did not answer in time,
+   * counting as a failure for the circuit breaker. An invalid json body comes from a completed
+   * call, so it is not a failure.
+   */
+  private static boolean isCallFailure(final Throwable throwable) {
+    for (Throwable cause = throwable; cause != null; cause = cause.getCause()) {
+      if (cause instanceof JsonProcessingException) {
+        return false;
+      }
+    }
+    return throwable instanceof IOException;
+  }
+
+  /** Discard the body of the responses that will be retried */
+  private static <T> BodyHandler<T> discarding(final BodyHandler<T> handler, final boolean last) {
+    return last
+        ? handler
+        : responseInfo ->
+            isRetryable(responseInfo.statusCode())
+                ? BodySubscribers.replacing(null)
+                : handler.apply(responseInfo);
+  }
+
+  /** The state of a non-blocking request, shared by its attempts */
+  private final class AsyncCall<T> {
+
+    private final HttpClient httpClient;
+    private final RetryPolicy policy;
+    private final TokenBucket bucket;
+    private final CircuitBreaker breaker;
+    private final Supplier<HttpRequest> retryRequest;
+    private final BodyHandler<T> handler;
+    private final Deadline deadline;
+    private final CompletableFuture<HttpResponse<T>> result = new CompletableFuture<>();
+
+    private AsyncCall(
+        final HttpClient httpClient,
+        final RetryPolicy policy,
+        final TokenBucket bucket,
+        final CircuitBreaker breaker,
+        final Supplier<HttpRequest> retryRequest,
+        final BodyHandler<T> handler,
+        final Deadline deadline) {
+      this.httpClient = httpClient;
+      this.policy = policy;
+      this.bucket = bucket;
+      this.breaker = breaker;
+      this.retryRequest = retryRequest;
+      this.handler = handler;
+      this.deadline = deadline;
+    }
+
+    private void attempt(final HttpRequest request, final int attempt) {
+      final Duration wait;
+      try {
+        breaker.acquirePermission();
+      } catch (RuntimeException e) {
+        result.completeExceptionally(e);
+        return;
+      }
+      try {
+        wait = permitWait(bucket, deadline, request);
+      } catch (RuntimeException e) {
+        breaker.releasePermission();
+        result.completeExceptionally(e);
+        return;
+      }
+      if (wait.isZero()) {
+        dispatch(request, attempt);
+      } else {
+        later(wait, () -> rebuild(attempt, true, this::dispatch));
+      }
+    }
+
+    private void dispatch(final HttpRequest request, final int attempt) {
+      final boolean last = isLastAttempt(policy, request, attempt);
+      final long start = System.nanoTime();
+
+      final CompletableFuture<HttpResponse<T>> sent;
+      try {
+        sent = httpClient.sendAsync(request, discarding(handler, last));
+      } catch (RuntimeException e) {
+        breaker.releasePermission();
+        result.completeExceptionally(e);
+        return;
+      }
+      sent.whenComplete(
+          (response, throwable) -> {
+            final Throwable cause =
+                throwable == null ? null : ErrorManagerService.unwrap(throwable);
+            breaker.onResult(
+                cause == null ? response.statusCode() >= 500 : isCallFailure(cause), since(start));
+            if (response != null) {
+              rateLimits.update(response.statusCode(), response.headers());
+            }
+            final boolean retryable =
+                cause == null ? isRetryable(response.statusCode()) : isRetryable(cause);
+            if (last || !retryable) {
+              onDone(attempt, retryable);
+              if (cause == null) {
+                result.complete(response);
+              } else {
+                result.completeExceptionally(cause);
+              }
+              return;
+            }
+            log.warn(
+                "Retrying {} after {}",
+                request.uri(),
+                cause == null ? "a " + response.statusCode() + " response" : cause.toString());
+            final Duration backoff = policy.backoff(attempt, random.getAsDouble());
+            if (exceeds(deadline, backoff)) {
+              onDone(attempt, true);
+              result.completeExceptionally(deadlineExceeded(backoff, request));
+              return;
+            }
+            retries.incrementAndGet();
+            later(backoff, () -> rebuild(attempt + 1, false, this::attempt));
+          });
+    }
+
+    /**
+     * Build the request again, since it may have been signed too long ago, and send it
+     *
+     * @param permitted true if the breaker permission and the permit of the attempt are already
+     *     acquired
+     */
+    private void rebuild(final int attempt, final boolean permitted, final Attempt next) {
+      final HttpRequest request;
+      try {
+        request = retryRequest.get();
+      } catch (RuntimeException e) {
+        if (permitted) {
+          bucket.refund();
+          breaker.releasePermission();
+        }
+        result.completeExceptionally(e);
+        return;
+      }
+      next.run(request, attempt);
+    }
+
+    private void later(final Duration delay, final Runnable action) {
+      CompletableFuture.delayedExecutor(delay.toNanos(), NANOSECONDS, executor).execute(action);
+    }
+  }
+
+  @FunctionalInterface
+  private interface Attempt {
+    void run(HttpRequest request, int attempt);
+  }
+}
@@ -0,0 +1,140 @@
+package com.github.badpop.jcoinbase.service.http;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+import java.io.IOException;
+import java.net.http.HttpResponse.BodySubscriber;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+
+/**
+ * A {@link BodySubscriber} deserializing a json response body while it is received.
+ *
+ * <p>Each chunk of bytes is fed to a jackson non-blocking parser as soon as it arrives and the
+ * parsed tokens are buffered. Once the last chunk has been received, the buffered tokens are bound
+ * to the expected type. The floating point numbers are buffered as BigDecimal so that no precision
+ * is lost before binding. The json parsing therefore overlaps the network transfer and no thread ever
+ * blocks waiting for the body.
+ *
+ * <p>If the body is not valid json or does not match the expected type, the body completes
+ * exceptionally with the jackson exception and the subscription is cancelled.
+ *
+ * @param <T> the object type to deserialize
+ */
+public class JsonBodySubscriber<T> implements BodySubscriber<T> {
+
+  private final JsonReader<T> reader;
+  private final CompletableFuture<T> body = new CompletableFuture<>();
+
+  private Flow.Subscription subscription;
+  private JsonParser parser;
+  private TokenBuffer tokens;
+
+  public JsonBodySubscriber(final JsonReader<T> reader) {
+    this.reader = reader;
+  }
+
+  @Override
+  public CompletionStage<T> getBody() {
+    return body;
+  }
+
+  @Override
+  public void onSubscribe(final Flow.Subscription subscription) {
+    this.subscription = subscription;
+    try {
+      parser = reader.createNonBlockingParser();
+      tokens = new TokenBuffer(parser);
+      tokens.forceUseOfBigDecimal(true);
+      subscription.request(1);
+    } catch (IOException e) {
+      fail(e);
+    }
+  }
+
+  @Override
+  public void onNext(final List<ByteBuffer> buffers) {
+    if (body.isDone()) {
+      return;
+    }
+
+    try {
+      for (final ByteBuffer buffer : buffers) {
+        feed(buffer);
+      }
+      subscription.request(1);
+    } catch (IOException e) {
+      fail(e);
+    }
+  }
+
+  @Override
+  public void onError(final Throwable throwable) {
+    body.completeExceptionally(throwable);
+  }
+
+  @Override
+  public void onComplete() {
+    if (body.isDone()) {
+      return;
+    }
+
+    try {
+      ((ByteArrayFeeder) parser.getNonBlockingInputFeeder()).endOfInput();
+      drain();
+      body.complete(reader.read(tokens.asParser()));
+    } catch (IOException e) {
+      body.completeExceptionally(e);
+    }
+  }
+
+  /**
+   * Feed the given chunk to the parser then buffer all the tokens it makes available
+   *
+   * @param buffer the received chunk
+   * @throws IOException if the chunk is not valid json
+   */
+  private void feed(final ByteBuffer buffer) throws IOException {
+    final byte[] bytes;
+    final int start;
+    final int end;
+
+    if (buffer.hasArray()) {
+      bytes = buffer.array();
+      start = buffer.arrayOffset() + buffer.position();
+      end = start + buffer.remaining();
+    } else {
+      bytes = new byte[buffer.remaining()];
+      buffer.get(bytes);
+      start = 0;
+      end = bytes.length;
+    }
+
+    ((ByteArrayFeeder) parser.getNonBlockingInputFeeder()).feedInput(bytes, start, end);
+    drain();
+  }
+
+  /**
+   * Move all the tokens the parser can produce with the input fed so far into the token buffer
+   *
+   * @throws IOException if the input is not valid json
+   */
+  private void drain() throws IOException {
+    JsonToken token = parser.nextToken();
+    while (token != null && token != JsonToken.NOT_AVAILABLE) {
+      tokens.copyCurrentEvent(parser);
+      token = parser.nextToken();
+    }
+  }
+
+  private void fail(final IOException exception) {
+    subscription.cancel();
+    body.completeExceptionally(exception);
+  }
+}
@@ -1,18 +1,26 @@
 package com.github.badpop.jcoinbase.service.http;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.badpop.jcoinbase.control.CallResult;
 import com.github.badpop.jcoinbase.model.CoinbaseError;
 import com.github.badpop.jcoinbase.service.dto.*;
 import io.vavr.API;
 import io.vavr.collection.Seq;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandler;
+import java.net.http.HttpResponse.BodySubscribers;
 
 /**
  * Utility interface that allow us to deserialize coinbase api responses from json to java objects
+ *
+ * <p>The response bodies are read as raw bytes and directly fed to the jackson parser, so no
+ * intermediate String is ever built, neither for successes nor for errors. Each body stream is
+ * closed once read.
+ *
+ * <p>The deserialization is made with the pre-resolved {@link JsonReader}s of a {@link
+ * JsonReaders} registry, so no jackson type has to be resolved per call.
  */
 public interface JsonDeserializationService {
 
@@ -20,38 +28,38 @@ public interface JsonDeserializationService {
    * Generic method to centralized the deserialization process of coinbase api responses and wrap
    * the results in a {@link CallResult} object
    *
-   * <p>This method is different of {@link #singleFailureDeserialize(HttpResponse, ObjectMapper,
-   * TypeReference)} and should be used for all Coinbase api responses except for public data.
-   * Public data does not return errors in the same way as protected data.
+   * <p>This method is different of {@link #singleFailureDeserialize(HttpResponse, JsonReader,
+   * JsonReader)} and should be used for all Coinbase api responses except for public data. Public
+   * data does not return errors in the same way as protected data.
    *
    * @param response the http response
-   * @param jsonSerDes the jackson object mapper to use
-   * @param typeReference the jackson type reference for deserialization
+   * @param reader the json reader to use on success
+   * @param errorsReader the json reader to use on failure
    * @param <T> the object type to deserialize
    * @return a new {@link CallResult} representing a success or a failure
-   * @throws JsonProcessingException if not deserializable
+   * @throws IOException if not deserializable
    */
   static <T> CallResult<Seq<CoinbaseError>, DataDto<T>> deserialize(
-      final HttpResponse<String> response,
-      final ObjectMapper jsonSerDes,
-      final TypeReference<DataDto<T>> typeReference)
-      throws JsonProcessingException {
+      final HttpResponse<InputStream> response,
+      final JsonReader<DataDto<T>> reader,
+      final JsonReader<DataErrorsDto> errorsReader)
+      throws IOException {
     if (isOk(response.statusCode())) {
-      return buildSuccess(response, jsonSerDes, typeReference);
+      return buildSuccess(response, reader);
     } else {
-      return buildFailure(response, jsonSerDes);
+      return buildFailure(response, errorsReader);
     }
   }
 
   static <T> CallResult<Seq<CoinbaseError>, PaginatedResponseDto<T>> paginatedDeserialize(
-      final HttpResponse<String> response,
-      final ObjectMapper jsonSerDes,
-      final TypeReference<PaginatedResponseDto<T>> typeReference)
-      throws JsonProcessingException {
+      final HttpResponse<InputStream> response,
+      final JsonReader<PaginatedResponseDto<T>> reader,
+      final JsonReader<DataErrorsDto> errorsReader)
+      throws IOException {
     if (isOk(response.statusCode())) {
-      return buildPaginatedSuccess(response, jsonSerDes, typeReference);
+      return buildSuccess(response, reader);
     } else {
-      return buildPaginatedFailure(response, jsonSerDes);
+      return buildFailure(response, errorsReader);
     }
   }
 
@@ -59,29 +67,96 @@ public interface JsonDeserializationService {
    * Generic method to centralized the deserialization process of coinbase api responses and wrap
    * the results in a {@link CallResult} object
    *
-   * <p>This method is different of {@link #deserialize(HttpResponse, ObjectMapper, TypeReference)}
-   * and should be used only for public data. Protected data does not return errors in the same way
-   * as public data.
+   * <p>This method is different of {@link #deserialize(HttpResponse, JsonReader, JsonReader)} and
+   * should be used only for public data. Protected data does not return errors in the same way as
+   * public data.
    *
    * @param response the http response
-   * @param jsonSerDes the jackson object mapper to use
-   * @param typeReference the jackson type reference for deserialization
+   * @param reader the json reader to use on success
+   * @param errorReader the json reader to use on failure
    * @param <T> the object type to deserialize
    * @return a new {@link CallResult} representing a success or a failure
-   * @throws JsonProcessingException if not deserializable
+   * @throws IOException if not deserializable
    */
   static <T> CallResult<Seq<CoinbaseError>, DataDto<T>> singleFailureDeserialize(
-      final HttpResponse<String> response,
-      final ObjectMapper jsonSerDes,
-      final TypeReference<DataDto<T>> typeReference)
-      throws JsonProcessingException {
+      final HttpResponse<InputStream> response,
+      final JsonReader<DataDto<T>> reader,
+      final JsonReader<DataErrorDto<SingleErrorDto>> errorReader)
+      throws IOException {
     if (isOk(response.statusCode())) {
-      return buildSuccess(response, jsonSerDes, typeReference);
+      return buildSuccess(response, reader);
     } else {
-      return buildSingleFailure(response, jsonSerDes);
+      return buildSingleFailure(response, errorReader);
     }
   }
 
+  /**
+   * Non-blocking counterpart of {@link #deserialize(HttpResponse, JsonReader, JsonReader)}. The
+   * returned {@link BodyHandler} parses the response body while it is received, using a {@link
+   * JsonBodySubscriber} bound to the success or to the error reader depending on the response
+   * status.
+   *
+   * @param reader the json reader to use on success
+   * @param errorsReader the json reader to use on failure
+   * @param <T> the object type to deserialize
+   * @return a {@link BodyHandler} producing a {@link CallResult} representing a success or a
+   *     failure
+   */
+  static <T> BodyHandler<CallResult<Seq<CoinbaseError>, DataDto<T>>> deserializing(
+      final JsonReader<DataDto<T>> reader, final JsonReader<DataErrorsDto> errorsReader) {
+    return responseInfo ->
+        isOk(responseInfo.statusCode())
+            ? BodySubscribers.mapping(new JsonBodySubscriber<>(reader), CallResult::success)
+            : BodySubscribers.mapping(
+                new JsonBodySubscriber<>(errorsReader),
+                errors -> CallResult.failure(errors.toCoinbaseErrors()));
+  }
+
+  /**
+   * Non-blocking counterpart of {@link #paginatedDeserialize(HttpResponse, JsonReader,
+   * JsonReader)}.
+   *
+   * @param reader the json reader to use on success
+   * @param errorsReader the json reader to use on failure
+   * @param <T> the object type to deserialize
+   * @return a {@link BodyHandler} producing a {@link CallResult} representing a success or a
+   *     failure
+   * @see #deserializing(JsonReader, JsonReader)
+   */
+  static <T>
+      BodyHandler<CallResult<Seq<CoinbaseError>, PaginatedResponseDto<T>>> paginatedDeserializing(
+          final JsonReader<PaginatedResponseDto<T>> reader,
+          final JsonReader<DataErrorsDto> errorsReader) {
+    return responseInfo ->
+        isOk(responseInfo.statusCode())
+            ? BodySubscribers.mapping(new JsonBodySubscriber<>(reader), CallResult::success)
+            : BodySubscribers.mapping(
+                new JsonBodySubscriber<>(errorsReader),
+                errors -> CallResult.failure(errors.toCoinbaseErrors()));
+  }
+
+  /**
+   * Non-blocking counterpart of {@link #singleFailureDeserialize(HttpResponse, JsonReader,
+   * JsonReader)}. Only for coinbase public data.
+   *
+   * @param reader the json reader to use on success
+   * @param errorReader the json reader to use on failure
+   * @param <T> the object type to deserialize
+   * @return a {@link BodyHandler} producing a {@link CallResult} representing a success or a
+   *     failure
+   * @see #deserializing(JsonReader, JsonReader)
+   */
+  static <T> BodyHandler<CallResult<Seq<CoinbaseError>, DataDto<T>>> singleFailureDeserializing(
+      final JsonReader<DataDto<T>> reader,
+      final JsonReader<DataErrorDto<SingleErrorDto>> errorReader) {
+    return responseInfo ->
+        isOk(responseInfo.statusCode())
+            ? BodySubscribers.mapping(new JsonBodySubscriber<>(reader), CallResult::success)
+            : BodySubscribers.mapping(
+                new JsonBodySubscriber<>(errorReader),
+                error -> CallResult.failure(API.Seq(error.getError().toCoinbaseError())));
+  }
+
   /**
    * A simple method to check if a response status is between 200 and 204
    *
@@ -97,26 +172,14 @@ public interface JsonDeserializationService {
    * result
    *
    * @param response the http response
-   * @param jsonSerDes the jackson object mapper to use
-   * @param typeReference the jackson type reference for deserialization
+   * @param reader the json reader to use
    * @param <T> the object type to deserialize
    * @return a new {@link CallResult} representing a success
-   * @throws JsonProcessingException if not deserializable
+   * @throws IOException if not deserializable
    */
-  private static <T> CallResult<Seq<CoinbaseError>, DataDto<T>> buildSuccess(
-      final HttpResponse<String> response,
-      final ObjectMapper jsonSerDes,
-      final TypeReference<DataDto<T>> typeReference)
-      throws JsonProcessingException {
-    return CallResult.success(jsonSerDes.readValue(response.body(), typeReference));
-  }
-
-  private static <T> CallResult<Seq<CoinbaseError>, PaginatedResponseDto<T>> buildPaginatedSuccess(
-      final HttpResponse<String> response,
-      final ObjectMapper jsonSerDes,
-      final TypeReference<PaginatedResponseDto<T>> typeReference)
-      throws JsonProcessingException {
-    return CallResult.success(jsonSerDes.readValue(response.body(), typeReference));
+  private static <T> CallResult<Seq<CoinbaseError>, T> buildSuccess(
+      final HttpResponse<InputStream> response, final JsonReader<T> reader) throws IOException {
+    return CallResult.success(readBody(response, reader));
   }
 
   /**
@@ -124,27 +187,15 @@ public interface JsonDeserializationService {
    * error(s). Use only for coinbase protected data.
    *
    * @param response the http response
-   * @param jsonSerDes the jackson object mapper to use
+   * @param errorsReader the json reader to use
    * @param <T> the object type to deserialize
    * @return a new {@link CallResult} representing a failure
-   * @throws JsonProcessingException if not deserializable
+   * @throws IOException if not deserializable
    */
-  private static <T> CallResult<Seq<CoinbaseError>, DataDto<T>> buildFailure(
-      final HttpResponse<String> response, final ObjectMapper jsonSerDes)
-      throws JsonProcessingException {
-    return CallResult.failure(
-        jsonSerDes
-            .readValue(response.body(), new TypeReference<DataErrorsDto>() {})
-            .toCoinbaseErrors());
-  }
-
-  private static <T> CallResult<Seq<CoinbaseError>, PaginatedResponseDto<T>> buildPaginatedFailure(
-      final HttpResponse<String> response, final ObjectMapper jsonSerDes)
-      throws JsonProcessingException {
-    return CallResult.failure(
-        jsonSerDes
-            .readValue(response.body(), new TypeReference<DataErrorsDto>() {})
-            .toCoinbaseErrors());
+  private static <T> CallResult<Seq<CoinbaseError>, T> buildFailure(
+      final HttpResponse<InputStream> response, final JsonReader<DataErrorsDto> errorsReader)
+      throws IOException {
+    return CallResult.failure(readBody(response, errorsReader).toCoinbaseErrors());
   }
 
   /**
@@ -152,19 +203,32 @@ public interface JsonDeserializationService {
    * error. Only for coinbase public data.
    *
    * @param response the http response
-   * @param jsonSerDes the jackson object mapper to use
+   * @param errorReader the json reader to use
    * @param <T> the object type to deserialize
    * @return a new {@link CallResult} representing a failure
-   * @throws JsonProcessingException if not deserializable
+   * @throws IOException if not deserializable
    */
   private static <T> CallResult<Seq<CoinbaseError>, DataDto<T>> buildSingleFailure(
-      final HttpResponse<String> response, final ObjectMapper jsonSerDes)
-      throws JsonProcessingException {
+      final HttpResponse<InputStream> response,
+      final JsonReader<DataErrorDto<SingleErrorDto>> errorReader)
+      throws IOException {
     return CallResult.failure(
-        API.Seq(
-            jsonSerDes
-                .readValue(response.body(), new TypeReference<DataErrorDto<SingleErrorDto>>() {})
-                .getError()
-                .toCoinbaseError()));
+        API.Seq(readBody(response, errorReader).getError().toCoinbaseError()));
+  }
+
+  /**
+   * Read the given response body stream and close it
+   *
+   * @param response the http response
+   * @param reader the json reader to use
+   * @param <T> the object type to deserialize
+   * @return the deserialized object
+   * @throws IOException if not deserializable or if the body can not be read
+   */
+  private static <T> T readBody(
+      final HttpResponse<InputStream> response, final JsonReader<T> reader) throws IOException {
+    try (final InputStream body = response.body()) {
+      return reader.read(body);
+    }
   }
 }
@@ -0,0 +1,71 @@
+package com.github.badpop.jcoinbase.service.http;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * A typed wrapper around a jackson {@link ObjectReader} whose target type and root deserializer are
+ * resolved once, when the reader is built. Reading a body with it does not need any type
+ * resolution.
+ *
+ * <p>Instances are immutable and thread safe.
+ *
+ * @param <T> the object type to deserialize
+ */
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class JsonReader<T> {
+
+  private final ObjectReader reader;
+
+  /**
+   * Build a new {@link JsonReader} for the given type
+   *
+   * @param jsonSerDes the jackson object mapper holding the configuration to use
+   * @param typeReference the jackson type reference of the type to deserialize
+   * @param <T> the object type to deserialize
+   * @return a new {@link JsonReader}
+   */
+  public static <T> JsonReader<T> of(
+      final ObjectMapper jsonSerDes, final TypeReference<T> typeReference) {
+    return new JsonReader<>(jsonSerDes.readerFor(typeReference));
+  }
+
+  /**
+   * Read the given stream
+   *
+   * @param body the stream to read
+   * @return the deserialized object
+   * @throws IOException if not deserializable or if the stream can not be read
+   */
+  public T read(final InputStream body) throws IOException {
+    return reader.readValue(body);
+  }
+
+  /**
+   * Read the next value of the given parser
+   *
+   * @param parser the parser to read
+   * @return the deserialized object
+   * @throws IOException if not deserializable
+   */
+  public T read(final JsonParser parser) throws IOException {
+    return reader.readValue(parser);
+  }
+
+  /**
+   * Create a new non-blocking parser configured like this reader
+   *
+   * @return a new non-blocking parser
+   * @throws IOException if the parser can not be created
+   */
+  public JsonParser createNonBlockingParser() throws IOException {
+    return reader.createNonBlockingByteArrayParser();
+  }
+}
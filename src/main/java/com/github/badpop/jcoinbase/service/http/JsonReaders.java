@@ -0,0 +1,60 @@
+package com.github.badpop.jcoinbase.service.http;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.badpop.jcoinbase.service.account.dto.AccountDto;
+import com.github.badpop.jcoinbase.service.data.dto.CurrencyDto;
+import com.github.badpop.jcoinbase.service.data.dto.ExchangeRatesDto;
+import com.github.badpop.jcoinbase.service.data.dto.PriceDto;
+import com.github.badpop.jcoinbase.service.data.dto.TimeDto;
+import com.github.badpop.jcoinbase.service.dto.DataDto;
+import com.github.badpop.jcoinbase.service.dto.DataErrorDto;
+import com.github.badpop.jcoinbase.service.dto.DataErrorsDto;
+import com.github.badpop.jcoinbase.service.dto.PaginatedResponseDto;
+import com.github.badpop.jcoinbase.service.dto.SingleErrorDto;
+import com.github.badpop.jcoinbase.service.user.dto.AuthorizationsDto;
+import com.github.badpop.jcoinbase.service.user.dto.UserDto;
+import io.vavr.collection.List;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+
+import static lombok.AccessLevel.PRIVATE;
+
+/**
+ * Registry of the {@link JsonReader}s used to deserialize every Coinbase api response envelope.
+ *
+ * <p>The readers are resolved once, when the registry is built, from the {@link ObjectMapper} of a
+ * JCoinbaseClient. They are then shared by all the requests made with this client.
+ */
+@Getter
+@FieldDefaults(level = PRIVATE, makeFinal = true)
+public class JsonReaders {
+
+  JsonReader<DataErrorsDto> errors;
+  JsonReader<DataErrorDto<SingleErrorDto>> singleError;
+  JsonReader<DataDto<TimeDto>> time;
+  JsonReader<DataDto<List<CurrencyDto>>> currencies;
+  JsonReader<DataDto<ExchangeRatesDto>> exchangeRates;
+  JsonReader<DataDto<PriceDto>> price;
+  JsonReader<DataDto<UserDto>> user;
+  JsonReader<DataDto<AuthorizationsDto>> authorizations;
+  JsonReader<DataDto<AccountDto>> account;
+  JsonReader<PaginatedResponseDto<AccountDto>> accountsPage;
+
+  public JsonReaders(final ObjectMapper jsonSerDes) {
+    this.errors = JsonReader.of(jsonSerDes, new TypeReference<DataErrorsDto>() {});
+    this.singleError =
+        JsonReader.of(jsonSerDes, new TypeReference<DataErrorDto<SingleErrorDto>>() {});
+    this.time = JsonReader.of(jsonSerDes, new TypeReference<DataDto<TimeDto>>() {});
+    this.currencies = JsonReader.of(jsonSerDes, new TypeReference<DataDto<List<CurrencyDto>>>() {});
+    this.exchangeRates =
+        JsonReader.of(jsonSerDes, new TypeReference<DataDto<ExchangeRatesDto>>() {});
+    this.price = JsonReader.of(jsonSerDes, new TypeReference<DataDto<PriceDto>>() {});
+    this.user = JsonReader.of(jsonSerDes, new TypeReference<DataDto<UserDto>>() {});
+    this.authorizations =
+        JsonReader.of(jsonSerDes, new TypeReference<DataDto<AuthorizationsDto>>() {});
+    this.account = JsonReader.of(jsonSerDes, new TypeReference<DataDto<AccountDto>>() {});
+    this.accountsPage =
+        JsonReader.of(jsonSerDes, new TypeReference<PaginatedResponseDto<AccountDto>>() {});
+  }
+}
@@ -0,0 +1,36 @@
+package com.github.badpop.jcoinbase.service.http;
+
+import lombok.Value;
+
+import java.time.Instant;
+
+/** A snapshot of the Coinbase api rate limit, as last reported by the api */
+@Value
+public class RateLimitStatus {
+
+  /** The number of requests allowed per window, null if never reported */
+  Integer limit;
+
+  /** The number of requests left in the current window, null if never reported */
+  Integer remaining;
+
+  /** The end of the current window, null if never reported */
+  Instant resetAt;
+
+  /** The time before which no request is sent, null if the requests are not blocked */
+  Instant blockedUntil;
+
+  /** The number of 429 responses received */
+  long rateLimitedCount;
+
+  /** The number of requests delayed until the rate limit allowed them */
+  long delayedCount;
+
+  /** The number of requests rejected because they would have waited too long */
+  long rejectedCount;
+
+  /** @return true if the requests are currently delayed */
+  public boolean isBlocked() {
+    return blockedUntil != null;
+  }
+}
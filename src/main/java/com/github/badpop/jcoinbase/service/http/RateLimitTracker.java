@@ -0,0 +1,187 @@
+package com.github.badpop.jcoinbase.service.http;
+
+import com.github.badpop.jcoinbase.exception.RateLimitExceededException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.http.HttpHeaders;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keep a live view of the Coinbase api rate limit of a client, from the rate limit and {@code
+ * Retry-After} headers of its responses.
+ *
+ * <p>Once the api reports that the quota is spent, either with a 429 response and a {@code
+ * Retry-After} header or with no remaining request before the window reset, the next requests are
+ * delayed until the quota is back instead of being sent.
+ */
+@Slf4j
+public class RateLimitTracker {
+
+  static final String RETRY_AFTER = "Retry-After";
+  static final String[] LIMIT = {"CB-RATELIMIT-LIMIT", "X-RateLimit-Limit"};
+  static final String[] REMAINING = {"CB-RATELIMIT-REMAINING", "X-RateLimit-Remaining"};
+  static final String[] RESET = {"CB-RATELIMIT-RESET", "X-RateLimit-Reset"};
+
+  /** The reset values above this one are epoch seconds, the other ones are delays in seconds */
+  private static final long EPOCH_SECONDS_THRESHOLD = 1_000_000_000L;
+
+  private final Clock clock;
+  private final Duration maxWait;
+
+  private final AtomicLong rateLimited = new AtomicLong();
+  private final AtomicLong delayed = new AtomicLong();
+  private final AtomicLong rejected = new AtomicLong();
+
+  /* Guarded by this */
+  private Integer limit;
+  private Integer remaining;
+  private Instant resetAt;
+  private Instant blockedUntil;
+
+  /** @param maxWait the maximum time a request can be delayed */
+  public RateLimitTracker(final Duration maxWait) {
+    this(Clock.systemUTC(), maxWait);
+  }
+
+  RateLimitTracker(final Clock clock, final Duration maxWait) {
+    this.clock = clock;
+    this.maxWait = maxWait;
+  }
+
+  /**
+   * Ask for the permission to send a request
+   *
+   * @return the time to wait before sending it, {@link Duration#ZERO} if it can be sent now
+   * @throws RateLimitExceededException if the request should wait longer than the maximum wait
+   */
+  public Duration acquire() {
+    final Duration wait = waitTime();
+    if (wait.isZero()) {
+      return wait;
+    }
+    if (wait.compareTo(maxWait) > 0) {
+      rejected.incrementAndGet();
+      throw new RateLimitExceededException(
+          "The Coinbase api rate limit is reached, retry after " + wait, wait);
+    }
+    delayed.incrementAndGet();
+    log.debug("Delaying a request by {} to respect the Coinbase api rate limit", wait);
+    return wait;
+  }
+
+  /**
+   * Update the rate limit view with a received response
+   *
+   * @param statusCode the response status code
+   * @param headers the response headers
+   */
+  public void update(final int statusCode, final HttpHeaders headers) {
+    final Instant now = clock.instant();
+    final Optional<Integer> newLimit = firstInt(headers, LIMIT);
+    final Optional<Integer> newRemaining = firstInt(headers, REMAINING);
+    final Optional<Instant> newReset =
+        first(headers, RESET).flatMap(value -> parseReset(value, now));
+    final Optional<Instant> retryAfter =
+        headers.firstValue(RETRY_AFTER).flatMap(value -> parseRetryAfter(value, now));
+
+    if (statusCode == 429) {
+      rateLimited.incrementAndGet();
+      log.warn("Coinbase api rate limit reached, retry after {}", retryAfter.orElse(null));
+    }
+
+    synchronized (this) {
+      newLimit.ifPresent(value -> limit = value);
+      newRemaining.ifPresent(value -> remaining = value);
+      newReset.ifPresent(value -> resetAt = value);
+
+      retryAfter.ifPresent(this::blockUntil);
+      if (newRemaining.isPresent() && newRemaining.get() <= 0 && resetAt != null) {
+        blockUntil(resetAt);
+      }
+    }
+  }
+
+  /** @return a snapshot of the rate limit view */
+  public synchronized RateLimitStatus getStatus() {
+    final boolean blocked = blockedUntil != null && blockedUntil.isAfter(clock.instant());
+    return new RateLimitStatus(
+        limit,
+        remaining,
+        resetAt,
+        blocked ? blockedUntil : null,
+        rateLimited.get(),
+        delayed.get(),
+        rejected.get());
+  }
+
+  private synchronized Duration waitTime() {
+    if (blockedUntil == null) {
+      return Duration.ZERO;
+    }
+    final Duration wait = Duration.between(clock.instant(), blockedUntil);
+    if (wait.isNegative() || wait.isZero()) {
+      blockedUntil = null;
+      return Duration.ZERO;
+    }
+    return wait;
+  }
+
+  private void blockUntil(final Instant until) {
+    if (blockedUntil == null || until.isAfter(blockedUntil)) {
+      blockedUntil = until;
+    }
+  }
+
+  private static Optional<String> first(final HttpHeaders headers, final String[] names) {
+    for (final String name : names) {
+      final Optional<String> value = headers.firstValue(name);
+      if (value.isPresent()) {
+        return value;
+      }
+    }
+    return Optional.empty();
+  }
+
+  private static Optional<Integer> firstInt(final HttpHeaders headers, final String[] names) {
+    return first(headers, names).flatMap(RateLimitTracker::parseInt);
+  }
+
+  private static Optional<Integer> parseInt(final String value) {
+    try {
+      return Optional.of(Integer.parseInt(value.trim()));
+    } catch (NumberFormatException e) {
+      return Optional.empty();
+    }
+  }
+
+  private static Optional<Instant> parseReset(final String value, final Instant now) {
+    try {
+      final long reset = Long.parseLong(value.trim());
+      return Optional.of(
+          reset > EPOCH_SECONDS_THRESHOLD ? Instant.ofEpochSecond(reset) : now.plusSeconds(reset));
+    } catch (NumberFormatException e) {
+      return Optional.empty();
+    }
+  }
+
+  /** The Retry-After value is either a delay in seconds or an http date */
+  private static Optional<Instant> parseRetryAfter(final String value, final Instant now) {
+    try {
+      return Optional.of(now.plusSeconds(Long.parseLong(value.trim())));
+    } catch (NumberFormatException e) {
+      try {
+        return Optional.of(
+            ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME).toInstant());
+      } catch (DateTimeParseException ignored) {
+        return Optional.empty();
+      }
+    }
+  }
+}
@@ -0,0 +1,39 @@
+package com.github.badpop.jcoinbase.service.http;
+
+import lombok.Getter;
+
+/**
+ * The client-side rate limiter of a client, keeping its requests under the Coinbase api limits
+ * before any 429 response. The public data requests and the authenticated requests use separate
+ * {@link TokenBucket}s, shared by all the services of the client.
+ */
+public class RequestThrottler {
+
+  /** The bucket of the public data requests */
+  @Getter private final TokenBucket publicBucket;
+
+  /** The bucket of the user and account requests */
+  @Getter private final TokenBucket authenticatedBucket;
+
+  /**
+   * @param publicBucket the bucket of the public data requests
+   * @param authenticatedBucket the bucket of the user and account requests
+   */
+  public RequestThrottler(final TokenBucket publicBucket, final TokenBucket authenticatedBucket) {
+    this.publicBucket = publicBucket;
+    this.authenticatedBucket = authenticatedBucket;
+  }
+
+  /** @return a throttler never delaying the requests, while still counting them */
+  public static RequestThrottler unlimited() {
+    return new RequestThrottler(TokenBucket.unlimited(), TokenBucket.unlimited());
+  }
+
+  /**
+   * @param family an endpoint family
+   * @return the bucket of the given endpoint family requests
+   */
+  public TokenBucket bucket(final EndpointFamily family) {
+    return family == EndpointFamily.DATA ? publicBucket : authenticatedBucket;
+  }
+}
@@ -0,0 +1,57 @@
+package com.github.badpop.jcoinbase.service.http;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Duration;
+
+/**
+ * How the failed GET requests of an endpoint family are retried. A request is retried on connect
+ * errors, on timeouts, on 5xx responses and on 429 responses, until it succeeds or the maximum
+ * number of attempts is reached. The other requests are never retried, since they are not
+ * idempotent.
+ *
+ * <p>A retry of a 429 response counts as an attempt like any other. It is sent after its backoff,
+ * once the rate limit quota is back, so not before the {@code Retry-After} delay is over.
+ *
+ * <p>The delay before each retry is drawn at random between zero and an exponential backoff ceiling
+ * ("full jitter"), so the clients failing at the same time do not retry at the same time :
+ *
+ * <pre>{@code
+ * delay = random(0, min(maxDelay, baseDelay * 2^(retry - 1)))
+ * }</pre>
+ */
+@Value
+@Builder(toBuilder = true)
+public class RetryPolicy {
+
+  private static final RetryPolicy NONE = RetryPolicy.builder().maxAttempts(1).build();
+
+  /** The maximum number of attempts, including the first one. 3 by default. */
+  @Builder.Default int maxAttempts = 3;
+
+  /** The backoff ceiling of the first retry, doubled at each retry. 100 milliseconds by default. */
+  @Builder.Default Duration baseDelay = Duration.ofMillis(100);
+
+  /** The maximum backoff ceiling. 2 seconds by default. */
+  @Builder.Default Duration maxDelay = Duration.ofSeconds(2);
+
+  /** @return a policy sending each request only once */
+  public static RetryPolicy none() {
+    return NONE;
+  }
+
+  /**
+   * @param retry the retry number, starting at 1
+   * @param random a random number between 0 inclusive and 1 exclusive
+   * @return the delay to wait before the given retry
+   */
+  public Duration backoff(final int retry, final double random) {
+    final long baseNanos = baseDelay.toNanos();
+    final long maxNanos = maxDelay.toNanos();
+    final int shift = Math.min(retry - 1, 62);
+    final long ceiling =
+        baseNanos > (maxNanos >> shift) ? maxNanos : Math.min(maxNanos, baseNanos << shift);
+    return Duration.ofNanos((long) (ceiling * random));
+  }
+}
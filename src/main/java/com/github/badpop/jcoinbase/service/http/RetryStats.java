@@ -0,0 +1,17 @@
+package com.github.badpop.jcoinbase.service.http;
+
+import lombok.Value;
+
+/** A snapshot of the counters of an {@link HttpRetrier} */
+@Value
+public class RetryStats {
+
+  /** The number of retries sent */
+  long retryCount;
+
+  /** The number of requests that succeeded after at least one retry */
+  long recoveredCount;
+
+  /** The number of requests still failing after their last attempt */
+  long exhaustedCount;
+}
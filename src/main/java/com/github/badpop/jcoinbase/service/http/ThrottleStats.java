@@ -0,0 +1,37 @@
+package com.github.badpop.jcoinbase.service.http;
+
+import io.vavr.collection.Map;
+import lombok.Value;
+
+import java.time.Duration;
+
+/** A snapshot of the counters of a {@link TokenBucket} */
+@Value
+public class ThrottleStats {
+
+  /** The number of permits given, with or without waiting */
+  long acquiredCount;
+
+  /** The number of permits given after a wait */
+  long throttledCount;
+
+  /** The number of non-blocking acquisitions refused because no permit was left */
+  long rejectedCount;
+
+  /** The total time waited for permits */
+  Duration totalWait;
+
+  /** The longest time waited for a permit */
+  Duration maxWait;
+
+  /**
+   * The number of permits by waited time. Each key is the inclusive upper bound of a bucket, the
+   * last one being unbounded.
+   */
+  Map<Duration, Long> waitHistogram;
+
+  /** @return the waited time histogram as a java Map */
+  public java.util.Map<Duration, Long> getWaitHistogramAsJava() {
+    return waitHistogram.toJavaMap(java.util.LinkedHashMap::new, entry -> entry);
+  }
+}
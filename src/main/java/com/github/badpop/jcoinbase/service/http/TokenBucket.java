@@ -0,0 +1,212 @@
+package com.github.badpop.jcoinbase.service.http;
+
+import io.vavr.collection.LinkedHashMap;
+import io.vavr.collection.Map;
+import io.vavr.control.Option;
+
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * A lock-free token bucket, giving at most {@code capacity} permits at once and then one permit
+ * every {@code 1 / permitsPerSecond} second.
+ *
+ * <p>The bucket only holds the theoretical time at which the next permit is free, updated with a
+ * compare-and-set, so no thread ever blocks another one. A permit can be taken :
+ *
+ * <ul>
+ *   <li>without waiting or not at all, with {@link #tryAcquire()}
+ *   <li>blocking until it is free, with {@link #acquire()}
+ *   <li>without blocking, with {@link #acquireAsync(Executor)} completing once it is free
+ * </ul>
+ */
+public class TokenBucket {
+
+  /** The upper bounds of the waited time histogram buckets */
+  private static final Duration[] WAIT_BOUNDS = {
+    Duration.ZERO,
+    Duration.ofMillis(1),
+    Duration.ofMillis(10),
+    Duration.ofMillis(100),
+    Duration.ofSeconds(1),
+    Duration.ofSeconds(10),
+    ChronoUnit.FOREVER.getDuration()
+  };
+
+  /** The longest duration a long number of nanoseconds can hold */
+  private static final Duration MAX_NANOS = Duration.ofNanos(Long.MAX_VALUE);
+
+  private final long intervalNanos;
+  private final long toleranceNanos;
+  private final LongSupplier ticker;
+  private final AtomicLong nextFreeNanos;
+
+  private final AtomicLong acquired = new AtomicLong();
+  private final AtomicLong throttled = new AtomicLong();
+  private final AtomicLong rejected = new AtomicLong();
+  private final AtomicLong totalWaitNanos = new AtomicLong();
+  private final AtomicLong maxWaitNanos = new AtomicLong();
+  private final AtomicLongArray waitCounts = new AtomicLongArray(WAIT_BOUNDS.length);
+
+  /**
+   * @param permitsPerSecond the number of permits given per second once the bucket is empty
+   * @param capacity the maximum number of permits given at once
+   * @throws IllegalArgumentException if the rate is not positive or if the capacity is lower than 1
+   */
+  public TokenBucket(final double permitsPerSecond, final int capacity) {
+    this(permitsPerSecond, capacity, System::nanoTime);
+  }
+
+  TokenBucket(final double permitsPerSecond, final int capacity, final LongSupplier ticker) {
+    if (!(permitsPerSecond > 0)) {
+      throw new IllegalArgumentException("The permits per second must be positive");
+    }
+    if (capacity < 1) {
+      throw new IllegalArgumentException("The capacity must be at least 1");
+    }
+    this.intervalNanos =
+        Double.isInfinite(permitsPerSecond) ? 0 : (long) (1_000_000_000d / permitsPerSecond);
+    this.toleranceNanos = intervalNanos * (capacity - 1);
+    this.ticker = ticker;
+    this.nextFreeNanos = new AtomicLong(ticker.getAsLong());
+  }
+
+  /** @return a bucket always giving permits without waiting, while still counting them */
+  public static TokenBucket unlimited() {
+    return new TokenBucket(Double.POSITIVE_INFINITY, 1);
+  }
+
+  /** @return true if a permit was taken without waiting, false if none is free */
+  public boolean tryAcquire() {
+    while (true) {
+      final long now = ticker.getAsLong();
+      final long current = nextFreeNanos.get();
+      final long start = Math.max(current, now);
+      if (start - now > toleranceNanos) {
+        rejected.incrementAndGet();
+        return false;
+      }
+      if (nextFreeNanos.compareAndSet(current, start + intervalNanos)) {
+        record(0);
+        return true;
+      }
+    }
+  }
+
+  /**
+   * Take a permit, blocking until it is free
+   *
+   * @return the time waited
+   * @throws InterruptedException if interrupted while waiting
+   */
+  public Duration acquire() throws InterruptedException {
+    final Duration wait = reserve();
+    NANOSECONDS.sleep(wait.toNanos());
+    return wait;
+  }
+
+  /**
+   * @param executor the executor completing the future once the permit is free
+   * @return a {@link CompletableFuture} of the time waited, completing once a permit is free
+   */
+  public CompletableFuture<Duration> acquireAsync(final Executor executor) {
+    final Duration wait = reserve();
+    return wait.isZero()
+        ? CompletableFuture.completedFuture(wait)
+        : CompletableFuture.supplyAsync(
+            () -> wait, CompletableFuture.delayedExecutor(wait.toNanos(), NANOSECONDS, executor));
+  }
+
+  /**
+   * Take the next free permit without waiting for it
+   *
+   * @return the time to wait before using the permit
+   */
+  public Duration reserve() {
+    return Duration.ofNanos(reserve(Long.MAX_VALUE));
+  }
+
+  /**
+   * Take the next free permit without waiting for it, unless it is not free within the given time.
+   * In this case, no permit is taken and the next callers do not wait longer.
+   *
+   * @param maxWait the longest acceptable wait
+   * @return an {@link Option} of the time to wait before using the permit, empty if the permit is
+   *     not free within the given time
+   */
+  public Option<Duration> tryReserve(final Duration maxWait) {
+    final long maxWaitNanos = maxWait.compareTo(MAX_NANOS) > 0 ? Long.MAX_VALUE : maxWait.toNanos();
+    final long wait = reserve(maxWaitNanos);
+    return wait < 0 ? Option.none() : Option.some(Duration.ofNanos(wait));
+  }
+
+  /**
+   * Give back a permit taken with {@link #reserve()} or {@link #tryReserve(Duration)} but not used,
+   * for example because the request was cancelled while waiting for it
+   */
+  public void refund() {
+    while (true) {
+      final long now = ticker.getAsLong();
+      final long current = nextFreeNanos.get();
+      if (current <= now
+          || nextFreeNanos.compareAndSet(current, Math.max(now, current - intervalNanos))) {
+        return;
+      }
+    }
+  }
+
+  /** @return a snapshot of the bucket counters */
+  public ThrottleStats getStats() {
+    Map<Duration, Long> histogram = LinkedHashMap.empty();
+    for (int i = 0; i < WAIT_BOUNDS.length; i++) {
+      histogram = histogram.put(WAIT_BOUNDS[i], waitCounts.get(i));
+    }
+    return new ThrottleStats(
+        acquired.get(),
+        throttled.get(),
+        rejected.get(),
+        Duration.ofNanos(totalWaitNanos.get()),
+        Duration.ofNanos(maxWaitNanos.get()),
+        histogram);
+  }
+
+  /** @return the nanoseconds to wait before using the taken permit, -1 if none was taken */
+  private long reserve(final long maxWaitNanos) {
+    while (true) {
+      final long now = ticker.getAsLong();
+      final long current = nextFreeNanos.get();
+      final long start = Math.max(current, now);
+      final long wait = Math.max(0, start - now - toleranceNanos);
+      if (wait > maxWaitNanos) {
+        rejected.incrementAndGet();
+        return -1;
+      }
+      if (nextFreeNanos.compareAndSet(current, start + intervalNanos)) {
+        record(wait);
+        return wait;
+      }
+    }
+  }
+
+  private void record(final long waitNanos) {
+    acquired.incrementAndGet();
+    if (waitNanos > 0) {
+      throttled.incrementAndGet();
+      totalWaitNanos.addAndGet(waitNanos);
+      maxWaitNanos.accumulateAndGet(waitNanos, Math::max);
+    }
+    final Duration wait = Duration.ofNanos(waitNanos);
+    int bound = 0;
+    while (WAIT_BOUNDS[bound].compareTo(wait) < 0) {
+      bound++;
+    }
+    waitCounts.incrementAndGet(bound);
+  }
+}
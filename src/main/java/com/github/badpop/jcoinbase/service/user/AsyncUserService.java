@@ -0,0 +1,160 @@
+package com.github.badpop.jcoinbase.service.user;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.github.badpop.jcoinbase.JCoinbaseClient;
+import com.github.badpop.jcoinbase.control.CallResult;
+import com.github.badpop.jcoinbase.exception.JCoinbaseException;
+import com.github.badpop.jcoinbase.model.CoinbaseError;
+import com.github.badpop.jcoinbase.model.request.UpdateCurrentUserRequest;
+import com.github.badpop.jcoinbase.model.user.Authorizations;
+import com.github.badpop.jcoinbase.model.user.User;
+import com.github.badpop.jcoinbase.service.ErrorManagerService;
+import com.github.badpop.jcoinbase.service.auth.AuthenticationService;
+import io.vavr.collection.Seq;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * This service allows you to request coinbase users and current user data without blocking the
+ * calling thread. It offers the same methods as the {@link UserService} but each of them returns a
+ * {@link CompletableFuture}. <strong>To properly use this service, you must provide an API Key and
+ * an API secret when building a JCoinbaseClient instance.</strong>
+ *
+ * <p>The returned futures complete with the same {@link CallResult} as their blocking
+ * counterparts. On unknown errors, they complete exceptionally with a {@link JCoinbaseException}.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class AsyncUserService {
+
+  private final JCoinbaseClient client;
+  private final CoinbaseUserService service;
+  private final AuthenticationService authentication;
+
+  /**
+   * Get the current user data based on the provided coinbase API Key.
+   *
+   * @return a {@link CompletableFuture} of a {@link CallResult} containing a {@link User} object
+   *     if it's ok, a List of {@link CoinbaseError} otherwise.
+   */
+  public CompletableFuture<CallResult<java.util.List<CoinbaseError>, User>> getCurrentUserAsJava() {
+    return getCurrentUser().thenApply(callResult -> callResult.mapFailure(Seq::asJava));
+  }
+
+  /**
+   * Get the current user data based on the provided coinbase API Key.
+   *
+   * @return a {@link CompletableFuture} of a {@link CallResult} containing a {@link User} object
+   *     if it's ok, a Seq of {@link CoinbaseError} otherwise.
+   */
+  public CompletableFuture<CallResult<Seq<CoinbaseError>, User>> getCurrentUser() {
+    return ErrorManagerService.manageOnAsyncError(
+        service
+            .fetchCurrentUserAsync(client, authentication)
+            .thenApply(
+                user -> {
+                  log.info("Successfully fetch current user.");
+                  return user;
+                }),
+        "An error occurred while fetching current user");
+  }
+
+  /**
+   * Get current user’s authorization information including granted scopes
+   *
+   * @return a {@link CompletableFuture} of a {@link CallResult} containing an {@link
+   *     Authorizations} object if it's ok, a List of {@link CoinbaseError} otherwise.
+   */
+  public CompletableFuture<CallResult<java.util.List<CoinbaseError>, Authorizations>>
+      getAuthorizationsAsJava() {
+    return getAuthorizations().thenApply(callResult -> callResult.mapFailure(Seq::asJava));
+  }
+
+  /**
+   * Get current user’s authorization information including granted scopes
+   *
+   * @return a {@link CompletableFuture} of a {@link CallResult} containing an {@link
+   *     Authorizations} object if it's ok, a Seq of {@link CoinbaseError} otherwise.
+   */
+  public CompletableFuture<CallResult<Seq<CoinbaseError>, Authorizations>> getAuthorizations() {
+    return ErrorManagerService.manageOnAsyncError(
+        service
+            .fetchAuthorizationsAsync(client, authentication)
+            .thenApply(
+                authorizations -> {
+                  log.info("Successfully fetch current user authorizations.");
+                  return authorizations;
+                }),
+        "An error occurred while fetching current user authorizations");
+  }
+
+  /**
+   * Get any user’s public information with their ID.
+   *
+   * @param userId the user's id
+   * @return a {@link CompletableFuture} of a {@link CallResult} containing an {@link User} object
+   *     if it's ok, a List of {@link CoinbaseError} otherwise.
+   */
+  public CompletableFuture<CallResult<java.util.List<CoinbaseError>, User>> getUserByIdAsJava(
+      final String userId) {
+    return getUserById(userId).thenApply(callResult -> callResult.mapFailure(Seq::asJava));
+  }
+
+  /**
+   * Get any user’s public information with their ID.
+   *
+   * @param userId the user's id
+   * @return a {@link CompletableFuture} of a {@link CallResult} containing an {@link User} object
+   *     if it's ok, a Seq of {@link CoinbaseError} otherwise.
+   */
+  public CompletableFuture<CallResult<Seq<CoinbaseError>, User>> getUserById(final String userId) {
+    return ErrorManagerService.manageOnAsyncError(
+        service
+            .fetchUserByIdAsync(client, authentication, userId)
+            .thenApply(
+                user -> {
+                  log.info("Successfully fetch user by id with id {}", userId);
+                  return user;
+                }),
+        "An error occurred while fetching user by id with the given id {}",
+        userId);
+  }
+
+  /**
+   * Modify current user and their preferences.
+   *
+   * @param request the changes to apply on the current user
+   * @return a {@link CompletableFuture} of a {@link CallResult} containing an {@link User} object
+   *     if it's ok, a List of {@link CoinbaseError} otherwise.
+   */
+  public CompletableFuture<CallResult<java.util.List<CoinbaseError>, User>> updateCurrentUserAsJava(
+      final UpdateCurrentUserRequest request) {
+    return updateCurrentUser(request).thenApply(callResult -> callResult.mapFailure(Seq::asJava));
+  }
+
+  /**
+   * Modify current user and their preferences.
+   *
+   * <p>If the request can not be serialized to json, the returned future completes exceptionally
+   * with a {@link JCoinbaseException} caused by a {@link JsonProcessingException}.
+   *
+   * @param request the changes to apply on the current user
+   * @return a {@link CompletableFuture} of a {@link CallResult} containing an {@link User} object
+   *     if it's ok, a Seq of {@link CoinbaseError} otherwise.
+   */
+  public CompletableFuture<CallResult<Seq<CoinbaseError>, User>> updateCurrentUser(
+      final UpdateCurrentUserRequest request) {
+    return ErrorManagerService.manageOnAsyncError(
+        service
+            .updateCurrentUserAsync(client, authentication, request)
+            .thenApply(
+                user -> {
+                  log.info("Successfully updated the current user");
+                  return user;
+                }),
+        "An error occurred while updating the current user with this request {}",
+        request);
+  }
+}
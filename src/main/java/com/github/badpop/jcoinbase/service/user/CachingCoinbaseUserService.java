@@ -0,0 +1,115 @@
+package com.github.badpop.jcoinbase.service.user;
+
+import com.github.badpop.jcoinbase.JCoinbaseClient;
+import com.github.badpop.jcoinbase.control.CallResult;
+import com.github.badpop.jcoinbase.model.CoinbaseError;
+import com.github.badpop.jcoinbase.model.request.UpdateCurrentUserRequest;
+import com.github.badpop.jcoinbase.model.user.Authorizations;
+import com.github.badpop.jcoinbase.model.user.User;
+import com.github.badpop.jcoinbase.service.auth.AuthenticationService;
+import com.github.badpop.jcoinbase.service.cache.TtlCache;
+import io.vavr.collection.Seq;
+import io.vavr.control.Try;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A {@link CoinbaseUserService} keeping the current user and its authorizations in a {@link
+ * TtlCache}, since they only change when the current user is updated.
+ *
+ * <p>The current user is replaced by the response of each successful update, and removed from the
+ * cache if an update fails, since it may have been updated anyway. Failures are never cached. The
+ * counters of each cache tell how many requests were saved.
+ */
+public class CachingCoinbaseUserService extends CoinbaseUserService {
+
+  private static final String CURRENT_USER_KEY = "current-user";
+
+  @Getter private final TtlCache<String, CallResult<Seq<CoinbaseError>, User>> currentUserCache;
+
+  @Getter
+  private final TtlCache<String, CallResult<Seq<CoinbaseError>, Authorizations>>
+      authorizationsCache;
+
+  /** @param ttl the time to live of the current user and of its authorizations */
+  public CachingCoinbaseUserService(final Duration ttl) {
+    this.currentUserCache = new TtlCache<>(ttl, 1, CallResult::isSuccess);
+    this.authorizationsCache = new TtlCache<>(ttl, 1, CallResult::isSuccess);
+  }
+
+  /** Remove the current user and its authorizations from the cache */
+  public void invalidateAll() {
+    currentUserCache.invalidateAll();
+    authorizationsCache.invalidateAll();
+  }
+
+  @Override
+  protected Try<CallResult<Seq<CoinbaseError>, User>> fetchCurrentUser(
+      final JCoinbaseClient client, final AuthenticationService authentication) {
+    return Try.of(
+        () ->
+            currentUserCache.get(
+                CURRENT_USER_KEY, () -> super.fetchCurrentUser(client, authentication).get()));
+  }
+
+  @Override
+  protected CompletableFuture<CallResult<Seq<CoinbaseError>, User>> fetchCurrentUserAsync(
+      final JCoinbaseClient client, final AuthenticationService authentication) {
+    return currentUserCache.getAsync(
+        CURRENT_USER_KEY, () -> super.fetchCurrentUserAsync(client, authentication));
+  }
+
+  @Override
+  protected Try<CallResult<Seq<CoinbaseError>, Authorizations>> fetchAuthorizations(
+      final JCoinbaseClient client, final AuthenticationService authentication) {
+    return Try.of(
+        () ->
+            authorizationsCache.get(
+                CURRENT_USER_KEY, () -> super.fetchAuthorizations(client, authentication).get()));
+  }
+
+  @Override
+  protected CompletableFuture<CallResult<Seq<CoinbaseError>, Authorizations>>
+      fetchAuthorizationsAsync(
+          final JCoinbaseClient client, final AuthenticationService authentication) {
+    return authorizationsCache.getAsync(
+        CURRENT_USER_KEY, () -> super.fetchAuthorizationsAsync(client, authentication));
+  }
+
+  @Override
+  protected Try<CallResult<Seq<CoinbaseError>, User>> updateCurrentUser(
+      final JCoinbaseClient client,
+      final AuthenticationService authentication,
+      final UpdateCurrentUserRequest request) {
+    return super.updateCurrentUser(client, authentication, request)
+        .onSuccess(this::store)
+        .onFailure(throwable -> currentUserCache.invalidateAll());
+  }
+
+  @Override
+  protected CompletableFuture<CallResult<Seq<CoinbaseError>, User>> updateCurrentUserAsync(
+      final JCoinbaseClient client,
+      final AuthenticationService authentication,
+      final UpdateCurrentUserRequest request) {
+    return super.updateCurrentUserAsync(client, authentication, request)
+        .whenComplete(
+            (user, throwable) -> {
+              if (throwable == null) {
+                store(user);
+              } else {
+                currentUserCache.invalidateAll();
+              }
+            });
+  }
+
+  /** Keep the updated user, or forget the current user if the update was refused */
+  private void store(final CallResult<Seq<CoinbaseError>, User> user) {
+    if (user.isSuccess()) {
+      currentUserCache.put(CURRENT_USER_KEY, user);
+    } else {
+      currentUserCache.invalidateAll();
+    }
+  }
+}
@@ -1,6 +1,5 @@
 package com.github.badpop.jcoinbase.service.user;
 
-import com.fasterxml.jackson.core.type.TypeReference;
 import com.github.badpop.jcoinbase.JCoinbaseClient;
 import com.github.badpop.jcoinbase.JCoinbaseProperties;
 import com.github.badpop.jcoinbase.control.CallResult;
@@ -9,9 +8,9 @@ import com.github.badpop.jcoinbase.model.request.UpdateCurrentUserRequest;
 import com.github.badpop.jcoinbase.model.user.Authorizations;
 import com.github.badpop.jcoinbase.model.user.User;
 import com.github.badpop.jcoinbase.service.auth.AuthenticationService;
+import com.github.badpop.jcoinbase.service.cache.SingleFlight;
 import com.github.badpop.jcoinbase.service.dto.DataDto;
 import com.github.badpop.jcoinbase.service.http.HttpRequestSender;
-import com.github.badpop.jcoinbase.service.user.dto.AuthorizationsDto;
 import com.github.badpop.jcoinbase.service.user.dto.UserDto;
 import io.vavr.Tuple2;
 import io.vavr.collection.Seq;
@@ -21,11 +20,24 @@ import lombok.val;
 import java.net.URI;
 import java.net.http.HttpRequest;
 import java.net.http.HttpRequest.BodyPublishers;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
+import static com.github.badpop.jcoinbase.service.auth.Scope.USER_READ;
+import static com.github.badpop.jcoinbase.service.auth.Scope.USER_UPDATE;
+import static com.github.badpop.jcoinbase.service.http.EndpointFamily.USER;
 import static io.vavr.API.Tuple;
 
 public class CoinbaseUserService {
 
+  /** The GET requests in flight by method and path, shared by their concurrent callers */
+  private final SingleFlight<String, CallResult<Seq<CoinbaseError>, User>> userFlights =
+      new SingleFlight<>();
+
+  private final SingleFlight<String, CallResult<Seq<CoinbaseError>, Authorizations>>
+      authorizationsFlights = new SingleFlight<>();
+
   private static String[] getHeaders(
       final AuthenticationService authenticationService,
       final JCoinbaseClient client,
@@ -38,87 +50,223 @@ public class CoinbaseUserService {
 
   protected Try<CallResult<Seq<CoinbaseError>, User>> fetchCurrentUser(
       final JCoinbaseClient client, final AuthenticationService authentication) {
-    val request =
-        HttpRequest.newBuilder()
-            .GET()
-            .uri(
-                URI.create(
-                    client.getProperties().getApiUrl() + client.getProperties().getUserPath()))
-            .headers(
-                getHeaders(authentication, client, "GET", client.getProperties().getUserPath(), ""))
-            .build();
-
-    return HttpRequestSender.send(
-            client.getHttpClient(),
-            request,
-            client.getJsonSerDes(),
-            new TypeReference<DataDto<UserDto>>() {})
-        .mapTry(callResult -> callResult.map(data -> data.getData().toUser()));
+    return client
+        .getScopeGuard()
+        .guard(
+            USER_READ,
+            () ->
+                coalesce(
+                    userFlights,
+                    client.getProperties().getUserPath(),
+                    () ->
+                        HttpRequestSender.send(
+                                client,
+                                USER,
+                                () -> buildCurrentUserRequest(client, authentication),
+                                client.getJsonReaders().getUser(),
+                                client.getJsonReaders().getErrors())
+                            .mapTry(
+                                callResult -> callResult.map(data -> data.getData().toUser()))));
   }
 
-  protected Try<CallResult<Seq<CoinbaseError>, Authorizations>> fetchAuthorizations(
+  protected CompletableFuture<CallResult<Seq<CoinbaseError>, User>> fetchCurrentUserAsync(
       final JCoinbaseClient client, final AuthenticationService authentication) {
+    return client
+        .getScopeGuard()
+        .guardAsync(
+            USER_READ,
+            () ->
+                userFlights.executeAsync(
+                    "GET " + client.getProperties().getUserPath(),
+                    () ->
+                        HttpRequestSender.sendAsync(
+                                client,
+                                USER,
+                                () -> buildCurrentUserRequest(client, authentication),
+                                client.getJsonReaders().getUser(),
+                                client.getJsonReaders().getErrors())
+                            .thenApply(
+                                callResult -> callResult.map(data -> data.getData().toUser()))));
+  }
 
-    val request =
-        HttpRequest.newBuilder()
-            .GET()
-            .uri(
-                URI.create(
-                    client.getProperties().getApiUrl()
-                        + client.getProperties().getCurrentUserAuthorizationsPath()))
-            .headers(
-                getHeaders(
-                    authentication,
-                    client,
-                    "GET",
-                    client.getProperties().getCurrentUserAuthorizationsPath(),
-                    ""))
-            .build();
+  protected Try<CallResult<Seq<CoinbaseError>, Authorizations>> fetchAuthorizations(
+      final JCoinbaseClient client, final AuthenticationService authentication) {
+    return coalesce(
+            authorizationsFlights,
+            client.getProperties().getCurrentUserAuthorizationsPath(),
+            () ->
+                HttpRequestSender.send(
+                        client,
+                        USER,
+                        () -> buildAuthorizationsRequest(client, authentication),
+                        client.getJsonReaders().getAuthorizations(),
+                        client.getJsonReaders().getErrors())
+                    .mapTry(
+                        callResult -> callResult.map(data -> data.getData().toAuthorizations())))
+        .peek(callResult -> callResult.peek(client.getScopeGuard()::update));
+  }
 
-    return HttpRequestSender.send(
-            client.getHttpClient(),
-            request,
-            client.getJsonSerDes(),
-            new TypeReference<DataDto<AuthorizationsDto>>() {})
-        .mapTry(callResult -> callResult.map(data -> data.getData().toAuthorizations()));
+  protected CompletableFuture<CallResult<Seq<CoinbaseError>, Authorizations>>
+      fetchAuthorizationsAsync(
+          final JCoinbaseClient client, final AuthenticationService authentication) {
+    return authorizationsFlights
+        .executeAsync(
+            "GET " + client.getProperties().getCurrentUserAuthorizationsPath(),
+            () ->
+                HttpRequestSender.sendAsync(
+                        client,
+                        USER,
+                        () -> buildAuthorizationsRequest(client, authentication),
+                        client.getJsonReaders().getAuthorizations(),
+                        client.getJsonReaders().getErrors())
+                    .thenApply(
+                        callResult -> callResult.map(data -> data.getData().toAuthorizations())))
+        .thenApply(
+            callResult -> {
+              callResult.peek(client.getScopeGuard()::update);
+              return callResult;
+            });
   }
 
   protected Try<CallResult<Seq<CoinbaseError>, User>> fetchUserById(
       final JCoinbaseClient client,
       final AuthenticationService authentication,
       final String userId) {
+    return coalesce(
+        userFlights,
+        buildFetchUserByIdUriAndPath(client.getProperties(), userId)._2,
+        () ->
+            HttpRequestSender.send(
+                    client,
+                    USER,
+                    () -> buildUserByIdRequest(client, authentication, userId),
+                    client.getJsonReaders().getUser(),
+                    client.getJsonReaders().getErrors())
+                .mapTry(callResult -> callResult.map(data -> data.getData().toUser())));
+  }
 
-    val tupleUriPath = buildFetchUserByIdUriAndPath(client.getProperties(), userId);
+  protected CompletableFuture<CallResult<Seq<CoinbaseError>, User>> fetchUserByIdAsync(
+      final JCoinbaseClient client,
+      final AuthenticationService authentication,
+      final String userId) {
+    return userFlights.executeAsync(
+        "GET " + buildFetchUserByIdUriAndPath(client.getProperties(), userId)._2,
+        () ->
+            HttpRequestSender.sendAsync(
+                    client,
+                    USER,
+                    () -> buildUserByIdRequest(client, authentication, userId),
+                    client.getJsonReaders().getUser(),
+                    client.getJsonReaders().getErrors())
+                .thenApply(callResult -> callResult.map(data -> data.getData().toUser())));
+  }
 
-    val request =
-        HttpRequest.newBuilder()
-            .GET()
-            .uri(tupleUriPath._1)
-            .headers(getHeaders(authentication, client, "GET", tupleUriPath._2, ""))
-            .build();
+  protected Try<CallResult<Seq<CoinbaseError>, User>> updateCurrentUser(
+      final JCoinbaseClient client,
+      final AuthenticationService authentication,
+      final UpdateCurrentUserRequest request) {
 
-    return HttpRequestSender.send(
-            client.getHttpClient(),
-            request,
-            client.getJsonSerDes(),
-            new TypeReference<DataDto<UserDto>>() {})
-        .mapTry(callResult -> callResult.map(data -> data.getData().toUser()));
+    return client
+        .getScopeGuard()
+        .guard(
+            USER_UPDATE,
+            () ->
+                serialize(client, request)
+                    .flatMapTry(
+                        body ->
+                            HttpRequestSender.send(
+                                client,
+                                USER,
+                                () -> buildUpdateCurrentUserRequest(client, authentication, body),
+                                client.getJsonReaders().getUser(),
+                                client.getJsonReaders().getErrors()))
+                    .mapTry(callResult -> callResult.map(data -> data.getData().toUser())));
   }
 
-  protected Try<CallResult<Seq<CoinbaseError>, User>> updateCurrentUser(
+  protected CompletableFuture<CallResult<Seq<CoinbaseError>, User>> updateCurrentUserAsync(
       final JCoinbaseClient client,
       final AuthenticationService authentication,
       final UpdateCurrentUserRequest request) {
 
-    return buildUpdateCurrentUserHttpRequest(client, authentication, request)
-        .flatMapTry(
-            httpRequest ->
-                HttpRequestSender.send(
-                    client.getHttpClient(),
-                    httpRequest,
-                    client.getJsonSerDes(),
-                    new TypeReference<DataDto<UserDto>>() {}))
-        .mapTry(callResult -> callResult.map(data -> data.getData().toUser()));
+    return client
+        .getScopeGuard()
+        .guardAsync(
+            USER_UPDATE,
+            () ->
+                serialize(client, request)
+                    .fold(
+                        CompletableFuture
+                            ::<CallResult<Seq<CoinbaseError>, DataDto<UserDto>>>failedFuture,
+                        body ->
+                            HttpRequestSender.sendAsync(
+                                client,
+                                USER,
+                                () -> buildUpdateCurrentUserRequest(client, authentication, body),
+                                client.getJsonReaders().getUser(),
+                                client.getJsonReaders().getErrors()))
+                    .thenApply(callResult -> callResult.map(data -> data.getData().toUser())));
+  }
+
+  /**
+   * Send a GET request, or wait for the result of the identical one in flight
+   *
+   * @param flights the requests in flight
+   * @param path the path of the request
+   * @param send the function sending the request
+   */
+  private <T> Try<CallResult<Seq<CoinbaseError>, T>> coalesce(
+      final SingleFlight<String, CallResult<Seq<CoinbaseError>, T>> flights,
+      final String path,
+      final Supplier<Try<CallResult<Seq<CoinbaseError>, T>>> send) {
+    return Try.of(() -> flights.execute("GET " + path, () -> send.get().get()));
+  }
+
+  private HttpRequest buildCurrentUserRequest(
+      final JCoinbaseClient client, final AuthenticationService authentication) {
+    return HttpRequest.newBuilder()
+        .GET()
+        .timeout(timeout(client))
+        .uri(URI.create(client.getProperties().getApiUrl() + client.getProperties().getUserPath()))
+        .headers(
+            getHeaders(authentication, client, "GET", client.getProperties().getUserPath(), ""))
+        .build();
+  }
+
+  private HttpRequest buildAuthorizationsRequest(
+      final JCoinbaseClient client, final AuthenticationService authentication) {
+    return HttpRequest.newBuilder()
+        .GET()
+        .timeout(timeout(client))
+        .uri(
+            URI.create(
+                client.getProperties().getApiUrl()
+                    + client.getProperties().getCurrentUserAuthorizationsPath()))
+        .headers(
+            getHeaders(
+                authentication,
+                client,
+                "GET",
+                client.getProperties().getCurrentUserAuthorizationsPath(),
+                ""))
+        .build();
+  }
+
+  private HttpRequest buildUserByIdRequest(
+      final JCoinbaseClient client,
+      final AuthenticationService authentication,
+      final String userId) {
+    val tupleUriPath = buildFetchUserByIdUriAndPath(client.getProperties(), userId);
+
+    return HttpRequest.newBuilder()
+        .GET()
+        .timeout(timeout(client))
+        .uri(tupleUriPath._1)
+        .headers(getHeaders(authentication, client, "GET", tupleUriPath._2, ""))
+        .build();
+  }
+
+  private Duration timeout(final JCoinbaseClient client) {
+    return client.getOptions().getRequestTimeout(USER);
   }
 
   private Tuple2<URI, String> buildFetchUserByIdUriAndPath(
@@ -129,27 +277,19 @@ public class CoinbaseUserService {
         properties.getUsersPath() + "/" + userId);
   }
 
-  private Try<HttpRequest> buildUpdateCurrentUserHttpRequest(
-      final JCoinbaseClient client,
-      final AuthenticationService authentication,
-      final UpdateCurrentUserRequest request) {
+  private Try<String> serialize(
+      final JCoinbaseClient client, final UpdateCurrentUserRequest request) {
+    return Try.of(() -> client.getJsonSerDes().writeValueAsString(request));
+  }
 
-    return Try.of(() -> client.getJsonSerDes().writeValueAsString(request))
-        .mapTry(
-            bodyAsString ->
-                HttpRequest.newBuilder()
-                    .PUT(BodyPublishers.ofString(bodyAsString))
-                    .uri(
-                        URI.create(
-                            client.getProperties().getApiUrl()
-                                + client.getProperties().getUserPath()))
-                    .headers(
-                        getHeaders(
-                            authentication,
-                            client,
-                            "PUT",
-                            client.getProperties().getUserPath(),
-                            bodyAsString))
-                    .build());
+  private HttpRequest buildUpdateCurrentUserRequest(
+      final JCoinbaseClient client, final AuthenticationService authentication, final String body) {
+    return HttpRequest.newBuilder()
+        .PUT(BodyPublishers.ofString(body))
+        .timeout(timeout(client))
+        .uri(URI.create(client.getProperties().getApiUrl() + client.getProperties().getUserPath()))
+        .headers(
+            getHeaders(authentication, client, "PUT", client.getProperties().getUserPath(), body))
+        .build();
   }
 }
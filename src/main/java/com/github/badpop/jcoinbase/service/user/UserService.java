@@ -51,10 +51,8 @@ public class UserService {
         .onSuccess(user -> log.info("Successfully fetch current user."))
         .onFailure(
             throwable ->
-                ErrorManagerService.manageOnError(
-                    new JCoinbaseException(throwable),
-                    "An error occurred while fetching current user",
-                    throwable))
+                ErrorManagerService.manageOnFailure(
+                    throwable, "An error occurred while fetching current user"))
         .get();
   }
 
@@ -82,10 +80,8 @@ public class UserService {
         .onSuccess(user -> log.info("Successfully fetch current user."))
         .onFailure(
             throwable ->
-                ErrorManagerService.manageOnError(
-                    new JCoinbaseException(throwable),
-                    "An error occurred while fetching current user",
-                    throwable))
+                ErrorManagerService.manageOnFailure(
+                    throwable, "An error occurred while fetching current user"))
         .get();
   }
 
@@ -113,10 +109,9 @@ public class UserService {
         .onSuccess(user -> log.info("Successfully fetch user by id with id {}", userId))
         .onFailure(
             throwable ->
-                ErrorManagerService.manageOnError(
-                    new JCoinbaseException(throwable),
-                    "An error occurred while fetching user by id with the given id {}",
+                ErrorManagerService.manageOnFailure(
                     throwable,
+                    "An error occurred while fetching user by id with the given id {}",
                     userId))
         .get();
   }
@@ -156,13 +151,20 @@ public class UserService {
                     jsonProcessingExc,
                     request))
         .onFailure(
-            throwable ->
-                ErrorManagerService.manageOnError(
-                    new JCoinbaseException(
-                        "An error occurred while updating the current user", throwable),
-                    "An error occurred while updating the current user with this request {}",
+            throwable -> {
+              if (ErrorManagerService.isRejection(throwable)) {
+                ErrorManagerService.manageOnFailure(
                     throwable,
-                    request))
+                    "An error occurred while updating the current user with this request {}",
+                    request);
+              }
+              ErrorManagerService.manageOnError(
+                  new JCoinbaseException(
+                      "An error occurred while updating the current user", throwable),
+                  "An error occurred while updating the current user with this request {}",
+                  throwable,
+                  request);
+            })
         .get();
   }
 }
@@ -0,0 +1,122 @@
+package com.github.badpop.jcoinbase.service.utils;
+
+import com.github.badpop.jcoinbase.exception.InvalidRequestException;
+import com.github.badpop.jcoinbase.service.ErrorManagerService;
+import io.vavr.collection.LinkedHashMap;
+import io.vavr.collection.Map;
+import io.vavr.collection.Vector;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+
+/** Utility interface giving access to methods running many asynchronous calls together */
+public interface ConcurrencyUtils {
+
+  /** The message of the exception thrown for a concurrency lower than 1 */
+  String INVALID_CONCURRENCY_MESSAGE = "Please provide a concurrency of at least 1 request";
+
+  /**
+   * Check the given maximum number of calls running at the same time
+   *
+   * @param concurrency the concurrency to check
+   * @throws InvalidRequestException if the concurrency is lower than 1
+   */
+  static void checkConcurrency(final int concurrency) {
+    if (concurrency < 1) {
+      ErrorManagerService.manageOnError(
+          new InvalidRequestException(INVALID_CONCURRENCY_MESSAGE), INVALID_CONCURRENCY_MESSAGE);
+    }
+  }
+
+  /**
+   * Call the given function for each key, with at most {@code concurrency} calls running at the
+   * same time. A new call is started each time a running one completes.
+   *
+   * <p>If a call fails, no new call is started and the returned future immediately completes
+   * exceptionally with the same cause, without waiting for the running calls. Handle the failures
+   * in the given function to get a value for every key.
+   *
+   * @param keys the keys to call the function with. Duplicated keys are called once.
+   * @param concurrency the maximum number of calls running at the same time
+   * @param call the asynchronous function to call for each key
+   * @param <K> the key type
+   * @param <V> the value type
+   * @return a {@link CompletableFuture} of a {@link Map} of the values by key, in the keys order
+   * @throws InvalidRequestException if the concurrency is lower than 1
+   */
+  static <K, V> CompletableFuture<Map<K, V>> traverse(
+      final Iterable<? extends K> keys,
+      final int concurrency,
+      final Function<? super K, ? extends CompletableFuture<? extends V>> call) {
+    checkConcurrency(concurrency);
+
+    final Vector<K> distinctKeys = Vector.<K>ofAll(keys).distinct();
+    final int size = distinctKeys.size();
+    final AtomicReferenceArray<V> values = new AtomicReferenceArray<>(size);
+    final AtomicInteger next = new AtomicInteger();
+    final AtomicInteger remaining = new AtomicInteger(size);
+    final CompletableFuture<Map<K, V>> result = new CompletableFuture<>();
+
+    /* Start the calls one after the other until one does not complete immediately */
+    final class Worker implements Runnable {
+      @Override
+      public void run() {
+        int index;
+        while (!result.isDone() && (index = next.getAndIncrement()) < size) {
+          CompletableFuture<? extends V> future;
+          try {
+            future = call.apply(distinctKeys.get(index));
+          } catch (RuntimeException e) {
+            future = CompletableFuture.failedFuture(e);
+          }
+
+          final int current = index;
+          if (!future.isDone()) {
+            future.whenComplete(
+                (value, throwable) -> {
+                  if (onComplete(current, value, throwable)) {
+                    run();
+                  }
+                });
+            return;
+          }
+          final V value;
+          try {
+            value = future.join();
+          } catch (RuntimeException e) {
+            onComplete(current, null, e);
+            return;
+          }
+          onComplete(current, value, null);
+        }
+      }
+
+      /** @return true if the next calls can be started */
+      private boolean onComplete(final int index, final V value, final Throwable throwable) {
+        if (throwable != null) {
+          result.completeExceptionally(throwable);
+          return false;
+        }
+        values.set(index, value);
+        if (remaining.decrementAndGet() == 0) {
+          result.complete(
+              distinctKeys
+                  .zipWithIndex()
+                  .foldLeft(
+                      LinkedHashMap.empty(), (map, key) -> map.put(key._1, values.get(key._2))));
+        }
+        return true;
+      }
+    }
+
+    if (size == 0) {
+      result.complete(LinkedHashMap.empty());
+    }
+    for (int i = 0; i < Math.min(concurrency, size); i++) {
+      new Worker().run();
+    }
+    return result;
+  }
+}
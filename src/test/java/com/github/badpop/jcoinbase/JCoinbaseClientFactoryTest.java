@@ -7,6 +7,7 @@ import java.time.Duration;
 
 import static java.time.temporal.ChronoUnit.SECONDS;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 
 class JCoinbaseClientFactoryTest {
 
@@ -81,4 +82,132 @@ class JCoinbaseClientFactoryTest {
     assertThat(actualBuildTS.connectTimeout()).contains(Duration.of(defaultTimeout, SECONDS));
     assertThat(actualBuildNTS.connectTimeout()).contains(Duration.of(defaultTimeout, SECONDS));
   }
+
+  @Test
+  void should_build_with_options() {
+    val options =
+        JCoinbaseOptions.builder()
+            .clockSynchronization(true)
+            .clockSynchronizationPeriod(Duration.ofHours(1))
+            .build();
+
+    try (val actual =
+        JCoinbaseClientFactory.build(
+            "loremIpsum", "dolorSitAmet", "2021-02-03", 3, false, options)) {
+      assertThat(actual.getClockSynchronizer().isStarted()).isTrue();
+    }
+  }
+
+  @Test
+  void should_not_build_with_null_options() {
+    assertThatExceptionOfType(NullPointerException.class)
+        .isThrownBy(
+            () ->
+                JCoinbaseClientFactory.build(
+                    "loremIpsum", "dolorSitAmet", "2021-02-03", 3, false, null));
+  }
+
+  @Test
+  void should_share_the_runtime_between_clients() {
+    try (val runtime = JCoinbaseRuntime.create(3)) {
+      val first = JCoinbaseClientFactory.build("firstKey", "firstSecret", "2021-02-03", runtime);
+      val second = JCoinbaseClientFactory.build("secondKey", "secondSecret", "2021-02-03", runtime);
+
+      assertThat(first).isNotSameAs(second);
+      assertThat(first.getRuntime()).isSameAs(runtime);
+      assertThat(first.getHttpClient()).isSameAs(runtime.getHttpClient());
+      assertThat(second.getHttpClient()).isSameAs(runtime.getHttpClient());
+      assertThat(first.getJsonSerDes()).isSameAs(second.getJsonSerDes());
+      assertThat(first.getJsonReaders()).isSameAs(second.getJsonReaders());
+      assertThat(first.getProperties()).isNotSameAs(second.getProperties());
+      assertThat(first.getProperties().getApiKey()).contains("firstKey");
+      assertThat(second.getProperties().getApiKey()).contains("secondKey");
+      assertThat(first.getAuthService()).isNotSameAs(second.getAuthService());
+      assertThat(first.getCircuitBreakers()).isNotSameAs(second.getCircuitBreakers());
+    }
+  }
+
+  @Test
+  void should_share_the_clock_synchronization_between_the_clients_of_a_runtime() {
+    val options =
+        JCoinbaseOptions.builder()
+            .clockSynchronization(true)
+            .clockSynchronizationPeriod(Duration.ofHours(1))
+            .build();
+    val runtime = JCoinbaseRuntime.create(3);
+    val first =
+        JCoinbaseClientFactory.build("firstKey", "firstSecret", "2021-02-03", runtime, options);
+    val second =
+        JCoinbaseClientFactory.build("secondKey", "secondSecret", "2021-02-03", runtime, options);
+
+    first.close();
+
+    assertThat(second.getClockSynchronizer()).isSameAs(first.getClockSynchronizer());
+    assertThat(second.getClockSynchronizer().isStarted()).isTrue();
+
+    runtime.close();
+
+    assertThat(second.getClockSynchronizer().isStarted()).isFalse();
+  }
+
+  @Test
+  void should_build_a_runtime_per_client_without_runtime() {
+    val first = JCoinbaseClientFactory.build("loremIpsum", "dolorSitAmet", "2021-02-03", 3, false);
+    val second = JCoinbaseClientFactory.build("loremIpsum", "dolorSitAmet", "2021-02-03", 3, false);
+
+    assertThat(first.getRuntime()).isNotSameAs(second.getRuntime());
+    assertThat(first.getHttpClient()).isSameAs(first.getRuntime().getHttpClient());
+  }
+
+  @Test
+  void should_not_build_with_null_runtime() {
+    assertThatExceptionOfType(NullPointerException.class)
+        .isThrownBy(
+            () -> JCoinbaseClientFactory.build("loremIpsum", "dolorSitAmet", "2021-02-03", null));
+  }
+
+  @Test
+  void should_not_build_with_closed_runtime() {
+    val runtime = JCoinbaseRuntime.create(3);
+    runtime.close();
+
+    assertThatExceptionOfType(IllegalStateException.class)
+        .isThrownBy(
+            () ->
+                JCoinbaseClientFactory.build("loremIpsum", "dolorSitAmet", "2021-02-03", runtime));
+  }
+
+  @Test
+  void should_close_the_runtime_built_for_the_client() {
+    val client = JCoinbaseClientFactory.build("loremIpsum", "dolorSitAmet", "2021-02-03", 3, false);
+
+    client.close();
+
+    assertThat(client.isClosed()).isTrue();
+    assertThat(client.getRuntime().isClosed()).isTrue();
+  }
+
+  @Test
+  void should_not_close_the_runtime_given_to_the_client() {
+    try (val runtime = JCoinbaseRuntime.create(3)) {
+      val client =
+          JCoinbaseClientFactory.build("loremIpsum", "dolorSitAmet", "2021-02-03", runtime);
+
+      client.close();
+
+      assertThat(client.isClosed()).isTrue();
+      assertThat(runtime.isClosed()).isFalse();
+    }
+  }
+
+  @Test
+  void should_replace_a_closed_thread_safe_singleton() {
+    val closed = JCoinbaseClientFactory.build("loremIpsum", "dolorSitAmet", "2021-02-03", 3, true);
+    closed.close();
+
+    val actual = JCoinbaseClientFactory.build("loremIpsum", "dolorSitAmet", "2021-02-03", 3, true);
+
+    assertThat(actual).isNotSameAs(closed);
+    assertThat(actual.isClosed()).isFalse();
+  }
 }
@@ -1,10 +1,16 @@
 package com.github.badpop.jcoinbase;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.badpop.jcoinbase.exception.CircuitBreakerOpenException;
 import com.github.badpop.jcoinbase.exception.JCoinbaseException;
 import com.github.badpop.jcoinbase.exception.UnauthorizedRequestException;
 import com.github.badpop.jcoinbase.service.account.AccountService;
+import com.github.badpop.jcoinbase.service.data.CachingCoinbaseDataService;
+import com.github.badpop.jcoinbase.service.data.CoinbaseDataService;
 import com.github.badpop.jcoinbase.service.data.DataService;
+import com.github.badpop.jcoinbase.service.http.CircuitBreakerPolicy;
+import com.github.badpop.jcoinbase.service.http.EndpointFamily;
+import com.github.badpop.jcoinbase.service.http.JsonReaders;
 import com.github.badpop.jcoinbase.service.user.UserService;
 import com.github.badpop.jcoinbase.testutils.ReflectionUtils;
 import lombok.val;
@@ -12,6 +18,8 @@ import org.junit.jupiter.api.Test;
 
 import java.net.http.HttpClient;
 import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
 
 import static com.fasterxml.jackson.databind.PropertyNamingStrategies.SNAKE_CASE;
 import static com.fasterxml.jackson.databind.SerializationFeature.WRITE_DATES_AS_TIMESTAMPS;
@@ -38,11 +46,167 @@ class JCoinbaseClientTest {
     assertThat(actual.getJsonSerDes().getRegisteredModuleIds().size()).isEqualTo(2);
     assertThat(actual.getJsonSerDes().getPropertyNamingStrategy()).isEqualTo(SNAKE_CASE);
 
+    assertThat(actual.getJsonReaders()).isNotNull().isInstanceOf(JsonReaders.class);
+
+    assertThat(actual.getClockSynchronizer()).isNotNull();
+    assertThat(actual.getClockSynchronizer().isStarted()).isFalse();
+
+    assertThat(actual.getDataCache()).isEmpty();
+    assertThat(actual.getUserCache()).isEmpty();
+    assertThat(actual.getAccountCache()).isEmpty();
+
     assertThat(actual.getProperties()).isNotNull();
     assertThat(actual.getProperties()).isInstanceOf(JCoinbaseProperties.class);
     assertThat(actual.getProperties().getProperties()).isNotEmpty();
   }
 
+  @Test
+  void should_share_the_data_cache_between_blocking_and_async_services()
+      throws NoSuchFieldException, IllegalAccessException {
+    val client =
+        new JCoinbaseClient()
+            .build(null, null, null, 3, false, JCoinbaseOptions.builder().dataCache(true).build());
+
+    val dataCache = client.getDataCache();
+    val dataService = ReflectionUtils.getFieldForObject(client.data(), "service");
+    val asyncDataService = ReflectionUtils.getFieldForObject(client.async().data(), "service");
+
+    assertThat(dataCache).isNotEmpty();
+    assertThat(dataService).isSameAs(dataCache.get());
+    assertThat(asyncDataService).isSameAs(dataCache.get());
+  }
+
+  @Test
+  void should_share_the_user_and_account_caches_between_blocking_and_async_services()
+      throws NoSuchFieldException, IllegalAccessException {
+    val client =
+        new JCoinbaseClient()
+            .build(
+                null,
+                null,
+                null,
+                3,
+                false,
+                JCoinbaseOptions.builder().userCache(true).accountCache(true).build());
+
+    val userService = ReflectionUtils.getFieldForObject(client, "userService");
+    val asyncUserService = ReflectionUtils.getFieldForObject(client.async(), "userService");
+    val accountService = ReflectionUtils.getFieldForObject(client, "accountService");
+    val asyncAccountService = ReflectionUtils.getFieldForObject(client.async(), "accountService");
+
+    assertThat(client.getUserCache()).isNotEmpty();
+    assertThat(ReflectionUtils.getFieldForObject(userService, "service"))
+        .isSameAs(client.getUserCache().get())
+        .isSameAs(ReflectionUtils.getFieldForObject(asyncUserService, "service"));
+    assertThat(client.getAccountCache()).isNotEmpty();
+    assertThat(ReflectionUtils.getFieldForObject(accountService, "service"))
+        .isSameAs(client.getAccountCache().get())
+        .isSameAs(ReflectionUtils.getFieldForObject(asyncAccountService, "service"));
+  }
+
+  @Test
+  void should_stop_the_clock_synchronizer_on_close() {
+    val client =
+        new JCoinbaseClient()
+            .build(
+                null,
+                null,
+                null,
+                3,
+                false,
+                JCoinbaseOptions.builder()
+                    .clockSynchronization(true)
+                    .clockSynchronizationPeriod(Duration.ofHours(1))
+                    .build());
+    assertThat(client.getClockSynchronizer().isStarted()).isTrue();
+
+    client.close();
+
+    assertThat(client.getClockSynchronizer().isStarted()).isFalse();
+  }
+
+  @Test
+  void should_stop_the_exchange_rates_refresher_on_close() {
+    val client =
+        new JCoinbaseClient()
+            .build(
+                null,
+                null,
+                null,
+                3,
+                false,
+                JCoinbaseOptions.builder()
+                    .dataCache(true)
+                    .exchangeRatesRefreshAhead(Set.of("BTC"))
+                    .exchangeRatesRefreshPeriod(Duration.ofHours(1))
+                    .build());
+    val refresher = client.getDataCache().get().getExchangeRatesRefresher().get();
+    assertThat(refresher.isStarted()).isTrue();
+
+    client.close();
+
+    assertThat(refresher.isStarted()).isFalse();
+  }
+
+  @Test
+  void should_build_the_rate_matrices_without_the_data_cache()
+      throws NoSuchFieldException, IllegalAccessException {
+    val client =
+        new JCoinbaseClient()
+            .build(null, null, null, 3, false, JCoinbaseOptions.builder().dataCache(true).build());
+
+    val builder = client.data().rateMatrixBuilder();
+
+    assertThat(ReflectionUtils.getFieldForObject(builder, "service"))
+        .isInstanceOf(CoinbaseDataService.class)
+        .isNotInstanceOf(CachingCoinbaseDataService.class);
+    client.close();
+  }
+
+  @Test
+  void should_stop_the_rate_matrix_builders_on_close() {
+    val client = new JCoinbaseClient().build(null, null, null, 3, false);
+    val builder = client.data().rateMatrixBuilder();
+    builder.start(Duration.ofHours(1));
+
+    client.close();
+
+    assertThat(builder.isStarted()).isFalse();
+    assertThatExceptionOfType(IllegalStateException.class)
+        .isThrownBy(() -> builder.start(Duration.ofHours(1)));
+  }
+
+  @Test
+  void should_throw_CircuitBreakerOpenException_when_the_breaker_is_open() {
+    val client =
+        new JCoinbaseClient()
+            .build(
+                null,
+                null,
+                null,
+                3,
+                false,
+                JCoinbaseOptions.builder()
+                    .circuitBreaker(true)
+                    .circuitBreakerPolicy(
+                        CircuitBreakerPolicy.builder()
+                            .slidingWindowSize(1)
+                            .minimumCalls(1)
+                            .openDuration(Duration.ofHours(1))
+                            .build())
+                    .build());
+    val breaker = client.getCircuitBreakers().get(EndpointFamily.DATA).get();
+    breaker.acquirePermission();
+    breaker.onResult(true, Duration.ZERO);
+
+    assertThatExceptionOfType(CircuitBreakerOpenException.class)
+        .isThrownBy(() -> client.data().getTime());
+    assertThat(client.async().data().getTime())
+        .failsWithin(Duration.ofSeconds(1))
+        .withThrowableOfType(ExecutionException.class)
+        .withCauseInstanceOf(CircuitBreakerOpenException.class);
+  }
+
   @Test
   void should_return_DataService() throws NoSuchFieldException, IllegalAccessException {
     val client = new JCoinbaseClient().build(null, null, null, 3, false);
@@ -79,6 +243,31 @@ class JCoinbaseClientTest {
         .isEqualTo(ReflectionUtils.getFieldForObject(client, "accountService"));
   }
 
+  @Test
+  void should_return_JCoinbaseAsyncClient() throws NoSuchFieldException, IllegalAccessException {
+    val client = new JCoinbaseClient().build("loremIpsum", "dolorSitAmet", "2021-02-03", 3, false);
+
+    val actual = client.async();
+
+    assertThat(actual)
+        .isNotNull()
+        .isInstanceOf(JCoinbaseAsyncClient.class)
+        .isEqualTo(ReflectionUtils.getFieldForObject(client, "asyncClient"));
+    assertThat(actual.data()).isNotNull();
+    assertThat(actual.user()).isNotNull();
+    assertThat(actual.account()).isNotNull();
+  }
+
+  @Test
+  void should_not_be_allowed_on_async_client() {
+    val client = new JCoinbaseClient().build(null, null, null, 3, false);
+    assertThat(client.async().data()).isNotNull();
+    assertThatExceptionOfType(UnauthorizedRequestException.class)
+        .isThrownBy(() -> client.async().user());
+    assertThatExceptionOfType(UnauthorizedRequestException.class)
+        .isThrownBy(() -> client.async().account());
+  }
+
   @Test
   void should_not_be_allowed() {
     val client = new JCoinbaseClient().build(null, null, null, 3, false);
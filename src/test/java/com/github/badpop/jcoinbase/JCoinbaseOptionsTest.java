@@ -0,0 +1,110 @@
+package com.github.badpop.jcoinbase;
+
+import com.github.badpop.jcoinbase.service.http.CircuitBreakerPolicy;
+import com.github.badpop.jcoinbase.service.http.EndpointFamily;
+import com.github.badpop.jcoinbase.service.http.RetryPolicy;
+import lombok.val;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+class JCoinbaseOptionsTest {
+
+  @Test
+  void should_return_default_options() {
+    val actual = JCoinbaseOptions.defaults();
+
+    assertThat(actual.isClockSynchronization()).isFalse();
+    assertThat(actual.getClockSynchronizationPeriod()).isEqualTo(Duration.ofMinutes(10));
+    assertThat(actual.getClockSynchronizationSamples()).isEqualTo(3);
+    assertThat(actual.isDataCache()).isFalse();
+    assertThat(actual.getCurrenciesCacheTtl()).isEqualTo(Duration.ofHours(1));
+    assertThat(actual.getExchangeRatesCacheTtl()).isEqualTo(Duration.ofSeconds(10));
+    assertThat(actual.getPricesCacheTtl()).isEqualTo(Duration.ofSeconds(5));
+    assertThat(actual.getDataCacheMaximumSize()).isEqualTo(1000);
+    assertThat(actual.getExchangeRatesRefreshAhead()).isEmpty();
+    assertThat(actual.getExchangeRatesRefreshPeriod()).isEqualTo(Duration.ofSeconds(5));
+    assertThat(actual.isAccountCache()).isFalse();
+    assertThat(actual.getAccountCacheTtl()).isEqualTo(Duration.ofMinutes(1));
+    assertThat(actual.getAccountCacheMaximumSize()).isEqualTo(1000);
+    assertThat(actual.isUserCache()).isFalse();
+    assertThat(actual.getUserCacheTtl()).isEqualTo(Duration.ofMinutes(5));
+    assertThat(actual.isScopeCheck()).isFalse();
+    assertThat(actual.getBulkRequestsConcurrency()).isEqualTo(8);
+    assertThat(actual.getDataRequestTimeout()).isEqualTo(Duration.ofSeconds(10));
+    assertThat(actual.getUserRequestTimeout()).isEqualTo(Duration.ofSeconds(30));
+    assertThat(actual.getAccountRequestTimeout()).isEqualTo(Duration.ofSeconds(30));
+    assertThat(actual.getDataRetryPolicy()).isEqualTo(RetryPolicy.none());
+    assertThat(actual.getUserRetryPolicy()).isEqualTo(RetryPolicy.none());
+    assertThat(actual.getAccountRetryPolicy()).isEqualTo(RetryPolicy.none());
+    assertThat(actual.getRateLimitMaxWait()).isEqualTo(Duration.ofSeconds(30));
+    assertThat(actual.isRequestThrottling()).isFalse();
+    assertThat(actual.getPublicRequestsPerSecond()).isEqualTo(2.5);
+    assertThat(actual.getAuthenticatedRequestsPerSecond()).isEqualTo(2.5);
+    assertThat(actual.getRequestBurst()).isEqualTo(20);
+    assertThat(actual.isCircuitBreaker()).isFalse();
+    assertThat(actual.getCircuitBreakerPolicy()).isEqualTo(CircuitBreakerPolicy.builder().build());
+  }
+
+  @Test
+  void should_return_the_retry_policy_of_each_endpoint_family() {
+    val retry = RetryPolicy.builder().build();
+    val actual = JCoinbaseOptions.builder().dataRetryPolicy(retry).build();
+
+    assertThat(actual.getRetryPolicy(EndpointFamily.DATA)).isEqualTo(retry);
+    assertThat(actual.getRetryPolicy(EndpointFamily.USER)).isEqualTo(RetryPolicy.none());
+    assertThat(actual.getRetryPolicy(EndpointFamily.ACCOUNT)).isEqualTo(RetryPolicy.none());
+  }
+
+  @Test
+  void should_return_the_request_timeout_of_each_endpoint_family() {
+    val actual =
+        JCoinbaseOptions.builder()
+            .dataRequestTimeout(Duration.ofSeconds(1))
+            .userRequestTimeout(Duration.ofSeconds(2))
+            .accountRequestTimeout(Duration.ofSeconds(3))
+            .build();
+
+    assertThat(actual.getRequestTimeout(EndpointFamily.DATA)).isEqualTo(Duration.ofSeconds(1));
+    assertThat(actual.getRequestTimeout(EndpointFamily.USER)).isEqualTo(Duration.ofSeconds(2));
+    assertThat(actual.getRequestTimeout(EndpointFamily.ACCOUNT)).isEqualTo(Duration.ofSeconds(3));
+  }
+
+  @Test
+  void should_override_only_the_given_options() {
+    val actual = JCoinbaseOptions.builder().clockSynchronization(true).build();
+
+    assertThat(actual.isClockSynchronization()).isTrue();
+    assertThat(actual.getClockSynchronizationPeriod()).isEqualTo(Duration.ofMinutes(10));
+  }
+
+  @Test
+  void should_refresh_exchange_rates_ahead_with_the_data_cache() {
+    val actual =
+        JCoinbaseOptions.builder().dataCache(true).exchangeRatesRefreshAhead(Set.of("BTC")).build();
+
+    assertThat(actual.getExchangeRatesRefreshAhead()).containsExactly("BTC");
+  }
+
+  @Test
+  void should_not_refresh_exchange_rates_ahead_without_the_data_cache() {
+    val builder = JCoinbaseOptions.builder().exchangeRatesRefreshAhead(Set.of("BTC"));
+
+    assertThatExceptionOfType(IllegalArgumentException.class)
+        .isThrownBy(builder::build)
+        .withMessage("The exchange rates can only be refreshed ahead if the data cache is enabled");
+  }
+
+  @Test
+  void should_not_disable_the_data_cache_of_options_refreshing_exchange_rates_ahead() {
+    val options =
+        JCoinbaseOptions.builder().dataCache(true).exchangeRatesRefreshAhead(Set.of("BTC")).build();
+
+    assertThatExceptionOfType(IllegalArgumentException.class)
+        .isThrownBy(() -> options.toBuilder().dataCache(false).build());
+  }
+}
@@ -47,4 +47,18 @@ class JCoinbasePropertiesTest {
     assertThat(actual.getTimePath())
         .isEqualTo(expectedProperties.getProperty("coinbase.api.path.resource.time"));
   }
+
+  @Test
+  void should_build_JCoinbaseProperties_from_an_already_read_file() {
+    val source = new Properties();
+    source.setProperty("coinbase.api.url", "http://localhost");
+    source.setProperty("coinbase.api.path.resource.time", "/time");
+
+    val actual = new JCoinbaseProperties().build("key", "secret", "2021-02-03", source);
+
+    assertThat(actual.getProperties()).isEqualTo(source).isNotSameAs(source);
+    assertThat(actual.getApiKey()).contains("key");
+    assertThat(actual.getApiUrl()).isEqualTo("http://localhost");
+    assertThat(actual.getTimePath()).isEqualTo("/time");
+  }
 }
@@ -0,0 +1,51 @@
+package com.github.badpop.jcoinbase;
+
+import lombok.val;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Properties;
+
+import static com.fasterxml.jackson.databind.PropertyNamingStrategies.SNAKE_CASE;
+import static com.fasterxml.jackson.databind.SerializationFeature.WRITE_DATES_AS_TIMESTAMPS;
+import static java.net.http.HttpClient.Redirect.NEVER;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JCoinbaseRuntimeTest {
+
+  @Test
+  void should_build_the_transport_resources() throws Exception {
+    val inputStream = this.getClass().getClassLoader().getResourceAsStream("jcoinbase.properties");
+    val expectedProperties = new Properties();
+    expectedProperties.load(inputStream);
+
+    try (val actual = JCoinbaseRuntime.create(5)) {
+      assertThat(actual.getHttpClient().connectTimeout()).contains(Duration.ofSeconds(5));
+      assertThat(actual.getHttpClient().followRedirects()).isEqualTo(NEVER);
+      assertThat(actual.getHttpClient().executor()).contains(actual.getExecutor());
+      assertThat(actual.getJsonSerDes().isEnabled(WRITE_DATES_AS_TIMESTAMPS)).isFalse();
+      assertThat(actual.getJsonSerDes().getPropertyNamingStrategy()).isEqualTo(SNAKE_CASE);
+      assertThat(actual.getJsonReaders()).isNotNull();
+      assertThat(actual.getProperties()).isEqualTo(expectedProperties);
+      assertThat(actual.isClosed()).isFalse();
+    }
+  }
+
+  @Test
+  void should_set_timeout_to_3_if_less_than_1() {
+    try (val actual = JCoinbaseRuntime.create(0)) {
+      assertThat(actual.getHttpClient().connectTimeout()).contains(Duration.ofSeconds(3));
+    }
+  }
+
+  @Test
+  void should_stop_the_executor_when_closed() {
+    val actual = JCoinbaseRuntime.create(3);
+
+    actual.close();
+
+    assertThat(actual.isClosed()).isTrue();
+    assertThat(actual.getExecutor().isShutdown()).isTrue();
+    assertThat(actual.getScheduler().isShutdown()).isTrue();
+  }
+}
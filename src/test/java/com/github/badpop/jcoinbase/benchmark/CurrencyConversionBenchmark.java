@@ -0,0 +1,103 @@
+package com.github.badpop.jcoinbase.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.github.badpop.jcoinbase.JCoinbaseClient;
+import com.github.badpop.jcoinbase.JCoinbaseClientFactory;
+import com.github.badpop.jcoinbase.control.CallResult;
+import com.github.badpop.jcoinbase.model.CoinbaseError;
+import com.github.badpop.jcoinbase.model.data.CurrencyConverter;
+import com.github.badpop.jcoinbase.model.data.Price;
+import io.vavr.collection.Seq;
+import io.vavr.control.Option;
+import org.mockserver.integration.ClientAndServer;
+import org.mockserver.socket.PortFactory;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+import static com.github.badpop.jcoinbase.model.data.Price.PriceType.SPOT;
+import static com.github.badpop.jcoinbase.testutils.JsonUtils.readResource;
+import static com.github.badpop.jcoinbase.testutils.ReflectionUtils.setFieldValueForObject;
+import static org.mockserver.model.HttpRequest.request;
+import static org.mockserver.model.HttpResponse.response;
+
+/**
+ * Compare the conversion of an amount with a {@link CurrencyConverter} built once from an exchange
+ * rates snapshot, and with a price request per conversion, as it is needed without it. The price
+ * requests are answered by a local mock server, so the http path is measured without the network
+ * latency to Coinbase. The logs are restricted to warnings, so the info logged at each request is
+ * not measured.
+ *
+ * <p>Run it with the main method.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CurrencyConversionBenchmark {
+
+  private static final BigDecimal AMOUNT = new BigDecimal("1234.56");
+
+  private ClientAndServer mockServer;
+  private JCoinbaseClient client;
+  private CurrencyConverter converter;
+
+  public static void main(final String[] args) throws RunnerException {
+    new Runner(
+            new OptionsBuilder().include(CurrencyConversionBenchmark.class.getSimpleName()).build())
+        .run();
+  }
+
+  @Setup
+  public void setUp() throws Exception {
+    ((Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(Level.WARN);
+    final int port = PortFactory.findFreePort();
+    mockServer = ClientAndServer.startClientAndServer(port);
+    mockServer
+        .when(request().withMethod("GET").withPath("/v2/prices/BTC-AED/spot"))
+        .respond(
+            response()
+                .withHeader("Content-Type", "application/json")
+                .withBody(readResource("/json/coinbaseDataService/price.json")));
+    mockServer
+        .when(request().withMethod("GET").withPath("/v2/exchange-rates"))
+        .respond(
+            response()
+                .withHeader("Content-Type", "application/json")
+                .withBody(readResource("/json/coinbaseDataService/exchange_rates.json")));
+
+    client = JCoinbaseClientFactory.build("loremIpsum", "dolorSitAmet", "2021-02-03", 3, false);
+    setFieldValueForObject(client.getProperties(), "apiUrl", "http://localhost:" + port);
+    converter = CurrencyConverter.of(client.data().getExchangeRates("BTC").get());
+  }
+
+  @TearDown
+  public void tearDown() {
+    client.close();
+    mockServer.stop();
+  }
+
+  @Benchmark
+  public Option<BigDecimal> convertWithConverter() {
+    return converter.convert(AMOUNT, "BTC", "AED");
+  }
+
+  @Benchmark
+  public Option<BigDecimal> convertBetweenTwoRatesWithConverter() {
+    return converter.convert(AMOUNT, "AAVE", "AED");
+  }
+
+  @Benchmark
+  public CallResult<Seq<CoinbaseError>, BigDecimal> convertWithPriceRequest() {
+    final CallResult<Seq<CoinbaseError>, Price> price = client.data().getPrice(SPOT, "BTC", "AED");
+    return price.map(value -> AMOUNT.multiply(value.getAmount()));
+  }
+}
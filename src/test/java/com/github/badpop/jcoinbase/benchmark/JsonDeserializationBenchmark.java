@@ -0,0 +1,86 @@
+package com.github.badpop.jcoinbase.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.github.badpop.jcoinbase.service.account.dto.AccountDto;
+import com.github.badpop.jcoinbase.service.dto.DataDto;
+import com.github.badpop.jcoinbase.service.dto.PaginatedResponseDto;
+import com.github.badpop.jcoinbase.service.http.JsonReaders;
+import com.github.badpop.jcoinbase.service.user.dto.UserDto;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+import static com.github.badpop.jcoinbase.testutils.JsonSerDesSample.JSON_SER_DES;
+
+/**
+ * Compare the deserialization of the Coinbase api responses with a new {@link TypeReference} per
+ * call, as it was done before, and with the pre-resolved readers of the {@link JsonReaders}
+ * registry.
+ *
+ * <p>Run it with the main method, the gc profiler reports the allocation rate per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonDeserializationBenchmark {
+
+  private JsonReaders readers;
+  private byte[] user;
+  private byte[] accounts;
+
+  public static void main(final String[] args) throws RunnerException {
+    new Runner(
+            new OptionsBuilder()
+                .include(JsonDeserializationBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build())
+        .run();
+  }
+
+  @Setup
+  public void setUp() throws IOException {
+    readers = new JsonReaders(JSON_SER_DES);
+    user = readResource("/json/coinbaseUserService/current_user.json");
+    accounts = readResource("/json/coinbaseAccountService/account_list.json");
+  }
+
+  @Benchmark
+  public DataDto<UserDto> userWithTypeReference() throws IOException {
+    return JSON_SER_DES.readValue(
+        new ByteArrayInputStream(user), new TypeReference<DataDto<UserDto>>() {});
+  }
+
+  @Benchmark
+  public DataDto<UserDto> userWithJsonReader() throws IOException {
+    return readers.getUser().read(new ByteArrayInputStream(user));
+  }
+
+  @Benchmark
+  public PaginatedResponseDto<AccountDto> accountsWithTypeReference() throws IOException {
+    return JSON_SER_DES.readValue(
+        new ByteArrayInputStream(accounts),
+        new TypeReference<PaginatedResponseDto<AccountDto>>() {});
+  }
+
+  @Benchmark
+  public PaginatedResponseDto<AccountDto> accountsWithJsonReader() throws IOException {
+    return readers.getAccountsPage().read(new ByteArrayInputStream(accounts));
+  }
+
+  private static byte[] readResource(final String path) throws IOException {
+    try (final InputStream resource =
+        JsonDeserializationBenchmark.class.getResourceAsStream(path)) {
+      return resource.readAllBytes();
+    }
+  }
+}
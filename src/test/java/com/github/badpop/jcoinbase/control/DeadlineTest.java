@@ -0,0 +1,103 @@
+package com.github.badpop.jcoinbase.control;
+
+import com.github.badpop.jcoinbase.exception.DeadlineExceededException;
+import lombok.val;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DeadlineTest {
+
+  private final AtomicLong now = new AtomicLong();
+
+  @Test
+  void should_count_down_the_remaining_time() {
+    val deadline = Deadline.after(Duration.ofSeconds(2), now::get);
+
+    now.addAndGet(Duration.ofMillis(500).toNanos());
+
+    assertThat(deadline.isBounded()).isTrue();
+    assertThat(deadline.isExpired()).isFalse();
+    assertThat(deadline.remaining()).isEqualTo(Duration.ofMillis(1500));
+  }
+
+  @Test
+  void should_expire_once_the_budget_is_spent() {
+    val deadline = Deadline.after(Duration.ofSeconds(2), now::get);
+
+    now.addAndGet(Duration.ofSeconds(3).toNanos());
+
+    assertThat(deadline.isExpired()).isTrue();
+    assertThat(deadline.remaining()).isZero();
+    assertThatExceptionOfType(DeadlineExceededException.class).isThrownBy(deadline::check);
+  }
+
+  @Test
+  void should_cap_the_request_timeout_to_the_remaining_time() {
+    val deadline = Deadline.after(Duration.ofSeconds(2), now::get);
+
+    assertThat(deadline.cap(Duration.ofSeconds(1))).isEqualTo(Duration.ofSeconds(1));
+    assertThat(deadline.cap(Duration.ofSeconds(10))).isEqualTo(Duration.ofSeconds(2));
+  }
+
+  @Test
+  void should_read_the_ticker_once_when_capping() {
+    val deadline =
+        Deadline.after(
+            Duration.ofSeconds(2), () -> now.getAndAdd(Duration.ofSeconds(1).toNanos()));
+
+    assertThat(deadline.cap(Duration.ofSeconds(10))).isEqualTo(Duration.ofSeconds(1));
+  }
+
+  @Test
+  void should_throw_DeadlineExceededException_when_capping_with_an_expired_deadline() {
+    val deadline = Deadline.after(Duration.ZERO, now::get);
+
+    assertThatExceptionOfType(DeadlineExceededException.class)
+        .isThrownBy(() -> deadline.cap(Duration.ofSeconds(1)));
+  }
+
+  @Test
+  void should_never_expire_without_deadline() {
+    val deadline = Deadline.none();
+
+    assertThat(deadline.isBounded()).isFalse();
+    assertThat(deadline.isExpired()).isFalse();
+    assertThat(deadline.cap(Duration.ofSeconds(10))).isEqualTo(Duration.ofSeconds(10));
+  }
+
+  @Test
+  void should_fail_a_bounded_future_with_DeadlineExceededException_once_expired() {
+    val deadline = Deadline.after(Duration.ofMillis(50));
+    val future = new CompletableFuture<String>();
+
+    val actual = deadline.bound(future);
+
+    assertThatThrownBy(actual::join).hasCauseInstanceOf(DeadlineExceededException.class);
+    assertThat(future).isNotDone();
+  }
+
+  @Test
+  void should_not_bound_a_future_without_deadline() {
+    val future = new CompletableFuture<String>();
+
+    val actual = Deadline.none().bound(future);
+    future.complete("value");
+
+    assertThat(actual.join()).isEqualTo("value");
+  }
+
+  @Test
+  void should_throw_IllegalArgumentException_on_negative_budget() {
+    val budget = Duration.ofSeconds(-1);
+
+    assertThatExceptionOfType(IllegalArgumentException.class)
+        .isThrownBy(() -> Deadline.after(budget));
+  }
+}
@@ -0,0 +1,81 @@
+package com.github.badpop.jcoinbase.model;
+
+import com.github.badpop.jcoinbase.model.data.CurrencyConverter;
+import com.github.badpop.jcoinbase.model.data.ExchangeRates;
+import lombok.val;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+
+import static io.vavr.API.Map;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.vavr.api.VavrAssertions.assertThat;
+
+class CurrencyConverterTest {
+
+  private final ExchangeRates usdRates =
+      ExchangeRates.builder()
+          .currency("USD")
+          .rates(
+              Map(
+                  "EUR", new BigDecimal("0.8"),
+                  "GBP", new BigDecimal("0.75"),
+                  "BTC", new BigDecimal("0.00002"),
+                  "XXX", BigDecimal.ZERO))
+          .build();
+
+  private final CurrencyConverter converter = CurrencyConverter.of(usdRates);
+
+  @Test
+  void should_convert_from_the_base_currency() {
+    val actual = converter.convert(BigDecimal.TEN, "USD", "EUR");
+
+    assertThat(actual).hasValueSatisfying(value -> assertThat(value).isEqualByComparingTo("8"));
+  }
+
+  @Test
+  void should_convert_to_the_base_currency() {
+    val actual = converter.convert(BigDecimal.TEN, "EUR", "USD");
+
+    assertThat(actual).hasValueSatisfying(value -> assertThat(value).isEqualByComparingTo("12.5"));
+  }
+
+  @Test
+  void should_convert_between_two_currencies_through_the_base_currency() {
+    val actual = converter.convert(BigDecimal.ONE, "BTC", "EUR");
+
+    assertThat(actual).hasValueSatisfying(value -> assertThat(value).isEqualByComparingTo("40000"));
+  }
+
+  @Test
+  void should_return_the_same_amount_for_the_same_currency() {
+    val actual = converter.convert(new BigDecimal("3.14"), "GBP", "GBP");
+
+    assertThat(actual).contains(new BigDecimal("3.14"));
+  }
+
+  @Test
+  void should_return_rate() {
+    val actual = converter.getRateAsJava("EUR", "GBP");
+
+    assertThat(actual)
+        .hasValueSatisfying(value -> assertThat(value).isEqualByComparingTo("0.9375"));
+  }
+
+  @Test
+  void should_return_empty_for_unknown_or_zero_rated_currencies() {
+    assertThat(converter.convert(BigDecimal.ONE, "EUR", "JPY")).isEmpty();
+    assertThat(converter.convert(BigDecimal.ONE, "XXX", "EUR")).isEmpty();
+    assertThat(converter.supports("XXX")).isFalse();
+    assertThat(converter.supports("USD")).isTrue();
+  }
+
+  @Test
+  void should_round_with_the_given_math_context() {
+    val actual =
+        CurrencyConverter.of(usdRates, new MathContext(3)).convert(BigDecimal.ONE, "GBP", "EUR");
+
+    assertThat(actual).contains(new BigDecimal("1.07"));
+  }
+}
@@ -0,0 +1,62 @@
+package com.github.badpop.jcoinbase.model;
+
+import com.github.badpop.jcoinbase.model.data.ExchangeRates;
+import lombok.val;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static io.vavr.API.Map;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExchangeRatesTest {
+
+  private final ExchangeRates exchangeRates =
+      ExchangeRates.builder()
+          .currency("BTC")
+          .rates(Map("EUR", new BigDecimal("48123.123456789012345678")))
+          .build();
+
+  @Test
+  void should_keep_the_exact_rates() {
+    assertThat(exchangeRates.getRates().get("EUR").get())
+        .isEqualTo(new BigDecimal("48123.123456789012345678"));
+    assertThat(exchangeRates.getRatesAsJavaMap())
+        .containsEntry("EUR", new BigDecimal("48123.123456789012345678"));
+  }
+
+  @Test
+  void should_store_the_rates_in_the_rate_table() {
+    val actual = exchangeRates.getRateTable();
+
+    assertThat(actual.exactRate("EUR")).contains(new BigDecimal("48123.123456789012345678"));
+    assertThat(actual.rate("EUR")).isEqualTo(48123.123456789012345678);
+  }
+
+  @Test
+  void should_build_the_rates_map_once() {
+    val actual = exchangeRates.getRates();
+
+    assertThat(exchangeRates.getRates()).isSameAs(actual);
+  }
+
+  @Test
+  void should_ignore_the_rates_map_in_equals() {
+    val other =
+        ExchangeRates.builder()
+            .currency("BTC")
+            .rates(Map("EUR", new BigDecimal("48123.123456789012345678")))
+            .build();
+    exchangeRates.getRates();
+
+    assertThat(other).isEqualTo(exchangeRates).hasSameHashCodeAs(exchangeRates);
+  }
+
+  @Test
+  void should_return_empty_rates_without_rates() {
+    val actual = ExchangeRates.builder().currency("BTC").build();
+
+    assertThat(actual.getRateTable().size()).isZero();
+    assertThat(actual.getRates()).isEmpty();
+  }
+}
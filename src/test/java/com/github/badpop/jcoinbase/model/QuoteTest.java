@@ -0,0 +1,46 @@
+package com.github.badpop.jcoinbase.model;
+
+import com.github.badpop.jcoinbase.model.data.Price;
+import com.github.badpop.jcoinbase.model.data.Quote;
+import lombok.val;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static com.github.badpop.jcoinbase.model.data.Price.PriceType.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QuoteTest {
+
+  private final Quote quote =
+      Quote.builder()
+          .baseCurrency("BTC")
+          .targetCurrency("EUR")
+          .buy(price(BUY, "38900.50"))
+          .sell(price(SELL, "38700.25"))
+          .spot(price(SPOT, "38800.72"))
+          .build();
+
+  private static Price price(final Price.PriceType priceType, final String amount) {
+    return Price.builder()
+        .baseCurrency("BTC")
+        .targetCurrency("EUR")
+        .amount(new BigDecimal(amount))
+        .priceType(priceType)
+        .build();
+  }
+
+  @Test
+  void should_return_spread() {
+    val actual = quote.getSpread();
+
+    assertThat(actual).isEqualByComparingTo("200.25");
+  }
+
+  @Test
+  void should_return_mid() {
+    val actual = quote.getMid();
+
+    assertThat(actual).isEqualByComparingTo("38800.375");
+  }
+}
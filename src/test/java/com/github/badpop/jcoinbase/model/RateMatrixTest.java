@@ -0,0 +1,66 @@
+package com.github.badpop.jcoinbase.model;
+
+import com.github.badpop.jcoinbase.model.data.RateMatrix;
+import com.github.badpop.jcoinbase.model.data.RateTable;
+import lombok.val;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static io.vavr.API.Map;
+import static io.vavr.API.Vector;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+class RateMatrixTest {
+
+  private final RateMatrix matrix =
+      new RateMatrix(
+          Vector("USD", "EUR", "JPY"),
+          Map(
+              "USD", RateTable.builder().put("EUR", 0.8).put("JPY", 110).build(),
+              "EUR", RateTable.builder().put("USD", 1.25).build()),
+          Instant.EPOCH,
+          Duration.ofMillis(42));
+
+  @Test
+  void should_return_rates_by_index_and_by_code() {
+    assertThat(matrix.size()).isEqualTo(3);
+    assertThat(matrix.rate(0, 1)).isEqualTo(0.8);
+    assertThat(matrix.rate(0, 2)).isEqualTo(110);
+    assertThat(matrix.rate("EUR", "USD")).isEqualTo(1.25);
+    assertThat(matrix.indexOf("JPY")).isEqualTo(2);
+  }
+
+  @Test
+  void should_return_1_on_the_diagonal_of_the_fetched_currencies() {
+    assertThat(matrix.rate(0, 0)).isEqualTo(1);
+    assertThat(matrix.rate(1, 1)).isEqualTo(1);
+  }
+
+  @Test
+  void should_return_NaN_for_unknown_rates() {
+    assertThat(matrix.rate("EUR", "JPY")).isNaN();
+    assertThat(matrix.rate("JPY", "USD")).isNaN();
+    assertThat(matrix.rate("GBP", "USD")).isNaN();
+    assertThat(matrix.indexOf("GBP")).isEqualTo(-1);
+    assertThat(matrix.getMissingCurrencies()).containsExactly("JPY");
+  }
+
+  @Test
+  void should_keep_the_build_information() {
+    assertThat(matrix.getBuiltAt()).isEqualTo(Instant.EPOCH);
+    assertThat(matrix.getBuildDuration()).isEqualTo(Duration.ofMillis(42));
+    assertThat(matrix.getCurrencies()).containsExactly("USD", "EUR", "JPY");
+  }
+
+  @Test
+  void should_throw_IndexOutOfBoundsException_outside_the_matrix() {
+    val size = matrix.size();
+
+    assertThatExceptionOfType(IndexOutOfBoundsException.class)
+        .isThrownBy(() -> matrix.rate(size, 0));
+    assertThatExceptionOfType(IndexOutOfBoundsException.class).isThrownBy(() -> matrix.rate(0, -1));
+  }
+}
@@ -0,0 +1,118 @@
+package com.github.badpop.jcoinbase.model;
+
+import com.github.badpop.jcoinbase.model.data.RateTable;
+import lombok.val;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static io.vavr.API.Map;
+import static io.vavr.API.Tuple;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateTableTest {
+
+  private final RateTable table =
+      RateTable.builder().put("EUR", 0.8).put("GBP", 0.75).put("EUR", 0.82).build();
+
+  @Test
+  void should_return_rates_by_code() {
+    assertThat(table.rate("EUR")).isEqualTo(0.82);
+    assertThat(table.rate("GBP")).isEqualTo(0.75);
+    assertThat(table.size()).isEqualTo(2);
+  }
+
+  @Test
+  void should_return_NaN_for_unknown_currencies() {
+    assertThat(table.rate("JPY")).isNaN();
+    assertThat(table.rate(null)).isNaN();
+    assertThat(table.contains("JPY")).isFalse();
+  }
+
+  @Test
+  void should_return_the_index_of_each_code() {
+    assertThat(table.indexOf("EUR")).isZero();
+    assertThat(table.indexOf("GBP")).isEqualTo(1);
+    assertThat(table.rateAt(table.indexOf("GBP"))).isEqualTo(0.75);
+    assertThat(table.indexOf("JPY")).isEqualTo(-1);
+    assertThat(table.indexOf(null)).isEqualTo(-1);
+    assertThat(RateTable.empty().indexOf("EUR")).isEqualTo(-1);
+  }
+
+  @Test
+  void should_find_colliding_codes() {
+    // "Aa" and "BB" share the same hash code
+    val actual = RateTable.builder().put("Aa", 1.5).put("BB", 2.5).build();
+
+    assertThat(actual.indexOf("Aa")).isZero();
+    assertThat(actual.indexOf("BB")).isEqualTo(1);
+    assertThat(actual.rate("BB")).isEqualTo(2.5);
+  }
+
+  @Test
+  void should_keep_the_exact_rates_a_double_cannot_represent() {
+    val actual =
+        RateTable.builder()
+            .put("EUR", new BigDecimal("0.123456789012345678901"))
+            .put("GBP", new BigDecimal("0.75"))
+            .put("USD", BigDecimal.ONE)
+            .put("EUR", new BigDecimal("0.82"))
+            .build();
+
+    assertThat(actual.exactRateAt(0)).isEqualTo(new BigDecimal("0.82"));
+    assertThat(actual.exactRateAt(1)).isEqualTo(new BigDecimal("0.75"));
+    assertThat(actual.exactRateAt(2)).isEqualTo(BigDecimal.ONE);
+  }
+
+  @Test
+  void should_return_exact_rates_by_code() {
+    val actual = RateTable.builder().put("EUR", new BigDecimal("0.123456789012345678901")).build();
+
+    assertThat(actual.exactRate("EUR")).contains(new BigDecimal("0.123456789012345678901"));
+    assertThat(actual.exactRateAt(0)).isEqualTo(new BigDecimal("0.123456789012345678901"));
+    assertThat(actual.rate("EUR")).isEqualTo(0.123456789012345678901);
+    assertThat(actual.exactRate("JPY")).isEmpty();
+  }
+
+  @Test
+  void should_return_the_exact_rates_as_a_map() {
+    assertThat(table.toMap())
+        .containsExactly(
+            Tuple("EUR", BigDecimal.valueOf(0.82)), Tuple("GBP", BigDecimal.valueOf(0.75)));
+  }
+
+  @Test
+  void should_keep_the_insertion_order() {
+    assertThat(table.codeAt(0)).isEqualTo("EUR");
+    assertThat(table.rateAt(0)).isEqualTo(0.82);
+    assertThat(table.codeAt(1)).isEqualTo("GBP");
+    assertThat(table.rateAt(1)).isEqualTo(0.75);
+  }
+
+  @Test
+  void should_grow_beyond_its_initial_capacity() {
+    val builder = RateTable.builder();
+    for (int i = 0; i < 100; i++) {
+      builder.put("C" + i, i);
+    }
+
+    val actual = builder.build();
+
+    assertThat(actual.size()).isEqualTo(100);
+    assertThat(actual.rate("C99")).isEqualTo(99);
+  }
+
+  @Test
+  void should_be_equal_to_a_table_built_from_the_same_rates() {
+    val actual =
+        RateTable.of(Map("GBP", BigDecimal.valueOf(0.75), "EUR", BigDecimal.valueOf(0.82)));
+
+    assertThat(actual).isEqualTo(table).hasSameHashCodeAs(table);
+  }
+
+  @Test
+  void should_return_empty_table() {
+    assertThat(RateTable.builder().build()).isSameAs(RateTable.empty());
+    assertThat(RateTable.empty().size()).isZero();
+  }
+}
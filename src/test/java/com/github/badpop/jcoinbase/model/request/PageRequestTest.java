@@ -0,0 +1,60 @@
+package com.github.badpop.jcoinbase.model.request;
+
+import lombok.val;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import static com.github.badpop.jcoinbase.model.Pagination.Order.ASC;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PageRequestTest {
+
+  @Nested
+  class ToQueryString {
+    @Test
+    void should_return_empty_query_string() {
+      val actual = PageRequest.builder().build().toQueryString();
+
+      assertThat(actual).isEmpty();
+    }
+
+    @Test
+    void should_return_query_string_with_all_parameters() {
+      val actual =
+          PageRequest.builder()
+              .limit(100)
+              .order(ASC)
+              .startingAfter("sa")
+              .endingBefore("eb")
+              .build()
+              .toQueryString();
+
+      assertThat(actual).isEqualTo("?limit=100&order=asc&starting_after=sa&ending_before=eb");
+    }
+
+    @Test
+    void should_encode_cursors() {
+      val actual = PageRequest.builder().startingAfter("a b&c").build().toQueryString();
+
+      assertThat(actual).isEqualTo("?starting_after=a+b%26c");
+    }
+  }
+
+  @Nested
+  class HasValidLimit {
+    @Test
+    void should_accept_empty_limit_and_limits_up_to_the_maximum() {
+      assertThat(PageRequest.builder().build().hasValidLimit()).isTrue();
+      assertThat(PageRequest.builder().limit(1).build().hasValidLimit()).isTrue();
+      assertThat(PageRequest.builder().limit(PageRequest.MAX_LIMIT).build().hasValidLimit())
+          .isTrue();
+    }
+
+    @Test
+    void should_reject_limits_out_of_range() {
+      assertThat(PageRequest.builder().limit(0).build().hasValidLimit()).isFalse();
+      assertThat(PageRequest.builder().limit(PageRequest.MAX_LIMIT + 1).build().hasValidLimit())
+          .isFalse();
+    }
+  }
+}
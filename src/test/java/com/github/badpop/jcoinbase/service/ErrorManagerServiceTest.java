@@ -4,6 +4,11 @@ import com.github.badpop.jcoinbase.exception.JCoinbaseException;
 import lombok.val;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 
 class ErrorManagerServiceTest {
@@ -22,4 +27,33 @@ class ErrorManagerServiceTest {
     assertThatExceptionOfType(JCoinbaseException.class)
         .isThrownBy(() -> ErrorManagerService.manageOnError(ex, "message", throwable));
   }
+
+  @Test
+  void should_complete_exceptionally_with_JCoinbaseException() {
+    val future =
+        ErrorManagerService.manageOnAsyncError(
+            CompletableFuture.failedFuture(new IOException("error")), "message");
+
+    assertThatExceptionOfType(CompletionException.class)
+        .isThrownBy(future::join)
+        .withCauseInstanceOf(JCoinbaseException.class)
+        .withMessage(
+            "com.github.badpop.jcoinbase.exception.JCoinbaseException: java.io.IOException: error");
+  }
+
+  @Test
+  void should_complete_with_the_same_value() {
+    val future =
+        ErrorManagerService.manageOnAsyncError(
+            CompletableFuture.completedFuture("value"), "message");
+
+    assertThat(future.join()).isEqualTo("value");
+  }
+
+  @Test
+  void should_unwrap_completion_exceptions() {
+    val cause = new IOException("error");
+    assertThat(ErrorManagerService.unwrap(new CompletionException(cause))).isSameAs(cause);
+    assertThat(ErrorManagerService.unwrap(cause)).isSameAs(cause);
+  }
 }
@@ -4,6 +4,7 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.github.badpop.jcoinbase.JCoinbaseClient;
 import com.github.badpop.jcoinbase.JCoinbaseProperties;
 import com.github.badpop.jcoinbase.control.CallResult;
+import com.github.badpop.jcoinbase.control.Deadline;
 import com.github.badpop.jcoinbase.exception.InvalidRequestException;
 import com.github.badpop.jcoinbase.exception.JCoinbaseException;
 import com.github.badpop.jcoinbase.exception.NoNextPageException;
@@ -13,6 +14,7 @@ import com.github.badpop.jcoinbase.model.PaginatedResponse;
 import com.github.badpop.jcoinbase.model.Pagination;
 import com.github.badpop.jcoinbase.model.account.Account;
 import com.github.badpop.jcoinbase.model.account.AccountsPage;
+import com.github.badpop.jcoinbase.model.request.PageRequest;
 import com.github.badpop.jcoinbase.model.request.UpdateAccountRequest;
 import com.github.badpop.jcoinbase.service.auth.AuthenticationService;
 import lombok.val;
@@ -23,6 +25,9 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
 import static com.github.badpop.jcoinbase.testutils.JsonSerDesSample.JSON_SER_DES;
 import static io.vavr.API.Seq;
 import static io.vavr.control.Try.failure;
@@ -785,4 +790,140 @@ class AccountServiceTest {
       verifyNoMoreInteractions(coinbaseAccountService, client, properties);
     }
   }
+
+  @Nested
+  class GetAccountsPageByPageRequest {
+    @Test
+    void should_request_the_page_matching_the_page_request() {
+      val paginatedResponse = PaginatedResponse.<Account>builder().build();
+      val pageRequest =
+          PageRequest.builder().limit(100).order(Pagination.Order.ASC).startingAfter("id").build();
+
+      when(client.getProperties()).thenReturn(properties);
+      when(properties.getAccountsPath()).thenReturn("/v2/accounts");
+      when(coinbaseAccountService.fetchAccountPageByUri(
+              client, authenticationService, "/v2/accounts?limit=100&order=asc&starting_after=id"))
+          .thenReturn(success(CallResult.success(paginatedResponse)));
+
+      val actual = accountService.getAccountsPageAsJava(pageRequest);
+
+      assertThat(actual)
+          .usingRecursiveComparison()
+          .isEqualTo(
+              CallResult.success(
+                  new AccountsPage(
+                      paginatedResponse.getPagination(), paginatedResponse.getData())));
+    }
+
+    @Test
+    void should_throw_InvalidRequestException_on_invalid_limit() {
+      val pageRequest = PageRequest.builder().limit(0).build();
+
+      assertThatExceptionOfType(InvalidRequestException.class)
+          .isThrownBy(() -> accountService.getAccountsPage(pageRequest));
+
+      verifyNoInteractions(coinbaseAccountService);
+    }
+
+    @Test
+    void should_throw_NullPointerException_on_null_page_request() {
+      assertThatExceptionOfType(NullPointerException.class)
+          .isThrownBy(() -> accountService.getAccountsPage(null));
+    }
+  }
+
+  @Nested
+  class StreamAllAccounts {
+    @Test
+    void should_browse_all_the_accounts_pages() {
+      val firstPage =
+          new PaginatedResponse<>(
+              Pagination.builder().nextUri("/next").build(),
+              Seq(Account.builder().id("first").build()));
+      val lastPage =
+          new PaginatedResponse<>(
+              Pagination.builder().build(), Seq(Account.builder().id("last").build()));
+
+      when(client.getProperties()).thenReturn(properties);
+      when(properties.getAccountsPath()).thenReturn("/accounts");
+      when(coinbaseAccountService.fetchAccountPageByUriAsync(
+              client, authenticationService, "/accounts", Deadline.none()))
+          .thenReturn(CompletableFuture.completedFuture(CallResult.success(firstPage)));
+      when(coinbaseAccountService.fetchAccountPageByUriAsync(
+              client, authenticationService, "/next", Deadline.none()))
+          .thenReturn(CompletableFuture.completedFuture(CallResult.success(lastPage)));
+
+      val actual = accountService.streamAllAccounts();
+
+      assertThat(actual.map(Account::getId).toList()).containsExactly("first", "last");
+      verify(coinbaseAccountService)
+          .fetchAccountPageByUriAsync(client, authenticationService, "/accounts", Deadline.none());
+      verify(coinbaseAccountService)
+          .fetchAccountPageByUriAsync(client, authenticationService, "/next", Deadline.none());
+      verifyNoMoreInteractions(coinbaseAccountService);
+    }
+
+    @Test
+    void should_browse_all_the_accounts_pages_as_java() {
+      val page =
+          new PaginatedResponse<>(
+              Pagination.builder().build(),
+              Seq(Account.builder().id("first").build(), Account.builder().id("second").build()));
+
+      when(client.getProperties()).thenReturn(properties);
+      when(properties.getAccountsPath()).thenReturn("/accounts");
+      when(coinbaseAccountService.fetchAccountPageByUriAsync(
+              client, authenticationService, "/accounts", Deadline.none()))
+          .thenReturn(CompletableFuture.completedFuture(CallResult.success(page)));
+
+      val actual = accountService.streamAllAccountsAsJava(1);
+
+      assertThat(actual.map(Account::getId)).containsExactly("first", "second");
+    }
+
+    @Test
+    void should_throw_InvalidRequestException_if_prefetch_is_lower_than_one() {
+      assertThatExceptionOfType(InvalidRequestException.class)
+          .isThrownBy(() -> accountService.streamAllAccounts(0));
+
+      verifyNoInteractions(coinbaseAccountService);
+    }
+
+    @Test
+    void should_stream_from_the_page_matching_the_page_request() {
+      val page =
+          new PaginatedResponse<>(
+              Pagination.builder().build(), Seq(Account.builder().id("first").build()));
+
+      when(client.getProperties()).thenReturn(properties);
+      when(properties.getAccountsPath()).thenReturn("/accounts");
+      when(coinbaseAccountService.fetchAccountPageByUriAsync(
+              client, authenticationService, "/accounts?limit=100", Deadline.none()))
+          .thenReturn(CompletableFuture.completedFuture(CallResult.success(page)));
+
+      val actual = accountService.streamAllAccounts(PageRequest.builder().limit(100).build(), 1);
+
+      assertThat(actual.map(Account::getId).toList()).containsExactly("first");
+    }
+
+    @Test
+    void should_stream_within_the_given_deadline() {
+      val deadline = Deadline.after(Duration.ofSeconds(1));
+      val page =
+          new PaginatedResponse<>(
+              Pagination.builder().build(), Seq(Account.builder().id("first").build()));
+
+      when(client.getProperties()).thenReturn(properties);
+      when(properties.getAccountsPath()).thenReturn("/accounts");
+      when(coinbaseAccountService.fetchAccountPageByUriAsync(
+              client, authenticationService, "/accounts?limit=100", deadline))
+          .thenReturn(CompletableFuture.completedFuture(CallResult.success(page)));
+
+      val actual =
+          accountService.streamAllAccountsAsJava(
+              PageRequest.builder().limit(100).build(), 1, deadline);
+
+      assertThat(actual.map(Account::getId)).containsExactly("first");
+    }
+  }
 }
@@ -0,0 +1,133 @@
+package com.github.badpop.jcoinbase.service.account;
+
+import com.github.badpop.jcoinbase.control.CallResult;
+import com.github.badpop.jcoinbase.control.Deadline;
+import com.github.badpop.jcoinbase.exception.CoinbaseApiException;
+import com.github.badpop.jcoinbase.exception.DeadlineExceededException;
+import com.github.badpop.jcoinbase.exception.JCoinbaseException;
+import com.github.badpop.jcoinbase.model.CoinbaseError;
+import com.github.badpop.jcoinbase.model.PaginatedResponse;
+import com.github.badpop.jcoinbase.model.Pagination;
+import com.github.badpop.jcoinbase.model.account.Account;
+import io.vavr.collection.Seq;
+import lombok.val;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+
+import static io.vavr.API.Seq;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+class AccountsIteratorTest {
+
+  /** The requested or prepared pages by uri, in the order they were first referenced */
+  private final Map<
+          String, CompletableFuture<CallResult<Seq<CoinbaseError>, PaginatedResponse<Account>>>>
+      pages = new LinkedHashMap<>();
+
+  private AccountsIterator iterator(final int prefetch) {
+    return new AccountsIterator(this::page, "/page1", prefetch);
+  }
+
+  private synchronized CompletableFuture<CallResult<Seq<CoinbaseError>, PaginatedResponse<Account>>>
+      page(final String uri) {
+    return pages.computeIfAbsent(uri, key -> new CompletableFuture<>());
+  }
+
+  private void respond(final String uri, final String nextUri) {
+    page(uri)
+        .complete(
+            CallResult.success(
+                new PaginatedResponse<>(
+                    Pagination.builder().nextUri(nextUri).build(),
+                    Seq(Account.builder().id(uri).build()))));
+  }
+
+  @Test
+  void should_not_request_anything_before_being_consumed() {
+    iterator(2);
+
+    assertThat(pages).isEmpty();
+  }
+
+  @Test
+  void should_browse_all_the_pages() {
+    respond("/page1", "/page2");
+    respond("/page2", "/page3");
+    respond("/page3", null);
+
+    val actual = iterator(1).map(Account::getId).toList();
+
+    assertThat(actual).containsExactly("/page1", "/page2", "/page3");
+  }
+
+  @Test
+  void should_prefetch_next_pages_up_to_the_prefetch_depth() {
+    respond("/page1", "/page2");
+    val iterator = iterator(2);
+
+    assertThat(iterator.next().getId()).isEqualTo("/page1");
+    assertThat(pages).containsOnlyKeys("/page1", "/page2");
+
+    respond("/page2", "/page3");
+    respond("/page3", "/page4");
+    assertThat(pages).containsOnlyKeys("/page1", "/page2", "/page3");
+
+    assertThat(iterator.next().getId()).isEqualTo("/page2");
+    assertThat(pages).containsOnlyKeys("/page1", "/page2", "/page3", "/page4");
+  }
+
+  @Test
+  void should_throw_NoSuchElementException_after_the_last_account() {
+    respond("/page1", null);
+    val iterator = iterator(2);
+
+    iterator.next();
+
+    assertThat(iterator.hasNext()).isFalse();
+    assertThatExceptionOfType(NoSuchElementException.class).isThrownBy(iterator::next);
+  }
+
+  @Test
+  void should_throw_CoinbaseApiException_if_coinbase_returns_errors() {
+    val error = CoinbaseError.builder().code("error").message("error message").build();
+    page("/page1").complete(CallResult.failure(Seq(error)));
+    val iterator = iterator(2);
+
+    assertThatExceptionOfType(CoinbaseApiException.class)
+        .isThrownBy(iterator::hasNext)
+        .satisfies(exception -> assertThat(exception.getErrors()).containsExactly(error));
+  }
+
+  @Test
+  void should_throw_JCoinbaseException_if_a_page_can_not_be_fetched() {
+    page("/page1").completeExceptionally(new IOException("connection reset"));
+    val iterator = iterator(2);
+
+    assertThatExceptionOfType(JCoinbaseException.class)
+        .isThrownBy(iterator::hasNext)
+        .withCauseInstanceOf(IOException.class);
+  }
+
+  @Test
+  void should_throw_DeadlineExceededException_if_a_page_is_not_received_in_time() {
+    val iterator =
+        new AccountsIterator(this::page, "/page1", 2, Deadline.after(Duration.ofMillis(50)));
+
+    assertThatExceptionOfType(DeadlineExceededException.class).isThrownBy(iterator::hasNext);
+  }
+
+  @Test
+  void should_throw_DeadlineExceededException_if_a_page_was_not_requested_in_time() {
+    page("/page1").completeExceptionally(new DeadlineExceededException("deadline expired"));
+    val iterator = new AccountsIterator(this::page, "/page1", 2, Deadline.after(Duration.ZERO));
+
+    assertThatExceptionOfType(DeadlineExceededException.class).isThrownBy(iterator::hasNext);
+  }
+}
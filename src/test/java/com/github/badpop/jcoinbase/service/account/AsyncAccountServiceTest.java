@@ -0,0 +1,194 @@
+package com.github.badpop.jcoinbase.service.account;
+
+import com.github.badpop.jcoinbase.JCoinbaseClient;
+import com.github.badpop.jcoinbase.JCoinbaseProperties;
+import com.github.badpop.jcoinbase.control.CallResult;
+import com.github.badpop.jcoinbase.exception.InvalidRequestException;
+import com.github.badpop.jcoinbase.exception.JCoinbaseException;
+import com.github.badpop.jcoinbase.exception.NoNextPageException;
+import com.github.badpop.jcoinbase.exception.NoPreviousPageException;
+import com.github.badpop.jcoinbase.model.PaginatedResponse;
+import com.github.badpop.jcoinbase.model.Pagination;
+import com.github.badpop.jcoinbase.model.account.Account;
+import com.github.badpop.jcoinbase.model.account.AccountsPage;
+import com.github.badpop.jcoinbase.model.Pagination.Order;
+import com.github.badpop.jcoinbase.model.request.PageRequest;
+import com.github.badpop.jcoinbase.model.request.UpdateAccountRequest;
+import com.github.badpop.jcoinbase.service.auth.AuthenticationService;
+import lombok.val;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.util.concurrent.CompletionException;
+
+import static com.github.badpop.jcoinbase.testutils.JsonSerDesSample.JSON_SER_DES;
+import static io.vavr.API.Seq;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.concurrent.CompletableFuture.failedFuture;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AsyncAccountServiceTest {
+
+  @InjectMocks private AsyncAccountService accountService;
+  @Mock private JCoinbaseClient client;
+  @Mock private JCoinbaseProperties properties;
+  @Mock private CoinbaseAccountService coinbaseAccountService;
+  @Mock private AuthenticationService authenticationService;
+
+  @Nested
+  class GetAccountsPage {
+    @Test
+    void should_return_accounts_page() {
+      val account = Account.builder().id("id").build();
+      val paginatedResponse =
+          PaginatedResponse.<Account>builder().pagination(null).data(Seq(account)).build();
+
+      when(client.getProperties()).thenReturn(properties);
+      when(properties.getAccountsPath()).thenReturn("/v2/accounts");
+      when(coinbaseAccountService.fetchAccountPageByUriAsync(
+              client, authenticationService, "/v2/accounts"))
+          .thenReturn(completedFuture(CallResult.success(paginatedResponse)));
+
+      val actual = accountService.getAccountsPage().join();
+
+      assertThat(actual)
+          .usingRecursiveComparison()
+          .isEqualTo(CallResult.success(new AccountsPage(null, Seq(account))));
+    }
+
+    @Test
+    void should_complete_exceptionally_with_JCoinbaseException() {
+      when(client.getProperties()).thenReturn(properties);
+      when(properties.getAccountsPath()).thenReturn("/v2/accounts");
+      when(coinbaseAccountService.fetchAccountPageByUriAsync(
+              client, authenticationService, "/v2/accounts"))
+          .thenReturn(failedFuture(new IOException("Error message")));
+
+      val actual = accountService.getAccountsPageAsJava();
+
+      assertThatExceptionOfType(CompletionException.class)
+          .isThrownBy(actual::join)
+          .withCauseInstanceOf(JCoinbaseException.class);
+    }
+
+    @Test
+    void should_request_the_page_matching_the_page_request() {
+      val account = Account.builder().id("id").build();
+      val paginatedResponse =
+          PaginatedResponse.<Account>builder().pagination(null).data(Seq(account)).build();
+
+      when(client.getProperties()).thenReturn(properties);
+      when(properties.getAccountsPath()).thenReturn("/v2/accounts");
+      when(coinbaseAccountService.fetchAccountPageByUriAsync(
+              client, authenticationService, "/v2/accounts?limit=100&order=asc"))
+          .thenReturn(completedFuture(CallResult.success(paginatedResponse)));
+
+      val actual =
+          accountService
+              .getAccountsPage(PageRequest.builder().limit(100).order(Order.ASC).build())
+              .join();
+
+      assertThat(actual)
+          .usingRecursiveComparison()
+          .isEqualTo(CallResult.success(new AccountsPage(null, Seq(account))));
+    }
+
+    @Test
+    void should_throw_InvalidRequestException_on_invalid_limit() {
+      val pageRequest = PageRequest.builder().limit(101).build();
+
+      assertThatExceptionOfType(InvalidRequestException.class)
+          .isThrownBy(() -> accountService.getAccountsPage(pageRequest));
+      verifyNoInteractions(coinbaseAccountService);
+    }
+  }
+
+  @Nested
+  class GetNextAndPreviousAccountsPage {
+    @Test
+    void should_fetch_next_page_uri() {
+      val pagination = Pagination.builder().nextUri("/v2/accounts?starting_after=id").build();
+      val paginatedResponse = PaginatedResponse.<Account>builder().data(Seq()).build();
+
+      when(coinbaseAccountService.fetchAccountPageByUriAsync(
+              client, authenticationService, "/v2/accounts?starting_after=id"))
+          .thenReturn(completedFuture(CallResult.success(paginatedResponse)));
+
+      val actual = accountService.getNextAccountsPageAsJava(pagination).join();
+
+      assertThat(actual.isSuccess()).isTrue();
+    }
+
+    @Test
+    void should_throw_NoNextPageException() {
+      val pagination = Pagination.builder().build();
+
+      assertThatExceptionOfType(NoNextPageException.class)
+          .isThrownBy(() -> accountService.getNextAccountsPage(pagination));
+      verifyNoInteractions(coinbaseAccountService);
+    }
+
+    @Test
+    void should_throw_NoPreviousPageException() {
+      val pagination = Pagination.builder().build();
+
+      assertThatExceptionOfType(NoPreviousPageException.class)
+          .isThrownBy(() -> accountService.getPreviousAccountsPage(pagination));
+      verifyNoInteractions(coinbaseAccountService);
+    }
+  }
+
+  @Nested
+  class GetAccount {
+    @Test
+    void should_return_account_as_java() {
+      val account = Account.builder().id("id").build();
+
+      when(client.getProperties()).thenReturn(properties);
+      when(properties.getAccountsPath()).thenReturn("/v2/accounts");
+      when(coinbaseAccountService.sendAsync(
+              client, authenticationService, "/v2/accounts/id", "GET", ""))
+          .thenReturn(completedFuture(CallResult.success(account)));
+
+      val actual = accountService.getAccountAsJava("id").join();
+
+      assertThat(actual.get()).isEqualTo(account);
+    }
+
+    @Test
+    void should_throw_InvalidRequestException_on_blank_id() {
+      assertThatExceptionOfType(InvalidRequestException.class)
+          .isThrownBy(() -> accountService.getAccount(" "));
+      verifyNoInteractions(coinbaseAccountService);
+    }
+  }
+
+  @Nested
+  class UpdateAccount {
+    @Test
+    void should_return_updated_account_as_java() throws Exception {
+      val request = UpdateAccountRequest.builder().name("name").build();
+      val body = JSON_SER_DES.writeValueAsString(request);
+      val account = Account.builder().id("id").name("name").build();
+
+      when(client.getProperties()).thenReturn(properties);
+      when(client.getJsonSerDes()).thenReturn(JSON_SER_DES);
+      when(properties.getAccountsPath()).thenReturn("/v2/accounts");
+      when(coinbaseAccountService.sendAsync(
+              client, authenticationService, "/v2/accounts/id", "PUT", body))
+          .thenReturn(completedFuture(CallResult.success(account)));
+
+      val actual = accountService.updateAccountAsJava("id", request).join();
+
+      assertThat(actual.get()).isEqualTo(account);
+    }
+  }
+}
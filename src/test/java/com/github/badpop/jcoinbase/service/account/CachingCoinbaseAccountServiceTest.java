@@ -0,0 +1,133 @@
+package com.github.badpop.jcoinbase.service.account;
+
+import com.github.badpop.jcoinbase.JCoinbaseClient;
+import com.github.badpop.jcoinbase.JCoinbaseClientFactory;
+import com.github.badpop.jcoinbase.testutils.JsonUtils;
+import lombok.val;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockserver.integration.ClientAndServer;
+import org.mockserver.socket.PortFactory;
+import org.mockserver.verify.VerificationTimes;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import static com.github.badpop.jcoinbase.testutils.ReflectionUtils.setFieldValueForObject;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockserver.model.HttpRequest.request;
+import static org.mockserver.model.HttpResponse.response;
+
+class CachingCoinbaseAccountServiceTest {
+
+  private static final String ACCOUNT_URI = "/v2/accounts/id";
+
+  private static ClientAndServer mockServer;
+  private static int port;
+  private static JCoinbaseClient client;
+  private CachingCoinbaseAccountService service;
+
+  @BeforeAll
+  static void init() {
+    port = PortFactory.findFreePort();
+    mockServer = ClientAndServer.startClientAndServer(port);
+    client = JCoinbaseClientFactory.build("loremIpsum", "dolorSitAmet", "2021-02-03", 3, false);
+  }
+
+  @AfterAll
+  static void tearDown() {
+    mockServer.stop();
+  }
+
+  @BeforeEach
+  void setUp() throws NoSuchFieldException, IllegalAccessException {
+    mockServer.reset();
+    service = new CachingCoinbaseAccountService(Duration.ofMinutes(1), 100);
+    setFieldValueForObject(client.getProperties(), "apiUrl", "http://localhost:" + port);
+  }
+
+  private void respond(final String method, final String path, final int status, final String body)
+      throws IOException {
+    mockServer
+        .when(request().withMethod(method).withPath(path))
+        .respond(
+            response()
+                .withStatusCode(status)
+                .withHeader("Content-Type", "application/json")
+                .withBody(JsonUtils.readResource(body)));
+  }
+
+  private void verifyGets(final int times) {
+    mockServer.verify(
+        request().withMethod("GET").withPath(ACCOUNT_URI), VerificationTimes.exactly(times));
+  }
+
+  @Test
+  void should_read_the_accounts_of_a_fetched_page_from_the_cache() throws IOException {
+    respond("GET", "/v2/accounts", 200, "/json/coinbaseAccountService/account_list.json");
+
+    service.fetchAccountPageByUri(client, client.getAuthService(), "/v2/accounts");
+    val actual = service.send(client, client.getAuthService(), ACCOUNT_URI, "GET", "");
+
+    assertThat(actual.get().get().getId()).isEqualTo("id");
+    verifyGets(0);
+  }
+
+  @Test
+  void should_read_the_accounts_of_an_async_fetched_page_from_the_cache() throws IOException {
+    respond("GET", "/v2/accounts", 200, "/json/coinbaseAccountService/account_list.json");
+
+    service.fetchAccountPageByUriAsync(client, client.getAuthService(), "/v2/accounts").join();
+    val actual = service.sendAsync(client, client.getAuthService(), ACCOUNT_URI, "GET", "").join();
+
+    assertThat(actual.get().getId()).isEqualTo("id");
+    verifyGets(0);
+  }
+
+  @Test
+  void should_fetch_an_account_once() throws IOException {
+    respond("GET", ACCOUNT_URI, 200, "/json/coinbaseAccountService/account.json");
+
+    service.send(client, client.getAuthService(), ACCOUNT_URI, "GET", "");
+    service.sendAsync(client, client.getAuthService(), ACCOUNT_URI, "GET", "").join();
+
+    verifyGets(1);
+  }
+
+  @Test
+  void should_keep_the_updated_account() throws IOException {
+    respond("GET", ACCOUNT_URI, 200, "/json/coinbaseAccountService/account.json");
+    respond("PUT", ACCOUNT_URI, 200, "/json/coinbaseAccountService/account.json");
+
+    service.send(client, client.getAuthService(), ACCOUNT_URI, "GET", "");
+    val updated = service.send(client, client.getAuthService(), ACCOUNT_URI, "PUT", "{}");
+    val actual = service.send(client, client.getAuthService(), ACCOUNT_URI, "GET", "");
+
+    assertThat(actual.get()).isSameAs(updated.get());
+    verifyGets(1);
+  }
+
+  @Test
+  void should_forget_an_account_whose_update_failed() throws IOException {
+    respond("GET", ACCOUNT_URI, 200, "/json/coinbaseAccountService/account.json");
+    respond("PUT", ACCOUNT_URI, 400, "/json/errors.json");
+
+    service.send(client, client.getAuthService(), ACCOUNT_URI, "GET", "");
+    service.sendAsync(client, client.getAuthService(), ACCOUNT_URI, "PUT", "{}").join();
+    service.send(client, client.getAuthService(), ACCOUNT_URI, "GET", "");
+
+    verifyGets(2);
+  }
+
+  @Test
+  void should_not_cache_failures() throws IOException {
+    respond("GET", ACCOUNT_URI, 400, "/json/errors.json");
+
+    service.send(client, client.getAuthService(), ACCOUNT_URI, "GET", "");
+    service.send(client, client.getAuthService(), ACCOUNT_URI, "GET", "");
+
+    verifyGets(2);
+  }
+}
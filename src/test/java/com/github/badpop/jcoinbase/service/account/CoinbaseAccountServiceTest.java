@@ -3,6 +3,7 @@ package com.github.badpop.jcoinbase.service.account;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.github.badpop.jcoinbase.JCoinbaseClient;
 import com.github.badpop.jcoinbase.JCoinbaseClientFactory;
+import com.github.badpop.jcoinbase.JCoinbaseOptions;
 import com.github.badpop.jcoinbase.control.CallResult;
 import com.github.badpop.jcoinbase.exception.JCoinbaseException;
 import com.github.badpop.jcoinbase.model.PaginatedResponse;
@@ -11,6 +12,8 @@ import com.github.badpop.jcoinbase.model.account.Account;
 import com.github.badpop.jcoinbase.model.account.AccountBalance;
 import com.github.badpop.jcoinbase.model.account.AccountCurrency;
 import com.github.badpop.jcoinbase.model.account.Rewards;
+import com.github.badpop.jcoinbase.model.user.Authorizations;
+import com.github.badpop.jcoinbase.service.auth.ScopeGuard;
 import com.github.badpop.jcoinbase.service.utils.DateAndTimeUtils;
 import com.github.badpop.jcoinbase.testutils.CoinbaseErrorSampleProvider;
 import com.github.badpop.jcoinbase.testutils.JsonUtils;
@@ -22,10 +25,12 @@ import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.mockserver.integration.ClientAndServer;
 import org.mockserver.socket.PortFactory;
+import org.mockserver.verify.VerificationTimes;
 
 import java.io.IOException;
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.concurrent.CompletionException;
 
 import static com.github.badpop.jcoinbase.model.Pagination.Order.DESC;
 import static com.github.badpop.jcoinbase.model.ResourceType.ACCOUNT;
@@ -339,4 +344,112 @@ class CoinbaseAccountServiceTest {
           .isThrownBy(() -> service.send(client, auth, "", "", ""));
     }
   }
+
+  @Nested
+  class FetchAsync {
+    @Test
+    void should_return_accounts_page() throws IOException {
+      mockServer
+          .when(request().withMethod("GET").withPath("/v2/accounts"))
+          .respond(
+              response()
+                  .withHeader("Content-Type", "application/json")
+                  .withBody(
+                      JsonUtils.readResource("/json/coinbaseAccountService/account_list.json")));
+
+      val actual =
+          service
+              .fetchAccountPageByUriAsync(client, client.getAuthService(), "/v2/accounts")
+              .join();
+
+      Assertions.assertThat(actual.isSuccess()).isTrue();
+      Assertions.assertThat(actual.get().getData()).isNotEmpty();
+      Assertions.assertThat(actual.get().getPagination().getOrder()).isEqualTo(DESC);
+    }
+
+    @Test
+    void should_return_CallResult_failure() throws IOException {
+      mockServer
+          .when(request().withMethod("GET").withPath("/v2/accounts/id"))
+          .respond(
+              response()
+                  .withStatusCode(400)
+                  .withHeader("Content-Type", "application/json")
+                  .withBody(JsonUtils.readResource("/json/errors.json")));
+
+      val actual =
+          service.sendAsync(client, client.getAuthService(), "/v2/accounts/id", "GET", "").join();
+
+      Assertions.assertThat(actual.isFailure()).isTrue();
+      assertThat(actual.getFailure()).containsExactly(CoinbaseErrorSampleProvider.getError());
+    }
+
+    @Test
+    void should_complete_exceptionally() throws IOException {
+      mockServer
+          .when(request().withMethod("GET").withPath("/v2/accounts/id"))
+          .respond(
+              response()
+                  .withHeader("Content-Type", "application/json")
+                  .withBody(JsonUtils.readResource("/json/error.json")));
+
+      val actual = service.sendAsync(client, client.getAuthService(), "/v2/accounts/id", "GET", "");
+
+      assertThatExceptionOfType(CompletionException.class)
+          .isThrownBy(actual::join)
+          .withCauseInstanceOf(JsonProcessingException.class);
+    }
+  }
+
+  @Nested
+  class ScopeCheck {
+
+    private JCoinbaseClient guarded;
+
+    @BeforeEach
+    void setUp() throws NoSuchFieldException, IllegalAccessException {
+      guarded =
+          JCoinbaseClientFactory.build(
+              "loremIpsum",
+              "dolorSitAmet",
+              "2021-02-03",
+              3,
+              false,
+              JCoinbaseOptions.builder().scopeCheck(true).build());
+      setFieldValueForObject(guarded.getProperties(), "apiUrl", "http://localhost:" + port);
+      guarded
+          .getScopeGuard()
+          .update(
+              Authorizations.builder()
+                  .method("api_key")
+                  .scopes(Seq("wallet:accounts:read"))
+                  .build());
+    }
+
+    @Test
+    void should_reject_an_update_without_the_scope_and_without_sending_it() {
+      val actual = service.send(guarded, guarded.getAuthService(), "/v2/accounts/id", "PUT", "{}");
+
+      assertThat(actual).isSuccess();
+      Assertions.assertThat(actual.get().isFailure()).isTrue();
+      Assertions.assertThat(actual.get().getFailure().head().getCode())
+          .isEqualTo(ScopeGuard.INVALID_SCOPE);
+      mockServer.verify(request().withPath("/v2/accounts/id"), VerificationTimes.exactly(0));
+    }
+
+    @Test
+    void should_send_a_request_with_the_scope() throws IOException {
+      mockServer
+          .when(request().withMethod("GET").withPath("/v2/accounts/id"))
+          .respond(
+              response()
+                  .withHeader("Content-Type", "application/json")
+                  .withBody(JsonUtils.readResource("/json/coinbaseAccountService/account.json")));
+
+      val actual =
+          service.sendAsync(guarded, guarded.getAuthService(), "/v2/accounts/id", "GET", "").join();
+
+      Assertions.assertThat(actual.isSuccess()).isTrue();
+    }
+  }
 }
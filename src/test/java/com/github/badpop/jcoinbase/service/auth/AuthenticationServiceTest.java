@@ -9,6 +9,9 @@ import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
 import java.lang.reflect.InvocationTargetException;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
 
 import static com.github.badpop.jcoinbase.testutils.ReflectionUtils.invokeJcoinbasePropertiesFactoryBuildMethod;
 import static io.vavr.API.Option;
@@ -79,6 +82,28 @@ class AuthenticationServiceTest {
               "application/json");
     }
 
+    @Test
+    void should_timestamp_headers_with_the_given_clock()
+        throws NoSuchMethodException, IllegalAccessException, InvocationTargetException {
+      val clock = Clock.fixed(Instant.ofEpochSecond(1613126414L), ZoneOffset.UTC);
+
+      val actual =
+          new AuthenticationService(clock)
+              .getAuthenticationHeaders(
+                  invokeJcoinbasePropertiesFactoryBuildMethod(
+                      "loremIpsum", "dolorSitAmet", "2021-02-03", false),
+                  "GET",
+                  "/path",
+                  "{\"currency\" : \"BTC\"}");
+
+      assertThat(actual)
+          .containsSequence(
+              "CB-ACCESS-SIGN",
+              "f537a3320e2d33e209e2de9165a3ffcb7bac95fea1c2dc7cc45a76fa20dd528c",
+              "CB-ACCESS-TIMESTAMP",
+              "1613126414");
+    }
+
     @Test
     void should_return_headers_even_if_body_is_empty()
         throws NoSuchMethodException, IllegalAccessException, InvocationTargetException {
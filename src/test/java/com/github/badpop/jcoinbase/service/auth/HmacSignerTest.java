@@ -0,0 +1,99 @@
+package com.github.badpop.jcoinbase.service.auth;
+
+import lombok.val;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HmacSignerTest {
+
+  private final HmacSigner signer = new HmacSigner("dolorSitAmet");
+
+  @Test
+  void should_sign_message() {
+    val actual = signer.sign("1613126414", "GET", "/path", "{\"currency\" : \"BTC\"}");
+
+    assertThat(actual)
+        .isEqualTo("f537a3320e2d33e209e2de9165a3ffcb7bac95fea1c2dc7cc45a76fa20dd528c");
+  }
+
+  @Test
+  void should_sign_message_without_body() throws Exception {
+    val actual = signer.sign("1613126414", "GET", "/v2/user", null);
+
+    assertThat(actual).isEqualTo(expected("1613126414GET/v2/user"));
+  }
+
+  @Test
+  void should_sign_non_ascii_body() throws Exception {
+    val body = "{\"name\" : \"Zoé – 日本\"}";
+
+    val actual = signer.sign("1613126414", "PUT", "/v2/user", body);
+
+    assertThat(actual).isEqualTo(expected("1613126414PUT/v2/user" + body));
+  }
+
+  @Test
+  void should_sign_body_larger_than_initial_buffer() throws Exception {
+    val body = "x".repeat(10_000);
+
+    val actual = signer.sign("1613126414", "PUT", "/v2/user", body);
+
+    assertThat(actual).isEqualTo(expected("1613126414PUT/v2/user" + body));
+  }
+
+  @Test
+  void should_reuse_state_between_signatures() throws Exception {
+    signer.sign("1613126414", "PUT", "/v2/user", "x".repeat(1_000));
+
+    val actual = signer.sign("1613126415", "GET", "/v2/accounts", null);
+
+    assertThat(actual).isEqualTo(expected("1613126415GET/v2/accounts"));
+  }
+
+  @Test
+  void should_sign_concurrently() throws Exception {
+    val executor = Executors.newFixedThreadPool(4);
+    try {
+      val tasks =
+          IntStream.range(0, 200)
+              .mapToObj(
+                  i -> (Callable<String>) () -> signer.sign(String.valueOf(i), "GET", "/", null))
+              .collect(Collectors.toList());
+
+      val results = executor.invokeAll(tasks);
+
+      for (int i = 0; i < results.size(); i++) {
+        final Future<String> result = results.get(i);
+        assertThat(result.get()).isEqualTo(expected(i + "GET/"));
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void should_tell_if_built_for_secret() {
+    assertThat(signer.isFor("dolorSitAmet")).isTrue();
+    assertThat(signer.isFor("other")).isFalse();
+  }
+
+  private static String expected(final String message) throws Exception {
+    val mac = Mac.getInstance("HmacSHA256");
+    mac.init(new SecretKeySpec("dolorSitAmet".getBytes(UTF_8), "HmacSHA256"));
+    val builder = new StringBuilder();
+    for (final byte b : mac.doFinal(message.getBytes(UTF_8))) {
+      builder.append(String.format("%02x", b));
+    }
+    return builder.toString();
+  }
+}
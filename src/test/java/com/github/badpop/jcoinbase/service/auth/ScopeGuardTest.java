@@ -0,0 +1,90 @@
+package com.github.badpop.jcoinbase.service.auth;
+
+import com.github.badpop.jcoinbase.control.CallResult;
+import com.github.badpop.jcoinbase.model.CoinbaseError;
+import com.github.badpop.jcoinbase.model.user.Authorizations;
+import io.vavr.collection.Seq;
+import io.vavr.control.Try;
+import lombok.val;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.vavr.API.Seq;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ScopeGuardTest {
+
+  private static final Authorizations READ_ONLY =
+      Authorizations.builder()
+          .method("api_key")
+          .scopes(Seq("wallet:user:read", "wallet:accounts:read"))
+          .build();
+
+  private final ScopeGuard guard = new ScopeGuard(true);
+  private final AtomicInteger sent = new AtomicInteger();
+
+  private Try<CallResult<Seq<CoinbaseError>, String>> send() {
+    sent.incrementAndGet();
+    return Try.success(CallResult.success("sent"));
+  }
+
+  @Test
+  void should_allow_everything_until_the_authorizations_are_known() {
+    assertThat(guard.isAllowed(Scope.ACCOUNTS_UPDATE)).isTrue();
+    assertThat(guard.guard(Scope.ACCOUNTS_UPDATE, this::send).get().get()).isEqualTo("sent");
+  }
+
+  @Test
+  void should_allow_the_granted_scopes() {
+    guard.update(READ_ONLY);
+
+    assertThat(guard.isAllowed(Scope.USER_READ)).isTrue();
+    assertThat(guard.isAllowed(Scope.ACCOUNTS_READ)).isTrue();
+    assertThat(guard.guard(Scope.ACCOUNTS_READ, this::send).get().get()).isEqualTo("sent");
+  }
+
+  @Test
+  void should_reject_the_missing_scopes_without_sending_anything() {
+    guard.update(READ_ONLY);
+
+    val actual = guard.guard(Scope.USER_UPDATE, this::send).get();
+
+    assertThat(actual.isFailure()).isTrue();
+    assertThat(actual.getFailure().head().getCode()).isEqualTo(ScopeGuard.INVALID_SCOPE);
+    assertThat(actual.getFailure().head().getMessage()).contains("wallet:user:update");
+    assertThat(sent).hasValue(0);
+    assertThat(guard.getRejectedCount()).isEqualTo(1);
+  }
+
+  @Test
+  void should_reject_asynchronously() {
+    guard.update(READ_ONLY);
+
+    val actual =
+        guard.<String>guardAsync(
+            Scope.ACCOUNTS_UPDATE, () -> CompletableFuture.completedFuture(send().get()));
+
+    assertThat(actual).isDone();
+    assertThat(actual.join().isFailure()).isTrue();
+    assertThat(sent).hasValue(0);
+  }
+
+  @Test
+  void should_allow_everything_once_reset() {
+    guard.update(READ_ONLY);
+    guard.reset();
+
+    assertThat(guard.isAllowed(Scope.USER_UPDATE)).isTrue();
+    assertThat(guard.getAuthorizations()).isEmpty();
+  }
+
+  @Test
+  void should_allow_everything_when_disabled() {
+    val disabled = new ScopeGuard(false);
+    disabled.update(READ_ONLY);
+
+    assertThat(disabled.isAllowed(Scope.ACCOUNTS_UPDATE)).isTrue();
+  }
+}
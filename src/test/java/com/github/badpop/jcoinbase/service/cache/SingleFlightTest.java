@@ -0,0 +1,152 @@
+package com.github.badpop.jcoinbase.service.cache;
+
+import lombok.val;
+import org.junit.jupiter.api.Test;
+
+import java.io.UncheckedIOException;
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+class SingleFlightTest {
+
+  private final SingleFlight<String, String> flights = new SingleFlight<>();
+  private final AtomicInteger calls = new AtomicInteger();
+
+  private String call(final String key) {
+    calls.incrementAndGet();
+    return key.toUpperCase();
+  }
+
+  @Test
+  void should_coalesce_concurrent_calls() throws Exception {
+    val running = new CountDownLatch(1);
+    val release = new CountDownLatch(1);
+    val executor = Executors.newFixedThreadPool(4);
+
+    try {
+      val leader =
+          executor.submit(
+              () ->
+                  flights.execute(
+                      "GET /v2/user",
+                      () -> {
+                        running.countDown();
+                        await(release);
+                        return call("user");
+                      }));
+      assertThat(running.await(5, TimeUnit.SECONDS)).isTrue();
+
+      val followers =
+          java.util.List.of(
+              executor.submit(() -> flights.execute("GET /v2/user", () -> call("user"))),
+              executor.submit(() -> flights.execute("GET /v2/user", () -> call("user"))));
+      while (flights.getCoalescedCount() < 2) {
+        Thread.onSpinWait();
+      }
+      release.countDown();
+
+      assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("USER");
+      for (val follower : followers) {
+        assertThat(follower.get(5, TimeUnit.SECONDS)).isEqualTo("USER");
+      }
+      assertThat(calls).hasValue(1);
+      assertThat(flights.size()).isZero();
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void should_execute_again_once_the_call_completed() {
+    flights.execute("GET /v2/user", () -> call("user"));
+    flights.execute("GET /v2/user", () -> call("user"));
+
+    assertThat(calls).hasValue(2);
+    assertThat(flights.getCoalescedCount()).isZero();
+  }
+
+  @Test
+  void should_coalesce_pending_async_calls() {
+    val pending = new CompletableFuture<String>();
+
+    val first = flights.executeAsync("GET /v2/user", () -> pending);
+    val second =
+        flights.executeAsync("GET /v2/user", () -> CompletableFuture.completedFuture(call("user")));
+    pending.complete("USER");
+
+    assertThat(first.join()).isEqualTo("USER");
+    assertThat(second.join()).isEqualTo("USER");
+    assertThat(calls).hasValue(0);
+    assertThat(flights.size()).isZero();
+  }
+
+  @Test
+  void should_not_coalesce_different_keys() {
+    val pending = new CompletableFuture<String>();
+
+    flights.executeAsync("GET /v2/user", () -> pending);
+    val other =
+        flights.executeAsync(
+            "GET /v2/users/id", () -> CompletableFuture.completedFuture(call("id")));
+
+    assertThat(other.join()).isEqualTo("ID");
+    assertThat(calls).hasValue(1);
+  }
+
+  @Test
+  void should_not_propagate_caller_cancellation() {
+    val pending = new CompletableFuture<String>();
+
+    flights.executeAsync("GET /v2/user", () -> pending).cancel(true);
+    val other =
+        flights.executeAsync("GET /v2/user", () -> CompletableFuture.completedFuture(call("user")));
+    pending.complete("USER");
+
+    assertThat(other.join()).isEqualTo("USER");
+  }
+
+  @Test
+  void should_give_the_failure_to_the_coalesced_calls_and_forget_it() {
+    val pending = new CompletableFuture<String>();
+
+    val first = flights.executeAsync("GET /v2/user", () -> pending);
+    val second = flights.executeAsync("GET /v2/user", () -> pending);
+    pending.completeExceptionally(new UncheckedIOException(new IOException("reset")));
+
+    assertThatExceptionOfType(Exception.class)
+        .isThrownBy(first::join)
+        .withCauseInstanceOf(UncheckedIOException.class);
+    assertThatExceptionOfType(Exception.class)
+        .isThrownBy(second::join)
+        .withCauseInstanceOf(UncheckedIOException.class);
+    assertThat(flights.execute("GET /v2/user", () -> call("user"))).isEqualTo("USER");
+  }
+
+  @Test
+  void should_rethrow_the_failure_of_a_blocking_call() {
+    assertThatExceptionOfType(IllegalStateException.class)
+        .isThrownBy(
+            () ->
+                flights.execute(
+                    "GET /v2/user",
+                    () -> {
+                      throw new IllegalStateException("failed");
+                    }));
+    assertThat(flights.size()).isZero();
+  }
+
+  private static void await(final CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,255 @@
+package com.github.badpop.jcoinbase.service.cache;
+
+import lombok.val;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+class TtlCacheTest {
+
+  private final AtomicLong now = new AtomicLong();
+  private final AtomicInteger loads = new AtomicInteger();
+
+  private TtlCache<String, String> cache(final int maximumSize) {
+    return new TtlCache<>(Duration.ofSeconds(10), maximumSize, value -> !value.isEmpty(), now::get);
+  }
+
+  private String load(final String key) {
+    loads.incrementAndGet();
+    return key.toUpperCase();
+  }
+
+  @Nested
+  class Get {
+    @Test
+    void should_return_the_put_value_without_loading() {
+      val cache = cache(10);
+
+      cache.get("btc", () -> load("btc"));
+      cache.put("btc", "XBT");
+
+      assertThat(cache.get("btc", () -> load("btc"))).isEqualTo("XBT");
+      assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void should_not_keep_a_non_cacheable_put_value() {
+      val cache = cache(10);
+
+      cache.get("btc", () -> load("btc"));
+      cache.put("btc", "");
+
+      assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void should_load_once_and_then_hit() {
+      val cache = cache(10);
+
+      assertThat(cache.get("btc", () -> load("btc"))).isEqualTo("BTC");
+      assertThat(cache.get("btc", () -> load("btc"))).isEqualTo("BTC");
+
+      assertThat(loads).hasValue(1);
+      assertThat(cache.getStats()).isEqualTo(new CacheStats(1, 1, 0, 1));
+    }
+
+    @Test
+    void should_reload_expired_values() {
+      val cache = cache(10);
+
+      cache.get("btc", () -> load("btc"));
+      now.addAndGet(Duration.ofSeconds(10).toNanos());
+      cache.get("btc", () -> load("btc"));
+
+      assertThat(loads).hasValue(2);
+      assertThat(cache.getStats().getMissCount()).isEqualTo(2);
+    }
+
+    @Test
+    void should_not_keep_non_cacheable_values() {
+      val cache = cache(10);
+
+      cache.get("btc", () -> "");
+      cache.get("btc", () -> load("btc"));
+
+      assertThat(loads).hasValue(1);
+      assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    void should_evict_the_least_recently_used_value() {
+      val cache = cache(2);
+
+      cache.get("btc", () -> load("btc"));
+      cache.get("eth", () -> load("eth"));
+      cache.get("btc", () -> load("btc"));
+      cache.get("ltc", () -> load("ltc"));
+      cache.get("btc", () -> load("btc"));
+      cache.get("eth", () -> load("eth"));
+
+      assertThat(loads).hasValue(4);
+      assertThat(cache.getStats().getEvictionCount()).isEqualTo(2);
+      assertThat(cache.size()).isEqualTo(2);
+    }
+
+    @Test
+    void should_rethrow_loader_failure_and_forget_it() {
+      val cache = cache(10);
+
+      assertThatExceptionOfType(IllegalStateException.class)
+          .isThrownBy(
+              () ->
+                  cache.get(
+                      "btc",
+                      () -> {
+                        throw new IllegalStateException("boom");
+                      }));
+
+      assertThat(cache.size()).isZero();
+      assertThat(cache.get("btc", () -> load("btc"))).isEqualTo("BTC");
+    }
+
+    @Test
+    void should_coalesce_concurrent_lookups() throws Exception {
+      val cache = cache(10);
+      val loading = new CountDownLatch(1);
+      val release = new CountDownLatch(1);
+      val executor = Executors.newFixedThreadPool(4);
+
+      try {
+        val leader =
+            executor.submit(
+                () ->
+                    cache.get(
+                        "btc",
+                        () -> {
+                          loading.countDown();
+                          await(release);
+                          return load("btc");
+                        }));
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+
+        val followers =
+            java.util.List.of(
+                executor.submit(() -> cache.get("btc", () -> load("btc"))),
+                executor.submit(() -> cache.get("btc", () -> load("btc"))),
+                executor.submit(() -> cache.get("btc", () -> load("btc"))));
+        release.countDown();
+
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("BTC");
+        for (val follower : followers) {
+          assertThat(follower.get(5, TimeUnit.SECONDS)).isEqualTo("BTC");
+        }
+        assertThat(loads).hasValue(1);
+        assertThat(cache.getStats().getHitCount()).isEqualTo(3);
+      } finally {
+        executor.shutdownNow();
+      }
+    }
+  }
+
+  @Nested
+  class GetAsync {
+    @Test
+    void should_coalesce_pending_lookups() {
+      val cache = cache(10);
+      val pending = new CompletableFuture<String>();
+
+      val first = cache.getAsync("btc", () -> pending);
+      val second = cache.getAsync("btc", () -> CompletableFuture.completedFuture(load("btc")));
+
+      assertThat(first).isNotDone();
+      assertThat(second).isNotDone();
+
+      pending.complete("BTC");
+
+      assertThat(first.join()).isEqualTo("BTC");
+      assertThat(second.join()).isEqualTo("BTC");
+      assertThat(loads).hasValue(0);
+      assertThat(cache.get("btc", () -> load("btc"))).isEqualTo("BTC");
+    }
+
+    @Test
+    void should_not_propagate_caller_cancellation() {
+      val cache = cache(10);
+      val pending = new CompletableFuture<String>();
+
+      cache.getAsync("btc", () -> pending).cancel(true);
+      val other = cache.getAsync("btc", () -> CompletableFuture.completedFuture(load("btc")));
+      pending.complete("BTC");
+
+      assertThat(other.join()).isEqualTo("BTC");
+    }
+
+    @Test
+    void should_fail_waiting_callers_and_forget_the_failure() {
+      val cache = cache(10);
+      val pending = new CompletableFuture<String>();
+
+      val first = cache.getAsync("btc", () -> pending);
+      pending.completeExceptionally(new IOException("boom"));
+
+      assertThat(first).isCompletedExceptionally();
+      assertThat(cache.size()).isZero();
+    }
+  }
+
+  @Nested
+  class GetIfPresentAsync {
+    @Test
+    void should_join_a_pending_lookup_without_loading() {
+      val cache = cache(10);
+      val pending = new CompletableFuture<String>();
+      cache.getAsync("btc", () -> pending);
+
+      val actual = cache.getIfPresentAsync("btc");
+      pending.complete("BTC");
+
+      assertThat(actual.get().join()).isEqualTo("BTC");
+      assertThat(cache.getStats().getHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void should_return_none_without_registering_a_lookup() {
+      val cache = cache(10);
+
+      assertThat(cache.getIfPresentAsync("btc").isEmpty()).isTrue();
+      assertThat(cache.size()).isZero();
+      assertThat(cache.getStats().getMissCount()).isEqualTo(1);
+    }
+  }
+
+  @Nested
+  class Build {
+    @Test
+    void should_reject_non_positive_ttl() {
+      assertThatExceptionOfType(IllegalArgumentException.class)
+          .isThrownBy(() -> new TtlCache<String, String>(Duration.ZERO, 10, value -> true));
+    }
+
+    @Test
+    void should_reject_size_lower_than_one() {
+      assertThatExceptionOfType(IllegalArgumentException.class)
+          .isThrownBy(() -> new TtlCache<String, String>(Duration.ofSeconds(1), 0, value -> true));
+    }
+  }
+
+  private static void await(final CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
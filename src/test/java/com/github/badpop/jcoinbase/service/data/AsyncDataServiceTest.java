@@ -0,0 +1,226 @@
+package com.github.badpop.jcoinbase.service.data;
+
+import com.github.badpop.jcoinbase.JCoinbaseClient;
+import com.github.badpop.jcoinbase.JCoinbaseOptions;
+import com.github.badpop.jcoinbase.control.CallResult;
+import com.github.badpop.jcoinbase.control.Deadline;
+import com.github.badpop.jcoinbase.exception.InvalidRequestException;
+import com.github.badpop.jcoinbase.exception.JCoinbaseException;
+import com.github.badpop.jcoinbase.model.data.Currency;
+import com.github.badpop.jcoinbase.model.data.CurrencyPair;
+import com.github.badpop.jcoinbase.model.data.ExchangeRates;
+import com.github.badpop.jcoinbase.model.data.Price;
+import com.github.badpop.jcoinbase.model.data.PricesBatch;
+import com.github.badpop.jcoinbase.model.data.Quote;
+import com.github.badpop.jcoinbase.model.data.Time;
+import com.github.badpop.jcoinbase.testutils.CoinbaseErrorSampleProvider;
+import io.vavr.collection.List;
+import lombok.val;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletionException;
+
+import static com.github.badpop.jcoinbase.model.data.Price.PriceType.SPOT;
+import static io.vavr.API.*;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.concurrent.CompletableFuture.failedFuture;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AsyncDataServiceTest {
+
+  @InjectMocks private AsyncDataService dataService;
+  @Mock private JCoinbaseClient client;
+  @Mock private CoinbaseDataService coinbaseDataService;
+
+  @Nested
+  class GetTime {
+    @Test
+    void should_return_time() {
+      val time =
+          Time.builder().iso(LocalDateTime.of(2021, 2, 7, 15, 30)).epoch(1612711800L).build();
+
+      when(coinbaseDataService.fetchTimeAsync(client))
+          .thenReturn(completedFuture(CallResult.success(time)));
+
+      val actual = dataService.getTime().join();
+
+      assertThat(actual.get()).isEqualTo(time);
+      verify(coinbaseDataService).fetchTimeAsync(client);
+      verifyNoMoreInteractions(coinbaseDataService);
+    }
+
+    @Test
+    void should_return_failure_as_java() {
+      when(coinbaseDataService.fetchTimeAsync(client))
+          .thenReturn(
+              completedFuture(
+                  CallResult.failure(Seq(CoinbaseErrorSampleProvider.getSingleError()))));
+
+      val actual = dataService.getTimeAsJava().join();
+
+      assertThat(actual.getFailure())
+          .isInstanceOf(java.util.List.class)
+          .containsExactly(CoinbaseErrorSampleProvider.getSingleError());
+    }
+
+    @Test
+    void should_complete_exceptionally_with_JCoinbaseException() {
+      when(coinbaseDataService.fetchTimeAsync(client))
+          .thenReturn(failedFuture(new IOException("Error message")));
+
+      val actual = dataService.getTime();
+
+      assertThatExceptionOfType(CompletionException.class)
+          .isThrownBy(actual::join)
+          .havingCause()
+          .isInstanceOf(JCoinbaseException.class)
+          .withMessage("java.io.IOException: Error message");
+    }
+  }
+
+  @Nested
+  class GetCurrencies {
+    @Test
+    void should_return_currencies_as_java() {
+      val currency = Currency.builder().id("BTC").name("Bitcoin").minSize(BigDecimal.ONE).build();
+
+      when(coinbaseDataService.fetchCurrenciesAsync(client))
+          .thenReturn(completedFuture(CallResult.success(Seq(currency))));
+
+      val actual = dataService.getCurrenciesAsJava().join();
+
+      assertThat(actual.get()).isInstanceOf(java.util.List.class).containsExactly(currency);
+    }
+  }
+
+  @Nested
+  class GetExchangeRates {
+    @Test
+    void should_return_exchange_rates() {
+      val rates = ExchangeRates.builder().currency("BTC").rates(Map("EUR", BigDecimal.TEN)).build();
+
+      when(coinbaseDataService.fetchExchangeRatesAsync(client, "BTC"))
+          .thenReturn(completedFuture(CallResult.success(rates)));
+
+      val actual = dataService.getExchangeRatesAsJava("BTC").join();
+
+      assertThat(actual.get()).isEqualTo(rates);
+    }
+  }
+
+  @Nested
+  class GetPrice {
+    @Test
+    void should_return_price() {
+      val price =
+          Price.builder()
+              .baseCurrency("BTC")
+              .targetCurrency("EUR")
+              .amount(BigDecimal.TEN)
+              .priceType(SPOT)
+              .build();
+
+      when(coinbaseDataService.fetchPriceByTypeAsync(client, SPOT, "BTC", "EUR"))
+          .thenReturn(completedFuture(CallResult.success(price)));
+
+      val actual = dataService.getPriceAsJava(SPOT, "BTC", "EUR").join();
+
+      assertThat(actual.get()).isEqualTo(price);
+    }
+
+    @Test
+    void should_complete_exceptionally_with_JCoinbaseException() {
+      when(coinbaseDataService.fetchPriceByTypeAsync(client, SPOT, "BTC", "EUR"))
+          .thenReturn(failedFuture(new IOException("Error message")));
+
+      val actual = dataService.getPrice(SPOT, "BTC", "EUR");
+
+      assertThatExceptionOfType(CompletionException.class)
+          .isThrownBy(actual::join)
+          .withCauseInstanceOf(JCoinbaseException.class);
+    }
+  }
+
+  @Nested
+  class GetPricesBatch {
+    private final List<CurrencyPair> pairs = List.of(CurrencyPair.of("BTC", "EUR"));
+
+    @Test
+    void should_return_prices_batch() {
+      val batch =
+          PricesBatch.builder()
+              .priceType(SPOT)
+              .results(
+                  LinkedMap(
+                      CurrencyPair.of("BTC", "EUR"), CallResult.success(Price.builder().build())))
+              .duration(Duration.ofMillis(42))
+              .build();
+      when(coinbaseDataService.fetchPricesByTypeAsync(client, SPOT, pairs, 4))
+          .thenReturn(completedFuture(batch));
+
+      val actual = dataService.getPrices(SPOT, pairs, 4).join();
+
+      assertThat(actual).isEqualTo(batch);
+    }
+
+    @Test
+    void should_throw_InvalidRequestException_if_the_concurrency_is_lower_than_1() {
+      assertThatExceptionOfType(InvalidRequestException.class)
+          .isThrownBy(() -> dataService.getPrices(SPOT, pairs, 0));
+
+      verifyNoInteractions(coinbaseDataService);
+    }
+
+    @Test
+    void should_complete_exceptionally_with_JCoinbaseException() {
+      when(client.getOptions()).thenReturn(JCoinbaseOptions.defaults());
+      when(coinbaseDataService.fetchPricesByTypeAsync(client, SPOT, pairs, 8))
+          .thenReturn(failedFuture(new IOException("Error message")));
+
+      val actual = dataService.getPrices(SPOT, pairs);
+
+      assertThatExceptionOfType(CompletionException.class)
+          .isThrownBy(actual::join)
+          .withCauseInstanceOf(JCoinbaseException.class);
+    }
+  }
+
+  @Nested
+  class GetQuote {
+
+    @Test
+    void should_return_quote_as_java() {
+      val quote = Quote.builder().baseCurrency("BTC").targetCurrency("EUR").build();
+      when(coinbaseDataService.fetchQuoteAsync(client, "BTC", "EUR", Deadline.none()))
+          .thenReturn(completedFuture(CallResult.success(quote)));
+
+      val actual = dataService.getQuoteAsJava("BTC", "EUR").join();
+
+      assertThat(actual.get()).isEqualTo(quote);
+    }
+
+    @Test
+    void should_complete_exceptionally_with_JCoinbaseException() {
+      when(coinbaseDataService.fetchQuoteAsync(client, "BTC", "EUR", Deadline.none()))
+          .thenReturn(failedFuture(new IOException("Error message")));
+
+      val actual = dataService.getQuote("BTC", "EUR");
+
+      assertThatExceptionOfType(CompletionException.class)
+          .isThrownBy(actual::join)
+          .withCauseInstanceOf(JCoinbaseException.class);
+    }
+  }
+}
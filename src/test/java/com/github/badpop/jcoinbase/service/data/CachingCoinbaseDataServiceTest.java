@@ -0,0 +1,211 @@
+package com.github.badpop.jcoinbase.service.data;
+
+import com.github.badpop.jcoinbase.JCoinbaseClient;
+import com.github.badpop.jcoinbase.JCoinbaseClientFactory;
+import com.github.badpop.jcoinbase.control.Deadline;
+import com.github.badpop.jcoinbase.exception.DeadlineExceededException;
+import com.github.badpop.jcoinbase.testutils.JsonUtils;
+import io.vavr.control.Option;
+import lombok.val;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.mockserver.integration.ClientAndServer;
+import org.mockserver.socket.PortFactory;
+import org.mockserver.verify.VerificationTimes;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+import static com.github.badpop.jcoinbase.model.data.Price.PriceType.BUY;
+import static com.github.badpop.jcoinbase.model.data.Price.PriceType.SELL;
+import static com.github.badpop.jcoinbase.testutils.ReflectionUtils.setFieldValueForObject;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockserver.model.HttpRequest.request;
+import static org.mockserver.model.HttpResponse.response;
+
+class CachingCoinbaseDataServiceTest {
+
+  private static ClientAndServer mockServer;
+  private static int port;
+  private static JCoinbaseClient client;
+  private CachingCoinbaseDataService service;
+
+  @BeforeAll
+  static void init() {
+    port = PortFactory.findFreePort();
+    mockServer = ClientAndServer.startClientAndServer(port);
+    client = JCoinbaseClientFactory.build("loremIpsum", "dolorSitAmet", "2021-02-03", 3, false);
+  }
+
+  @AfterAll
+  static void tearDown() {
+    mockServer.stop();
+  }
+
+  @BeforeEach
+  void setUp() throws NoSuchFieldException, IllegalAccessException {
+    mockServer.reset();
+    service =
+        new CachingCoinbaseDataService(
+            Duration.ofHours(1), Duration.ofMinutes(1), Duration.ofMinutes(1), 100);
+    setFieldValueForObject(client.getProperties(), "apiUrl", "http://localhost:" + port);
+  }
+
+  private void respond(final String path, final int status, final String resource)
+      throws IOException {
+    mockServer
+        .when(request().withMethod("GET").withPath(path))
+        .respond(
+            response()
+                .withStatusCode(status)
+                .withHeader("Content-Type", "application/json")
+                .withBody(JsonUtils.readResource(resource)));
+  }
+
+  private void respondSlowly(final String path, final long delayMillis) throws IOException {
+    mockServer
+        .when(request().withMethod("GET").withPath(path))
+        .respond(
+            response()
+                .withStatusCode(200)
+                .withHeader("Content-Type", "application/json")
+                .withBody(JsonUtils.readResource("/json/coinbaseDataService/price.json"))
+                .withDelay(TimeUnit.MILLISECONDS, delayMillis));
+  }
+
+  @Nested
+  class FetchCurrencies {
+    @Test
+    void should_send_one_request_for_blocking_and_non_blocking_calls() throws IOException {
+      respond("/v2/currencies", 200, "/json/coinbaseDataService/currencies.json");
+
+      val first = service.fetchCurrencies(client);
+      val second = service.fetchCurrenciesAsync(client).join();
+
+      assertThat(first.get().isSuccess()).isTrue();
+      assertThat(second).isEqualTo(first.get());
+      mockServer.verify(request().withPath("/v2/currencies"), VerificationTimes.exactly(1));
+      assertThat(service.getCurrenciesCache().getStats().getHitCount()).isEqualTo(1);
+    }
+  }
+
+  @Nested
+  class FetchExchangeRates {
+    @Test
+    void should_cache_per_currency() throws IOException {
+      respond("/v2/exchange-rates", 200, "/json/coinbaseDataService/exchange_rates.json");
+
+      service.fetchExchangeRates(client, "BTC");
+      service.fetchExchangeRates(client, "BTC");
+      service.fetchExchangeRates(client, "ETH");
+
+      mockServer.verify(request().withPath("/v2/exchange-rates"), VerificationTimes.exactly(2));
+      assertThat(service.getExchangeRatesCache().size()).isEqualTo(2);
+    }
+
+    @Test
+    void should_not_cache_failures() throws IOException {
+      respond("/v2/exchange-rates", 400, "/json/error.json");
+
+      val first = service.fetchExchangeRates(client, "BTC");
+      service.fetchExchangeRates(client, "BTC");
+
+      assertThat(first.get().isFailure()).isTrue();
+      mockServer.verify(request().withPath("/v2/exchange-rates"), VerificationTimes.exactly(2));
+      assertThat(service.getExchangeRatesCache().size()).isZero();
+    }
+
+    @Test
+    void should_read_refreshed_exchange_rates_from_memory() throws IOException {
+      respond("/v2/exchange-rates", 200, "/json/coinbaseDataService/exchange_rates.json");
+      val refresher =
+          new ExchangeRatesRefresher(
+              client,
+              new CoinbaseDataService(),
+              Clock.systemUTC(),
+              Duration.ofSeconds(5),
+              List.of("BTC"));
+      refresher.refresh();
+      val refreshAheadService =
+          new CachingCoinbaseDataService(
+              Duration.ofHours(1),
+              Duration.ofMinutes(1),
+              Duration.ofMinutes(1),
+              100,
+              Option.some(refresher));
+
+      val actual = refreshAheadService.fetchExchangeRates(client, "BTC");
+      val actualAsync = refreshAheadService.fetchExchangeRatesAsync(client, "BTC");
+
+      assertThat(actual.get().get().getCurrency()).isEqualTo("BTC");
+      assertThat(actualAsync).isCompleted();
+      mockServer.verify(request().withPath("/v2/exchange-rates"), VerificationTimes.exactly(1));
+      assertThat(refreshAheadService.getExchangeRatesCache().getStats().getMissCount()).isZero();
+    }
+  }
+
+  @Nested
+  class FetchPriceByType {
+    @Test
+    void should_cache_per_type_and_currency_pair() throws IOException {
+      respond("/v2/prices/BTC-EUR/buy", 200, "/json/coinbaseDataService/price.json");
+      respond("/v2/prices/BTC-EUR/sell", 200, "/json/coinbaseDataService/price.json");
+
+      service.fetchPriceByTypeAsync(client, BUY, "BTC", "EUR").join();
+      service.fetchPriceByType(client, BUY, "BTC", "EUR");
+      service.fetchPriceByType(client, SELL, "BTC", "EUR");
+
+      mockServer.verify(request().withPath("/v2/prices/BTC-EUR/buy"), VerificationTimes.exactly(1));
+      mockServer.verify(
+          request().withPath("/v2/prices/BTC-EUR/sell"), VerificationTimes.exactly(1));
+    }
+
+    @Test
+    void should_bound_the_wait_for_a_pending_price_by_the_caller_deadline() throws IOException {
+      respondSlowly("/v2/prices/BTC-EUR/buy", 500);
+      val unbounded = service.fetchPriceByTypeAsync(client, BUY, "BTC", "EUR", Deadline.none());
+
+      val bounded =
+          service.fetchPriceByTypeAsync(
+              client, BUY, "BTC", "EUR", Deadline.after(Duration.ofMillis(100)));
+
+      assertThatThrownBy(bounded::join).hasCauseInstanceOf(DeadlineExceededException.class);
+      assertThat(unbounded.join().isSuccess()).isTrue();
+      mockServer.verify(request().withPath("/v2/prices/BTC-EUR/buy"), VerificationTimes.exactly(1));
+    }
+
+    @Test
+    void should_not_share_a_deadline_bounded_price_request() throws IOException {
+      respondSlowly("/v2/prices/BTC-EUR/buy", 300);
+      val bounded =
+          service.fetchPriceByTypeAsync(
+              client, BUY, "BTC", "EUR", Deadline.after(Duration.ofMillis(100)));
+
+      val unbounded = service.fetchPriceByTypeAsync(client, BUY, "BTC", "EUR", Deadline.none());
+
+      assertThatThrownBy(bounded::join).isInstanceOf(CompletionException.class);
+      assertThat(unbounded.join().isSuccess()).isTrue();
+      mockServer.verify(request().withPath("/v2/prices/BTC-EUR/buy"), VerificationTimes.exactly(2));
+    }
+
+    @Test
+    void should_cache_a_price_fetched_within_a_deadline() throws IOException {
+      respond("/v2/prices/BTC-EUR/buy", 200, "/json/coinbaseDataService/price.json");
+
+      service
+          .fetchPriceByTypeAsync(client, BUY, "BTC", "EUR", Deadline.after(Duration.ofSeconds(5)))
+          .join();
+      service.fetchPriceByType(client, BUY, "BTC", "EUR");
+
+      mockServer.verify(request().withPath("/v2/prices/BTC-EUR/buy"), VerificationTimes.exactly(1));
+    }
+  }
+}
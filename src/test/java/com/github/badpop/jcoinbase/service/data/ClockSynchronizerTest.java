@@ -0,0 +1,292 @@
+package com.github.badpop.jcoinbase.service.data;
+
+import com.github.badpop.jcoinbase.JCoinbaseClient;
+import com.github.badpop.jcoinbase.JCoinbaseClientFactory;
+import com.github.badpop.jcoinbase.testutils.JsonUtils;
+import lombok.val;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.mockserver.integration.ClientAndServer;
+import org.mockserver.socket.PortFactory;
+import org.mockserver.verify.VerificationTimes;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.TimeUnit;
+
+import static com.github.badpop.jcoinbase.testutils.ReflectionUtils.setFieldValueForObject;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.vavr.api.VavrAssertions.assertThat;
+import static org.mockserver.model.HttpRequest.request;
+import static org.mockserver.model.HttpResponse.response;
+
+class ClockSynchronizerTest {
+
+  /** The epoch of the /json/coinbaseDataService/time.json sample */
+  private static final long SERVER_EPOCH = 1435082571L;
+
+  private static ClientAndServer mockServer;
+  private static int port;
+  private static JCoinbaseClient client;
+
+  @BeforeAll
+  static void init() {
+    port = PortFactory.findFreePort();
+    mockServer = ClientAndServer.startClientAndServer(port);
+    client = JCoinbaseClientFactory.build("loremIpsum", "dolorSitAmet", "2021-02-03", 3, false);
+  }
+
+  @AfterAll
+  static void tearDown() {
+    mockServer.stop();
+  }
+
+  @BeforeEach
+  void setUp() throws NoSuchFieldException, IllegalAccessException {
+    mockServer.reset();
+    setFieldValueForObject(client.getProperties(), "apiUrl", "http://localhost:" + port);
+  }
+
+  private void respondWithTime() throws IOException {
+    mockServer
+        .when(request().withMethod("GET").withPath("/v2/time"))
+        .respond(
+            response()
+                .withHeader("Content-Type", "application/json")
+                .withBody(JsonUtils.readResource("/json/coinbaseDataService/time.json")));
+  }
+
+  private ClockSynchronizer synchronizer(final Clock localClock) {
+    return new ClockSynchronizer(
+        client, new CoinbaseDataService(), localClock, Duration.ofMinutes(10), 3);
+  }
+
+  @Nested
+  class Synchronize {
+    @Test
+    void should_estimate_offset_with_round_trip_compensation() throws IOException {
+      respondWithTime();
+      val localClock = Clock.fixed(Instant.ofEpochSecond(SERVER_EPOCH - 10), ZoneOffset.UTC);
+      val synchronizer = synchronizer(localClock);
+
+      val actual = synchronizer.synchronize();
+
+      assertThat(actual).isTrue();
+      val roundTrip = synchronizer.getRoundTrip().get().toMillis();
+      assertThat(synchronizer.getOffset().toMillis()).isEqualTo(10_500L - roundTrip / 2);
+      assertThat(synchronizer.getSynchronizationCount()).isEqualTo(1);
+      assertThat(synchronizer.getFailureCount()).isZero();
+      assertThat(synchronizer.getJitter()).isZero();
+      assertThat(synchronizer.getLastSynchronization()).contains(localClock.instant());
+    }
+
+    @Test
+    void should_correct_the_clock_with_the_offset() throws IOException {
+      respondWithTime();
+      val localClock = Clock.fixed(Instant.ofEpochSecond(SERVER_EPOCH + 3600), ZoneOffset.UTC);
+      val synchronizer = synchronizer(localClock);
+
+      synchronizer.synchronize();
+
+      assertThat(synchronizer.getClock().millis())
+          .isEqualTo(localClock.millis() + synchronizer.getOffset().toMillis());
+      assertThat(synchronizer.getClock().millis() / 1000L)
+          .isBetween(SERVER_EPOCH - 1, SERVER_EPOCH);
+    }
+
+    @Test
+    void should_compute_jitter_between_synchronizations() throws IOException {
+      respondWithTime();
+      val localClock = new MutableClock(SERVER_EPOCH * 1000L);
+      val synchronizer = synchronizer(localClock);
+      synchronizer.synchronize();
+      val firstOffset = synchronizer.getOffset();
+
+      localClock.millis = (SERVER_EPOCH - 4) * 1000L;
+      synchronizer.synchronize();
+
+      assertThat(synchronizer.getOffset().minus(firstOffset).toMillis()).isBetween(3_950L, 4_050L);
+      assertThat(synchronizer.getJitter().toMillis()).isBetween(985L, 1_015L);
+      assertThat(synchronizer.getSynchronizationCount()).isEqualTo(2);
+    }
+
+    @Test
+    void should_keep_the_local_clock_on_failure() throws IOException {
+      mockServer
+          .when(request().withMethod("GET").withPath("/v2/time"))
+          .respond(
+              response()
+                  .withStatusCode(400)
+                  .withHeader("Content-Type", "application/json")
+                  .withBody(JsonUtils.readResource("/json/error.json")));
+      val localClock = Clock.fixed(Instant.ofEpochSecond(SERVER_EPOCH - 10), ZoneOffset.UTC);
+      val synchronizer = synchronizer(localClock);
+
+      val actual = synchronizer.synchronize();
+
+      assertThat(actual).isFalse();
+      assertThat(synchronizer.getOffset()).isZero();
+      assertThat(synchronizer.getClock().millis()).isEqualTo(localClock.millis());
+      assertThat(synchronizer.getRoundTrip()).isEmpty();
+      assertThat(synchronizer.getLastSynchronization()).isEmpty();
+      assertThat(synchronizer.getFailureCount()).isEqualTo(1);
+    }
+
+    @Test
+    void should_send_each_sample_once_without_retry() throws IOException {
+      mockServer
+          .when(request().withMethod("GET").withPath("/v2/time"))
+          .respond(
+              response()
+                  .withStatusCode(503)
+                  .withHeader("Content-Type", "application/json")
+                  .withBody(JsonUtils.readResource("/json/error.json")));
+      val synchronizer =
+          synchronizer(Clock.fixed(Instant.ofEpochSecond(SERVER_EPOCH), ZoneOffset.UTC));
+
+      val actual = synchronizer.synchronize();
+
+      assertThat(actual).isFalse();
+      mockServer.verify(request().withPath("/v2/time"), VerificationTimes.exactly(3));
+    }
+
+    @Test
+    void should_skip_the_samples_with_a_too_long_round_trip() throws IOException {
+      mockServer
+          .when(request().withMethod("GET").withPath("/v2/time"))
+          .respond(
+              response()
+                  .withHeader("Content-Type", "application/json")
+                  .withBody(JsonUtils.readResource("/json/coinbaseDataService/time.json"))
+                  .withDelay(TimeUnit.MILLISECONDS, 1100));
+      val synchronizer =
+          new ClockSynchronizer(
+              client,
+              new CoinbaseDataService(),
+              Clock.fixed(Instant.ofEpochSecond(SERVER_EPOCH - 10), ZoneOffset.UTC),
+              Duration.ofMinutes(10),
+              1);
+
+      val actual = synchronizer.synchronize();
+
+      assertThat(actual).isFalse();
+      assertThat(synchronizer.getOffset()).isZero();
+      assertThat(synchronizer.getFailureCount()).isEqualTo(1);
+    }
+  }
+
+  @Nested
+  class Lifecycle {
+    @Test
+    void should_synchronize_immediately_when_started() throws Exception {
+      respondWithTime();
+      val synchronizer =
+          synchronizer(Clock.fixed(Instant.ofEpochSecond(SERVER_EPOCH - 10), ZoneOffset.UTC));
+
+      synchronizer.start();
+      try {
+        assertThat(synchronizer.isStarted()).isTrue();
+        val deadline = System.currentTimeMillis() + 5_000L;
+        while (synchronizer.getSynchronizationCount() == 0
+            && System.currentTimeMillis() < deadline) {
+          Thread.sleep(10);
+        }
+        assertThat(synchronizer.getSynchronizationCount()).isEqualTo(1);
+      } finally {
+        synchronizer.stop();
+      }
+
+      assertThat(synchronizer.isStarted()).isFalse();
+    }
+
+    @Test
+    void should_synchronize_periodically_with_a_sub_millisecond_period() throws Exception {
+      respondWithTime();
+      val synchronizer =
+          new ClockSynchronizer(
+              client, new CoinbaseDataService(), Clock.systemUTC(), Duration.ofNanos(500_000), 1);
+
+      synchronizer.start();
+      try {
+        assertThat(synchronizer.isStarted()).isTrue();
+        val deadline = System.currentTimeMillis() + 5_000L;
+        while (synchronizer.getSynchronizationCount() < 3
+            && System.currentTimeMillis() < deadline) {
+          Thread.sleep(10);
+        }
+        assertThat(synchronizer.getSynchronizationCount()).isGreaterThanOrEqualTo(3);
+      } finally {
+        synchronizer.stop();
+      }
+
+      assertThat(synchronizer.isStarted()).isFalse();
+    }
+
+    @Test
+    void should_not_be_started_by_default() {
+      assertThat(synchronizer(Clock.systemUTC()).isStarted()).isFalse();
+    }
+  }
+
+  @Nested
+  class Build {
+    @Test
+    void should_reject_non_positive_period() {
+      assertThatExceptionOfType(IllegalArgumentException.class)
+          .isThrownBy(
+              () ->
+                  new ClockSynchronizer(
+                      client, new CoinbaseDataService(), Clock.systemUTC(), Duration.ZERO, 3));
+    }
+
+    @Test
+    void should_reject_less_than_one_sample() {
+      assertThatExceptionOfType(IllegalArgumentException.class)
+          .isThrownBy(
+              () ->
+                  new ClockSynchronizer(
+                      client,
+                      new CoinbaseDataService(),
+                      Clock.systemUTC(),
+                      Duration.ofMinutes(1),
+                      0));
+    }
+  }
+
+  private static class MutableClock extends Clock {
+
+    private volatile long millis;
+
+    private MutableClock(final long millis) {
+      this.millis = millis;
+    }
+
+    @Override
+    public ZoneId getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(final ZoneId zone) {
+      return this;
+    }
+
+    @Override
+    public long millis() {
+      return millis;
+    }
+
+    @Override
+    public Instant instant() {
+      return Instant.ofEpochMilli(millis);
+    }
+  }
+}
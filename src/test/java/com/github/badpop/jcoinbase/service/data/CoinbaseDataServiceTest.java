@@ -4,9 +4,14 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.github.badpop.jcoinbase.JCoinbaseClient;
 import com.github.badpop.jcoinbase.JCoinbaseClientFactory;
 import com.github.badpop.jcoinbase.control.CallResult;
+import com.github.badpop.jcoinbase.control.Deadline;
+import com.github.badpop.jcoinbase.exception.DeadlineExceededException;
+import com.github.badpop.jcoinbase.model.CoinbaseError;
 import com.github.badpop.jcoinbase.model.data.Currency;
+import com.github.badpop.jcoinbase.model.data.CurrencyPair;
 import com.github.badpop.jcoinbase.model.data.ExchangeRates;
 import com.github.badpop.jcoinbase.model.data.Price;
+import com.github.badpop.jcoinbase.model.data.PricesBatch;
 import com.github.badpop.jcoinbase.model.data.Time;
 import com.github.badpop.jcoinbase.testutils.CoinbaseErrorSampleProvider;
 import com.github.badpop.jcoinbase.testutils.JsonUtils;
@@ -18,16 +23,24 @@ import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.mockserver.integration.ClientAndServer;
 import org.mockserver.socket.PortFactory;
+import org.mockserver.verify.VerificationTimes;
 
 import java.io.IOException;
 import java.math.BigDecimal;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
 
 import static com.github.badpop.jcoinbase.model.data.Price.PriceType.*;
 import static com.github.badpop.jcoinbase.testutils.ReflectionUtils.setFieldValueForObject;
+import static io.vavr.API.List;
 import static io.vavr.API.Map;
+import static io.vavr.API.Seq;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.assertj.vavr.api.VavrAssertions.assertThat;
 import static org.mockserver.model.HttpRequest.request;
 import static org.mockserver.model.HttpResponse.response;
@@ -347,4 +360,201 @@ class CoinbaseDataServiceTest {
       assertThat(actual).isFailure().failBecauseOf(JsonProcessingException.class);
     }
   }
+
+  @Nested
+  class FetchAsync {
+    @Test
+    void should_return_time() throws IOException {
+      mockServer
+          .when(request().withMethod("GET").withPath("/v2/time"))
+          .respond(
+              response()
+                  .withHeader("Content-Type", "application/json")
+                  .withBody(JsonUtils.readResource("/json/coinbaseDataService/time.json")));
+
+      val actual = service.fetchTimeAsync(client).join();
+
+      Assertions.assertThat(actual.get().getEpoch()).isEqualTo(1435082571L);
+    }
+
+    @Test
+    void should_return_callresult_failure() throws IOException {
+      mockServer
+          .when(request().withMethod("GET").withPath("/v2/currencies"))
+          .respond(
+              response()
+                  .withStatusCode(400)
+                  .withHeader("Content-Type", "application/json")
+                  .withBody(JsonUtils.readResource("/json/error.json")));
+
+      val actual = service.fetchCurrenciesAsync(client).join();
+
+      Assertions.assertThat(actual.isFailure()).isTrue();
+      Assertions.assertThat(actual.getFailure())
+          .containsExactly(CoinbaseErrorSampleProvider.getSingleError());
+    }
+
+    @Test
+    void should_return_SPOT_Price() throws IOException {
+      mockServer
+          .when(request().withMethod("GET").withPath("/v2/prices/BTC-EUR/spot"))
+          .respond(
+              response()
+                  .withHeader("Content-Type", "application/json")
+                  .withBody(JsonUtils.readResource("/json/coinbaseDataService/price.json")));
+
+      val actual = service.fetchPriceByTypeAsync(client, SPOT, "BTC", "EUR").join();
+
+      Assertions.assertThat(actual.get().getPriceType()).isEqualTo(SPOT);
+    }
+
+    @Test
+    void should_complete_exceptionally() {
+      mockServer
+          .when(request().withMethod("GET").withPath("/v2/exchange-rates"))
+          .respond(response().withHeader("Content-Type", "application/json").withBody("{"));
+
+      val actual = service.fetchExchangeRatesAsync(client, "BTC");
+
+      assertThatExceptionOfType(CompletionException.class)
+          .isThrownBy(actual::join)
+          .withCauseInstanceOf(JsonProcessingException.class);
+    }
+
+    @Test
+    void should_return_prices_batch_in_the_requested_order() throws IOException {
+      mockServer
+          .when(request().withMethod("GET").withPath("/v2/prices/BTC-EUR/spot"))
+          .respond(
+              response()
+                  .withHeader("Content-Type", "application/json")
+                  .withBody(JsonUtils.readResource("/json/coinbaseDataService/price.json")));
+      mockServer
+          .when(request().withMethod("GET").withPath("/v2/prices/ETH-EUR/spot"))
+          .respond(
+              response()
+                  .withStatusCode(404)
+                  .withHeader("Content-Type", "application/json")
+                  .withBody(JsonUtils.readResource("/json/error.json")));
+
+      val actual =
+          service
+              .fetchPricesByTypeAsync(
+                  client,
+                  SPOT,
+                  List(CurrencyPair.of("ETH", "EUR"), CurrencyPair.of("BTC", "EUR")),
+                  2)
+              .join();
+
+      Assertions.assertThat(actual.getResults().keySet())
+          .containsExactly(CurrencyPair.of("ETH", "EUR"), CurrencyPair.of("BTC", "EUR"));
+      Assertions.assertThat(actual.getPrices().keySet())
+          .containsExactly(CurrencyPair.of("BTC", "EUR"));
+      Assertions.assertThat(actual.getErrors().values())
+          .containsExactly(Seq(CoinbaseErrorSampleProvider.getSingleError()));
+      Assertions.assertThat(actual.getDuration()).isPositive();
+    }
+
+    @Test
+    void should_not_fail_the_prices_batch_if_a_request_can_not_complete() throws IOException {
+      mockServer
+          .when(request().withMethod("GET").withPath("/v2/prices/BTC-EUR/spot"))
+          .respond(
+              response()
+                  .withHeader("Content-Type", "application/json")
+                  .withBody(JsonUtils.readResource("/json/coinbaseDataService/price.json")));
+      mockServer
+          .when(request().withMethod("GET").withPath("/v2/prices/ETH-EUR/spot"))
+          .respond(response().withHeader("Content-Type", "application/json").withBody("{"));
+
+      val actual =
+          service
+              .fetchPricesByTypeAsync(
+                  client,
+                  SPOT,
+                  List(CurrencyPair.of("ETH", "EUR"), CurrencyPair.of("BTC", "EUR")),
+                  2)
+              .join();
+
+      Assertions.assertThat(actual.getPrices().keySet())
+          .containsExactly(CurrencyPair.of("BTC", "EUR"));
+      Assertions.assertThat(actual.getErrors().keySet())
+          .containsExactly(CurrencyPair.of("ETH", "EUR"));
+      Assertions.assertThat(actual.getErrors().get(CurrencyPair.of("ETH", "EUR")).get())
+          .extracting(CoinbaseError::getCode)
+          .containsExactly(PricesBatch.REQUEST_FAILED);
+    }
+
+    @Test
+    void should_return_quote() throws IOException {
+      mockServer
+          .when(request().withMethod("GET").withPath("/v2/prices/BTC-EUR/.*"))
+          .respond(
+              response()
+                  .withHeader("Content-Type", "application/json")
+                  .withBody(JsonUtils.readResource("/json/coinbaseDataService/price.json")));
+
+      val actual = service.fetchQuoteAsync(client, "BTC", "EUR").join();
+
+      Assertions.assertThat(actual.isSuccess()).isTrue();
+      Assertions.assertThat(actual.get().getBuy().getPriceType()).isEqualTo(BUY);
+      Assertions.assertThat(actual.get().getSell().getPriceType()).isEqualTo(SELL);
+      Assertions.assertThat(actual.get().getSpot().getPriceType()).isEqualTo(SPOT);
+      Assertions.assertThat(actual.get().getSpread()).isZero();
+      mockServer.verify(request().withPath("/v2/prices/BTC-EUR/.*"), VerificationTimes.exactly(3));
+    }
+
+    @Test
+    void should_return_quote_failure_if_a_price_fails() throws IOException {
+      mockServer
+          .when(request().withMethod("GET").withPath("/v2/prices/BTC-EUR/sell"))
+          .respond(
+              response()
+                  .withStatusCode(404)
+                  .withHeader("Content-Type", "application/json")
+                  .withBody(JsonUtils.readResource("/json/error.json")));
+      mockServer
+          .when(request().withMethod("GET").withPath("/v2/prices/BTC-EUR/.*"))
+          .respond(
+              response()
+                  .withHeader("Content-Type", "application/json")
+                  .withBody(JsonUtils.readResource("/json/coinbaseDataService/price.json")));
+
+      val actual = service.fetchQuoteAsync(client, "BTC", "EUR").join();
+
+      Assertions.assertThat(actual.isFailure()).isTrue();
+      Assertions.assertThat(actual.getFailure())
+          .containsExactly(CoinbaseErrorSampleProvider.getSingleError());
+    }
+
+    @Test
+    void should_not_send_any_request_if_the_deadline_is_expired() {
+      val deadline = Deadline.after(Duration.ZERO);
+
+      val actual = service.fetchQuoteAsync(client, "BTC", "EUR", deadline);
+
+      assertThatExceptionOfType(CompletionException.class)
+          .isThrownBy(actual::join)
+          .withCauseInstanceOf(DeadlineExceededException.class);
+      mockServer.verify(request().withPath("/v2/prices/BTC-EUR/.*"), VerificationTimes.exactly(0));
+    }
+
+    @Test
+    void should_time_out_once_the_deadline_expires() throws IOException {
+      mockServer
+          .when(request().withMethod("GET").withPath("/v2/prices/BTC-EUR/.*"))
+          .respond(
+              response()
+                  .withDelay(TimeUnit.SECONDS, 5)
+                  .withHeader("Content-Type", "application/json")
+                  .withBody(JsonUtils.readResource("/json/coinbaseDataService/price.json")));
+
+      val actual =
+          service.fetchQuoteAsync(client, "BTC", "EUR", Deadline.after(Duration.ofMillis(200)));
+
+      assertThatExceptionOfType(CompletionException.class)
+          .isThrownBy(actual::join)
+          .withCauseInstanceOf(HttpTimeoutException.class);
+    }
+  }
 }
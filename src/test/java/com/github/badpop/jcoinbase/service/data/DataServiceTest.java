@@ -1,13 +1,21 @@
 package com.github.badpop.jcoinbase.service.data;
 
 import com.github.badpop.jcoinbase.JCoinbaseClient;
+import com.github.badpop.jcoinbase.JCoinbaseOptions;
 import com.github.badpop.jcoinbase.control.CallResult;
+import com.github.badpop.jcoinbase.control.Deadline;
+import com.github.badpop.jcoinbase.exception.DeadlineExceededException;
+import com.github.badpop.jcoinbase.exception.InvalidRequestException;
 import com.github.badpop.jcoinbase.exception.JCoinbaseException;
 import com.github.badpop.jcoinbase.model.data.Currency;
+import com.github.badpop.jcoinbase.model.data.CurrencyPair;
 import com.github.badpop.jcoinbase.model.data.ExchangeRates;
 import com.github.badpop.jcoinbase.model.data.Price;
+import com.github.badpop.jcoinbase.model.data.PricesBatch;
+import com.github.badpop.jcoinbase.model.data.Quote;
 import com.github.badpop.jcoinbase.model.data.Time;
 import com.github.badpop.jcoinbase.testutils.CoinbaseErrorSampleProvider;
+import io.vavr.collection.List;
 import io.vavr.control.Try;
 import lombok.val;
 import org.assertj.vavr.api.VavrAssertions;
@@ -18,9 +26,12 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.io.IOException;
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
+import java.util.concurrent.CompletableFuture;
 
 import static com.github.badpop.jcoinbase.model.data.Price.PriceType.*;
 import static io.vavr.API.*;
@@ -439,4 +450,136 @@ class DataServiceTest {
       verifyNoMoreInteractions(coinbaseDataService);
     }
   }
+
+  @Nested
+  class GetPricesBatch {
+
+    private final List<CurrencyPair> pairs =
+        List.of(CurrencyPair.of("BTC", "EUR"), CurrencyPair.of("ETH", "EUR"));
+
+    private final PricesBatch batch =
+        PricesBatch.builder()
+            .priceType(SPOT)
+            .results(
+                LinkedMap(
+                    CurrencyPair.of("BTC", "EUR"),
+                    CallResult.success(Price.builder().baseCurrency("BTC").build()),
+                    CurrencyPair.of("ETH", "EUR"),
+                    CallResult.failure(Seq(CoinbaseErrorSampleProvider.getSingleError()))))
+            .duration(Duration.ofMillis(42))
+            .build();
+
+    @Test
+    void should_return_prices_batch_using_the_default_concurrency() {
+      when(client.getOptions()).thenReturn(JCoinbaseOptions.defaults());
+      when(coinbaseDataService.fetchPricesByTypeAsync(client, SPOT, pairs, 8))
+          .thenReturn(CompletableFuture.completedFuture(batch));
+
+      val actual = dataService.getPrices(SPOT, pairs);
+
+      assertThat(actual).isEqualTo(batch);
+      assertThat(actual.isComplete()).isFalse();
+      assertThat(actual.sequence().getFailure())
+          .containsExactly(Seq(CoinbaseErrorSampleProvider.getSingleError()));
+      verify(coinbaseDataService).fetchPricesByTypeAsync(client, SPOT, pairs, 8);
+      verifyNoMoreInteractions(coinbaseDataService);
+    }
+
+    @Test
+    void should_return_prices_batch_using_the_given_concurrency() {
+      when(coinbaseDataService.fetchPricesByTypeAsync(client, SPOT, pairs, 2))
+          .thenReturn(CompletableFuture.completedFuture(batch));
+
+      val actual = dataService.getPrices(SPOT, pairs, 2);
+
+      assertThat(actual.getResultsAsJava()).containsOnlyKeys(pairs.toJavaList());
+      verifyNoInteractions(client);
+    }
+
+    @Test
+    void should_throw_InvalidRequestException_if_the_concurrency_is_lower_than_1() {
+      assertThatExceptionOfType(InvalidRequestException.class)
+          .isThrownBy(() -> dataService.getPrices(SPOT, pairs, 0));
+
+      verifyNoInteractions(coinbaseDataService);
+    }
+
+    @Test
+    void should_throw_JCoinbaseException() {
+      when(coinbaseDataService.fetchPricesByTypeAsync(client, SPOT, pairs, 2))
+          .thenReturn(CompletableFuture.failedFuture(new IOException("Error message")));
+
+      assertThatExceptionOfType(JCoinbaseException.class)
+          .isThrownBy(() -> dataService.getPrices(SPOT, pairs, 2))
+          .withCauseInstanceOf(IOException.class);
+    }
+  }
+
+  @Nested
+  class GetQuote {
+
+    @Test
+    void should_return_quote() {
+      val quote = Quote.builder().baseCurrency("BTC").targetCurrency("EUR").build();
+      when(coinbaseDataService.fetchQuoteAsync(client, "BTC", "EUR", Deadline.none()))
+          .thenReturn(CompletableFuture.completedFuture(CallResult.success(quote)));
+
+      val actual = dataService.getQuote("BTC", "EUR");
+
+      assertThat(actual).isNotEmpty();
+      assertThat(actual.get()).isEqualTo(quote);
+      verify(coinbaseDataService).fetchQuoteAsync(client, "BTC", "EUR", Deadline.none());
+      verifyNoMoreInteractions(coinbaseDataService);
+    }
+
+    @Test
+    void should_return_callresult_failure_as_java() {
+      when(coinbaseDataService.fetchQuoteAsync(client, "BTC", "EUR", Deadline.none()))
+          .thenReturn(
+              CompletableFuture.completedFuture(
+                  CallResult.failure(Seq(CoinbaseErrorSampleProvider.getSingleError()))));
+
+      val actual = dataService.getQuoteAsJava("BTC", "EUR");
+
+      assertThat(actual).isEmpty();
+      assertThat(actual.getFailure())
+          .isInstanceOf(java.util.List.class)
+          .containsExactly(CoinbaseErrorSampleProvider.getSingleError());
+    }
+
+    @Test
+    void should_throw_JCoinbaseException() {
+      when(coinbaseDataService.fetchQuoteAsync(client, "BTC", "EUR", Deadline.none()))
+          .thenReturn(CompletableFuture.failedFuture(new IOException("Error message")));
+
+      assertThatExceptionOfType(JCoinbaseException.class)
+          .isThrownBy(() -> dataService.getQuote("BTC", "EUR"))
+          .withCauseInstanceOf(IOException.class);
+    }
+
+    @Test
+    void should_fetch_quote_within_the_given_deadline() {
+      val deadline = Deadline.after(Duration.ofSeconds(1));
+      val quote = Quote.builder().baseCurrency("BTC").targetCurrency("EUR").build();
+      when(coinbaseDataService.fetchQuoteAsync(client, "BTC", "EUR", deadline))
+          .thenReturn(CompletableFuture.completedFuture(CallResult.success(quote)));
+
+      val actual = dataService.getQuoteAsJava("BTC", "EUR", deadline);
+
+      assertThat(actual.get()).isEqualTo(quote);
+      verify(coinbaseDataService).fetchQuoteAsync(client, "BTC", "EUR", deadline);
+    }
+
+    @Test
+    void should_throw_DeadlineExceededException_if_the_deadline_expires() {
+      val deadline = Deadline.after(Duration.ZERO);
+      when(coinbaseDataService.fetchQuoteAsync(client, "BTC", "EUR", deadline))
+          .thenReturn(
+              CompletableFuture.failedFuture(new DeadlineExceededException("deadline expired")));
+
+      assertThatExceptionOfType(DeadlineExceededException.class)
+          .isThrownBy(() -> dataService.getQuote("BTC", "EUR", deadline))
+          .withMessage("deadline expired");
+    }
+  }
 }
@@ -0,0 +1,221 @@
+package com.github.badpop.jcoinbase.service.data;
+
+import com.github.badpop.jcoinbase.JCoinbaseClient;
+import com.github.badpop.jcoinbase.JCoinbaseClientFactory;
+import com.github.badpop.jcoinbase.testutils.JsonUtils;
+import lombok.val;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.mockserver.integration.ClientAndServer;
+import org.mockserver.socket.PortFactory;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.github.badpop.jcoinbase.testutils.ReflectionUtils.setFieldValueForObject;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.vavr.api.VavrAssertions.assertThat;
+import static org.mockserver.model.HttpRequest.request;
+import static org.mockserver.model.HttpResponse.response;
+
+class ExchangeRatesRefresherTest {
+
+  private static final Clock CLOCK =
+      Clock.fixed(Instant.ofEpochSecond(1614988800L), ZoneOffset.UTC);
+
+  private static ClientAndServer mockServer;
+  private static int port;
+  private static JCoinbaseClient client;
+
+  @BeforeAll
+  static void init() {
+    port = PortFactory.findFreePort();
+    mockServer = ClientAndServer.startClientAndServer(port);
+    client = JCoinbaseClientFactory.build("loremIpsum", "dolorSitAmet", "2021-02-03", 3, false);
+  }
+
+  @AfterAll
+  static void tearDown() {
+    mockServer.stop();
+  }
+
+  @BeforeEach
+  void setUp() throws NoSuchFieldException, IllegalAccessException {
+    mockServer.reset();
+    setFieldValueForObject(client.getProperties(), "apiUrl", "http://localhost:" + port);
+  }
+
+  private void respondWith(final int status, final String resource) throws IOException {
+    mockServer
+        .when(request().withMethod("GET").withPath("/v2/exchange-rates"))
+        .respond(
+            response()
+                .withStatusCode(status)
+                .withHeader("Content-Type", "application/json")
+                .withBody(JsonUtils.readResource(resource)));
+  }
+
+  private ExchangeRatesRefresher refresher(final String... currencies) {
+    return new ExchangeRatesRefresher(
+        client, new CoinbaseDataService(), CLOCK, Duration.ofSeconds(5), List.of(currencies));
+  }
+
+  @Nested
+  class Refresh {
+    @Test
+    void should_keep_the_refreshed_exchange_rates_in_memory() throws IOException {
+      respondWith(200, "/json/coinbaseDataService/exchange_rates.json");
+      val refresher = refresher("BTC");
+
+      val actual = refresher.refresh();
+
+      assertThat(actual).isZero();
+      assertThat(refresher.get("BTC")).isDefined();
+      val refreshed = refresher.get("BTC").get();
+      assertThat(refreshed.getExchangeRates().getCurrency()).isEqualTo("BTC");
+      assertThat(refreshed.getRefreshedAt()).isEqualTo(CLOCK.instant());
+      assertThat(refreshed.isStale()).isFalse();
+      assertThat(refresher.getRefreshCount()).isEqualTo(1);
+    }
+
+    @Test
+    void should_serve_stale_exchange_rates_on_failure() throws IOException {
+      respondWith(200, "/json/coinbaseDataService/exchange_rates.json");
+      val refresher = refresher("BTC");
+      refresher.refresh();
+      mockServer.reset();
+      respondWith(400, "/json/error.json");
+
+      val actual = refresher.refresh();
+
+      assertThat(actual).isEqualTo(1);
+      val refreshed = refresher.get("BTC").get();
+      assertThat(refreshed.getExchangeRates().getCurrency()).isEqualTo("BTC");
+      assertThat(refreshed.isStale()).isTrue();
+      assertThat(refreshed.getFailedRefreshes()).isEqualTo(1);
+      assertThat(refreshed.getLastFailure()).contains(CLOCK.instant());
+      assertThat(refresher.getFailureCount()).isEqualTo(1);
+    }
+
+    @Test
+    void should_not_return_never_refreshed_currencies() throws IOException {
+      respondWith(400, "/json/error.json");
+      val refresher = refresher("BTC");
+
+      refresher.refresh();
+
+      assertThat(refresher.get("BTC")).isEmpty();
+      assertThat(refresher.get("ETH")).isEmpty();
+    }
+
+    @Test
+    void should_forget_unwatched_currencies() throws IOException {
+      respondWith(200, "/json/coinbaseDataService/exchange_rates.json");
+      val refresher = refresher("BTC", "ETH");
+      refresher.refresh();
+
+      refresher.unwatch("BTC");
+
+      assertThat(refresher.get("BTC")).isEmpty();
+      assertThat(refresher.getWatchedCurrencies()).containsExactly("ETH");
+    }
+
+    @Test
+    void should_forget_currencies_unwatched_while_refreshed() throws IOException {
+      respondWith(200, "/json/coinbaseDataService/exchange_rates.json");
+      val unwatching = new AtomicReference<ExchangeRatesRefresher>();
+      val clock =
+          new Clock() {
+            @Override
+            public ZoneId getZone() {
+              return ZoneOffset.UTC;
+            }
+
+            @Override
+            public Clock withZone(final ZoneId zone) {
+              return this;
+            }
+
+            @Override
+            public Instant instant() {
+              unwatching.get().unwatch("BTC");
+              return CLOCK.instant();
+            }
+          };
+      val refresher =
+          new ExchangeRatesRefresher(
+              client, new CoinbaseDataService(), clock, Duration.ofSeconds(5), List.of("BTC"));
+      unwatching.set(refresher);
+
+      refresher.refresh();
+
+      assertThat(refresher.get("BTC")).isEmpty();
+      assertThat(refresher.getWatchedCurrencies()).isEmpty();
+    }
+  }
+
+  @Nested
+  class Lifecycle {
+    @Test
+    void should_refresh_immediately_when_started() throws Exception {
+      respondWith(200, "/json/coinbaseDataService/exchange_rates.json");
+      val refresher = refresher("BTC");
+
+      refresher.start();
+      try {
+        assertThat(refresher.isStarted()).isTrue();
+        val deadline = System.currentTimeMillis() + 5_000L;
+        while (refresher.get("BTC").isEmpty() && System.currentTimeMillis() < deadline) {
+          Thread.sleep(10);
+        }
+        assertThat(refresher.get("BTC")).isDefined();
+      } finally {
+        refresher.stop();
+      }
+
+      assertThat(refresher.isStarted()).isFalse();
+    }
+
+    @Test
+    void should_start_with_a_sub_millisecond_period() throws Exception {
+      respondWith(200, "/json/coinbaseDataService/exchange_rates.json");
+      val refresher =
+          new ExchangeRatesRefresher(
+              client, new CoinbaseDataService(), CLOCK, Duration.ofNanos(500_000), List.of("BTC"));
+
+      refresher.start();
+      try {
+        assertThat(refresher.isStarted()).isTrue();
+        val deadline = System.currentTimeMillis() + 5_000L;
+        while (refresher.getRefreshCount() < 2 && System.currentTimeMillis() < deadline) {
+          Thread.sleep(10);
+        }
+        assertThat(refresher.getRefreshCount()).isGreaterThanOrEqualTo(2);
+      } finally {
+        refresher.stop();
+      }
+    }
+  }
+
+  @Nested
+  class Build {
+    @Test
+    void should_reject_non_positive_period() {
+      assertThatExceptionOfType(IllegalArgumentException.class)
+          .isThrownBy(
+              () ->
+                  new ExchangeRatesRefresher(
+                      client, new CoinbaseDataService(), CLOCK, Duration.ZERO, List.of("BTC")));
+    }
+  }
+}
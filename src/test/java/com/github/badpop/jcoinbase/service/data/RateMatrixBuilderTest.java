@@ -0,0 +1,180 @@
+package com.github.badpop.jcoinbase.service.data;
+
+import com.github.badpop.jcoinbase.JCoinbaseClient;
+import com.github.badpop.jcoinbase.JCoinbaseRuntime;
+import com.github.badpop.jcoinbase.control.CallResult;
+import com.github.badpop.jcoinbase.exception.CoinbaseApiException;
+import com.github.badpop.jcoinbase.exception.InvalidRequestException;
+import com.github.badpop.jcoinbase.exception.JCoinbaseException;
+import com.github.badpop.jcoinbase.model.data.Currency;
+import com.github.badpop.jcoinbase.model.data.ExchangeRates;
+import com.github.badpop.jcoinbase.testutils.CoinbaseErrorSampleProvider;
+import io.vavr.collection.Map;
+import lombok.val;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static io.vavr.API.Map;
+import static io.vavr.API.Seq;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.concurrent.CompletableFuture.failedFuture;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RateMatrixBuilderTest {
+
+  private static final Clock CLOCK =
+      Clock.fixed(Instant.ofEpochSecond(1614988800L), ZoneOffset.UTC);
+
+  private static final JCoinbaseRuntime RUNTIME = JCoinbaseRuntime.create(3);
+
+  @Mock private JCoinbaseClient client;
+  @Mock private CoinbaseDataService service;
+
+  private RateMatrixBuilder builder;
+
+  @BeforeEach
+  void setUp() {
+    builder = new RateMatrixBuilder(client, service, CLOCK, 2);
+  }
+
+  @AfterEach
+  void tearDown() {
+    builder.stop();
+  }
+
+  @AfterAll
+  static void closeRuntime() {
+    RUNTIME.close();
+  }
+
+  private void respond(final String currency, final Map<String, BigDecimal> rates) {
+    lenient()
+        .when(service.fetchExchangeRatesAsync(client, currency))
+        .thenReturn(
+            completedFuture(
+                CallResult.success(
+                    ExchangeRates.builder().currency(currency).rates(rates).build())));
+  }
+
+  @Test
+  void should_build_the_matrix_of_all_the_coinbase_currencies() {
+    when(service.fetchCurrenciesAsync(client))
+        .thenReturn(
+            completedFuture(
+                CallResult.success(
+                    Seq(
+                        Currency.builder().id("USD").build(),
+                        Currency.builder().id("EUR").build()))));
+    respond("USD", Map("EUR", new BigDecimal("0.8")));
+    respond("EUR", Map("USD", new BigDecimal("1.25")));
+
+    val actual = builder.build();
+
+    assertThat(actual.getCurrencies()).containsExactly("USD", "EUR");
+    assertThat(actual.rate("USD", "EUR")).isEqualTo(0.8);
+    assertThat(actual.rate("EUR", "USD")).isEqualTo(1.25);
+    assertThat(actual.getBuiltAt()).isEqualTo(CLOCK.instant());
+    assertThat(actual.getBuildDuration()).isPositive();
+    assertThat(builder.getLatest()).containsExactly(actual);
+  }
+
+  @Test
+  void should_leave_the_rows_of_the_failed_currencies_empty() {
+    respond("USD", Map("EUR", new BigDecimal("0.8")));
+    when(service.fetchExchangeRatesAsync(client, "EUR"))
+        .thenReturn(
+            completedFuture(CallResult.failure(Seq(CoinbaseErrorSampleProvider.getSingleError()))));
+    when(service.fetchExchangeRatesAsync(client, "JPY"))
+        .thenReturn(failedFuture(new IOException("connection reset")));
+
+    val actual = builder.buildAsync(List.of("USD", "EUR", "JPY")).join();
+
+    assertThat(actual.rate("USD", "EUR")).isEqualTo(0.8);
+    assertThat(actual.rate("EUR", "USD")).isNaN();
+    assertThat(actual.getMissingCurrencies()).containsExactlyInAnyOrder("EUR", "JPY");
+  }
+
+  @Test
+  void should_rebuild_with_the_currencies_of_the_last_matrix() {
+    respond("USD", Map("EUR", new BigDecimal("0.8")));
+    respond("EUR", Map("USD", new BigDecimal("1.25")));
+    builder.buildAsync(List.of("USD", "EUR")).join();
+    respond("USD", Map("EUR", new BigDecimal("0.9")));
+
+    val actual = builder.rebuild();
+
+    assertThat(actual.rate("USD", "EUR")).isEqualTo(0.9);
+    verify(service, never()).fetchCurrenciesAsync(client);
+    verify(service, times(2)).fetchExchangeRatesAsync(client, "EUR");
+  }
+
+  @Test
+  void should_throw_JCoinbaseException_if_the_currencies_can_not_be_listed() {
+    when(service.fetchCurrenciesAsync(client))
+        .thenReturn(
+            completedFuture(CallResult.failure(Seq(CoinbaseErrorSampleProvider.getSingleError()))));
+
+    assertThatExceptionOfType(JCoinbaseException.class)
+        .isThrownBy(builder::build)
+        .withCauseInstanceOf(CoinbaseApiException.class);
+    assertThat(builder.getLatest()).isEmpty();
+  }
+
+  @Test
+  void should_rebuild_periodically_until_stopped() {
+    when(client.getRuntime()).thenReturn(RUNTIME);
+    respond("USD", Map("EUR", new BigDecimal("0.8")));
+    respond("EUR", Map("USD", new BigDecimal("1.25")));
+    builder.buildAsync(List.of("USD", "EUR")).join();
+
+    builder.start(Duration.ofMillis(10));
+    builder.start(Duration.ofMillis(10));
+
+    assertThat(builder.isStarted()).isTrue();
+    verify(service, timeout(1000).atLeast(3)).fetchExchangeRatesAsync(client, "USD");
+
+    builder.stop();
+    assertThat(builder.isStarted()).isFalse();
+  }
+
+  @Test
+  void should_rebuild_periodically_with_a_sub_millisecond_period() {
+    when(client.getRuntime()).thenReturn(RUNTIME);
+    respond("USD", Map("EUR", new BigDecimal("0.8")));
+    respond("EUR", Map("USD", new BigDecimal("1.25")));
+    builder.buildAsync(List.of("USD", "EUR")).join();
+
+    builder.start(Duration.ofNanos(500_000));
+
+    assertThat(builder.isStarted()).isTrue();
+    verify(service, timeout(1000).atLeast(3)).fetchExchangeRatesAsync(client, "USD");
+
+    builder.stop();
+    assertThat(builder.isStarted()).isFalse();
+  }
+
+  @Test
+  void should_reject_invalid_parameters() {
+    assertThatExceptionOfType(InvalidRequestException.class)
+        .isThrownBy(() -> new RateMatrixBuilder(client, service, CLOCK, 0));
+    assertThatIllegalArgumentException().isThrownBy(() -> builder.start(Duration.ZERO));
+  }
+}
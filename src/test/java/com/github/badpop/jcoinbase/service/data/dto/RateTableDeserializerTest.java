@@ -0,0 +1,74 @@
+package com.github.badpop.jcoinbase.service.data.dto;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.github.badpop.jcoinbase.service.dto.DataDto;
+import lombok.val;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+
+import static com.github.badpop.jcoinbase.testutils.JsonSerDesSample.JSON_SER_DES;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.entry;
+
+class RateTableDeserializerTest {
+
+  private DataDto<ExchangeRatesDto> read(final String json) throws IOException {
+    return JSON_SER_DES.readValue(json, new TypeReference<>() {});
+  }
+
+  @Test
+  void should_read_string_and_number_rates() throws IOException {
+    val actual =
+        read("{\"data\":{\"currency\":\"BTC\",\"rates\":{\"EUR\":\"32000.47\",\"USD\":39000.09}}}")
+            .getData()
+            .toExchangeRates();
+
+    assertThat(actual.getCurrency()).isEqualTo("BTC");
+    assertThat(actual.getRateTable().rate("EUR")).isEqualTo(32000.47);
+    assertThat(actual.getRatesAsJavaMap())
+        .containsExactly(
+            entry("EUR", BigDecimal.valueOf(32000.47)), entry("USD", BigDecimal.valueOf(39000.09)));
+  }
+
+  @Test
+  void should_keep_the_exact_rates() throws IOException {
+    val actual =
+        read("{\"data\":{\"currency\":\"BTC\",\"rates\":{\"EUR\":\"48123.123456789012345678\"}}}")
+            .getData()
+            .toExchangeRates();
+
+    assertThat(actual.getRateTable().exactRate("EUR"))
+        .contains(new BigDecimal("48123.123456789012345678"));
+    assertThat(actual.getRates().get("EUR")).contains(new BigDecimal("48123.123456789012345678"));
+  }
+
+  @Test
+  void should_ignore_null_rates() throws IOException {
+    val actual =
+        read("{\"data\":{\"currency\":\"BTC\",\"rates\":{\"EUR\":null}}}")
+            .getData()
+            .toExchangeRates();
+
+    assertThat(actual.getRateTable().size()).isZero();
+  }
+
+  @Test
+  void should_return_empty_table_for_null_rates() throws IOException {
+    val actual =
+        read("{\"data\":{\"currency\":\"BTC\",\"rates\":null}}").getData().toExchangeRates();
+
+    assertThat(actual.getRates()).isEmpty();
+  }
+
+  @Test
+  void should_fail_on_invalid_rates() {
+    assertThatExceptionOfType(JsonMappingException.class)
+        .isThrownBy(() -> read("{\"data\":{\"currency\":\"BTC\",\"rates\":{\"EUR\":\"abc\"}}}"));
+    assertThatExceptionOfType(JsonMappingException.class)
+        .isThrownBy(() -> read("{\"data\":{\"currency\":\"BTC\",\"rates\":[\"EUR\"]}}"));
+  }
+}
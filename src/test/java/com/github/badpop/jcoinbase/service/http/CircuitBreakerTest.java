@@ -0,0 +1,185 @@
+package com.github.badpop.jcoinbase.service.http;
+
+import com.github.badpop.jcoinbase.exception.CircuitBreakerOpenException;
+import com.github.badpop.jcoinbase.service.http.CircuitBreaker.State;
+import com.github.badpop.jcoinbase.service.http.CircuitBreaker.Transition;
+import lombok.val;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.tuple;
+
+class CircuitBreakerTest {
+
+  private static final Instant NOW = Instant.ofEpochSecond(1614988800L);
+  private static final Duration FAST = Duration.ofMillis(10);
+
+  private static final CircuitBreakerPolicy POLICY =
+      CircuitBreakerPolicy.builder()
+          .failureRateThreshold(0.5)
+          .slowCallRateThreshold(0.5)
+          .slowCallDuration(Duration.ofSeconds(1))
+          .slidingWindowSize(4)
+          .minimumCalls(4)
+          .openDuration(Duration.ofSeconds(30))
+          .halfOpenCalls(2)
+          .build();
+
+  private final MutableClock clock = new MutableClock();
+  private final CircuitBreaker breaker =
+      new CircuitBreaker(EndpointFamily.DATA, POLICY, true, clock);
+
+  private void record(final boolean... failures) {
+    for (final boolean failed : failures) {
+      breaker.acquirePermission();
+      breaker.onResult(failed, FAST);
+    }
+  }
+
+  @Test
+  void should_stay_closed_under_the_minimum_number_of_calls() {
+    record(true, true, true);
+
+    assertThat(breaker.getState()).isEqualTo(State.CLOSED);
+  }
+
+  @Test
+  void should_open_once_the_failure_rate_reaches_the_threshold() {
+    record(false, true, false, true);
+
+    assertThat(breaker.getState()).isEqualTo(State.OPEN);
+    assertThatExceptionOfType(CircuitBreakerOpenException.class)
+        .isThrownBy(breaker::acquirePermission)
+        .satisfies(
+            exception -> assertThat(exception.getRetryAfter()).isEqualTo(Duration.ofSeconds(30)));
+    assertThat(breaker.getStats().getOpenedCount()).isEqualTo(1);
+    assertThat(breaker.getStats().getRejectedCount()).isEqualTo(1);
+  }
+
+  @Test
+  void should_open_once_the_slow_call_rate_reaches_the_threshold() {
+    for (int i = 0; i < 4; i++) {
+      breaker.acquirePermission();
+      breaker.onResult(false, i % 2 == 0 ? Duration.ofSeconds(2) : FAST);
+    }
+
+    assertThat(breaker.getState()).isEqualTo(State.OPEN);
+  }
+
+  @Test
+  void should_only_consider_the_last_calls() {
+    record(true, false, false, false, false, false);
+
+    assertThat(breaker.getState()).isEqualTo(State.CLOSED);
+    assertThat(breaker.getStats().getFailureRate()).isZero();
+  }
+
+  @Test
+  void should_let_trial_calls_through_once_the_open_duration_is_over() {
+    record(true, true, true, true);
+    clock.advance(Duration.ofSeconds(30));
+
+    breaker.acquirePermission();
+    breaker.acquirePermission();
+
+    assertThat(breaker.getState()).isEqualTo(State.HALF_OPEN);
+    assertThatExceptionOfType(CircuitBreakerOpenException.class)
+        .isThrownBy(breaker::acquirePermission);
+  }
+
+  @Test
+  void should_close_if_the_trial_calls_succeed() {
+    record(true, true, true, true);
+    clock.advance(Duration.ofSeconds(30));
+
+    record(false, false);
+
+    assertThat(breaker.getState()).isEqualTo(State.CLOSED);
+  }
+
+  @Test
+  void should_open_again_if_the_trial_calls_fail() {
+    record(true, true, true, true);
+    clock.advance(Duration.ofSeconds(30));
+
+    record(false, true);
+
+    assertThat(breaker.getState()).isEqualTo(State.OPEN);
+    assertThat(breaker.getStats().getStateSince()).isEqualTo(NOW.plusSeconds(30));
+  }
+
+  @Test
+  void should_give_back_the_permission_of_a_call_not_sent() {
+    record(true, true, true, true);
+    clock.advance(Duration.ofSeconds(30));
+
+    breaker.acquirePermission();
+    breaker.acquirePermission();
+    breaker.releasePermission();
+
+    breaker.acquirePermission();
+  }
+
+  @Test
+  void should_notify_the_listeners_of_each_transition() {
+    final List<Transition> transitions = new ArrayList<>();
+    breaker.addListener(transitions::add);
+
+    record(true, true, true, true);
+    clock.advance(Duration.ofSeconds(30));
+    record(false, false);
+
+    assertThat(transitions)
+        .extracting(Transition::getFrom, Transition::getTo)
+        .containsExactly(
+            tuple(State.CLOSED, State.OPEN),
+            tuple(State.OPEN, State.HALF_OPEN),
+            tuple(State.HALF_OPEN, State.CLOSED));
+    assertThat(transitions).allMatch(transition -> transition.getFamily() == EndpointFamily.DATA);
+  }
+
+  @Test
+  void should_never_open_when_disabled() {
+    val disabled = CircuitBreaker.disabled(EndpointFamily.DATA);
+
+    for (int i = 0; i < 100; i++) {
+      disabled.acquirePermission();
+      disabled.onResult(true, FAST);
+    }
+
+    assertThat(disabled.getState()).isEqualTo(State.CLOSED);
+  }
+
+  private static final class MutableClock extends Clock {
+
+    private Instant instant = NOW;
+
+    private void advance(final Duration duration) {
+      instant = instant.plus(duration);
+    }
+
+    @Override
+    public ZoneId getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(final ZoneId zone) {
+      return this;
+    }
+
+    @Override
+    public Instant instant() {
+      return instant;
+    }
+  }
+}
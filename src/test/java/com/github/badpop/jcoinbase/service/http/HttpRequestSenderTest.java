@@ -2,6 +2,8 @@ package com.github.badpop.jcoinbase.service.http;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.github.badpop.jcoinbase.JCoinbaseClient;
+import com.github.badpop.jcoinbase.JCoinbaseClientFactory;
 import com.github.badpop.jcoinbase.control.CallResult;
 import com.github.badpop.jcoinbase.service.account.dto.AccountBalanceDto;
 import com.github.badpop.jcoinbase.service.account.dto.AccountCurrencyDto;
@@ -13,51 +15,94 @@ import com.github.badpop.jcoinbase.service.dto.PaginationDto;
 import com.github.badpop.jcoinbase.service.dto.WarningDto;
 import com.github.badpop.jcoinbase.service.user.dto.*;
 import com.github.badpop.jcoinbase.testutils.CoinbaseErrorSampleProvider;
+import com.github.badpop.jcoinbase.testutils.JsonUtils;
 import io.vavr.API;
 import lombok.val;
 import org.assertj.core.api.Assertions;
 import org.assertj.vavr.api.VavrAssertions;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
-import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.Mock;
-import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockserver.integration.ClientAndServer;
+import org.mockserver.socket.PortFactory;
+import org.mockserver.verify.VerificationTimes;
 
 import java.io.IOException;
 import java.math.BigDecimal;
 import java.net.URI;
-import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
-import java.net.http.HttpResponse.BodyHandler;
-import java.net.http.HttpResponse.BodyHandlers;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
-import static com.github.badpop.jcoinbase.testutils.HttpResponsesSamples.*;
+import static com.github.badpop.jcoinbase.testutils.JsonSerDesSample.JSON_READERS;
 import static com.github.badpop.jcoinbase.testutils.JsonSerDesSample.JSON_SER_DES;
+import static com.github.badpop.jcoinbase.testutils.ReflectionUtils.setFieldValueForObject;
 import static io.vavr.API.Seq;
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.mockito.Mockito.when;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockserver.model.HttpRequest.request;
+import static org.mockserver.model.HttpResponse.response;
 
-@ExtendWith(MockitoExtension.class)
 class HttpRequestSenderTest {
 
-  private static final HttpRequest request =
-      HttpRequest.newBuilder().uri(URI.create("http://domain.com/")).build();
+  private static ClientAndServer mockServer;
+  private static int port;
+  private static JCoinbaseClient client;
 
-  private static final BodyHandler<String> bodyHandler = BodyHandlers.ofString();
+  @BeforeAll
+  static void init() {
+    port = PortFactory.findFreePort();
+    mockServer = ClientAndServer.startClientAndServer(port);
+    client = JCoinbaseClientFactory.build("loremIpsum", "dolorSitAmet", "2021-02-03", 3, false);
+  }
+
+  @AfterAll
+  static void tearDown() {
+    client.close();
+    mockServer.stop();
+  }
+
+  @BeforeEach
+  void setUp() throws NoSuchFieldException, IllegalAccessException {
+    mockServer.reset();
+    setFieldValueForObject(client.getProperties(), "apiUrl", "http://localhost:" + port);
+  }
+
+  private static HttpRequest get(final String path) {
+    return HttpRequest.newBuilder()
+        .GET()
+        .uri(URI.create(client.getProperties().getApiUrl() + path))
+        .build();
+  }
 
-  @Mock private HttpClient httpClient;
+  private static void respond(final String path, final int statusCode, final String resource)
+      throws IOException {
+    mockServer
+        .when(request().withMethod("GET").withPath(path))
+        .respond(
+            response()
+                .withStatusCode(statusCode)
+                .withHeader("Content-Type", "application/json")
+                .withBody(JsonUtils.readResource(resource), StandardCharsets.UTF_8));
+  }
 
   @Nested
   class Send {
     @Test
-    void should_return_try_containing_a_call_result_success()
-        throws IOException, InterruptedException {
-      when(httpClient.send(request, bodyHandler)).thenReturn(CURRENT_USER_HTTP_RESPONSE_OK);
+    void should_return_try_containing_a_call_result_success() throws IOException {
+      respond("/v2/user", 200, "/json/coinbaseUserService/current_user.json");
 
       val actualTry =
           HttpRequestSender.send(
-              httpClient, request, JSON_SER_DES, new TypeReference<DataDto<UserDto>>() {});
+              client,
+              EndpointFamily.USER,
+              () -> get("/v2/user"),
+              JsonReader.of(JSON_SER_DES, new TypeReference<DataDto<UserDto>>() {}),
+              JSON_READERS.getErrors());
 
       VavrAssertions.assertThat(actualTry).isSuccess();
 
@@ -117,13 +162,16 @@ class HttpRequestSenderTest {
     }
 
     @Test
-    void should_return_try_containing_a_call_result_failure()
-        throws IOException, InterruptedException {
-      when(httpClient.send(request, bodyHandler)).thenReturn(CURRENT_USER_HTTP_RESPONSE_KO);
+    void should_return_try_containing_a_call_result_failure() throws IOException {
+      respond("/v2/user", 400, "/json/errors.json");
 
       val actualTry =
           HttpRequestSender.send(
-              httpClient, request, JSON_SER_DES, new TypeReference<DataDto<UserDto>>() {});
+              client,
+              EndpointFamily.USER,
+              () -> get("/v2/user"),
+              JsonReader.of(JSON_SER_DES, new TypeReference<DataDto<UserDto>>() {}),
+              JSON_READERS.getErrors());
 
       VavrAssertions.assertThat(actualTry).isSuccess();
 
@@ -135,12 +183,16 @@ class HttpRequestSenderTest {
     }
 
     @Test
-    void should_return_try_failure() throws IOException, InterruptedException {
-      when(httpClient.send(request, bodyHandler)).thenReturn(CURRENT_USER_HTTP_RESPONSE_OK);
+    void should_return_try_failure() throws IOException {
+      respond("/v2/user", 200, "/json/coinbaseUserService/current_user.json");
 
       val actualTry =
           HttpRequestSender.send(
-              httpClient, request, JSON_SER_DES, new TypeReference<DataDto<TimeDto>>() {});
+              client,
+              EndpointFamily.USER,
+              () -> get("/v2/user"),
+              JsonReader.of(JSON_SER_DES, new TypeReference<DataDto<TimeDto>>() {}),
+              JSON_READERS.getErrors());
 
       VavrAssertions.assertThat(actualTry).isFailure().failBecauseOf(JsonProcessingException.class);
     }
@@ -149,16 +201,16 @@ class HttpRequestSenderTest {
   @Nested
   class paginatedSend {
     @Test
-    void should_return_try_containing_a_call_result_success()
-        throws IOException, InterruptedException {
-      when(httpClient.send(request, bodyHandler)).thenReturn(ACCOUNTS_HTTP_RESPONSE_OK);
+    void should_return_try_containing_a_call_result_success() throws IOException {
+      respond("/v2/accounts", 200, "/json/coinbaseAccountService/account_list.json");
 
       val actualTry =
           HttpRequestSender.paginatedSend(
-              httpClient,
-              request,
-              JSON_SER_DES,
-              new TypeReference<PaginatedResponseDto<AccountDto>>() {});
+              client,
+              EndpointFamily.ACCOUNT,
+              () -> get("/v2/accounts"),
+              JsonReader.of(JSON_SER_DES, new TypeReference<PaginatedResponseDto<AccountDto>>() {}),
+              JSON_READERS.getErrors());
 
       VavrAssertions.assertThat(actualTry).isSuccess();
 
@@ -216,16 +268,16 @@ class HttpRequestSenderTest {
     }
 
     @Test
-    void should_return_try_containing_a_call_result_failure()
-        throws IOException, InterruptedException {
-      when(httpClient.send(request, bodyHandler)).thenReturn(ACCOUNTS_HTTP_RESPONSE_KO);
+    void should_return_try_containing_a_call_result_failure() throws IOException {
+      respond("/v2/accounts", 400, "/json/errors.json");
 
       val actualTry =
           HttpRequestSender.paginatedSend(
-              httpClient,
-              request,
-              JSON_SER_DES,
-              new TypeReference<PaginatedResponseDto<AccountDto>>() {});
+              client,
+              EndpointFamily.ACCOUNT,
+              () -> get("/v2/accounts"),
+              JsonReader.of(JSON_SER_DES, new TypeReference<PaginatedResponseDto<AccountDto>>() {}),
+              JSON_READERS.getErrors());
 
       VavrAssertions.assertThat(actualTry).isSuccess();
 
@@ -237,30 +289,70 @@ class HttpRequestSenderTest {
     }
 
     @Test
-    void should_return_try_failure() throws IOException, InterruptedException {
-      when(httpClient.send(request, bodyHandler)).thenReturn(ACCOUNTS_HTTP_RESPONSE_OK);
+    void should_return_try_failure() throws IOException {
+      respond("/v2/accounts", 200, "/json/coinbaseAccountService/account_list.json");
 
       val actualTry =
           HttpRequestSender.paginatedSend(
-              httpClient,
-              request,
-              JSON_SER_DES,
-              new TypeReference<PaginatedResponseDto<TimeDto>>() {});
+              client,
+              EndpointFamily.ACCOUNT,
+              () -> get("/v2/accounts"),
+              JsonReader.of(JSON_SER_DES, new TypeReference<PaginatedResponseDto<TimeDto>>() {}),
+              JSON_READERS.getErrors());
 
       VavrAssertions.assertThat(actualTry).isFailure().failBecauseOf(JsonProcessingException.class);
     }
   }
 
+  @Nested
+  class SingleFailureSendOnce {
+    @Test
+    void should_return_try_containing_a_call_result_success() throws IOException {
+      respond("/v2/time", 200, "/json/coinbaseDataService/time.json");
+
+      val actualTry =
+          HttpRequestSender.singleFailureSendOnce(
+              client,
+              get("/v2/time"),
+              JsonReader.of(JSON_SER_DES, new TypeReference<DataDto<TimeDto>>() {}),
+              JSON_READERS.getSingleError());
+
+      VavrAssertions.assertThat(actualTry).isSuccess();
+      assertThat(actualTry.get().isSuccess()).isTrue();
+      Assertions.assertThat(actualTry.get().get().getData().toTime().getEpoch())
+          .isEqualTo(1435082571L);
+    }
+
+    @Test
+    void should_not_retry_a_server_error() throws IOException {
+      respond("/v2/time", 503, "/json/error.json");
+
+      val actualTry =
+          HttpRequestSender.singleFailureSendOnce(
+              client,
+              get("/v2/time"),
+              JsonReader.of(JSON_SER_DES, new TypeReference<DataDto<TimeDto>>() {}),
+              JSON_READERS.getSingleError());
+
+      VavrAssertions.assertThat(actualTry).isSuccess();
+      assertThat(actualTry.get().isFailure()).isTrue();
+      mockServer.verify(request().withPath("/v2/time"), VerificationTimes.exactly(1));
+    }
+  }
+
   @Nested
   class SingleFailureSend {
     @Test
-    void should_return_try_containing_a_call_result_success()
-        throws IOException, InterruptedException {
-      when(httpClient.send(request, bodyHandler)).thenReturn(TIME_HTTP_RESPONSE_OK);
+    void should_return_try_containing_a_call_result_success() throws IOException {
+      respond("/v2/time", 200, "/json/coinbaseDataService/time.json");
 
       val actualTry =
           HttpRequestSender.singleFailureSend(
-              httpClient, request, JSON_SER_DES, new TypeReference<DataDto<TimeDto>>() {});
+              client,
+              EndpointFamily.DATA,
+              () -> get("/v2/time"),
+              JsonReader.of(JSON_SER_DES, new TypeReference<DataDto<TimeDto>>() {}),
+              JSON_READERS.getSingleError());
 
       VavrAssertions.assertThat(actualTry).isSuccess();
 
@@ -280,13 +372,16 @@ class HttpRequestSenderTest {
     }
 
     @Test
-    void should_return_try_containing_a_call_result_failure()
-        throws IOException, InterruptedException {
-      when(httpClient.send(request, bodyHandler)).thenReturn(TIME_HTTP_RESPONSE_KO);
+    void should_return_try_containing_a_call_result_failure() throws IOException {
+      respond("/v2/time", 400, "/json/error.json");
 
       val actualTry =
           HttpRequestSender.singleFailureSend(
-              httpClient, request, JSON_SER_DES, new TypeReference<DataDto<TimeDto>>() {});
+              client,
+              EndpointFamily.DATA,
+              () -> get("/v2/time"),
+              JsonReader.of(JSON_SER_DES, new TypeReference<DataDto<TimeDto>>() {}),
+              JSON_READERS.getSingleError());
 
       VavrAssertions.assertThat(actualTry).isSuccess();
 
@@ -298,12 +393,16 @@ class HttpRequestSenderTest {
     }
 
     @Test
-    void should_return_try_failure() throws IOException, InterruptedException {
-      when(httpClient.send(request, bodyHandler)).thenReturn(TIME_HTTP_RESPONSE_OK);
+    void should_return_try_failure() throws IOException {
+      respond("/v2/time", 200, "/json/coinbaseDataService/time.json");
 
       val actualTry =
           HttpRequestSender.singleFailureSend(
-              httpClient, request, JSON_SER_DES, new TypeReference<DataDto<UserDto>>() {});
+              client,
+              EndpointFamily.DATA,
+              () -> get("/v2/time"),
+              JsonReader.of(JSON_SER_DES, new TypeReference<DataDto<UserDto>>() {}),
+              JSON_READERS.getSingleError());
 
       VavrAssertions.assertThat(actualTry).isFailure().failBecauseOf(JsonProcessingException.class);
     }
@@ -0,0 +1,513 @@
+package com.github.badpop.jcoinbase.service.http;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.badpop.jcoinbase.control.Deadline;
+import com.github.badpop.jcoinbase.exception.CircuitBreakerOpenException;
+import com.github.badpop.jcoinbase.exception.DeadlineExceededException;
+import lombok.val;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockserver.integration.ClientAndServer;
+import org.mockserver.matchers.Times;
+import org.mockserver.socket.PortFactory;
+import org.mockserver.verify.VerificationTimes;
+
+import java.net.ConnectException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.time.Duration;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockserver.model.HttpRequest.request;
+import static org.mockserver.model.HttpResponse.response;
+
+class HttpRetrierTest {
+
+  private static final RetryPolicy POLICY =
+      RetryPolicy.builder()
+          .maxAttempts(3)
+          .baseDelay(Duration.ofMillis(1))
+          .maxDelay(Duration.ofMillis(5))
+          .build();
+
+  private static ClientAndServer mockServer;
+  private static int port;
+
+  private final HttpClient httpClient = HttpClient.newHttpClient();
+  private final AtomicInteger builtRequests = new AtomicInteger();
+  private final AtomicInteger delayedTasks = new AtomicInteger();
+  private RateLimitTracker rateLimits;
+  private HttpRetrier retrier;
+  private final CircuitBreaker breaker = CircuitBreaker.disabled(EndpointFamily.DATA);
+
+  @BeforeAll
+  static void init() {
+    port = PortFactory.findFreePort();
+    mockServer = ClientAndServer.startClientAndServer(port);
+  }
+
+  @AfterAll
+  static void tearDown() {
+    mockServer.stop();
+  }
+
+  @BeforeEach
+  void setUp() {
+    mockServer.reset();
+    rateLimits = new RateLimitTracker(Duration.ofSeconds(5));
+    retrier = new HttpRetrier(rateLimits, this::runDelayed, () -> 0.5);
+  }
+
+  private void runDelayed(final Runnable task) {
+    delayedTasks.incrementAndGet();
+    ForkJoinPool.commonPool().execute(task);
+  }
+
+  private HttpRequest get() {
+    return HttpRequest.newBuilder()
+        .GET()
+        .uri(URI.create("http://localhost:" + port + "/v2/time"))
+        .header("CB-ACCESS-TIMESTAMP", String.valueOf(builtRequests.incrementAndGet()))
+        .build();
+  }
+
+  private HttpRequest put() {
+    builtRequests.incrementAndGet();
+    return HttpRequest.newBuilder()
+        .PUT(BodyPublishers.ofString("{}"))
+        .uri(URI.create("http://localhost:" + port + "/v2/time"))
+        .build();
+  }
+
+  @Test
+  void should_retry_a_5xx_response_with_a_newly_built_request() throws Exception {
+    mockServer
+        .when(request().withPath("/v2/time"), Times.exactly(2))
+        .respond(response().withStatusCode(503).withBody("unavailable"));
+    mockServer.when(request().withPath("/v2/time")).respond(response().withBody("ok"));
+
+    val actual =
+        retrier.send(
+            httpClient,
+            POLICY,
+            TokenBucket.unlimited(),
+            breaker,
+            get(),
+            this::get,
+            BodyHandlers.ofString());
+
+    assertThat(actual.statusCode()).isEqualTo(200);
+    assertThat(actual.body()).isEqualTo("ok");
+    assertThat(builtRequests).hasValue(3);
+    mockServer.verify(
+        request().withPath("/v2/time").withHeader("CB-ACCESS-TIMESTAMP", "3"),
+        VerificationTimes.once());
+    assertThat(retrier.getStats()).isEqualTo(new RetryStats(2, 1, 0));
+  }
+
+  @Test
+  void should_return_the_last_response_once_the_attempts_are_exhausted() throws Exception {
+    mockServer
+        .when(request().withPath("/v2/time"))
+        .respond(response().withStatusCode(500).withBody("error"));
+
+    val actual =
+        retrier.send(
+            httpClient,
+            POLICY,
+            TokenBucket.unlimited(),
+            breaker,
+            get(),
+            this::get,
+            BodyHandlers.ofString());
+
+    assertThat(actual.statusCode()).isEqualTo(500);
+    assertThat(actual.body()).isEqualTo("error");
+    mockServer.verify(request().withPath("/v2/time"), VerificationTimes.exactly(3));
+    assertThat(retrier.getStats()).isEqualTo(new RetryStats(2, 0, 1));
+  }
+
+  @Test
+  void should_not_retry_a_4xx_response() throws Exception {
+    mockServer.when(request().withPath("/v2/time")).respond(response().withStatusCode(404));
+
+    val actual =
+        retrier.send(
+            httpClient,
+            POLICY,
+            TokenBucket.unlimited(),
+            breaker,
+            get(),
+            this::get,
+            BodyHandlers.ofString());
+
+    assertThat(actual.statusCode()).isEqualTo(404);
+    mockServer.verify(request().withPath("/v2/time"), VerificationTimes.once());
+    assertThat(retrier.getStats()).isEqualTo(new RetryStats(0, 0, 0));
+  }
+
+  @Test
+  void should_not_retry_a_non_idempotent_request() throws Exception {
+    mockServer.when(request().withPath("/v2/time")).respond(response().withStatusCode(503));
+
+    val actual =
+        retrier.send(
+            httpClient,
+            POLICY,
+            TokenBucket.unlimited(),
+            breaker,
+            put(),
+            this::put,
+            BodyHandlers.ofString());
+
+    assertThat(actual.statusCode()).isEqualTo(503);
+    mockServer.verify(request().withPath("/v2/time"), VerificationTimes.once());
+  }
+
+  @Test
+  void should_retry_connect_errors_and_throw_the_last_one() {
+    val closedPort = PortFactory.findFreePort();
+    final HttpRequest request =
+        HttpRequest.newBuilder().GET().uri(URI.create("http://localhost:" + closedPort)).build();
+
+    assertThatExceptionOfType(ConnectException.class)
+        .isThrownBy(
+            () ->
+                retrier.send(
+                    httpClient,
+                    POLICY,
+                    TokenBucket.unlimited(),
+                    breaker,
+                    request,
+                    () -> request,
+                    BodyHandlers.ofString()));
+    assertThat(retrier.getStats()).isEqualTo(new RetryStats(2, 0, 1));
+  }
+
+  @Test
+  void should_retry_asynchronously() {
+    mockServer
+        .when(request().withPath("/v2/time"), Times.once())
+        .respond(response().withStatusCode(502));
+    mockServer.when(request().withPath("/v2/time")).respond(response().withBody("ok"));
+
+    val actual =
+        retrier
+            .sendAsync(
+                httpClient,
+                POLICY,
+                TokenBucket.unlimited(),
+                breaker,
+                get(),
+                this::get,
+                BodyHandlers.ofString())
+            .join();
+
+    assertThat(actual.body()).isEqualTo("ok");
+    assertThat(builtRequests).hasValue(2);
+    assertThat(delayedTasks).hasValue(1);
+    assertThat(retrier.getStats()).isEqualTo(new RetryStats(1, 1, 0));
+  }
+
+  @Test
+  void should_complete_exceptionally_if_a_retry_can_not_be_built() {
+    mockServer.when(request().withPath("/v2/time")).respond(response().withStatusCode(503));
+
+    val actual =
+        retrier.sendAsync(
+            httpClient,
+            POLICY,
+            TokenBucket.unlimited(),
+            breaker,
+            get(),
+            () -> {
+              throw new IllegalStateException("expired");
+            },
+            BodyHandlers.ofString());
+
+    assertThatExceptionOfType(CompletionException.class)
+        .isThrownBy(actual::join)
+        .withCauseInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  void should_wait_for_the_retry_after_delay_before_retrying_a_429_response() throws Exception {
+    mockServer
+        .when(request().withPath("/v2/time"), Times.once())
+        .respond(response().withStatusCode(429).withHeader("Retry-After", "1"));
+    mockServer.when(request().withPath("/v2/time")).respond(response().withBody("ok"));
+    val start = System.nanoTime();
+
+    val actual =
+        retrier.send(
+            httpClient,
+            POLICY,
+            TokenBucket.unlimited(),
+            breaker,
+            get(),
+            this::get,
+            BodyHandlers.ofString());
+
+    assertThat(actual.body()).isEqualTo("ok");
+    assertThat(Duration.ofNanos(System.nanoTime() - start)).isGreaterThan(Duration.ofMillis(500));
+    assertThat(rateLimits.getStatus().getRateLimitedCount()).isEqualTo(1);
+    assertThat(rateLimits.getStatus().getDelayedCount()).isEqualTo(1);
+  }
+
+  @Test
+  void should_rebuild_a_request_delayed_by_the_token_bucket() {
+    mockServer.when(request().withPath("/v2/time")).respond(response().withBody("ok"));
+    val bucket = new TokenBucket(20, 1);
+
+    retrier
+        .sendAsync(httpClient, POLICY, bucket, breaker, get(), this::get, BodyHandlers.ofString())
+        .join();
+    val actual =
+        retrier
+            .sendAsync(
+                httpClient, POLICY, bucket, breaker, get(), this::get, BodyHandlers.ofString())
+            .join();
+
+    assertThat(actual.body()).isEqualTo("ok");
+    assertThat(builtRequests).hasValue(3);
+    assertThat(bucket.getStats().getThrottledCount()).isEqualTo(1);
+    assertThat(retrier.getStats()).isEqualTo(new RetryStats(0, 0, 0));
+  }
+
+  @Test
+  void should_not_send_anything_while_the_circuit_breaker_is_open() throws Exception {
+    mockServer.when(request().withPath("/v2/time")).respond(response().withStatusCode(503));
+    val breaker =
+        new CircuitBreaker(
+            EndpointFamily.DATA,
+            CircuitBreakerPolicy.builder().slidingWindowSize(3).minimumCalls(3).build());
+
+    val actual =
+        retrier.send(
+            httpClient,
+            POLICY,
+            TokenBucket.unlimited(),
+            breaker,
+            get(),
+            this::get,
+            BodyHandlers.ofString());
+
+    assertThat(actual.statusCode()).isEqualTo(503);
+    assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+    assertThatExceptionOfType(CircuitBreakerOpenException.class)
+        .isThrownBy(
+            () ->
+                retrier.send(
+                    httpClient,
+                    POLICY,
+                    TokenBucket.unlimited(),
+                    breaker,
+                    get(),
+                    this::get,
+                    BodyHandlers.ofString()));
+    mockServer.verify(request().withPath("/v2/time"), VerificationTimes.exactly(3));
+  }
+
+  @Test
+  void should_not_count_an_invalid_json_body_as_a_circuit_breaker_failure() {
+    mockServer.when(request().withPath("/v2/time")).respond(response().withBody("{not json"));
+    val breaker =
+        new CircuitBreaker(
+            EndpointFamily.DATA,
+            CircuitBreakerPolicy.builder().slidingWindowSize(2).minimumCalls(2).build());
+    val reader = new JsonReaders(new ObjectMapper()).getTime();
+
+    for (int i = 0; i < 2; i++) {
+      assertThatExceptionOfType(CompletionException.class)
+          .isThrownBy(
+              () ->
+                  retrier
+                      .sendAsync(
+                          httpClient,
+                          POLICY,
+                          TokenBucket.unlimited(),
+                          breaker,
+                          get(),
+                          this::get,
+                          info -> new JsonBodySubscriber<>(reader))
+                      .join())
+          .withCauseInstanceOf(JsonProcessingException.class);
+    }
+
+    assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+  }
+
+  @Test
+  void should_not_wait_for_the_rate_limit_longer_than_the_deadline() {
+    mockServer
+        .when(request().withPath("/v2/time"), Times.once())
+        .respond(response().withStatusCode(429).withHeader("Retry-After", "4"));
+    mockServer.when(request().withPath("/v2/time")).respond(response().withBody("ok"));
+    val start = System.nanoTime();
+
+    assertThatExceptionOfType(DeadlineExceededException.class)
+        .isThrownBy(
+            () ->
+                retrier.send(
+                    httpClient,
+                    POLICY,
+                    TokenBucket.unlimited(),
+                    breaker,
+                    get(),
+                    this::get,
+                    BodyHandlers.ofString(),
+                    Deadline.after(Duration.ofMillis(500))));
+    assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(2));
+    mockServer.verify(request().withPath("/v2/time"), VerificationTimes.once());
+  }
+
+  @Test
+  void should_not_back_off_longer_than_the_deadline() {
+    mockServer.when(request().withPath("/v2/time")).respond(response().withStatusCode(503));
+    val policy =
+        RetryPolicy.builder()
+            .maxAttempts(3)
+            .baseDelay(Duration.ofSeconds(5))
+            .maxDelay(Duration.ofSeconds(5))
+            .build();
+
+    val actual =
+        retrier.sendAsync(
+            httpClient,
+            policy,
+            TokenBucket.unlimited(),
+            breaker,
+            get(),
+            this::get,
+            BodyHandlers.ofString(),
+            Deadline.after(Duration.ofMillis(500)));
+
+    assertThatExceptionOfType(ExecutionException.class)
+        .isThrownBy(() -> actual.get(2, TimeUnit.SECONDS))
+        .withCauseInstanceOf(DeadlineExceededException.class);
+    mockServer.verify(request().withPath("/v2/time"), VerificationTimes.once());
+    assertThat(retrier.getStats()).isEqualTo(new RetryStats(0, 0, 0));
+  }
+
+  @Test
+  void should_not_take_the_permit_of_a_request_rejected_by_its_deadline() throws Exception {
+    mockServer.when(request().withPath("/v2/time")).respond(response().withBody("ok"));
+    val bucket = new TokenBucket(0.5, 1);
+    retrier.send(httpClient, POLICY, bucket, breaker, get(), this::get, BodyHandlers.ofString());
+
+    for (int i = 0; i < 3; i++) {
+      assertThatExceptionOfType(DeadlineExceededException.class)
+          .isThrownBy(
+              () ->
+                  retrier.send(
+                      httpClient,
+                      POLICY,
+                      bucket,
+                      breaker,
+                      get(),
+                      this::get,
+                      BodyHandlers.ofString(),
+                      Deadline.after(Duration.ofMillis(200))));
+    }
+
+    assertThat(bucket.reserve()).isLessThanOrEqualTo(Duration.ofSeconds(2));
+    assertThat(bucket.getStats().getRejectedCount()).isEqualTo(3);
+    mockServer.verify(request().withPath("/v2/time"), VerificationTimes.once());
+  }
+
+  @Test
+  void should_not_wait_for_a_permit_longer_than_the_deadline() {
+    mockServer.when(request().withPath("/v2/time")).respond(response().withBody("ok"));
+    val bucket = new TokenBucket(0.5, 1);
+    retrier
+        .sendAsync(httpClient, POLICY, bucket, breaker, get(), this::get, BodyHandlers.ofString())
+        .join();
+
+    val actual =
+        retrier.sendAsync(
+            httpClient,
+            POLICY,
+            bucket,
+            breaker,
+            get(),
+            this::get,
+            BodyHandlers.ofString(),
+            Deadline.after(Duration.ofMillis(200)));
+
+    assertThatExceptionOfType(CompletionException.class)
+        .isThrownBy(actual::join)
+        .withCauseInstanceOf(DeadlineExceededException.class);
+    mockServer.verify(request().withPath("/v2/time"), VerificationTimes.once());
+  }
+
+  @Test
+  void should_give_back_the_half_open_permit_of_an_interrupted_call() throws Exception {
+    val breaker =
+        new CircuitBreaker(
+            EndpointFamily.DATA,
+            CircuitBreakerPolicy.builder()
+                .slidingWindowSize(2)
+                .minimumCalls(2)
+                .openDuration(Duration.ofMillis(50))
+                .halfOpenCalls(1)
+                .build());
+    for (int i = 0; i < 2; i++) {
+      breaker.acquirePermission();
+      breaker.onResult(true, Duration.ZERO);
+    }
+    Thread.sleep(100);
+    mockServer
+        .when(request().withPath("/v2/time"), Times.once())
+        .respond(response().withDelay(TimeUnit.SECONDS, 5).withBody("late"));
+    mockServer.when(request().withPath("/v2/time")).respond(response().withBody("ok"));
+    val interrupted = new AtomicReference<Throwable>();
+    val caller =
+        new Thread(
+            () -> {
+              try {
+                retrier.send(
+                    httpClient,
+                    POLICY,
+                    TokenBucket.unlimited(),
+                    breaker,
+                    get(),
+                    this::get,
+                    BodyHandlers.ofString());
+              } catch (Exception e) {
+                interrupted.set(e);
+              }
+            });
+
+    caller.start();
+    Thread.sleep(300);
+    caller.interrupt();
+    caller.join(2000);
+
+    assertThat(interrupted.get()).isInstanceOf(InterruptedException.class);
+    assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+    val actual =
+        retrier.send(
+            httpClient,
+            POLICY,
+            TokenBucket.unlimited(),
+            breaker,
+            get(),
+            this::get,
+            BodyHandlers.ofString());
+    assertThat(actual.body()).isEqualTo("ok");
+    assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+  }
+}
@@ -0,0 +1,134 @@
+package com.github.badpop.jcoinbase.service.http;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.github.badpop.jcoinbase.service.data.dto.TimeDto;
+import com.github.badpop.jcoinbase.service.dto.DataDto;
+import lombok.val;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Flow;
+
+import static com.github.badpop.jcoinbase.model.data.Price.PriceType.SPOT;
+import static com.github.badpop.jcoinbase.testutils.JsonSerDesSample.JSON_READERS;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+class JsonBodySubscriberTest {
+
+  private static final String TIME_JSON =
+      "{\"data\":{\"iso\":\"2015-06-23T18:02:51Z\",\"epoch\":1435082571}}";
+
+  private JsonBodySubscriber<DataDto<TimeDto>> subscriber;
+  private long requested;
+  private boolean cancelled;
+
+  @BeforeEach
+  void setUp() {
+    requested = 0;
+    cancelled = false;
+    subscriber = new JsonBodySubscriber<>(JSON_READERS.getTime());
+    subscriber.onSubscribe(
+        new Flow.Subscription() {
+          @Override
+          public void request(final long n) {
+            requested += n;
+          }
+
+          @Override
+          public void cancel() {
+            cancelled = true;
+          }
+        });
+  }
+
+  @Test
+  void should_deserialize_a_body_received_in_several_chunks() {
+    val bytes = TIME_JSON.getBytes(UTF_8);
+    for (int i = 0; i < bytes.length; i += 5) {
+      subscriber.onNext(List.of(ByteBuffer.wrap(bytes, i, Math.min(5, bytes.length - i))));
+    }
+    subscriber.onComplete();
+
+    val actual = subscriber.getBody().toCompletableFuture().join();
+
+    assertThat(actual.getData())
+        .usingRecursiveComparison()
+        .isEqualTo(
+            TimeDto.builder().iso(Instant.parse("2015-06-23T18:02:51Z")).epoch(1435082571).build());
+    assertThat(requested).isEqualTo(1 + (bytes.length + 4) / 5);
+  }
+
+  @Test
+  void should_not_lose_the_precision_of_floating_point_numbers() {
+    val priceSubscriber = new JsonBodySubscriber<>(JSON_READERS.getPrice());
+    priceSubscriber.onSubscribe(
+        new Flow.Subscription() {
+          @Override
+          public void request(final long n) {}
+
+          @Override
+          public void cancel() {}
+        });
+    val json =
+        "{\"data\":{\"base\":\"BTC\",\"currency\":\"EUR\",\"amount\":0.12345678901234567890}}";
+
+    priceSubscriber.onNext(List.of(ByteBuffer.wrap(json.getBytes(UTF_8))));
+    priceSubscriber.onComplete();
+
+    val actual = priceSubscriber.getBody().toCompletableFuture().join().getData().toPrice(SPOT);
+
+    assertThat(actual.getAmount()).isEqualByComparingTo(new BigDecimal("0.12345678901234567890"));
+  }
+
+  @Test
+  void should_deserialize_a_body_received_in_direct_buffers() {
+    val bytes = TIME_JSON.getBytes(UTF_8);
+    val buffer = ByteBuffer.allocateDirect(bytes.length).put(bytes).flip();
+
+    subscriber.onNext(List.of(buffer));
+    subscriber.onComplete();
+
+    assertThat(subscriber.getBody().toCompletableFuture().join().getData())
+        .usingRecursiveComparison()
+        .isEqualTo(
+            TimeDto.builder().iso(Instant.parse("2015-06-23T18:02:51Z")).epoch(1435082571).build());
+  }
+
+  @Test
+  void should_complete_exceptionally_and_cancel_on_invalid_json() {
+    subscriber.onNext(List.of(ByteBuffer.wrap("{\"data\":}".getBytes(UTF_8))));
+    subscriber.onComplete();
+
+    assertThatExceptionOfType(CompletionException.class)
+        .isThrownBy(() -> subscriber.getBody().toCompletableFuture().join())
+        .withCauseInstanceOf(JsonProcessingException.class);
+    assertThat(cancelled).isTrue();
+  }
+
+  @Test
+  void should_complete_exceptionally_on_truncated_body() {
+    subscriber.onNext(List.of(ByteBuffer.wrap("{\"data\":{\"iso\"".getBytes(UTF_8))));
+    subscriber.onComplete();
+
+    assertThatExceptionOfType(CompletionException.class)
+        .isThrownBy(() -> subscriber.getBody().toCompletableFuture().join())
+        .withCauseInstanceOf(JsonProcessingException.class);
+  }
+
+  @Test
+  void should_complete_exceptionally_on_error() {
+    subscriber.onError(new IOException("connection reset"));
+
+    assertThatExceptionOfType(CompletionException.class)
+        .isThrownBy(() -> subscriber.getBody().toCompletableFuture().join())
+        .withCauseInstanceOf(IOException.class);
+  }
+}
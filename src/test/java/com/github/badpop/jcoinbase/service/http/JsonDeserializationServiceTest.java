@@ -19,10 +19,12 @@ import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
 import java.math.BigDecimal;
 import java.time.Instant;
 
 import static com.github.badpop.jcoinbase.testutils.HttpResponsesSamples.*;
+import static com.github.badpop.jcoinbase.testutils.JsonSerDesSample.JSON_READERS;
 import static com.github.badpop.jcoinbase.testutils.JsonSerDesSample.JSON_SER_DES;
 import static io.vavr.API.Seq;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -33,12 +35,12 @@ class JsonDeserializationServiceTest {
   @Nested
   class Deserialize {
     @Test
-    void should_properly_deserialize_and_return_success() throws JsonProcessingException {
-      val typeRef = new TypeReference<DataDto<UserDto>>() {};
+    void should_properly_deserialize_and_return_success() throws IOException {
+      val reader = JsonReader.of(JSON_SER_DES, new TypeReference<DataDto<UserDto>>() {});
 
       val actual =
           JsonDeserializationService.deserialize(
-              CURRENT_USER_HTTP_RESPONSE_OK, JSON_SER_DES, typeRef);
+              CURRENT_USER_HTTP_RESPONSE_OK, reader, JSON_READERS.getErrors());
 
       assertThat(actual).isInstanceOf(CallResult.class).isNotNull().isNotEmpty();
       assertThat(actual.isSuccess()).isTrue();
@@ -94,12 +96,12 @@ class JsonDeserializationServiceTest {
     }
 
     @Test
-    void should_properly_deserialize_and_return_failure() throws JsonProcessingException {
-      val typeRef = new TypeReference<DataDto<UserDto>>() {};
+    void should_properly_deserialize_and_return_failure() throws IOException {
+      val reader = JsonReader.of(JSON_SER_DES, new TypeReference<DataDto<UserDto>>() {});
 
       val actual =
           JsonDeserializationService.deserialize(
-              CURRENT_USER_HTTP_RESPONSE_KO, JSON_SER_DES, typeRef);
+              CURRENT_USER_HTTP_RESPONSE_KO, reader, JSON_READERS.getErrors());
 
       assertThat(actual).isInstanceOf(CallResult.class).isNotNull().isEmpty();
       assertThat(actual.isFailure()).isTrue();
@@ -108,25 +110,26 @@ class JsonDeserializationServiceTest {
 
     @Test
     void should_throw_JsonProcessingException() {
-      val typeRef = new TypeReference<DataDto<TimeDto>>() {};
+      val reader = JsonReader.of(JSON_SER_DES, new TypeReference<DataDto<TimeDto>>() {});
 
       assertThatExceptionOfType(JsonProcessingException.class)
           .isThrownBy(
               () ->
                   JsonDeserializationService.deserialize(
-                      CURRENT_USER_HTTP_RESPONSE_OK, JSON_SER_DES, typeRef));
+                      CURRENT_USER_HTTP_RESPONSE_OK, reader, JSON_READERS.getErrors()));
     }
   }
 
   @Nested
   class PaginatedDeserialize {
     @Test
-    void should_properly_deserialize_and_return_success() throws JsonProcessingException {
-      val typeRef = new TypeReference<PaginatedResponseDto<AccountDto>>() {};
+    void should_properly_deserialize_and_return_success() throws IOException {
+      val reader =
+          JsonReader.of(JSON_SER_DES, new TypeReference<PaginatedResponseDto<AccountDto>>() {});
 
       val actual =
           JsonDeserializationService.paginatedDeserialize(
-              ACCOUNTS_HTTP_RESPONSE_OK, JSON_SER_DES, typeRef);
+              ACCOUNTS_HTTP_RESPONSE_OK, reader, JSON_READERS.getErrors());
 
       assertThat(actual).isInstanceOf(CallResult.class).isNotNull().isNotEmpty();
       assertThat(actual.isSuccess()).isTrue();
@@ -180,12 +183,13 @@ class JsonDeserializationServiceTest {
     }
 
     @Test
-    void should_properly_deserialize_and_return_failure() throws JsonProcessingException {
-      val typeRef = new TypeReference<PaginatedResponseDto<AccountDto>>() {};
+    void should_properly_deserialize_and_return_failure() throws IOException {
+      val reader =
+          JsonReader.of(JSON_SER_DES, new TypeReference<PaginatedResponseDto<AccountDto>>() {});
 
       val actual =
           JsonDeserializationService.paginatedDeserialize(
-              ACCOUNTS_HTTP_RESPONSE_KO, JSON_SER_DES, typeRef);
+              ACCOUNTS_HTTP_RESPONSE_KO, reader, JSON_READERS.getErrors());
 
       assertThat(actual).isInstanceOf(CallResult.class).isNotNull().isEmpty();
       assertThat(actual.isFailure()).isTrue();
@@ -194,25 +198,26 @@ class JsonDeserializationServiceTest {
 
     @Test
     void should_throw_JsonProcessingException() {
-      val typeRef = new TypeReference<PaginatedResponseDto<TimeDto>>() {};
+      val reader =
+          JsonReader.of(JSON_SER_DES, new TypeReference<PaginatedResponseDto<TimeDto>>() {});
 
       assertThatExceptionOfType(JsonProcessingException.class)
           .isThrownBy(
               () ->
                   JsonDeserializationService.paginatedDeserialize(
-                      CURRENT_USER_HTTP_RESPONSE_OK, JSON_SER_DES, typeRef));
+                      CURRENT_USER_HTTP_RESPONSE_OK, reader, JSON_READERS.getErrors()));
     }
   }
 
   @Nested
   class SingleFailureDeserialize {
     @Test
-    void should_properly_deserialize_and_return_success() throws JsonProcessingException {
-      val typeRef = new TypeReference<DataDto<TimeDto>>() {};
+    void should_properly_deserialize_and_return_success() throws IOException {
+      val reader = JsonReader.of(JSON_SER_DES, new TypeReference<DataDto<TimeDto>>() {});
 
       val actual =
           JsonDeserializationService.singleFailureDeserialize(
-              TIME_HTTP_RESPONSE_OK, JSON_SER_DES, typeRef);
+              TIME_HTTP_RESPONSE_OK, reader, JSON_READERS.getSingleError());
 
       assertThat(actual).isInstanceOf(CallResult.class).isNotNull().isNotEmpty();
       assertThat(actual.isSuccess()).isTrue();
@@ -228,12 +233,12 @@ class JsonDeserializationServiceTest {
     }
 
     @Test
-    void should_properly_deserialize_and_return_failure() throws JsonProcessingException {
-      val typeRef = new TypeReference<DataDto<TimeDto>>() {};
+    void should_properly_deserialize_and_return_failure() throws IOException {
+      val reader = JsonReader.of(JSON_SER_DES, new TypeReference<DataDto<TimeDto>>() {});
 
       val actual =
           JsonDeserializationService.singleFailureDeserialize(
-              TIME_HTTP_RESPONSE_KO, JSON_SER_DES, typeRef);
+              TIME_HTTP_RESPONSE_KO, reader, JSON_READERS.getSingleError());
 
       assertThat(actual).isInstanceOf(CallResult.class).isNotNull().isEmpty();
       assertThat(actual.isFailure()).isTrue();
@@ -242,13 +247,13 @@ class JsonDeserializationServiceTest {
 
     @Test
     void should_throw_JsonProcessingException() {
-      val typeRef = new TypeReference<DataDto<UserDto>>() {};
+      val reader = JsonReader.of(JSON_SER_DES, new TypeReference<DataDto<UserDto>>() {});
 
       assertThatExceptionOfType(JsonProcessingException.class)
           .isThrownBy(
               () ->
                   JsonDeserializationService.singleFailureDeserialize(
-                      TIME_HTTP_RESPONSE_OK, JSON_SER_DES, typeRef));
+                      TIME_HTTP_RESPONSE_OK, reader, JSON_READERS.getSingleError()));
     }
   }
 }
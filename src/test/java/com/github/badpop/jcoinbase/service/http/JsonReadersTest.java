@@ -0,0 +1,63 @@
+package com.github.badpop.jcoinbase.service.http;
+
+import com.github.badpop.jcoinbase.service.dto.DataDto;
+import com.github.badpop.jcoinbase.testutils.JsonUtils;
+import lombok.val;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static com.github.badpop.jcoinbase.testutils.JsonSerDesSample.JSON_READERS;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JsonReadersTest {
+
+  @Test
+  void should_read_errors() throws IOException {
+    val actual = JSON_READERS.getErrors().read(JsonUtils.readResourceAsStream("/json/errors.json"));
+
+    assertThat(actual.toCoinbaseErrors()).isNotEmpty();
+  }
+
+  @Test
+  void should_read_single_error() throws IOException {
+    val actual =
+        JSON_READERS.getSingleError().read(JsonUtils.readResourceAsStream("/json/error.json"));
+
+    assertThat(actual.getError()).isNotNull();
+  }
+
+  @Test
+  void should_read_data_envelopes() throws IOException {
+    assertThat(read(JSON_READERS.getTime(), "/json/coinbaseDataService/time.json")).isNotNull();
+    assertThat(read(JSON_READERS.getCurrencies(), "/json/coinbaseDataService/currencies.json"))
+        .isNotNull();
+    assertThat(
+            read(JSON_READERS.getExchangeRates(), "/json/coinbaseDataService/exchange_rates.json"))
+        .isNotNull();
+    assertThat(read(JSON_READERS.getPrice(), "/json/coinbaseDataService/price.json")).isNotNull();
+    assertThat(read(JSON_READERS.getUser(), "/json/coinbaseUserService/current_user.json"))
+        .isNotNull();
+    assertThat(
+            read(JSON_READERS.getAuthorizations(), "/json/coinbaseUserService/authorizations.json"))
+        .isNotNull();
+    assertThat(read(JSON_READERS.getAccount(), "/json/coinbaseAccountService/account.json"))
+        .isNotNull();
+  }
+
+  @Test
+  void should_read_paginated_envelopes() throws IOException {
+    val actual =
+        JSON_READERS
+            .getAccountsPage()
+            .read(JsonUtils.readResourceAsStream("/json/coinbaseAccountService/account_list.json"));
+
+    assertThat(actual.getPagination()).isNotNull();
+    assertThat(actual.getData()).isNotEmpty();
+  }
+
+  private static Object read(final JsonReader<? extends DataDto<?>> reader, final String path)
+      throws IOException {
+    return reader.read(JsonUtils.readResourceAsStream(path)).getData();
+  }
+}
@@ -0,0 +1,104 @@
+package com.github.badpop.jcoinbase.service.http;
+
+import com.github.badpop.jcoinbase.exception.RateLimitExceededException;
+import lombok.val;
+import org.junit.jupiter.api.Test;
+
+import java.net.http.HttpHeaders;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+class RateLimitTrackerTest {
+
+  private static final Instant NOW = Instant.ofEpochSecond(1614988800L);
+  private static final Clock CLOCK = Clock.fixed(NOW, ZoneOffset.UTC);
+
+  private final RateLimitTracker tracker = new RateLimitTracker(CLOCK, Duration.ofSeconds(30));
+
+  private static HttpHeaders headers(final String... namesAndValues) {
+    final Map<String, List<String>> map = new HashMap<>();
+    for (int i = 0; i < namesAndValues.length; i += 2) {
+      map.put(namesAndValues[i], List.of(namesAndValues[i + 1]));
+    }
+    return HttpHeaders.of(map, (name, value) -> true);
+  }
+
+  @Test
+  void should_let_requests_through_while_the_quota_is_not_spent() {
+    tracker.update(200, headers("CB-RATELIMIT-LIMIT", "10000", "CB-RATELIMIT-REMAINING", "9999"));
+
+    assertThat(tracker.acquire()).isZero();
+    val actual = tracker.getStatus();
+    assertThat(actual.getLimit()).isEqualTo(10000);
+    assertThat(actual.getRemaining()).isEqualTo(9999);
+    assertThat(actual.isBlocked()).isFalse();
+  }
+
+  @Test
+  void should_delay_requests_until_the_retry_after_delay() {
+    tracker.update(429, headers("Retry-After", "5"));
+
+    assertThat(tracker.acquire()).isEqualTo(Duration.ofSeconds(5));
+    val actual = tracker.getStatus();
+    assertThat(actual.getBlockedUntil()).isEqualTo(NOW.plusSeconds(5));
+    assertThat(actual.getRateLimitedCount()).isEqualTo(1);
+    assertThat(actual.getDelayedCount()).isEqualTo(1);
+  }
+
+  @Test
+  void should_read_retry_after_http_dates() {
+    tracker.update(429, headers("Retry-After", "Sat, 06 Mar 2021 00:00:10 GMT"));
+
+    assertThat(tracker.acquire()).isEqualTo(Duration.ofSeconds(10));
+  }
+
+  @Test
+  void should_delay_requests_until_the_reset_once_no_request_remains() {
+    tracker.update(
+        200,
+        headers(
+            "X-RateLimit-Remaining",
+            "0",
+            "X-RateLimit-Reset",
+            String.valueOf(NOW.getEpochSecond() + 3)));
+
+    assertThat(tracker.acquire()).isEqualTo(Duration.ofSeconds(3));
+    assertThat(tracker.getStatus().getResetAt()).isEqualTo(NOW.plusSeconds(3));
+  }
+
+  @Test
+  void should_reject_requests_that_would_wait_too_long() {
+    tracker.update(429, headers("Retry-After", "60"));
+
+    assertThatExceptionOfType(RateLimitExceededException.class)
+        .isThrownBy(tracker::acquire)
+        .satisfies(e -> assertThat(e.getRetryAfter()).isEqualTo(Duration.ofSeconds(60)));
+    assertThat(tracker.getStatus().getRejectedCount()).isEqualTo(1);
+  }
+
+  @Test
+  void should_stop_delaying_requests_once_the_block_is_over() {
+    tracker.update(429, headers("Retry-After", "5"));
+    val later = new RateLimitTracker(Clock.offset(CLOCK, Duration.ofSeconds(6)), Duration.ZERO);
+    later.update(429, headers("Retry-After", "0"));
+
+    assertThat(later.acquire()).isZero();
+    assertThat(later.getStatus().isBlocked()).isFalse();
+  }
+
+  @Test
+  void should_ignore_unparsable_headers() {
+    tracker.update(429, headers("Retry-After", "soon", "CB-RATELIMIT-REMAINING", "none"));
+
+    assertThat(tracker.acquire()).isZero();
+    assertThat(tracker.getStatus().getRemaining()).isNull();
+  }
+}
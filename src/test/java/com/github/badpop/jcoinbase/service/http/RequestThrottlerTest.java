@@ -0,0 +1,20 @@
+package com.github.badpop.jcoinbase.service.http;
+
+import lombok.val;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestThrottlerTest {
+
+  @Test
+  void should_use_the_public_bucket_for_data_requests_only() {
+    val publicBucket = new TokenBucket(1, 1);
+    val authenticatedBucket = new TokenBucket(1, 1);
+    val throttler = new RequestThrottler(publicBucket, authenticatedBucket);
+
+    assertThat(throttler.bucket(EndpointFamily.DATA)).isSameAs(publicBucket);
+    assertThat(throttler.bucket(EndpointFamily.USER)).isSameAs(authenticatedBucket);
+    assertThat(throttler.bucket(EndpointFamily.ACCOUNT)).isSameAs(authenticatedBucket);
+  }
+}
@@ -0,0 +1,44 @@
+package com.github.badpop.jcoinbase.service.http;
+
+import lombok.val;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RetryPolicyTest {
+
+  private final RetryPolicy policy =
+      RetryPolicy.builder()
+          .maxAttempts(5)
+          .baseDelay(Duration.ofMillis(100))
+          .maxDelay(Duration.ofMillis(500))
+          .build();
+
+  @Test
+  void should_double_the_backoff_ceiling_at_each_retry() {
+    assertThat(policy.backoff(1, 0.5)).isEqualTo(Duration.ofMillis(50));
+    assertThat(policy.backoff(2, 0.5)).isEqualTo(Duration.ofMillis(100));
+    assertThat(policy.backoff(3, 0.5)).isEqualTo(Duration.ofMillis(200));
+  }
+
+  @Test
+  void should_cap_the_backoff_ceiling_to_the_max_delay() {
+    assertThat(policy.backoff(4, 0.5)).isEqualTo(Duration.ofMillis(250));
+    assertThat(policy.backoff(100, 0.5)).isEqualTo(Duration.ofMillis(250));
+  }
+
+  @Test
+  void should_draw_the_backoff_between_zero_and_the_ceiling() {
+    assertThat(policy.backoff(2, 0)).isZero();
+    assertThat(policy.backoff(2, 0.999)).isLessThan(Duration.ofMillis(200));
+  }
+
+  @Test
+  void should_send_requests_once_without_retry() {
+    val actual = RetryPolicy.none();
+
+    assertThat(actual.getMaxAttempts()).isEqualTo(1);
+  }
+}
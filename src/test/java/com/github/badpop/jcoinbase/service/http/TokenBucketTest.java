@@ -0,0 +1,160 @@
+package com.github.badpop.jcoinbase.service.http;
+
+import lombok.val;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+class TokenBucketTest {
+
+  private final AtomicLong ticker = new AtomicLong();
+
+  /** 2 permits per second, 3 at once */
+  private final TokenBucket bucket = new TokenBucket(2, 3, ticker::get);
+
+  @Test
+  void should_give_the_burst_permits_without_waiting() {
+    assertThat(bucket.reserve()).isZero();
+    assertThat(bucket.reserve()).isZero();
+    assertThat(bucket.reserve()).isZero();
+  }
+
+  @Test
+  void should_space_the_permits_once_the_burst_is_spent() {
+    bucket.reserve();
+    bucket.reserve();
+    bucket.reserve();
+
+    assertThat(bucket.reserve()).isEqualTo(Duration.ofMillis(500));
+    assertThat(bucket.reserve()).isEqualTo(Duration.ofMillis(1000));
+  }
+
+  @Test
+  void should_refill_the_bucket_over_time() {
+    bucket.reserve();
+    bucket.reserve();
+    bucket.reserve();
+
+    ticker.addAndGet(Duration.ofSeconds(1).toNanos());
+
+    assertThat(bucket.reserve()).isZero();
+    assertThat(bucket.reserve()).isZero();
+    assertThat(bucket.reserve()).isEqualTo(Duration.ofMillis(500));
+  }
+
+  @Test
+  void should_reserve_a_permit_free_within_the_max_wait() {
+    bucket.reserve();
+    bucket.reserve();
+    bucket.reserve();
+
+    assertThat(bucket.tryReserve(Duration.ofMillis(500))).contains(Duration.ofMillis(500));
+  }
+
+  @Test
+  void should_not_reserve_a_permit_not_free_within_the_max_wait() {
+    bucket.reserve();
+    bucket.reserve();
+    bucket.reserve();
+
+    assertThat(bucket.tryReserve(Duration.ofMillis(100))).isEmpty();
+    assertThat(bucket.tryReserve(Duration.ofMillis(100))).isEmpty();
+    assertThat(bucket.reserve()).isEqualTo(Duration.ofMillis(500));
+    assertThat(bucket.getStats().getRejectedCount()).isEqualTo(2);
+  }
+
+  @Test
+  void should_give_back_a_refunded_permit() {
+    bucket.reserve();
+    bucket.reserve();
+    bucket.reserve();
+    assertThat(bucket.reserve()).isEqualTo(Duration.ofMillis(500));
+
+    bucket.refund();
+
+    assertThat(bucket.reserve()).isEqualTo(Duration.ofMillis(500));
+  }
+
+  @Test
+  void should_not_refund_more_permits_than_the_capacity() {
+    bucket.refund();
+
+    assertThat(bucket.reserve()).isZero();
+    assertThat(bucket.reserve()).isZero();
+    assertThat(bucket.reserve()).isZero();
+    assertThat(bucket.reserve()).isEqualTo(Duration.ofMillis(500));
+  }
+
+  @Test
+  void should_not_take_a_permit_if_none_is_free() {
+    assertThat(bucket.tryAcquire()).isTrue();
+    assertThat(bucket.tryAcquire()).isTrue();
+    assertThat(bucket.tryAcquire()).isTrue();
+    assertThat(bucket.tryAcquire()).isFalse();
+
+    ticker.addAndGet(Duration.ofMillis(500).toNanos());
+
+    assertThat(bucket.tryAcquire()).isTrue();
+    assertThat(bucket.getStats().getRejectedCount()).isEqualTo(1);
+  }
+
+  @Test
+  void should_complete_async_acquisitions_once_the_permit_is_free() {
+    val fast = new TokenBucket(100, 1);
+    val executions = new AtomicInteger();
+    final Executor executor =
+        runnable -> {
+          executions.incrementAndGet();
+          runnable.run();
+        };
+
+    assertThat(fast.acquireAsync(executor).join()).isZero();
+    assertThat(fast.acquireAsync(executor).join()).isPositive();
+    assertThat(executions).hasValue(1);
+  }
+
+  @Test
+  void should_never_wait_when_unlimited() {
+    val unlimited = TokenBucket.unlimited();
+
+    for (int i = 0; i < 1000; i++) {
+      assertThat(unlimited.tryAcquire()).isTrue();
+    }
+    assertThat(unlimited.getStats().getAcquiredCount()).isEqualTo(1000);
+    assertThat(unlimited.getStats().getThrottledCount()).isZero();
+  }
+
+  @Test
+  void should_count_the_waits_in_a_histogram() {
+    bucket.reserve();
+    bucket.reserve();
+    bucket.reserve();
+    bucket.reserve();
+    bucket.reserve();
+
+    val actual = bucket.getStats();
+
+    assertThat(actual.getAcquiredCount()).isEqualTo(5);
+    assertThat(actual.getThrottledCount()).isEqualTo(2);
+    assertThat(actual.getTotalWait()).isEqualTo(Duration.ofMillis(1500));
+    assertThat(actual.getMaxWait()).isEqualTo(Duration.ofSeconds(1));
+    assertThat(actual.getWaitHistogram().get(Duration.ZERO)).contains(3L);
+    assertThat(actual.getWaitHistogram().get(Duration.ofSeconds(1))).contains(2L);
+    assertThat(actual.getWaitHistogram().get(ChronoUnit.FOREVER.getDuration())).contains(0L);
+  }
+
+  @Test
+  void should_throw_IllegalArgumentException_on_invalid_settings() {
+    assertThatExceptionOfType(IllegalArgumentException.class)
+        .isThrownBy(() -> new TokenBucket(0, 1));
+    assertThatExceptionOfType(IllegalArgumentException.class)
+        .isThrownBy(() -> new TokenBucket(1, 0));
+  }
+}
@@ -0,0 +1,125 @@
+package com.github.badpop.jcoinbase.service.user;
+
+import com.github.badpop.jcoinbase.JCoinbaseClient;
+import com.github.badpop.jcoinbase.control.CallResult;
+import com.github.badpop.jcoinbase.exception.JCoinbaseException;
+import com.github.badpop.jcoinbase.model.request.UpdateCurrentUserRequest;
+import com.github.badpop.jcoinbase.model.user.Authorizations;
+import com.github.badpop.jcoinbase.model.user.User;
+import com.github.badpop.jcoinbase.service.auth.AuthenticationService;
+import com.github.badpop.jcoinbase.testutils.CoinbaseErrorSampleProvider;
+import lombok.val;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.util.concurrent.CompletionException;
+
+import static io.vavr.API.Seq;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.concurrent.CompletableFuture.failedFuture;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AsyncUserServiceTest {
+
+  @InjectMocks private AsyncUserService userService;
+  @Mock private JCoinbaseClient client;
+  @Mock private CoinbaseUserService coinbaseUserService;
+  @Mock private AuthenticationService authenticationService;
+
+  @Nested
+  class GetCurrentUser {
+    @Test
+    void should_return_current_user() {
+      val user = User.builder().id("id").name("name").build();
+
+      when(coinbaseUserService.fetchCurrentUserAsync(client, authenticationService))
+          .thenReturn(completedFuture(CallResult.success(user)));
+
+      val actual = userService.getCurrentUser().join();
+
+      assertThat(actual.get()).isEqualTo(user);
+      verify(coinbaseUserService).fetchCurrentUserAsync(client, authenticationService);
+      verifyNoMoreInteractions(coinbaseUserService);
+    }
+
+    @Test
+    void should_return_failure_as_java() {
+      when(coinbaseUserService.fetchCurrentUserAsync(client, authenticationService))
+          .thenReturn(
+              completedFuture(CallResult.failure(Seq(CoinbaseErrorSampleProvider.getError()))));
+
+      val actual = userService.getCurrentUserAsJava().join();
+
+      assertThat(actual.getFailure())
+          .isInstanceOf(java.util.List.class)
+          .containsExactly(CoinbaseErrorSampleProvider.getError());
+    }
+
+    @Test
+    void should_complete_exceptionally_with_JCoinbaseException() {
+      when(coinbaseUserService.fetchCurrentUserAsync(client, authenticationService))
+          .thenReturn(failedFuture(new IOException("Error message")));
+
+      val actual = userService.getCurrentUser();
+
+      assertThatExceptionOfType(CompletionException.class)
+          .isThrownBy(actual::join)
+          .withCauseInstanceOf(JCoinbaseException.class);
+    }
+  }
+
+  @Nested
+  class GetAuthorizations {
+    @Test
+    void should_return_authorizations_as_java() {
+      val authorizations =
+          Authorizations.builder().method("api_key").scopes(Seq("wallet:user:read")).build();
+
+      when(coinbaseUserService.fetchAuthorizationsAsync(client, authenticationService))
+          .thenReturn(completedFuture(CallResult.success(authorizations)));
+
+      val actual = userService.getAuthorizationsAsJava().join();
+
+      assertThat(actual.get()).isEqualTo(authorizations);
+    }
+  }
+
+  @Nested
+  class GetUserById {
+    @Test
+    void should_return_user_as_java() {
+      val user = User.builder().id("id").build();
+
+      when(coinbaseUserService.fetchUserByIdAsync(client, authenticationService, "id"))
+          .thenReturn(completedFuture(CallResult.success(user)));
+
+      val actual = userService.getUserByIdAsJava("id").join();
+
+      assertThat(actual.get()).isEqualTo(user);
+    }
+  }
+
+  @Nested
+  class UpdateCurrentUser {
+    @Test
+    void should_return_updated_user_as_java() {
+      val request = UpdateCurrentUserRequest.builder().name("name").build();
+      val user = User.builder().id("id").name("name").build();
+
+      when(coinbaseUserService.updateCurrentUserAsync(client, authenticationService, request))
+          .thenReturn(completedFuture(CallResult.success(user)));
+
+      val actual = userService.updateCurrentUserAsJava(request).join();
+
+      assertThat(actual.get()).isEqualTo(user);
+    }
+  }
+}
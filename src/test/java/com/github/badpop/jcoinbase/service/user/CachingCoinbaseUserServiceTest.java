@@ -0,0 +1,148 @@
+package com.github.badpop.jcoinbase.service.user;
+
+import com.github.badpop.jcoinbase.JCoinbaseClient;
+import com.github.badpop.jcoinbase.JCoinbaseClientFactory;
+import com.github.badpop.jcoinbase.model.request.UpdateCurrentUserRequest;
+import com.github.badpop.jcoinbase.service.cache.CacheStats;
+import com.github.badpop.jcoinbase.testutils.JsonUtils;
+import lombok.val;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockserver.integration.ClientAndServer;
+import org.mockserver.socket.PortFactory;
+import org.mockserver.verify.VerificationTimes;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import static com.github.badpop.jcoinbase.testutils.ReflectionUtils.setFieldValueForObject;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockserver.model.HttpRequest.request;
+import static org.mockserver.model.HttpResponse.response;
+
+class CachingCoinbaseUserServiceTest {
+
+  private static ClientAndServer mockServer;
+  private static int port;
+  private static JCoinbaseClient client;
+  private CachingCoinbaseUserService service;
+
+  @BeforeAll
+  static void init() {
+    port = PortFactory.findFreePort();
+    mockServer = ClientAndServer.startClientAndServer(port);
+    client = JCoinbaseClientFactory.build("loremIpsum", "dolorSitAmet", "2021-02-03", 3, false);
+  }
+
+  @AfterAll
+  static void tearDown() {
+    mockServer.stop();
+  }
+
+  @BeforeEach
+  void setUp() throws NoSuchFieldException, IllegalAccessException {
+    mockServer.reset();
+    service = new CachingCoinbaseUserService(Duration.ofMinutes(5));
+    setFieldValueForObject(client.getProperties(), "apiUrl", "http://localhost:" + port);
+  }
+
+  private void respond(final String method, final String path, final int status, final String body)
+      throws IOException {
+    mockServer
+        .when(request().withMethod(method).withPath(path))
+        .respond(
+            response()
+                .withStatusCode(status)
+                .withHeader("Content-Type", "application/json")
+                .withBody(JsonUtils.readResource(body)));
+  }
+
+  private void verifyGets(final String path, final int times) {
+    mockServer.verify(request().withMethod("GET").withPath(path), VerificationTimes.exactly(times));
+  }
+
+  @Test
+  void should_fetch_the_current_user_once() throws IOException {
+    respond("GET", "/v2/user", 200, "/json/coinbaseUserService/current_user.json");
+
+    service.fetchCurrentUser(client, client.getAuthService());
+    service.fetchCurrentUserAsync(client, client.getAuthService()).join();
+    val actual = service.fetchCurrentUser(client, client.getAuthService());
+
+    assertThat(actual.get().get().getId()).isEqualTo("ID");
+    verifyGets("/v2/user", 1);
+    assertThat(service.getCurrentUserCache().getStats()).isEqualTo(new CacheStats(2, 1, 0, 1));
+  }
+
+  @Test
+  void should_fetch_the_authorizations_once() throws IOException {
+    respond("GET", "/v2/user/auth", 200, "/json/coinbaseUserService/authorizations.json");
+
+    service.fetchAuthorizations(client, client.getAuthService());
+    service.fetchAuthorizationsAsync(client, client.getAuthService()).join();
+
+    verifyGets("/v2/user/auth", 1);
+    assertThat(service.getAuthorizationsCache().getStats().getHitCount()).isEqualTo(1);
+  }
+
+  @Test
+  void should_keep_the_updated_user() throws IOException {
+    respond("GET", "/v2/user", 200, "/json/coinbaseUserService/current_user.json");
+    respond("PUT", "/v2/user", 200, "/json/coinbaseUserService/update_current_user.json");
+
+    service.fetchCurrentUser(client, client.getAuthService());
+    val updated =
+        service.updateCurrentUser(
+            client,
+            client.getAuthService(),
+            UpdateCurrentUserRequest.builder().name("name").build());
+    val actual = service.fetchCurrentUser(client, client.getAuthService());
+
+    assertThat(actual.get()).isSameAs(updated.get());
+    verifyGets("/v2/user", 1);
+  }
+
+  @Test
+  void should_forget_the_current_user_if_the_update_failed() throws IOException {
+    respond("GET", "/v2/user", 200, "/json/coinbaseUserService/current_user.json");
+    respond("PUT", "/v2/user", 400, "/json/errors.json");
+
+    service.fetchCurrentUser(client, client.getAuthService());
+    service
+        .updateCurrentUserAsync(
+            client,
+            client.getAuthService(),
+            UpdateCurrentUserRequest.builder().name("name").build())
+        .join();
+    service.fetchCurrentUser(client, client.getAuthService());
+
+    verifyGets("/v2/user", 2);
+  }
+
+  @Test
+  void should_fetch_again_once_invalidated() throws IOException {
+    respond("GET", "/v2/user", 200, "/json/coinbaseUserService/current_user.json");
+    respond("GET", "/v2/user/auth", 200, "/json/coinbaseUserService/authorizations.json");
+
+    service.fetchCurrentUser(client, client.getAuthService());
+    service.fetchAuthorizations(client, client.getAuthService());
+    service.invalidateAll();
+    service.fetchCurrentUser(client, client.getAuthService());
+    service.fetchAuthorizations(client, client.getAuthService());
+
+    verifyGets("/v2/user", 2);
+    verifyGets("/v2/user/auth", 2);
+  }
+
+  @Test
+  void should_not_cache_failures() throws IOException {
+    respond("GET", "/v2/user", 400, "/json/errors.json");
+
+    service.fetchCurrentUser(client, client.getAuthService());
+    service.fetchCurrentUser(client, client.getAuthService());
+
+    verifyGets("/v2/user", 2);
+  }
+}
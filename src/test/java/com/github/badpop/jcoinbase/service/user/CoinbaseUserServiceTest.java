@@ -17,9 +17,12 @@ import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.mockserver.integration.ClientAndServer;
 import org.mockserver.socket.PortFactory;
+import org.mockserver.verify.VerificationTimes;
 
 import java.io.IOException;
 import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 import static com.github.badpop.jcoinbase.model.ResourceType.USER;
 import static com.github.badpop.jcoinbase.testutils.ReflectionUtils.setFieldValueForObject;
@@ -416,5 +419,175 @@ class CoinbaseUserServiceTest {
 
       assertThat(actual).isFailure().failBecauseOf(JsonProcessingException.class);
     }
+
+    @Test
+    void should_update_the_rate_limit_with_the_response_headers() throws IOException {
+      val request = UpdateCurrentUserRequest.builder().name("new name").build();
+      mockServer
+          .when(request().withMethod("PUT").withPath("/v2/user"))
+          .respond(
+              response()
+                  .withHeader("Content-Type", "application/json")
+                  .withHeader("CB-RATELIMIT-LIMIT", "100")
+                  .withHeader("CB-RATELIMIT-REMAINING", "42")
+                  .withBody(
+                      JsonUtils.readResource(
+                          "/json/coinbaseUserService/update_current_user.json")));
+
+      service.updateCurrentUser(client, client.getAuthService(), request);
+
+      Assertions.assertThat(client.getRateLimitTracker().getStatus().getRemaining()).isEqualTo(42);
+    }
+
+    @Test
+    void should_update_the_rate_limit_with_the_response_headers_asynchronously()
+        throws IOException {
+      val request = UpdateCurrentUserRequest.builder().name("new name").build();
+      mockServer
+          .when(request().withMethod("PUT").withPath("/v2/user"))
+          .respond(
+              response()
+                  .withHeader("Content-Type", "application/json")
+                  .withHeader("CB-RATELIMIT-LIMIT", "100")
+                  .withHeader("CB-RATELIMIT-REMAINING", "41")
+                  .withBody(
+                      JsonUtils.readResource(
+                          "/json/coinbaseUserService/update_current_user.json")));
+
+      val actual = service.updateCurrentUserAsync(client, client.getAuthService(), request).join();
+
+      Assertions.assertThat(actual.isSuccess()).isTrue();
+      Assertions.assertThat(client.getRateLimitTracker().getStatus().getRemaining()).isEqualTo(41);
+    }
+  }
+
+  @Nested
+  class FetchAsync {
+    @Test
+    void should_return_current_user() throws IOException {
+      mockServer
+          .when(request().withMethod("GET").withPath("/v2/user"))
+          .respond(
+              response()
+                  .withHeader("Content-Type", "application/json")
+                  .withBody(JsonUtils.readResource("/json/coinbaseUserService/current_user.json")));
+
+      val actual = service.fetchCurrentUserAsync(client, client.getAuthService()).join();
+
+      Assertions.assertThat(actual.get().getId()).isEqualTo("ID");
+    }
+
+    @Test
+    void should_remember_the_fetched_authorizations() throws IOException {
+      mockServer
+          .when(request().withMethod("GET").withPath("/v2/user/auth"))
+          .respond(
+              response()
+                  .withHeader("Content-Type", "application/json")
+                  .withBody(
+                      JsonUtils.readResource("/json/coinbaseUserService/authorizations.json")));
+
+      val actual = service.fetchAuthorizationsAsync(client, client.getAuthService()).join();
+
+      Assertions.assertThat(client.getScopeGuard().getAuthorizations())
+          .containsExactly(actual.get());
+      client.getScopeGuard().reset();
+    }
+
+    @Test
+    void should_return_authorizations() throws IOException {
+      mockServer
+          .when(request().withMethod("GET").withPath("/v2/user/auth"))
+          .respond(
+              response()
+                  .withHeader("Content-Type", "application/json")
+                  .withBody(
+                      JsonUtils.readResource("/json/coinbaseUserService/authorizations.json")));
+
+      val actual = service.fetchAuthorizationsAsync(client, client.getAuthService()).join();
+
+      Assertions.assertThat(actual.isSuccess()).isTrue();
+    }
+
+    @Test
+    void should_return_CallResult_failure() throws IOException {
+      mockServer
+          .when(request().withMethod("GET").withPath("/v2/users/id"))
+          .respond(
+              response()
+                  .withStatusCode(400)
+                  .withHeader("Content-Type", "application/json")
+                  .withBody(JsonUtils.readResource("/json/errors.json")));
+
+      val actual = service.fetchUserByIdAsync(client, client.getAuthService(), "id").join();
+
+      Assertions.assertThat(actual.isFailure()).isTrue();
+      Assertions.assertThat(actual.getFailure())
+          .containsExactly(CoinbaseErrorSampleProvider.getError());
+    }
+
+    @Test
+    void should_update_current_user() throws IOException {
+      mockServer
+          .when(request().withMethod("PUT").withPath("/v2/user"))
+          .respond(
+              response()
+                  .withHeader("Content-Type", "application/json")
+                  .withBody(
+                      JsonUtils.readResource(
+                          "/json/coinbaseUserService/update_current_user.json")));
+
+      val actual =
+          service
+              .updateCurrentUserAsync(
+                  client,
+                  client.getAuthService(),
+                  UpdateCurrentUserRequest.builder().name("name").build())
+              .join();
+
+      Assertions.assertThat(actual.isSuccess()).isTrue();
+    }
+
+    @Test
+    void should_send_one_request_for_concurrent_identical_gets() throws IOException {
+      mockServer
+          .when(request().withMethod("GET").withPath("/v2/user"))
+          .respond(
+              response()
+                  .withDelay(TimeUnit.MILLISECONDS, 300)
+                  .withHeader("Content-Type", "application/json")
+                  .withBody(JsonUtils.readResource("/json/coinbaseUserService/current_user.json")));
+
+      val first = service.fetchCurrentUserAsync(client, client.getAuthService());
+      val second = service.fetchCurrentUserAsync(client, client.getAuthService());
+      val third = service.fetchCurrentUser(client, client.getAuthService());
+
+      Assertions.assertThat(first.join().get().getId()).isEqualTo("ID");
+      Assertions.assertThat(second.join().get().getId()).isEqualTo("ID");
+      assertThat(third).isSuccess();
+      mockServer.verify(
+          request().withMethod("GET").withPath("/v2/user"), VerificationTimes.exactly(1));
+    }
+
+    @Test
+    void should_not_coalesce_updates() throws IOException {
+      mockServer
+          .when(request().withMethod("PUT").withPath("/v2/user"))
+          .respond(
+              response()
+                  .withDelay(TimeUnit.MILLISECONDS, 100)
+                  .withHeader("Content-Type", "application/json")
+                  .withBody(
+                      JsonUtils.readResource(
+                          "/json/coinbaseUserService/update_current_user.json")));
+      val request = UpdateCurrentUserRequest.builder().name("name").build();
+
+      val first = service.updateCurrentUserAsync(client, client.getAuthService(), request);
+      val second = service.updateCurrentUserAsync(client, client.getAuthService(), request);
+
+      CompletableFuture.allOf(first, second).join();
+      mockServer.verify(
+          request().withMethod("PUT").withPath("/v2/user"), VerificationTimes.exactly(2));
+    }
   }
 }
@@ -3,6 +3,7 @@ package com.github.badpop.jcoinbase.service.user;
 import com.github.badpop.jcoinbase.JCoinbaseClient;
 import com.github.badpop.jcoinbase.control.CallResult;
 import com.github.badpop.jcoinbase.exception.JCoinbaseException;
+import com.github.badpop.jcoinbase.exception.RateLimitExceededException;
 import com.github.badpop.jcoinbase.model.CoinbaseError;
 import com.github.badpop.jcoinbase.model.request.UpdateCurrentUserRequest;
 import com.github.badpop.jcoinbase.model.user.Authorizations;
@@ -16,6 +17,8 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Duration;
+
 import static io.vavr.API.Seq;
 import static io.vavr.control.Try.failure;
 import static io.vavr.control.Try.success;
@@ -409,6 +412,19 @@ class UserServiceTest {
       verifyNoMoreInteractions(coinbaseUserService);
     }
 
+    @Test
+    void should_throw_the_rejection_unchanged_if_the_request_is_rejected() {
+      val request = UpdateCurrentUserRequest.builder().build();
+      val rejection = new RateLimitExceededException("rate limit reached", Duration.ofSeconds(1));
+
+      when(coinbaseUserService.updateCurrentUser(client, authenticationService, request))
+          .thenReturn(failure(rejection));
+
+      assertThatExceptionOfType(RateLimitExceededException.class)
+          .isThrownBy(() -> userService.updateCurrentUser(request))
+          .isSameAs(rejection);
+    }
+
     @Test
     void should_return_CallResult_failure_as_java() {
       val request = UpdateCurrentUserRequest.builder().build();
@@ -0,0 +1,116 @@
+package com.github.badpop.jcoinbase.service.utils;
+
+import com.github.badpop.jcoinbase.exception.InvalidRequestException;
+import lombok.val;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+class ConcurrencyUtilsTest {
+
+  /** The started calls by key, in the order they were started */
+  private final Map<String, CompletableFuture<Integer>> calls = new LinkedHashMap<>();
+
+  private synchronized CompletableFuture<Integer> call(final String key) {
+    return calls.computeIfAbsent(key, k -> new CompletableFuture<>());
+  }
+
+  @Test
+  void should_return_the_values_in_the_keys_order() {
+    val actual =
+        ConcurrencyUtils.traverse(
+                List.of("a", "bb", "ccc"), 2, key -> completedFuture(key.length()))
+            .join();
+
+    assertThat(actual.keySet()).containsExactly("a", "bb", "ccc");
+    assertThat(actual.values()).containsExactly(1, 2, 3);
+  }
+
+  @Test
+  void should_call_duplicated_keys_once() {
+    val actual = ConcurrencyUtils.traverse(List.of("a", "b", "a"), 2, this::call);
+    call("a").complete(1);
+    call("b").complete(2);
+
+    assertThat(calls).containsOnlyKeys("a", "b");
+    assertThat(actual.join().keySet()).containsExactly("a", "b");
+  }
+
+  @Test
+  void should_complete_immediately_without_keys() {
+    val actual = ConcurrencyUtils.traverse(List.<String>of(), 2, this::call);
+
+    assertThat(actual).isCompleted();
+    assertThat(actual.join()).isEmpty();
+  }
+
+  @Test
+  void should_not_run_more_calls_than_the_concurrency() {
+    val actual = ConcurrencyUtils.traverse(List.of("a", "b", "c", "d"), 2, this::call);
+
+    assertThat(calls).containsOnlyKeys("a", "b");
+
+    call("b").complete(2);
+    assertThat(calls).containsOnlyKeys("a", "b", "c");
+
+    call("a").complete(1);
+    assertThat(calls).containsOnlyKeys("a", "b", "c", "d");
+
+    call("c").complete(3);
+    call("d").complete(4);
+    assertThat(actual.join().values()).containsExactly(1, 2, 3, 4);
+  }
+
+  @Test
+  void should_stop_starting_calls_after_a_failure() {
+    val actual = ConcurrencyUtils.traverse(List.of("a", "b", "c"), 1, this::call);
+
+    call("a").completeExceptionally(new IOException("connection reset"));
+
+    assertThat(calls).containsOnlyKeys("a");
+    assertThatExceptionOfType(CompletionException.class)
+        .isThrownBy(actual::join)
+        .withCauseInstanceOf(IOException.class);
+  }
+
+  @Test
+  void should_complete_exceptionally_if_the_call_throws() {
+    val actual =
+        ConcurrencyUtils.<String, Integer>traverse(
+            List.of("a"),
+            1,
+            key -> {
+              throw new IllegalStateException("error");
+            });
+
+    assertThatExceptionOfType(CompletionException.class)
+        .isThrownBy(actual::join)
+        .withCauseInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  void should_handle_many_already_completed_calls() {
+    val keys = io.vavr.collection.List.range(0, 100_000);
+
+    val actual = ConcurrencyUtils.traverse(keys, 4, key -> completedFuture(key * 2)).join();
+
+    assertThat(actual.size()).isEqualTo(100_000);
+    assertThat(actual.get(99_999)).contains(199_998);
+  }
+
+  @Test
+  void should_reject_a_concurrency_lower_than_1() {
+    assertThatExceptionOfType(InvalidRequestException.class)
+        .isThrownBy(() -> ConcurrencyUtils.traverse(List.of("a"), 0, this::call))
+        .withMessage(ConcurrencyUtils.INVALID_CONCURRENCY_MESSAGE);
+  }
+}
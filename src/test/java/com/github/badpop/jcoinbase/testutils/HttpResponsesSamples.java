@@ -3,6 +3,7 @@ package com.github.badpop.jcoinbase.testutils;
 import lombok.SneakyThrows;
 
 import javax.net.ssl.SSLSession;
+import java.io.InputStream;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpHeaders;
@@ -12,7 +13,7 @@ import java.util.Optional;
 
 public abstract class HttpResponsesSamples {
 
-  public static final HttpResponse<String> CURRENT_USER_HTTP_RESPONSE_OK =
+  public static final HttpResponse<InputStream> CURRENT_USER_HTTP_RESPONSE_OK =
       new HttpResponse<>() {
         @Override
         public int statusCode() {
@@ -25,7 +26,7 @@ public abstract class HttpResponsesSamples {
         }
 
         @Override
-        public Optional<HttpResponse<String>> previousResponse() {
+        public Optional<HttpResponse<InputStream>> previousResponse() {
           return Optional.empty();
         }
 
@@ -36,8 +37,8 @@ public abstract class HttpResponsesSamples {
 
         @SneakyThrows
         @Override
-        public String body() {
-          return JsonUtils.readResource("/json/coinbaseUserService/current_user.json");
+        public InputStream body() {
+          return JsonUtils.readResourceAsStream("/json/coinbaseUserService/current_user.json");
         }
 
         @Override
@@ -56,7 +57,7 @@ public abstract class HttpResponsesSamples {
         }
       };
 
-  public static final HttpResponse<String> CURRENT_USER_HTTP_RESPONSE_KO =
+  public static final HttpResponse<InputStream> CURRENT_USER_HTTP_RESPONSE_KO =
       new HttpResponse<>() {
         @Override
         public int statusCode() {
@@ -69,7 +70,7 @@ public abstract class HttpResponsesSamples {
         }
 
         @Override
-        public Optional<HttpResponse<String>> previousResponse() {
+        public Optional<HttpResponse<InputStream>> previousResponse() {
           return Optional.empty();
         }
 
@@ -80,8 +81,8 @@ public abstract class HttpResponsesSamples {
 
         @SneakyThrows
         @Override
-        public String body() {
-          return JsonUtils.readResource("/json/errors.json");
+        public InputStream body() {
+          return JsonUtils.readResourceAsStream("/json/errors.json");
         }
 
         @Override
@@ -100,7 +101,7 @@ public abstract class HttpResponsesSamples {
         }
       };
 
-  public static final HttpResponse<String> TIME_HTTP_RESPONSE_OK =
+  public static final HttpResponse<InputStream> TIME_HTTP_RESPONSE_OK =
       new HttpResponse<>() {
         @Override
         public int statusCode() {
@@ -113,7 +114,7 @@ public abstract class HttpResponsesSamples {
         }
 
         @Override
-        public Optional<HttpResponse<String>> previousResponse() {
+        public Optional<HttpResponse<InputStream>> previousResponse() {
           return Optional.empty();
         }
 
@@ -124,8 +125,8 @@ public abstract class HttpResponsesSamples {
 
         @SneakyThrows
         @Override
-        public String body() {
-          return JsonUtils.readResource("/json/coinbaseDataService/time.json");
+        public InputStream body() {
+          return JsonUtils.readResourceAsStream("/json/coinbaseDataService/time.json");
         }
 
         @Override
@@ -144,7 +145,7 @@ public abstract class HttpResponsesSamples {
         }
       };
 
-  public static final HttpResponse<String> TIME_HTTP_RESPONSE_KO =
+  public static final HttpResponse<InputStream> TIME_HTTP_RESPONSE_KO =
       new HttpResponse<>() {
         @Override
         public int statusCode() {
@@ -157,7 +158,7 @@ public abstract class HttpResponsesSamples {
         }
 
         @Override
-        public Optional<HttpResponse<String>> previousResponse() {
+        public Optional<HttpResponse<InputStream>> previousResponse() {
           return Optional.empty();
         }
 
@@ -168,8 +169,8 @@ public abstract class HttpResponsesSamples {
 
         @SneakyThrows
         @Override
-        public String body() {
-          return JsonUtils.readResource("/json/error.json");
+        public InputStream body() {
+          return JsonUtils.readResourceAsStream("/json/error.json");
         }
 
         @Override
@@ -188,7 +189,7 @@ public abstract class HttpResponsesSamples {
         }
       };
 
-  public static final HttpResponse<String> ACCOUNTS_HTTP_RESPONSE_OK =
+  public static final HttpResponse<InputStream> ACCOUNTS_HTTP_RESPONSE_OK =
       new HttpResponse<>() {
         @Override
         public int statusCode() {
@@ -201,7 +202,7 @@ public abstract class HttpResponsesSamples {
         }
 
         @Override
-        public Optional<HttpResponse<String>> previousResponse() {
+        public Optional<HttpResponse<InputStream>> previousResponse() {
           return Optional.empty();
         }
 
@@ -212,8 +213,8 @@ public abstract class HttpResponsesSamples {
 
         @SneakyThrows
         @Override
-        public String body() {
-          return JsonUtils.readResource("/json/coinbaseAccountService/account_list.json");
+        public InputStream body() {
+          return JsonUtils.readResourceAsStream("/json/coinbaseAccountService/account_list.json");
         }
 
         @Override
@@ -232,7 +233,7 @@ public abstract class HttpResponsesSamples {
         }
       };
 
-  public static final HttpResponse<String> ACCOUNTS_HTTP_RESPONSE_KO =
+  public static final HttpResponse<InputStream> ACCOUNTS_HTTP_RESPONSE_KO =
       new HttpResponse<>() {
         @Override
         public int statusCode() {
@@ -245,7 +246,7 @@ public abstract class HttpResponsesSamples {
         }
 
         @Override
-        public Optional<HttpResponse<String>> previousResponse() {
+        public Optional<HttpResponse<InputStream>> previousResponse() {
           return Optional.empty();
         }
 
@@ -256,8 +257,8 @@ public abstract class HttpResponsesSamples {
 
         @SneakyThrows
         @Override
-        public String body() {
-          return JsonUtils.readResource("/json/errors.json");
+        public InputStream body() {
+          return JsonUtils.readResourceAsStream("/json/errors.json");
         }
 
         @Override
@@ -3,6 +3,7 @@ package com.github.badpop.jcoinbase.testutils;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.PropertyNamingStrategies;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.github.badpop.jcoinbase.service.http.JsonReaders;
 import io.vavr.jackson.datatype.VavrModule;
 
 import java.time.ZoneId;
@@ -20,4 +21,6 @@ public abstract class JsonSerDesSample {
           .setPropertyNamingStrategy(PropertyNamingStrategies.SNAKE_CASE)
           .setTimeZone(TimeZone.getTimeZone(ZoneId.systemDefault()))
           .configure(WRITE_DATES_AS_TIMESTAMPS, false);
+
+  public static final JsonReaders JSON_READERS = new JsonReaders(JSON_SER_DES);
 }
@@ -1,6 +1,7 @@
 package com.github.badpop.jcoinbase.testutils;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
@@ -12,4 +13,9 @@ public class JsonUtils {
     URL url = JsonUtils.class.getResource(resourcePath);
     return Files.readString(Paths.get(url.getPath()), StandardCharsets.UTF_8);
   }
+
+  public static InputStream readResourceAsStream(final String resourcePath) throws IOException {
+    URL url = JsonUtils.class.getResource(resourcePath);
+    return Files.newInputStream(Paths.get(url.getPath()));
+  }
 }